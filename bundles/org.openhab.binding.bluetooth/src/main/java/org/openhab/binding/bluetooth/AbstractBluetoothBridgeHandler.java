@@ -59,6 +59,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
 
+    // Drops repeated advertisements before they reach the device listeners and the discovery listeners
+    private final BluetoothAdvertisementFilter advertisementFilter = new BluetoothAdvertisementFilter();
+
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
     /**
@@ -88,6 +91,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        advertisementFilter.configure(config.advertisementDedupWindow, config.rssiUpdateInterval);
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
@@ -113,7 +117,17 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    /**
+     * Returns the advertisement filter of this adapter, which also provides the advertisement and drop counters
+     *
+     * @return the {@link BluetoothAdvertisementFilter} of this adapter
+     */
+    public BluetoothAdvertisementFilter getAdvertisementFilter() {
+        return advertisementFilter;
+    }
+
     private void removeInactiveDevices() {
+        logger.debug("Advertisement statistics of adapter '{}': {}", getUID(), advertisementFilter);
         // clean up orphaned entries
         synchronized (devices) {
             for (BD device : devices.values()) {
@@ -130,6 +144,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
+        advertisementFilter.removeDevice(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
@@ -173,7 +188,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
         synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
+            devices.values().forEach(device -> deviceDiscovered(device, true));
         }
     }
 
@@ -211,12 +226,27 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     }
 
     public void deviceDiscovered(BluetoothDevice device) {
+        deviceDiscovered(device, false);
+    }
+
+    /**
+     * Notifies the discovery listeners about a device
+     *
+     * @param device the discovered device
+     * @param force true to notify the listeners even if the device did not change since the last notification
+     */
+    protected void deviceDiscovered(BluetoothDevice device, boolean force) {
         if (hasHandlerForDevice(device.getAddress())) {
-            // no point in discovering a device that already has a handler
+            // no point in discovering a device that already has a handler, but it has to be discovered again once the
+            // handler is gone
+            advertisementFilter.resetDiscovery(device.getAddress());
             return;
         }
         if (config.backgroundDiscovery || activeScanEnabled) {
             if (deviceReachable(device)) {
+                if (!advertisementFilter.acceptDiscovery(device) && !force) {
+                    return;
+                }
                 discoveryListeners.forEach(listener -> listener.deviceDiscovered(device));
             } else {
                 logger.trace("Not notifying listeners for device '{}', because it is not reachable.",
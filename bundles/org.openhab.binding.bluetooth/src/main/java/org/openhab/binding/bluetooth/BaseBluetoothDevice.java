@@ -22,6 +22,7 @@ import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -262,6 +263,12 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
     protected void notifyListeners(BluetoothEventType event, Object... args) {
         switch (event) {
             case SCAN_RECORD:
+                updateLastSeenTime();
+                if (adapter instanceof AbstractBluetoothBridgeHandler && !((AbstractBluetoothBridgeHandler<?>) adapter)
+                        .getAdvertisementFilter().acceptScanNotification(this, (BluetoothScanNotification) args[0])) {
+                    return;
+                }
+                break;
             case CHARACTERISTIC_UPDATED:
             case DESCRIPTOR_UPDATED:
             case SERVICES_DISCOVERED:
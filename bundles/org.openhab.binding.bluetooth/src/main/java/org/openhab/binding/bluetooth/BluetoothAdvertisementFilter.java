@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link BluetoothAdvertisementFilter} is the ingestion stage of a bridge for the advertisements of its devices.
+ * Adapters report every received advertisement, even though most of them repeat the data of the previous one.
+ * <p>
+ * Scan notifications are only forwarded to devices with listeners, i.e. devices with a handler or an ongoing
+ * discovery process. Notifications that carry the same content as the last forwarded one are dropped within the
+ * dedup window, notifications that only carry a changed RSSI are forwarded at most once per RSSI update interval.
+ * <p>
+ * Discovery notifications are only forwarded if the name, manufacturer or transmit power of the device changed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementFilter {
+
+    private static class DeviceState {
+        private byte @Nullable [] manufacturerData;
+        private byte @Nullable [] data;
+        private @Nullable String name;
+        private int rssi = Integer.MIN_VALUE;
+        private long lastForwardNanos;
+        private boolean forwarded;
+
+        private @Nullable String discoveredName;
+        private @Nullable Integer discoveredManufacturer;
+        private @Nullable Integer discoveredTxPower;
+        private boolean discovered;
+    }
+
+    private final Map<BluetoothAddress, DeviceState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong advertisements = new AtomicLong();
+    private final AtomicLong droppedNoListener = new AtomicLong();
+    private final AtomicLong droppedUnchanged = new AtomicLong();
+    private final AtomicLong droppedRssi = new AtomicLong();
+    private final AtomicLong discoveries = new AtomicLong();
+    private final AtomicLong droppedDiscoveries = new AtomicLong();
+
+    private volatile long dedupWindowNanos;
+    private volatile long rssiUpdateIntervalNanos;
+
+    /**
+     * Configures the filter
+     *
+     * @param dedupWindow the time in milliseconds in which unchanged advertisements are dropped, 0 to disable
+     * @param rssiUpdateInterval the minimum time in milliseconds between RSSI only updates, 0 to disable
+     */
+    public void configure(int dedupWindow, int rssiUpdateInterval) {
+        dedupWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, dedupWindow));
+        rssiUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, rssiUpdateInterval));
+    }
+
+    /**
+     * Decides whether a scan notification is forwarded to the listeners of a device
+     *
+     * @param device the device that received the notification
+     * @param notification the {@link BluetoothScanNotification}
+     * @return true if the notification has to be forwarded to the listeners
+     */
+    public boolean acceptScanNotification(BluetoothDevice device, BluetoothScanNotification notification) {
+        advertisements.incrementAndGet();
+        if (!device.hasListeners()) {
+            droppedNoListener.incrementAndGet();
+            return false;
+        }
+
+        DeviceState state = states.computeIfAbsent(device.getAddress(), address -> new DeviceState());
+        synchronized (state) {
+            byte[] manufacturerData = notification.getManufacturerData();
+            byte[] data = notification.getData();
+            String name = notification.getDeviceName();
+            int rssi = notification.getRssi();
+            long now = System.nanoTime();
+
+            boolean changed = !state.forwarded
+                    || (manufacturerData != null && !Arrays.equals(manufacturerData, state.manufacturerData))
+                    || (data != null && !Arrays.equals(data, state.data))
+                    || (name != null && !name.isEmpty() && !name.equals(state.name));
+            if (!changed) {
+                if (rssi != Integer.MIN_VALUE && rssi != state.rssi) {
+                    if (now - state.lastForwardNanos < rssiUpdateIntervalNanos) {
+                        droppedRssi.incrementAndGet();
+                        return false;
+                    }
+                } else if (now - state.lastForwardNanos < dedupWindowNanos) {
+                    droppedUnchanged.incrementAndGet();
+                    return false;
+                }
+            }
+
+            if (manufacturerData != null) {
+                state.manufacturerData = manufacturerData;
+            }
+            if (data != null) {
+                state.data = data;
+            }
+            if (name != null && !name.isEmpty()) {
+                state.name = name;
+            }
+            if (rssi != Integer.MIN_VALUE) {
+                state.rssi = rssi;
+            }
+            state.lastForwardNanos = now;
+            state.forwarded = true;
+            return true;
+        }
+    }
+
+    /**
+     * Decides whether a discovered device is reported to the discovery listeners
+     *
+     * @param device the discovered device
+     * @return true if the device has not been reported yet or its discovery relevant data changed
+     */
+    public boolean acceptDiscovery(BluetoothDevice device) {
+        DeviceState state = states.computeIfAbsent(device.getAddress(), address -> new DeviceState());
+        synchronized (state) {
+            String name = device.getName();
+            Integer manufacturer = device.getManufacturerId();
+            Integer txPower = device.getTxPower();
+            if (state.discovered && Objects.equals(name, state.discoveredName)
+                    && Objects.equals(manufacturer, state.discoveredManufacturer)
+                    && Objects.equals(txPower, state.discoveredTxPower)) {
+                droppedDiscoveries.incrementAndGet();
+                return false;
+            }
+            state.discoveredName = name;
+            state.discoveredManufacturer = manufacturer;
+            state.discoveredTxPower = txPower;
+            state.discovered = true;
+            discoveries.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Forgets the reported discovery of a device, so that it is reported again on its next advertisement
+     *
+     * @param address the address of the device
+     */
+    public void resetDiscovery(BluetoothAddress address) {
+        DeviceState state = states.get(address);
+        if (state != null) {
+            synchronized (state) {
+                state.discovered = false;
+            }
+        }
+    }
+
+    /**
+     * Removes all state of a device
+     *
+     * @param address the address of the removed device
+     */
+    public void removeDevice(BluetoothAddress address) {
+        states.remove(address);
+    }
+
+    /**
+     * @return the number of scan notifications received by the adapter
+     */
+    public long getAdvertisements() {
+        return advertisements.get();
+    }
+
+    /**
+     * @return the number of scan notifications dropped because the device had no listeners
+     */
+    public long getDroppedNoListener() {
+        return droppedNoListener.get();
+    }
+
+    /**
+     * @return the number of scan notifications dropped because they repeated the last forwarded content
+     */
+    public long getDroppedUnchanged() {
+        return droppedUnchanged.get();
+    }
+
+    /**
+     * @return the number of RSSI only scan notifications dropped by the rate limit
+     */
+    public long getDroppedRssi() {
+        return droppedRssi.get();
+    }
+
+    /**
+     * @return the number of discovery notifications forwarded to the discovery listeners
+     */
+    public long getDiscoveries() {
+        return discoveries.get();
+    }
+
+    /**
+     * @return the number of discovery notifications dropped because the device did not change
+     */
+    public long getDroppedDiscoveries() {
+        return droppedDiscoveries.get();
+    }
+
+    @Override
+    public String toString() {
+        return "advertisements=" + advertisements + ", droppedNoListener=" + droppedNoListener + ", droppedUnchanged="
+                + droppedUnchanged + ", droppedRssi=" + droppedRssi + ", discoveries=" + discoveries
+                + ", droppedDiscoveries=" + droppedDiscoveries;
+    }
+}
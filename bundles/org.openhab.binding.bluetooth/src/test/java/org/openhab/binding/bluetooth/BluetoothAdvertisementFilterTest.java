@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link BluetoothAdvertisementFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class BluetoothAdvertisementFilterTest {
+
+    private @Mock @NonNullByDefault({}) BluetoothDeviceListener listener;
+
+    private final BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter();
+    private final MockBluetoothAdapter adapter = new MockBluetoothAdapter();
+    private final MockBluetoothDevice device = adapter.getDevice(TestUtils.randomAddress());
+
+    @BeforeEach
+    public void setup() {
+        filter.configure(60000, 60000);
+    }
+
+    private static BluetoothScanNotification notification(int rssi, byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        if (manufacturerData.length > 0) {
+            notification.setManufacturerData(manufacturerData);
+        }
+        return notification;
+    }
+
+    @Test
+    public void dropWithoutListeners() {
+        assertFalse(filter.acceptScanNotification(device, notification(-60, (byte) 1)));
+        assertEquals(1, filter.getDroppedNoListener());
+    }
+
+    @Test
+    public void dropUnchangedAdvertisements() {
+        device.addListener(listener);
+
+        assertTrue(filter.acceptScanNotification(device, notification(-60, (byte) 1, (byte) 2)));
+        assertFalse(filter.acceptScanNotification(device, notification(-60, (byte) 1, (byte) 2)));
+        assertTrue(filter.acceptScanNotification(device, notification(-60, (byte) 1, (byte) 3)));
+
+        assertEquals(3, filter.getAdvertisements());
+        assertEquals(1, filter.getDroppedUnchanged());
+    }
+
+    @Test
+    public void rateLimitRssiUpdates() {
+        device.addListener(listener);
+
+        assertTrue(filter.acceptScanNotification(device, notification(-60, (byte) 1)));
+        assertFalse(filter.acceptScanNotification(device, notification(-61, (byte) 1)));
+        assertFalse(filter.acceptScanNotification(device, notification(-62)));
+        assertEquals(2, filter.getDroppedRssi());
+
+        filter.configure(60000, 0);
+        assertTrue(filter.acceptScanNotification(device, notification(-63)));
+    }
+
+    @Test
+    public void forwardEverythingIfDisabled() {
+        filter.configure(0, 0);
+        device.addListener(listener);
+
+        assertTrue(filter.acceptScanNotification(device, notification(-60, (byte) 1)));
+        assertTrue(filter.acceptScanNotification(device, notification(-60, (byte) 1)));
+        assertTrue(filter.acceptScanNotification(device, notification(-61, (byte) 1)));
+    }
+
+    @Test
+    public void dropUnchangedDiscoveries() {
+        assertTrue(filter.acceptDiscovery(device));
+        assertFalse(filter.acceptDiscovery(device));
+
+        device.setName("name");
+        assertTrue(filter.acceptDiscovery(device));
+
+        filter.resetDiscovery(device.getAddress());
+        assertTrue(filter.acceptDiscovery(device));
+        assertEquals(1, filter.getDroppedDiscoveries());
+    }
+}
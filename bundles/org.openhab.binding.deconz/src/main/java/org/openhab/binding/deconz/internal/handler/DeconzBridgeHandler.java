@@ -76,6 +76,11 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
 
     /** The poll frequency for the API Key verification */
     private static final int POLL_FREQUENCY_SEC = 10;
+    private static final int STATISTICS_INTERVAL_SEC = 60;
+
+    private @Nullable ScheduledFuture<?> statisticsJob;
+    private long lastFramesReceived = 0;
+    private long lastParseNanos = 0;
 
     public DeconzBridgeHandler(Bridge thing, WebSocketFactory webSocketFactory, AsyncHttpClient http, Gson gson) {
         super(thing);
@@ -117,6 +122,25 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         }
     }
 
+    /**
+     * Log the websocket message statistics of the last interval
+     */
+    private void logWebsocketStatistics() {
+        long framesReceived = websocket.getFramesReceived();
+        long parseNanos = websocket.getParseNanos();
+        long frames = framesReceived - lastFramesReceived;
+        if (frames == 0) {
+            return;
+        }
+        long averageParseMicros = TimeUnit.NANOSECONDS.toMicros(parseNanos - lastParseNanos) / frames;
+        lastFramesReceived = framesReceived;
+        lastParseNanos = parseNanos;
+
+        logger.debug("Websocket of {}: {} frames per minute, {} frames dropped, {} microseconds parse time per frame",
+                thing.getUID(), frames * 60 / STATISTICS_INTERVAL_SEC, websocket.getFramesDropped(),
+                averageParseMicros);
+    }
+
     /**
      * Parses the response message to the API key generation REST API.
      *
@@ -280,6 +304,8 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         logger.debug("Start initializing bridge {}", thing.getUID());
         thingDisposing = false;
         config = getConfigAs(DeconzBridgeConfig.class);
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logWebsocketStatistics, STATISTICS_INTERVAL_SEC,
+                STATISTICS_INTERVAL_SEC, TimeUnit.SECONDS);
         if (config.apikey == null) {
             requestApiKey();
         } else {
@@ -291,6 +317,11 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
     public void dispose() {
         thingDisposing = true;
         stopTimer();
+        ScheduledFuture<?> job = statisticsJob;
+        if (job != null) {
+            job.cancel(true);
+            statisticsJob = null;
+        }
         websocket.close();
     }
 
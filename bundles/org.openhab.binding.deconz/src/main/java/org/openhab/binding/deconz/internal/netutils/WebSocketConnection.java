@@ -12,11 +12,13 @@
  */
 package org.openhab.binding.deconz.internal.netutils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +35,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
@@ -54,6 +58,10 @@ public class WebSocketConnection {
     private final WebSocketConnectionListener connectionListener;
     private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
 
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable Session session;
 
@@ -121,39 +129,101 @@ public class WebSocketConnection {
         }
         logger.trace("{} received raw data: {}", socketName, message);
 
+        long start = System.nanoTime();
+        boolean parsed = false;
+        framesReceived.incrementAndGet();
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
+            // Only read the resource type and id, frames without a listener are dropped without decoding them
+            MessageHeader header = readHeader(message);
+            if (header.resourceType == ResourceType.UNKNOWN) {
                 logger.trace("Received message has unknown resource type. Skipping message.");
+                framesDropped.incrementAndGet();
                 return;
             }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(changedMessage.r, changedMessage.id));
+            WebSocketMessageListener listener = listeners.get(getListenerId(header.resourceType, header.id));
             if (listener == null) {
                 logger.debug(
                         "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
+                        header.id, header.resourceType);
+                framesDropped.incrementAndGet();
                 return;
             }
 
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
+            Class<? extends DeconzBaseMessage> expectedMessageType = header.resourceType.getExpectedMessageType();
             if (expectedMessageType == null) {
                 logger.warn(
                         "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
+                        header.resourceType);
                 return;
             }
 
             DeconzBaseMessage deconzMessage = gson.fromJson(message, expectedMessageType);
+            // the processing by the listener is not part of the parse time
+            parseNanos.addAndGet(System.nanoTime() - start);
+            parsed = true;
             if (deconzMessage != null) {
-                listener.messageReceived(changedMessage.id, deconzMessage);
+                listener.messageReceived(header.id, deconzMessage);
 
             }
-        } catch (RuntimeException e) {
+        } catch (IOException | RuntimeException e) {
             // we need to catch all processing exceptions, otherwise they could affect the connection
             logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
                     e.getMessage());
+        } finally {
+            if (!parsed) {
+                parseNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Read the resource type and id of a message. Reading stops as soon as both are found, the remaining message is not
+     * parsed.
+     *
+     * @param message the websocket message
+     * @return the header of the message, the resource type is UNKNOWN if it is missing
+     * @throws IOException if the message is not a JSON object
+     */
+    static MessageHeader readHeader(String message) throws IOException {
+        @Nullable String resource = null;
+        String id = "";
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.beginObject();
+            while (reader.hasNext() && (resource == null || id.isEmpty())) {
+                String name = reader.nextName();
+                if ("r".equals(name) && reader.peek() == JsonToken.STRING) {
+                    resource = reader.nextString();
+                } else if ("id".equals(name) && reader.peek() == JsonToken.STRING) {
+                    id = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
         }
+        return new MessageHeader(resource == null ? ResourceType.UNKNOWN : ResourceType.fromString(resource), id);
+    }
+
+    /**
+     * @return the number of messages received since the connection was created
+     */
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    /**
+     * @return the number of messages dropped without decoding, because no thing listens to their resource
+     */
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    /**
+     * @return the total time in nanoseconds spent reading and decoding received messages, excluding the time the
+     *         listeners took to process them
+     */
+    public long getParseNanos() {
+        return parseNanos.get();
     }
 
     @SuppressWarnings("unused")
@@ -213,6 +283,19 @@ public class WebSocketConnection {
         return resourceType.name() + "$" + id;
     }
 
+    /**
+     * the resource type and id of a message
+     */
+    static class MessageHeader {
+        final ResourceType resourceType;
+        final String id;
+
+        MessageHeader(ResourceType resourceType, String id) {
+            this.resourceType = resourceType;
+            this.id = id;
+        }
+    }
+
     /**
      * used internally to represent the connection state
      */
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetSocketAddress;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.dto.SensorState;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnection;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnectionListener;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageListener;
+import org.openhab.binding.deconz.internal.types.*;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * This class provides tests for the message demultiplexing of the websocket connection
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private @Mock @NonNullByDefault({}) WebSocketConnectionListener connectionListener;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener messageListener;
+    private @Mock @NonNullByDefault({}) WebSocketClient client;
+    private @Mock @NonNullByDefault({}) Session session;
+
+    private @NonNullByDefault({}) WebSocketConnection connection;
+
+    @BeforeEach
+    public void initialize() {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(LightType.class, new LightTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(GroupType.class, new GroupTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ResourceType.class, new ResourceTypeDeserializer());
+        gsonBuilder.registerTypeAdapter(ThermostatMode.class, new ThermostatModeGsonTypeAdapter());
+        Gson gson = gsonBuilder.create();
+
+        doReturn(new InetSocketAddress("127.0.0.1", 443)).when(session).getRemoteAddress();
+        connection = new WebSocketConnection(connectionListener, client, gson);
+        connection.onConnect(session);
+    }
+
+    @Test
+    public void messageIsDecodedIntoResourceType() {
+        connection.registerListener(ResourceType.SENSORS, "3", messageListener);
+
+        connection.onMessage(session,
+                "{\"e\":\"changed\",\"id\":\"3\",\"r\":\"sensors\",\"state\":{\"buttonevent\":1002,\"lastupdated\":\"2020-08-22T11:09:00\"},\"t\":\"event\",\"uniqueid\":\"00:0b:57:ff:fe:94:6b:dd-01-1000\"}");
+
+        ArgumentCaptor<DeconzBaseMessage> message = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(messageListener).messageReceived(eq("3"), message.capture());
+        assertTrue(message.getValue() instanceof SensorMessage);
+        SensorMessage sensorMessage = (SensorMessage) message.getValue();
+        assertEquals(ResourceType.SENSORS, sensorMessage.r);
+        SensorState state = sensorMessage.state;
+        assertNotNull(state);
+        assertEquals(1002, state.buttonevent);
+        assertEquals(1, connection.getFramesReceived());
+        assertEquals(0, connection.getFramesDropped());
+    }
+
+    @Test
+    public void messagesWithoutListenerAreDropped() {
+        connection.registerListener(ResourceType.SENSORS, "3", messageListener);
+
+        // the resource type follows the state, the id of another resource type must not match
+        connection.onMessage(session,
+                "{\"e\":\"changed\",\"id\":\"3\",\"state\":{\"on\":true,\"reachable\":true},\"r\":\"lights\",\"t\":\"event\"}");
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"4\",\"r\":\"sensors\",\"t\":\"event\"}");
+        connection.onMessage(session, "{\"e\":\"scene-called\",\"gid\":\"1\",\"r\":\"scenes\",\"scid\":\"2\"}");
+        connection.onMessage(session, "not json");
+
+        verify(messageListener, never()).messageReceived(anyString(), any());
+        assertEquals(4, connection.getFramesReceived());
+        assertEquals(3, connection.getFramesDropped());
+    }
+}
@@ -63,6 +63,11 @@ public class HomematicBindingConstants {
     public static final String PROPERTY_BATTERY_TYPE = "batteryType";
     public static final String PROPERTY_AES_KEY = "aesKey";
     public static final String PROPERTY_DYNAMIC_FUNCTION_FORMAT = "dynamicFunction-%d";
+    public static final String PROPERTY_METADATA_DEVICES = "metadataDevices";
+    public static final String PROPERTY_METADATA_DESCRIPTIONS_MILLIS = "metadataDeviceDescriptionsMillis";
+    public static final String PROPERTY_METADATA_DATAPOINTS_MILLIS = "metadataDatapointsMillis";
+    public static final String PROPERTY_METADATA_CHANNELS_FROM_CACHE = "metadataChannelsFromCache";
+    public static final String PROPERTY_METADATA_CHANNELS_FROM_GATEWAY = "metadataChannelsFromGateway";
 
     public static final int INSTALL_MODE_NORMAL = 1;
 
@@ -14,6 +14,7 @@ package org.openhab.binding.homematic.internal.communicator;
 
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,11 +24,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
@@ -73,9 +81,11 @@ import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
 import org.openhab.binding.homematic.internal.model.HmDevice;
 import org.openhab.binding.homematic.internal.model.HmGatewayInfo;
 import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmMetadataStatistics;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +100,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String METADATA_POOL_NAME = "homematicMetadata";
+    private static final int METADATA_LOAD_THREADS_PER_INTERFACE = 4;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -106,11 +118,16 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ExecutorService metadataExecutor = ThreadPoolManager.getPool(METADATA_POOL_NAME);
+    private final Object deviceLoadedLock = new Object();
+    private final AtomicInteger channelsLoadedFromGateway = new AtomicInteger();
+    private DeviceMetadataCache metadataCache;
+    private HmMetadataStatistics metadataStatistics;
 
     static {
         // loads all virtual datapoints
@@ -141,6 +158,14 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.httpClient = httpClient;
     }
 
+    /**
+     * Returns the file the device metadata of this gateway is cached in.
+     */
+    protected File getMetadataCacheFile() {
+        return new File(OpenHAB.getUserDataFolder() + File.separator + "homematic" + File.separator + id
+                + ".metadata");
+    }
+
     @Override
     public void initialize() throws IOException {
         logger.debug("Initializing gateway with id '{}'", id);
@@ -179,6 +204,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             }
         }
 
+        metadataCache = new DeviceMetadataCache(getMetadataCacheFile(),
+                String.format("%s:%s", gatewayInfo.getType(), gatewayInfo.getFirmware()));
+
         logger.info("{}", config.getGatewayInfo());
         StringBuilder sb = new StringBuilder();
         for (Entry<HmInterface, TransferMode> entry : availableInterfaces.entrySet()) {
@@ -368,64 +396,118 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        long startTime = System.currentTimeMillis();
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
+        long descriptionsTime = System.currentTimeMillis();
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        // loading datapoints for all channels, in parallel for each interface
+        metadataCache.load();
+        channelsLoadedFromGateway.set(0);
+        Map<HmInterface, Queue<HmDevice>> devicesByInterface = new TreeMap<>();
         for (HmDevice device : deviceDescriptions) {
-            if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
-                    } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
-                            }
+            devicesByInterface.computeIfAbsent(device.getHmInterface(), i -> new ConcurrentLinkedQueue<>()).add(device);
+        }
+        Set<String> loadedDevices = ConcurrentHashMap.newKeySet();
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new ConcurrentHashMap<>();
+        List<Future<?>> workers = new ArrayList<>();
+        for (Queue<HmDevice> queue : devicesByInterface.values()) {
+            for (int i = 0; i < Math.min(METADATA_LOAD_THREADS_PER_INTERFACE, queue.size()); i++) {
+                workers.add(metadataExecutor.submit(() -> {
+                    HmDevice device;
+                    while (!cancelLoadAllMetadata && (device = queue.poll()) != null) {
+                        if (loadDeviceMetadata(device, datapointsByChannelIdCache)) {
+                            loadedDevices.add(device.getAddress());
                         }
                     }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
-                }
+                }));
+            }
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
             }
+        } catch (InterruptedException ex) {
+            cancelLoadAllMetadata = true;
+            workers.forEach(worker -> worker.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.warn("Loading metadata from gateway '{}' failed: {}", id, ex.getMessage(), ex);
         }
+        metadataCache.save();
+
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
         }
+        long endTime = System.currentTimeMillis();
+        metadataStatistics = new HmMetadataStatistics(loadedDevices.size(), descriptionsTime - startTime,
+                endTime - descriptionsTime, metadataCache.getHits(), channelsLoadedFromGateway.get());
+        logger.debug("Loaded metadata from gateway '{}': {}", id, metadataStatistics);
         initialized = true;
     }
 
+    /**
+     * Loads the metadata of all channels of a device, takes it from the cache if possible.
+     *
+     * @return true, if the device has been loaded successfully
+     */
+    private boolean loadDeviceMetadata(HmDevice device,
+            Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache) {
+        try {
+            logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+            if (device.isGatewayExtras()) {
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+            } else {
+                for (HmChannel channel : device.getChannels()) {
+                    logger.trace("  Loading channel {}", channel);
+                    // speed up metadata generation a little bit for equal channels in the gateway devices
+                    if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
+                            || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
+                        HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                        cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                    } else {
+                        String channelId = DeviceMetadataCache.getChannelId(channel);
+                        Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                        if (cachedDatapoints == null) {
+                            cachedDatapoints = metadataCache.get(channel);
+                        }
+                        if (cachedDatapoints != null) {
+                            // clone all datapoints
+                            cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+                        } else {
+                            logger.trace("    Loading datapoints into channel {}", channel);
+                            addChannelDatapoints(channel, HmParamsetType.MASTER);
+                            addChannelDatapoints(channel, HmParamsetType.VALUES);
+                            channelsLoadedFromGateway.incrementAndGet();
+
+                            // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                            // the data point set might change depending on the selected mode.
+                            if (!channel.isReconfigurable()) {
+                                datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                                metadataCache.put(channel);
+                            }
+                        }
+                    }
+                }
+            }
+            synchronized (deviceLoadedLock) {
+                prepareDevice(device);
+                gatewayAdapter.onDeviceLoaded(device);
+            }
+            return true;
+        } catch (IOException ex) {
+            logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                    ex.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public HmMetadataStatistics getMetadataStatistics() {
+        return metadataStatistics;
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the datapoint metadata (MASTER and VALUES paramset descriptions) of the channels, keyed by
+ * device type, firmware and channel number. The cache is discarded if the format or the gateway firmware changes.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(DeviceMetadataCache.class);
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_INTEGER = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_DOUBLE = 3;
+    private static final byte VALUE_BOOLEAN = 4;
+    private static final byte VALUE_STRING = 5;
+
+    private final File file;
+    private final String gatewaySignature;
+    private final Map<String, List<HmDatapoint>> datapointsByChannelId = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private boolean loaded;
+    private volatile boolean modified;
+
+    /**
+     * @param file the file the cache is stored in
+     * @param gatewaySignature identifies the gateway type and firmware the metadata was read from
+     */
+    public DeviceMetadataCache(File file, String gatewaySignature) {
+        this.file = file;
+        this.gatewaySignature = gatewaySignature;
+    }
+
+    /**
+     * Returns the id of the channel metadata, equal for all channels with the same metadata.
+     */
+    public static String getChannelId(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Returns the cached datapoints of a channel or null, if the metadata of the channel is not cached.
+     */
+    public Collection<HmDatapoint> get(HmChannel channel) {
+        List<HmDatapoint> datapoints = datapointsByChannelId.get(getChannelId(channel));
+        if (datapoints != null) {
+            hits.incrementAndGet();
+        }
+        return datapoints;
+    }
+
+    /**
+     * Stores the datapoints of a channel, reconfigurable channels are not cached because their datapoints depend on
+     * the selected mode.
+     */
+    public void put(HmChannel channel) {
+        if (channel.isReconfigurable()) {
+            return;
+        }
+        List<HmDatapoint> datapoints = new ArrayList<>();
+        for (HmDatapoint dp : channel.getDatapoints()) {
+            if (!dp.isVirtual()) {
+                HmDatapoint clonedDp = dp.clone();
+                clonedDp.setChannel(null);
+                clonedDp.setValue(null);
+                datapoints.add(clonedDp);
+            }
+        }
+        datapointsByChannelId.put(getChannelId(channel), datapoints);
+        modified = true;
+    }
+
+    /**
+     * Returns the number of channels found in the cache since the cache was loaded.
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Loads the cache from the file, only the first call reads the file.
+     */
+    public synchronized void load() {
+        hits.set(0);
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !gatewaySignature.equals(in.readUTF())) {
+                logger.debug("Metadata cache '{}' was created by another version or gateway, ignoring it", file);
+                return;
+            }
+            int channelCount = in.readInt();
+            for (int i = 0; i < channelCount; i++) {
+                String channelId = in.readUTF();
+                int datapointCount = in.readInt();
+                List<HmDatapoint> datapoints = new ArrayList<>(datapointCount);
+                for (int j = 0; j < datapointCount; j++) {
+                    datapoints.add(readDatapoint(in));
+                }
+                datapointsByChannelId.put(channelId, datapoints);
+            }
+            logger.debug("Loaded metadata of {} channel types from cache '{}'", channelCount, file);
+        } catch (FileNotFoundException ex) {
+            logger.debug("No metadata cache '{}' available", file);
+        } catch (IOException | IllegalArgumentException | ClassCastException ex) {
+            logger.warn("Can't read metadata cache '{}', loading all metadata from the gateway: {}", file,
+                    ex.getMessage());
+            datapointsByChannelId.clear();
+        }
+    }
+
+    /**
+     * Writes the cache to the file, if it has been modified.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            File folder = file.getParentFile();
+            if (folder != null && !folder.exists() && !folder.mkdirs()) {
+                throw new IOException("Can't create folder " + folder);
+            }
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(gatewaySignature);
+                Map<String, List<HmDatapoint>> snapshot = Map.copyOf(datapointsByChannelId);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, List<HmDatapoint>> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (HmDatapoint dp : entry.getValue()) {
+                        writeDatapoint(out, dp);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            modified = false;
+            logger.debug("Saved metadata of {} channel types to cache '{}'", datapointsByChannelId.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't write metadata cache '{}': {}", file, ex.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private void writeDatapoint(DataOutputStream out, HmDatapoint dp) throws IOException {
+        out.writeUTF(dp.getName());
+        writeString(out, dp.getDescription());
+        out.writeUTF(dp.getType().name());
+        out.writeUTF(dp.getParamsetType().name());
+        writeValue(out, dp.getMinValue());
+        writeValue(out, dp.getMaxValue());
+        writeValue(out, dp.getStep());
+        writeValue(out, dp.getDefaultValue());
+        String[] options = dp.getOptions();
+        out.writeInt(options == null ? -1 : options.length);
+        if (options != null) {
+            for (String option : options) {
+                writeString(out, option);
+            }
+        }
+        out.writeBoolean(dp.isReadOnly());
+        out.writeBoolean(dp.isReadable());
+        writeString(out, dp.getInfo());
+        writeString(out, dp.getUnit());
+        out.writeBoolean(dp.isTrigger());
+    }
+
+    private HmDatapoint readDatapoint(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String description = readString(in);
+        HmValueType type = HmValueType.valueOf(in.readUTF());
+        HmParamsetType paramsetType = HmParamsetType.valueOf(in.readUTF());
+        HmDatapoint dp = new HmDatapoint(name, description, type, null, false, paramsetType);
+        dp.setMinValue((Number) readValue(in));
+        dp.setMaxValue((Number) readValue(in));
+        dp.setStep((Number) readValue(in));
+        dp.setDefaultValue(readValue(in));
+        int optionCount = in.readInt();
+        if (optionCount >= 0) {
+            String[] options = new String[optionCount];
+            for (int i = 0; i < optionCount; i++) {
+                options[i] = readString(in);
+            }
+            dp.setOptions(options);
+        }
+        dp.setReadOnly(in.readBoolean());
+        dp.setReadable(in.readBoolean());
+        dp.setInfo(readString(in));
+        dp.setUnit(readString(in));
+        dp.setTrigger(in.readBoolean());
+        return dp;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Number) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value != null) {
+            out.writeByte(VALUE_STRING);
+            out.writeUTF(value.toString());
+        } else {
+            out.writeByte(VALUE_NULL);
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte valueType = in.readByte();
+        switch (valueType) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_STRING:
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown value type " + valueType);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.openhab.binding.homematic.internal.model.HmDatapoint;
 import org.openhab.binding.homematic.internal.model.HmDatapointConfig;
 import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
 import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmMetadataStatistics;
 
 /**
  * Describes the methods required for the communication with a Homematic gateway.
@@ -58,6 +59,11 @@ public interface HomematicGateway {
      */
     public void loadAllDeviceMetadata() throws IOException;
 
+    /**
+     * Returns the statistics of the last run of {@link #loadAllDeviceMetadata()} or null, if it didn't run yet.
+     */
+    public HmMetadataStatistics getMetadataStatistics();
+
     /**
      * Loads all values into the given channel.
      */
@@ -53,6 +53,11 @@ public class BinRpcClient extends RpcClient<byte[]> {
         return "binary://" + config.getCallbackHost() + ":" + config.getBinCallbackPort();
     }
 
+    @Override
+    protected boolean isMulticallSupported() {
+        return true;
+    }
+
     @Override
     public void init(HmInterface hmInterface, String clientId) throws IOException {
         super.init(hmInterface, clientId);
@@ -63,7 +68,7 @@ public class BinRpcClient extends RpcClient<byte[]> {
      * Sends a BIN-RPC message and parses the response to see if there was an error.
      */
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client BinRpcRequest:\n{}", request);
         }
@@ -71,29 +76,37 @@ public class BinRpcClient extends RpcClient<byte[]> {
     }
 
     /**
-     * Sends the message, retries if there was an error.
+     * Sends the message, retries calls without side effects if there was a connection error. Other calls, including
+     * system.multicall, may already have been executed by the gateway.
      */
     private Object[] sendMessage(int port, RpcRequest<byte[]> request, int rpcRetryCounter) throws IOException {
         BinRpcMessage resp = null;
+        SocketInfo socketInfo = socketHandler.acquireSocket(port);
+        boolean reusable = false;
         try {
-            Socket socket = socketHandler.getSocket(port);
+            Socket socket = socketInfo.getSocket();
             socket.getOutputStream().write(request.createMessage());
             resp = new BinRpcMessage(socket.getInputStream(), false, config.getEncoding());
+            reusable = true;
             return new RpcResponseParser(request).parse(resp.getResponseData());
-        } catch (UnknownRpcFailureException | UnknownParameterSetException rpcEx) {
-            // throw immediately, don't retry the message
+        } catch (RpcFaultException rpcEx) {
+            // the gateway answered, throw immediately, don't retry the message
             throw rpcEx;
         } catch (IOException ioEx) {
-            if ("init".equals(request.getMethodName()) || rpcRetryCounter >= MAX_RPC_RETRY) {
+            if (!READ_METHODS.contains(request.getMethodName()) || rpcRetryCounter >= MAX_RPC_RETRY) {
                 throw ioEx;
             } else {
                 rpcRetryCounter++;
                 logger.debug("BinRpcMessage socket failure, sending message again {}/{}", rpcRetryCounter,
                         MAX_RPC_RETRY);
-                socketHandler.removeSocket(port);
+                socketHandler.releaseSocket(port, socketInfo, false);
+                socketInfo = null;
                 return sendMessage(port, request, rpcRetryCounter);
             }
         } finally {
+            if (socketInfo != null) {
+                socketHandler.releaseSocket(port, socketInfo, reusable);
+            }
             if (logger.isTraceEnabled()) {
                 logger.trace("Client BinRpcResponse:\n{}", resp == null ? "null" : resp.toString());
             }
@@ -15,10 +15,19 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.homematic.internal.HomematicBindingConstants;
@@ -33,6 +42,7 @@ import org.openhab.binding.homematic.internal.communicator.parser.GetValueParser
 import org.openhab.binding.homematic.internal.communicator.parser.HomegearLoadDeviceNamesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListDevicesParser;
+import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.communicator.parser.RssiInfoParser;
 import org.openhab.binding.homematic.internal.model.HmChannel;
 import org.openhab.binding.homematic.internal.model.HmDatapoint;
@@ -53,8 +63,14 @@ public abstract class RpcClient<T> {
     private final Logger logger = LoggerFactory.getLogger(RpcClient.class);
     protected static final int MAX_RPC_RETRY = 3;
     protected static final int RESP_BUFFER_SIZE = 8192;
+    private static final int MAX_MULTICALL_SIZE = 50;
+    // Calls without side effects, only these are sent again after a connection failure
+    protected static final Set<String> READ_METHODS = Set.of("ping", "listBidcosInterfaces", "getDeviceDescription",
+            "getAllSystemVariables", "getDeviceInfo", "getAllScripts", "listDevices", "getParamsetDescription",
+            "getParamset", "getValue", "getInstallMode", "rssiInfo");
 
     protected HomematicConfig config;
+    private final Map<Integer, MulticallBatch> multicallBatches = new ConcurrentHashMap<>();
 
     public RpcClient(HomematicConfig config) {
         this.config = config;
@@ -80,6 +96,32 @@ public abstract class RpcClient<T> {
      */
     protected abstract Object[] sendMessage(int port, RpcRequest<T> request) throws IOException;
 
+    /**
+     * Returns true, if the client can combine concurrent calls with system.multicall.
+     */
+    protected boolean isMulticallSupported() {
+        return false;
+    }
+
+    /**
+     * Sends a call to the gateway, concurrent calls to the same port are combined into one system.multicall request
+     * if supported by the client.
+     */
+    protected Object[] sendBatchable(int port, String methodName, List<Object> args) throws IOException {
+        if (!isMulticallSupported()) {
+            return sendMessage(port, createRpcRequest(methodName, args));
+        }
+        return multicallBatches.computeIfAbsent(port, MulticallBatch::new).send(methodName, args);
+    }
+
+    private RpcRequest<T> createRpcRequest(String methodName, List<Object> args) {
+        RpcRequest<T> request = createRpcRequest(methodName);
+        for (Object arg : args) {
+            request.addArg(arg);
+        }
+        return request;
+    }
+
     /**
      * Register a callback for the specified interface where the Homematic gateway can send its events.
      */
@@ -192,14 +234,14 @@ public abstract class RpcClient<T> {
             return;
         }
 
-        RpcRequest<T> request = createRpcRequest("getParamset");
-        request.addArg(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
-        request.addArg(paramsetType.toString());
         if (channel.getDevice().getHmInterface() == HmInterface.CUXD && paramsetType == HmParamsetType.VALUES) {
             setChannelDatapointValues(channel);
         } else {
             try {
-                new GetParamsetParser(channel, paramsetType).parse(sendMessage(config.getRpcPort(channel), request));
+                new GetParamsetParser(channel, paramsetType).parse(sendBatchable(config.getRpcPort(channel),
+                        "getParamset", Arrays.asList(
+                                getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel),
+                                paramsetType.toString())));
             } catch (UnknownRpcFailureException ex) {
                 if (paramsetType == HmParamsetType.VALUES) {
                     logger.debug(
@@ -316,29 +358,29 @@ public abstract class RpcClient<T> {
             value = ((Number) value).intValue();
         }
 
-        RpcRequest<T> request;
+        String methodName;
+        List<Object> args = new ArrayList<>();
         if (HmParamsetType.VALUES == dp.getParamsetType()) {
-            request = createRpcRequest("setValue");
-            request.addArg(getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()));
-            request.addArg(dp.getName());
-            request.addArg(value);
-            configureRxMode(request, rxMode);
+            methodName = "setValue";
+            args.add(getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()));
+            args.add(dp.getName());
+            args.add(value);
         } else {
-            request = createRpcRequest("putParamset");
-            request.addArg(getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()));
-            request.addArg(HmParamsetType.MASTER.toString());
+            methodName = "putParamset";
+            args.add(getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()));
+            args.add(HmParamsetType.MASTER.toString());
             Map<String, Object> paramSet = new HashMap<>();
             paramSet.put(dp.getName(), value);
-            request.addArg(paramSet);
-            configureRxMode(request, rxMode);
+            args.add(paramSet);
         }
-        sendMessage(config.getRpcPort(dp.getChannel()), request);
+        configureRxMode(args, rxMode);
+        sendBatchable(config.getRpcPort(dp.getChannel()), methodName, args);
     }
 
-    protected void configureRxMode(RpcRequest<T> request, String rxMode) {
+    protected void configureRxMode(List<Object> args, String rxMode) {
         if (rxMode != null) {
             if (RX_BURST_MODE.equals(rxMode) || RX_WAKEUP_MODE.equals(rxMode)) {
-                request.addArg(rxMode);
+                args.add(rxMode);
             }
         }
     }
@@ -351,10 +393,9 @@ public abstract class RpcClient<T> {
      */
     public void getDatapointValue(HmDatapoint dp) throws IOException {
         if (dp.isReadable() && !dp.isVirtual() && dp.getParamsetType() == HmParamsetType.VALUES) {
-            RpcRequest<T> request = createRpcRequest("getValue");
-            request.addArg(getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()));
-            request.addArg(dp.getName());
-            new GetValueParser(dp).parse(sendMessage(config.getRpcPort(dp.getChannel()), request));
+            new GetValueParser(dp).parse(sendBatchable(config.getRpcPort(dp.getChannel()), "getValue", Arrays.asList(
+                    getRpcAddress(dp.getChannel().getDevice().getAddress()) + getChannelSuffix(dp.getChannel()),
+                    dp.getName())));
         }
     }
 
@@ -463,4 +504,147 @@ public abstract class RpcClient<T> {
     private boolean isConfigurationChannel(HmChannel channel) {
         return channel.getNumber() == CONFIGURATION_CHANNEL_NUMBER;
     }
+
+    /**
+     * Combines the calls of concurrent threads to one port. The thread that gets the send lock sends all pending calls
+     * with one system.multicall request, the other threads wait for their result. Falls back to single requests if
+     * the gateway rejects system.multicall on this port. If the connection fails, only the read calls are sent again.
+     */
+    private class MulticallBatch {
+        private final int port;
+        private final Queue<Call> pendingCalls = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private volatile boolean multicallSupported = true;
+
+        public MulticallBatch(int port) {
+            this.port = port;
+        }
+
+        /**
+         * Queues the call and sends pending calls until the queue is empty or another thread took over.
+         */
+        public Object[] send(String methodName, List<Object> args) throws IOException {
+            Call call = new Call(createRpcRequest(methodName, args), methodName, args);
+            pendingCalls.add(call);
+            // a thread that doesn't get the lock relies on the lock owner checking the queue after unlocking
+            while (!pendingCalls.isEmpty() && sendLock.tryLock()) {
+                try {
+                    List<Call> calls;
+                    while (!(calls = nextCalls()).isEmpty()) {
+                        sendCalls(calls);
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+            return call.getResult();
+        }
+
+        private List<Call> nextCalls() {
+            List<Call> calls = new ArrayList<>();
+            Call call;
+            while (calls.size() < MAX_MULTICALL_SIZE && (call = pendingCalls.poll()) != null) {
+                calls.add(call);
+            }
+            return calls;
+        }
+
+        private void sendCalls(List<Call> calls) {
+            List<Call> singleCalls = calls;
+            if (calls.size() > 1 && multicallSupported) {
+                try {
+                    sendMulticall(calls);
+                    return;
+                } catch (RpcFaultException ex) {
+                    // the gateway rejected system.multicall itself, so none of the calls was executed
+                    multicallSupported = false;
+                    logger.debug("system.multicall rejected on port {}, disabling it and sending calls separately: {}",
+                            port, ex.getMessage());
+                } catch (IOException ex) {
+                    // the gateway may have executed the calls, only calls without side effects are sent again
+                    logger.debug("system.multicall failed on port {}, sending read calls separately: {}", port,
+                            ex.getMessage());
+                    singleCalls = new ArrayList<>(calls.size());
+                    for (Call call : calls) {
+                        if (READ_METHODS.contains(call.methodName)) {
+                            singleCalls.add(call);
+                        } else {
+                            call.result.completeExceptionally(ex);
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    calls.forEach(call -> call.result.completeExceptionally(ex));
+                    return;
+                }
+            }
+            for (Call call : singleCalls) {
+                try {
+                    call.result.complete(sendMessage(port, call.request));
+                } catch (IOException | RuntimeException ex) {
+                    call.result.completeExceptionally(ex);
+                }
+            }
+        }
+
+        private void sendMulticall(List<Call> calls) throws IOException {
+            List<Object> multicalls = new ArrayList<>(calls.size());
+            for (Call call : calls) {
+                Map<String, Object> multicall = new HashMap<>();
+                multicall.put("methodName", call.methodName);
+                multicall.put("params", call.args);
+                multicalls.add(multicall);
+            }
+            RpcRequest<T> request = createRpcRequest("system.multicall");
+            request.addArg(multicalls);
+            Object[] response = sendMessage(port, request);
+            if (!(response[0] instanceof Object[]) || ((Object[]) response[0]).length != calls.size()) {
+                throw new IOException("Unexpected system.multicall response: " + Arrays.deepToString(response));
+            }
+            Object[] results = (Object[]) response[0];
+            for (int i = 0; i < calls.size(); i++) {
+                Call call = calls.get(i);
+                try {
+                    // a successful call returns an array with the result, a failed call a fault struct
+                    Object[] message = results[i] instanceof Object[] ? (Object[]) results[i]
+                            : new Object[] { results[i] };
+                    call.result.complete(new RpcResponseParser(call.request).parse(message));
+                } catch (IOException | RuntimeException ex) {
+                    call.result.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * A call waiting in a {@link MulticallBatch}.
+     */
+    private class Call {
+        private final RpcRequest<T> request;
+        private final String methodName;
+        private final List<Object> args;
+        private final CompletableFuture<Object[]> result = new CompletableFuture<>();
+
+        public Call(RpcRequest<T> request, String methodName, List<Object> args) {
+            this.request = request;
+            this.methodName = methodName;
+            this.args = args;
+        }
+
+        public Object[] getResult() throws IOException {
+            try {
+                return result.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for " + methodName, ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
 }
@@ -15,76 +15,128 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple socket cache class.
+ * Socket pool with independent pools for each port, so requests to different interfaces never wait for each other
+ * and up to {@link #MAX_SOCKETS_PER_PORT} requests to the same interface can be sent in parallel.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class SocketHandler {
     private final Logger logger = LoggerFactory.getLogger(SocketHandler.class);
+    protected static final int MAX_SOCKETS_PER_PORT = 4;
 
-    private Map<Integer, SocketInfo> socketsPerPort = new HashMap<>();
+    private final Map<Integer, SocketPool> poolsPerPort = new ConcurrentHashMap<>();
     private HomematicConfig config;
 
+    /**
+     * The sockets of one port.
+     */
+    private static class SocketPool {
+        private final ConcurrentLinkedDeque<SocketInfo> idleSockets = new ConcurrentLinkedDeque<>();
+        private final Semaphore permits = new Semaphore(MAX_SOCKETS_PER_PORT, true);
+        private final AtomicInteger generation = new AtomicInteger();
+    }
+
     public SocketHandler(HomematicConfig config) {
         this.config = config;
     }
 
     /**
-     * Returns a socket for the given port, (re)creates it if required.
+     * Returns an idle socket for the given port or creates a new one, waits if all sockets of the port are in use.
+     * The socket must be given back with {@link #releaseSocket(int, SocketInfo, boolean)}.
      */
-    public Socket getSocket(int port) throws IOException {
-        SocketInfo socketInfo = socketsPerPort.get(port);
-        if (socketInfo == null) {
+    public SocketInfo acquireSocket(int port) throws IOException {
+        SocketPool pool = poolsPerPort.computeIfAbsent(port, p -> new SocketPool());
+        try {
+            if (!pool.permits.tryAcquire(config.getTimeout(), TimeUnit.SECONDS)) {
+                throw new IOException("Timeout waiting for a free socket on port " + port);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a free socket on port " + port, ex);
+        }
+        try {
+            SocketInfo socketInfo;
+            while ((socketInfo = pool.idleSockets.pollFirst()) != null) {
+                boolean isMaxAliveReached = System.currentTimeMillis()
+                        - socketInfo.getCreated() > (config.getSocketMaxAlive() * 1000);
+                if (!isMaxAliveReached) {
+                    logger.trace("Returning socket for port {}", port);
+                    return socketInfo;
+                }
+                logger.debug("Max alive time reached for socket on port {}", port);
+                closeSilent(socketInfo.getSocket());
+            }
             logger.trace("Creating new socket for port {}", port);
             Socket socket = new Socket();
-            socket.setSoTimeout(config.getTimeout() * 1000);
-            socket.setReuseAddress(true);
-            socket.connect(new InetSocketAddress(config.getGatewayAddress(), port), socket.getSoTimeout());
-            socketInfo = new SocketInfo(socket);
-            socketsPerPort.put(port, socketInfo);
-        } else {
-            boolean isMaxAliveReached = System.currentTimeMillis()
-                    - socketInfo.getCreated() > (config.getSocketMaxAlive() * 1000);
-
-            if (isMaxAliveReached) {
-                logger.debug("Max alive time reached for socket on port {}", port);
-                removeSocket(port);
-                return getSocket(port);
+            try {
+                socket.setSoTimeout(config.getTimeout() * 1000);
+                socket.setReuseAddress(true);
+                socket.connect(new InetSocketAddress(config.getGatewayAddress(), port), socket.getSoTimeout());
+            } catch (IOException ex) {
+                closeSilent(socket);
+                throw ex;
             }
-            logger.trace("Returning socket for port {}", port);
+            return new SocketInfo(socket, pool.generation.get());
+        } catch (IOException | RuntimeException ex) {
+            pool.permits.release();
+            throw ex;
         }
-        return socketInfo.getSocket();
     }
 
     /**
-     * Removes the socket for the given port from the cache.
+     * Gives back a socket acquired with {@link #acquireSocket(int)}.
+     *
+     * @param reusable false, if the socket must be closed because of a communication error
      */
-    public void removeSocket(int port) {
-        SocketInfo socketInfo = socketsPerPort.get(port);
-        if (socketInfo != null) {
+    public void releaseSocket(int port, SocketInfo socketInfo, boolean reusable) {
+        SocketPool pool = poolsPerPort.get(port);
+        if (pool == null) {
+            // flushed in the meantime
+            closeSilent(socketInfo.getSocket());
+            return;
+        }
+        if (reusable && socketInfo.getGeneration() == pool.generation.get()) {
+            pool.idleSockets.addFirst(socketInfo);
+        } else {
             logger.trace("Closing Socket on port {}", port);
-            socketsPerPort.remove(port);
             closeSilent(socketInfo.getSocket());
         }
+        pool.permits.release();
+    }
+
+    /**
+     * Closes all sockets for the given port, sockets in use are closed when they are given back.
+     */
+    public void removeSocket(int port) {
+        SocketPool pool = poolsPerPort.get(port);
+        if (pool != null) {
+            logger.trace("Closing Sockets on port {}", port);
+            pool.generation.incrementAndGet();
+            SocketInfo socketInfo;
+            while ((socketInfo = pool.idleSockets.pollFirst()) != null) {
+                closeSilent(socketInfo.getSocket());
+            }
+        }
     }
 
     /**
      * Removes all cached sockets.
      */
     public void flush() {
-        synchronized (SocketHandler.class) {
-            Integer[] portsToRemove = socketsPerPort.keySet().toArray(new Integer[0]);
-            for (Integer key : portsToRemove) {
-                removeSocket(key);
-            }
+        for (Integer port : poolsPerPort.keySet()) {
+            removeSocket(port);
         }
     }
 
@@ -19,6 +19,8 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,7 +31,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +50,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private Object[] messageData;
     private byte binRpcData[];
     private int offset;
+    private ByteBuffer buffer;
 
     private String methodName;
     private TYPE type;
@@ -70,7 +72,8 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     /**
-     * Decodes a BIN-RPC message from the given InputStream.
+     * Decodes a BIN-RPC message from the given InputStream. The message is read into a single buffer which is decoded
+     * in place.
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
@@ -84,19 +87,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
+        int datasize = ByteBuffer.wrap(sig, 4, 4).getInt();
+        if (datasize < 0) {
+            throw new IOException("Invalid message length " + datasize);
+        }
+        byte message[] = new byte[8 + datasize];
+        System.arraycopy(sig, 0, message, 0, 8);
+        int offset = 8;
         int currentLength;
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
+        while (offset < message.length
+                && (currentLength = is.read(message, offset, message.length - offset)) != -1) {
             offset += currentLength;
         }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        if (offset != message.length) {
+            throw new EOFException("Only " + (offset - 8) + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = ArrayUtils.addAll(sig, payload);
         decodeMessage(message, methodHeader);
     }
 
@@ -120,12 +127,17 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
         binRpcData = message;
-
-        offset = 8;
+        offset = message.length;
 
         if (methodHeader) {
-            methodName = readString();
-            readInt();
+            buffer = ByteBuffer.wrap(binRpcData);
+            buffer.position(8);
+            try {
+                methodName = readString();
+                readInt();
+            } catch (BufferUnderflowException ex) {
+                throw new EOFException("Unexpected end of BIN-RPC message");
+            }
         }
         generateResponseData();
     }
@@ -135,13 +147,18 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+        buffer = ByteBuffer.wrap(binRpcData);
+        buffer.position(8 + (methodName != null ? methodName.length() + 8 : 0));
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
+        try {
+            while (buffer.hasRemaining()) {
+                values.add(readRpcValue());
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new EOFException("Unexpected end of BIN-RPC message");
         }
         messageData = values.toArray();
-        values.clear();
+        buffer = null;
     }
 
     private void createHeader() {
@@ -196,25 +213,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         return messageData;
     }
 
-    // read rpc values
+    // read rpc values, directly from the message buffer
     private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return buffer.getInt();
     }
 
     private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
-        offset += 8;
-        return (new BigInteger(bi)).longValue();
+        return buffer.getLong();
     }
 
-    private String readString() throws UnsupportedEncodingException {
+    private String readString() throws IOException {
         int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+        if (len < 0 || len > buffer.remaining()) {
+            throw new EOFException("Unexpected end of BIN-RPC message reading a string of " + len + " bytes");
+        }
+        int start = buffer.position();
+        buffer.position(start + len);
+        return new String(binRpcData, start, len, encoding);
     }
 
     private Object readRpcValue() throws IOException {
@@ -223,7 +238,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             case 1:
                 return Integer.valueOf(readInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return buffer.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
                 return readString();
             case 4:
@@ -207,6 +207,7 @@ public class HomematicDeviceDiscoveryService extends AbstractDiscoveryService
                 try {
                     final HomematicGateway gateway = bridgeHandler.getGateway();
                     gateway.loadAllDeviceMetadata();
+                    bridgeHandler.updateMetadataStatistics();
                     bridgeHandler.getTypeGenerator().validateFirmwares();
                 } catch (Throwable ex) {
                     logger.error("{}", ex.getMessage(), ex);
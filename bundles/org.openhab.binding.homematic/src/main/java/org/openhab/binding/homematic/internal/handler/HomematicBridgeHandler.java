@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.homematic.internal.handler;
 
-import static org.openhab.binding.homematic.internal.HomematicBindingConstants.CHANNEL_TYPE_DUTY_CYCLE_RATIO;
+import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 import static org.openhab.core.thing.Thing.*;
 
 import java.io.IOException;
@@ -34,6 +34,7 @@ import org.openhab.binding.homematic.internal.model.HmDatapoint;
 import org.openhab.binding.homematic.internal.model.HmDatapointConfig;
 import org.openhab.binding.homematic.internal.model.HmDevice;
 import org.openhab.binding.homematic.internal.model.HmGatewayInfo;
+import org.openhab.binding.homematic.internal.model.HmMetadataStatistics;
 import org.openhab.binding.homematic.internal.type.HomematicTypeGenerator;
 import org.openhab.binding.homematic.internal.type.UidUtils;
 import org.openhab.core.library.types.DecimalType;
@@ -205,6 +206,24 @@ public class HomematicBridgeHandler extends BaseBridgeHandler implements Homemat
         }
     }
 
+    /**
+     * Publishes the statistics of the last device metadata load as bridge properties.
+     */
+    public void updateMetadataStatistics() {
+        HmMetadataStatistics statistics = gateway == null ? null : gateway.getMetadataStatistics();
+        if (statistics != null) {
+            Map<String, String> properties = editProperties();
+            properties.put(PROPERTY_METADATA_DEVICES, String.valueOf(statistics.getDevices()));
+            properties.put(PROPERTY_METADATA_DESCRIPTIONS_MILLIS,
+                    String.valueOf(statistics.getDeviceDescriptionsMillis()));
+            properties.put(PROPERTY_METADATA_DATAPOINTS_MILLIS, String.valueOf(statistics.getDatapointsMillis()));
+            properties.put(PROPERTY_METADATA_CHANNELS_FROM_CACHE, String.valueOf(statistics.getChannelsFromCache()));
+            properties.put(PROPERTY_METADATA_CHANNELS_FROM_GATEWAY,
+                    String.valueOf(statistics.getChannelsFromGateway()));
+            updateProperties(properties);
+        }
+    }
+
     /**
      * Creates the configuration for the HomematicGateway.
      */
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.model;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+
+/**
+ * Object that holds the timings of the phases of loading all device metadata from a gateway.
+ *
+ * @author agent - Initial contribution
+ */
+public class HmMetadataStatistics {
+    private int devices;
+    private long deviceDescriptionsMillis;
+    private long datapointsMillis;
+    private int channelsFromCache;
+    private int channelsFromGateway;
+
+    public HmMetadataStatistics(int devices, long deviceDescriptionsMillis, long datapointsMillis,
+            int channelsFromCache, int channelsFromGateway) {
+        this.devices = devices;
+        this.deviceDescriptionsMillis = deviceDescriptionsMillis;
+        this.datapointsMillis = datapointsMillis;
+        this.channelsFromCache = channelsFromCache;
+        this.channelsFromGateway = channelsFromGateway;
+    }
+
+    /**
+     * Returns the number of loaded devices.
+     */
+    public int getDevices() {
+        return devices;
+    }
+
+    /**
+     * Returns the time needed to load the device descriptions and names.
+     */
+    public long getDeviceDescriptionsMillis() {
+        return deviceDescriptionsMillis;
+    }
+
+    /**
+     * Returns the time needed to load the datapoints of all channels.
+     */
+    public long getDatapointsMillis() {
+        return datapointsMillis;
+    }
+
+    /**
+     * Returns the number of channels whose datapoints were taken from the metadata cache.
+     */
+    public int getChannelsFromCache() {
+        return channelsFromCache;
+    }
+
+    /**
+     * Returns the number of channels whose datapoints were loaded from the gateway.
+     */
+    public int getChannelsFromGateway() {
+        return channelsFromGateway;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("devices", devices)
+                .append("deviceDescriptionsMillis", deviceDescriptionsMillis)
+                .append("datapointsMillis", datapointsMillis).append("channelsFromCache", channelsFromCache)
+                .append("channelsFromGateway", channelsFromGateway).toString();
+    }
+}
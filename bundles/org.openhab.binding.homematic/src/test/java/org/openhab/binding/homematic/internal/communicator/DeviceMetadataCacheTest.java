@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.test.util.DimmerHelper.createDimmerHmChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.misc.HomematicConstants;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link DeviceMetadataCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceMetadataCacheTest {
+    private static final String SIGNATURE = "CCU3:3.55.10";
+
+    @TempDir
+    Path folder;
+
+    private HmChannel createChannel() {
+        HmChannel channel = createDimmerHmChannel();
+
+        HmDatapoint level = new HmDatapoint("LEVEL", "Level", HmValueType.FLOAT, 0.5, false, HmParamsetType.VALUES);
+        level.setMinValue(0.0);
+        level.setMaxValue(1.0);
+        level.setDefaultValue(0.0);
+        level.setUnit("100%");
+        level.setReadable(true);
+        channel.addDatapoint(level);
+
+        HmDatapoint direction = new HmDatapoint("DIRECTION", null, HmValueType.ENUM, 0, true, HmParamsetType.VALUES);
+        direction.setOptions(new String[] { "NONE", "UP", "DOWN", "UNDEFINED" });
+        direction.setMinValue(0);
+        direction.setMaxValue(3);
+        channel.addDatapoint(direction);
+
+        HmDatapoint virtual = new HmDatapoint("ON_TIME_AUTOMATIC", null, HmValueType.FLOAT, null, false,
+                HmParamsetType.VALUES);
+        virtual.setVirtual(true);
+        channel.addDatapoint(virtual);
+        return channel;
+    }
+
+    @Test
+    public void metadataIsRestoredFromFile() {
+        File file = folder.resolve("homematic").resolve("bridge.metadata").toFile();
+        DeviceMetadataCache cache = new DeviceMetadataCache(file, SIGNATURE);
+        cache.load();
+        cache.put(createChannel());
+        cache.save();
+
+        DeviceMetadataCache restoredCache = new DeviceMetadataCache(file, SIGNATURE);
+        restoredCache.load();
+        Collection<HmDatapoint> datapoints = restoredCache.get(createDimmerHmChannel());
+        assertThat(datapoints.size(), is(2));
+        assertThat(restoredCache.getHits(), is(1));
+
+        HmDatapoint level = datapoints.stream().filter(dp -> "LEVEL".equals(dp.getName())).findFirst().get();
+        assertThat(level.getValue(), is(nullValue()));
+        assertThat(level.getType(), is(HmValueType.FLOAT));
+        assertThat(level.getMaxValue(), is(1.0));
+        assertThat(level.getDefaultValue(), is(0.0));
+        assertThat(level.getUnit(), is("100%"));
+        assertThat(level.isReadable(), is(true));
+
+        HmDatapoint direction = datapoints.stream().filter(dp -> "DIRECTION".equals(dp.getName())).findFirst().get();
+        assertThat(direction.getDescription(), is(nullValue()));
+        assertThat(direction.getOptions()[2], is("DOWN"));
+        assertThat(direction.getMaxValue(), is(3));
+        assertThat(direction.isReadOnly(), is(true));
+    }
+
+    @Test
+    public void cacheOfOtherGatewayFirmwareIsIgnored() {
+        File file = folder.resolve("bridge.metadata").toFile();
+        DeviceMetadataCache cache = new DeviceMetadataCache(file, SIGNATURE);
+        cache.load();
+        cache.put(createChannel());
+        cache.save();
+
+        DeviceMetadataCache restoredCache = new DeviceMetadataCache(file, "CCU3:3.57.5");
+        restoredCache.load();
+        assertThat(restoredCache.get(createDimmerHmChannel()), is(nullValue()));
+    }
+
+    @Test
+    public void reconfigurableChannelsAreNotCached() {
+        DeviceMetadataCache cache = new DeviceMetadataCache(folder.resolve("bridge.metadata").toFile(), SIGNATURE);
+        cache.load();
+        HmChannel channel = createChannel();
+        channel.addDatapoint(new HmDatapoint(HomematicConstants.DATAPOINT_NAME_CHANNEL_FUNCTION, null,
+                HmValueType.INTEGER, 1, false, HmParamsetType.MASTER));
+        cache.put(channel);
+        assertThat(cache.get(createDimmerHmChannel()), is(nullValue()));
+    }
+
+    @Test
+    public void corruptFileIsIgnored() throws IOException {
+        File file = folder.resolve("bridge.metadata").toFile();
+        Files.write(file.toPath(), new byte[] { 0, 0, 0, 1, 0 });
+        DeviceMetadataCache cache = new DeviceMetadataCache(file, SIGNATURE);
+        cache.load();
+        assertThat(cache.get(createDimmerHmChannel()), is(nullValue()));
+    }
+}
@@ -14,16 +14,35 @@ package org.openhab.binding.homematic.internal.communicator.client;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.message.XmlRpcRequest;
+import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.model.HmChannel;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.test.util.RpcClientMockImpl;
@@ -33,6 +52,8 @@ import org.openhab.core.test.java.JavaTest;
  * @author Florian Stolte - Initial contribution
  */
 public class RpcClientTest extends JavaTest {
+    private static final int PORT = 2001;
+    private static final String BLOCKER = "BLOCKER";
 
     private RpcClientMockImpl rpcClient;
 
@@ -98,8 +119,10 @@ public class RpcClientTest extends JavaTest {
     @Test
     public void burstRxModeIsConfiguredAsParameterOnRequest() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
+        List<Object> args = new ArrayList<>();
 
-        rpcClient.configureRxMode(request, RX_BURST_MODE);
+        rpcClient.configureRxMode(args, RX_BURST_MODE);
+        args.forEach(request::addArg);
 
         assertThat(request.createMessage(), containsString(String.format("<value>%s</value>", RX_BURST_MODE)));
     }
@@ -107,8 +130,10 @@ public class RpcClientTest extends JavaTest {
     @Test
     public void wakeupRxModeIsConfiguredAsParameterOnRequest() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
+        List<Object> args = new ArrayList<>();
 
-        rpcClient.configureRxMode(request, RX_WAKEUP_MODE);
+        rpcClient.configureRxMode(args, RX_WAKEUP_MODE);
+        args.forEach(request::addArg);
 
         assertThat(request.createMessage(), containsString(String.format("<value>%s</value>", RX_WAKEUP_MODE)));
     }
@@ -116,8 +141,10 @@ public class RpcClientTest extends JavaTest {
     @Test
     public void rxModeIsNotConfiguredAsParameterOnRequestForNull() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
+        List<Object> args = new ArrayList<>();
 
-        rpcClient.configureRxMode(request, null);
+        rpcClient.configureRxMode(args, null);
+        args.forEach(request::addArg);
 
         assertThat(request.createMessage(), not(containsString("<value>")));
     }
@@ -125,9 +152,403 @@ public class RpcClientTest extends JavaTest {
     @Test
     public void rxModeIsNotConfiguredAsParameterOnRequestForInvalidString() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
+        List<Object> args = new ArrayList<>();
 
-        rpcClient.configureRxMode(request, "SUPER_RX_MODE");
+        rpcClient.configureRxMode(args, "SUPER_RX_MODE");
+        args.forEach(request::addArg);
 
         assertThat(request.createMessage(), not(containsString("<value>")));
     }
+
+    @Test
+    public void concurrentCallsGetTheirOwnResults() throws Exception {
+        MulticallClient client = new MulticallClient(request -> echo(request));
+
+        List<Result> results = sendConcurrently(client, "getValue", "A", "B", "C", "D", "E");
+
+        for (Result result : results) {
+            assertNull(result.exception);
+            assertThat(result.value[0], is("value of " + result.address));
+        }
+        assertThat(client.sentMethods, is(List.of("getValue", "system.multicall")));
+        assertThat(client.multicallSizes, is(List.of(5)));
+    }
+
+    @Test
+    public void faultsOfSingleCallsAreMapped() throws Exception {
+        MulticallClient client = new MulticallClient(request -> echo(request));
+
+        List<Result> results = sendConcurrently(client, "getParamset", "A", "FAILURE", "UNKNOWN_PARAMSET", "FAULT");
+
+        assertNull(results.get(0).exception);
+        assertThat(results.get(0).value[0], is("value of A"));
+        assertThat(results.get(1).exception, instanceOf(UnknownRpcFailureException.class));
+        assertThat(results.get(2).exception, instanceOf(UnknownParameterSetException.class));
+        assertThat(results.get(3).exception, instanceOf(RpcFaultException.class));
+        assertThat(client.multicallSizes, is(List.of(4)));
+    }
+
+    @Test
+    public void rejectedMulticallFallsBackToSingleCalls() throws Exception {
+        MulticallClient client = new MulticallClient(request -> "system.multicall".equals(request.getMethodName())
+                ? fault(-32601, "requested method not found")
+                : echo(request));
+
+        for (Result result : sendConcurrently(client, "getValue", "A", "B")) {
+            assertNull(result.exception);
+            assertThat(result.value[0], is("value of " + result.address));
+        }
+        assertThat(client.sentMethods, is(List.of("getValue", "system.multicall", "getValue", "getValue")));
+
+        // system.multicall is not tried again
+        client.sentMethods.clear();
+        sendConcurrently(client, "getValue", "C", "D");
+        assertThat(client.sentMethods, is(List.of("getValue", "getValue", "getValue")));
+    }
+
+    @Test
+    public void transportFailureDoesNotResendWrites() throws Exception {
+        MulticallClient client = new MulticallClient(request -> {
+            if ("system.multicall".equals(request.getMethodName())) {
+                throw new IOException("Connection reset");
+            }
+            return echo(request);
+        });
+
+        List<Result> results = sendConcurrently(client, "setValue", "A", "B");
+        results.addAll(sendConcurrently(client, "getValue", "C", "D"));
+
+        assertThat(results.get(0).exception, instanceOf(IOException.class));
+        assertThat(results.get(1).exception, instanceOf(IOException.class));
+        assertNull(results.get(2).exception);
+        assertNull(results.get(3).exception);
+        assertThat(results.get(3).value[0], is("value of D"));
+        // only the read calls are sent again, and system.multicall stays enabled
+        assertThat(client.sentMethods, is(List.of("getValue", "system.multicall", "getValue", "system.multicall",
+                "getValue", "getValue")));
+    }
+
+    @Test
+    public void binRpcClientDoesNotResendWritesAfterASocketFailure() throws Exception {
+        try (SocketGateway gateway = new SocketGateway(null)) {
+            BinRpcClient client = gateway.createClient();
+            Map<String, Object> write = new HashMap<>();
+            write.put("methodName", "setValue");
+            write.put("params", List.of("ABC0123456:1", "LEVEL", Integer.valueOf(7)));
+            BinRpcMessage multicall = new BinRpcMessage("system.multicall", "ISO-8859-1");
+            multicall.addArg(List.of(write));
+
+            assertThrows(IOException.class, () -> client.sendMessage(gateway.getPort(), multicall));
+            assertThat(gateway.receivedMethods, is(List.of("system.multicall")));
+
+            gateway.receivedMethods.clear();
+            assertThrows(IOException.class, () -> client.sendMessage(gateway.getPort(), binRpcRequest("setValue")));
+            assertThat(gateway.receivedMethods, is(List.of("setValue")));
+
+            // calls without side effects are sent again on a new socket
+            gateway.receivedMethods.clear();
+            assertThrows(IOException.class, () -> client.sendMessage(gateway.getPort(), binRpcRequest("getValue")));
+            assertThat(gateway.receivedMethods.size(), is(1 + MAX_RPC_RETRY));
+            assertThat(gateway.connections.get(), is(3 + MAX_RPC_RETRY));
+            client.dispose();
+        }
+    }
+
+    @Test
+    public void binRpcClientDoesNotResendAfterAFault() throws Exception {
+        try (SocketGateway gateway = new SocketGateway(binRpcResponse(fault(-5, "Unknown instance")[0]))) {
+            BinRpcClient client = gateway.createClient();
+
+            assertThrows(RpcFaultException.class,
+                    () -> client.sendMessage(gateway.getPort(), binRpcRequest("getValue")));
+            assertThrows(RpcFaultException.class,
+                    () -> client.sendMessage(gateway.getPort(), binRpcRequest("getParamset")));
+            assertThat(gateway.receivedMethods, is(List.of("getValue", "getParamset")));
+            // the gateway answered, so the socket is still used
+            assertThat(gateway.connections.get(), is(1));
+            client.dispose();
+        }
+    }
+
+    @Test
+    public void binRpcResponseIsDecoded() throws IOException {
+        Map<String, Object> struct = new HashMap<>();
+        struct.put("LEVEL", Integer.valueOf(42));
+        struct.put("NAME", "\u00c4rger");
+        byte[] message = binRpcResponse(struct, Boolean.TRUE, List.of("A", Integer.valueOf(1)));
+
+        Object[] data = new BinRpcMessage(new ByteArrayInputStream(message), false, "ISO-8859-1").getResponseData();
+
+        assertThat(data.length, is(3));
+        assertThat(data[0], is(struct));
+        assertThat(data[1], is(Boolean.TRUE));
+        assertArrayEquals(new Object[] { "A", Integer.valueOf(1) }, (Object[]) data[2]);
+    }
+
+    @Test
+    public void binRpcRequestIsDecoded() throws IOException {
+        BinRpcMessage request = new BinRpcMessage("setValue", "ISO-8859-1");
+        request.addArg("ABC0123456:1");
+        request.addArg("LEVEL");
+        request.addArg(Integer.valueOf(7));
+
+        BinRpcMessage decoded = new BinRpcMessage(new ByteArrayInputStream(request.createMessage()), true,
+                "ISO-8859-1");
+
+        assertThat(decoded.getMethodName(), is("setValue"));
+        assertArrayEquals(new Object[] { "ABC0123456:1", "LEVEL", Integer.valueOf(7) }, decoded.getResponseData());
+    }
+
+    @Test
+    public void truncatedBinRpcMessageIsRejected() throws IOException {
+        byte[] message = binRpcResponse("A long enough string value");
+
+        // the payload ends before the announced length
+        byte[] truncated = Arrays.copyOf(message, message.length - 5);
+        assertThrows(EOFException.class,
+                () -> new BinRpcMessage(new ByteArrayInputStream(truncated), false, "ISO-8859-1"));
+
+        // the announced length matches, but the value is cut off
+        byte[] cutOff = Arrays.copyOf(message, message.length - 5);
+        setLength(cutOff);
+        assertThrows(EOFException.class,
+                () -> new BinRpcMessage(new ByteArrayInputStream(cutOff), false, "ISO-8859-1"));
+
+        // only the header is received
+        assertThrows(EOFException.class,
+                () -> new BinRpcMessage(new ByteArrayInputStream(Arrays.copyOf(message, 6)), false, "ISO-8859-1"));
+    }
+
+    private static byte[] binRpcResponse(Object... values) {
+        BinRpcMessage response = new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, "ISO-8859-1");
+        for (Object value : values) {
+            response.addArg(value);
+        }
+        return response.createMessage();
+    }
+
+    private static BinRpcMessage binRpcRequest(String methodName) {
+        BinRpcMessage request = new BinRpcMessage(methodName, "ISO-8859-1");
+        request.addArg("ABC0123456:1");
+        request.addArg("LEVEL");
+        return request;
+    }
+
+    private static void setLength(byte[] message) {
+        int length = message.length - 8;
+        for (int i = 0; i < 4; i++) {
+            message[4 + i] = (byte) (length >> (24 - 8 * i));
+        }
+    }
+
+    /**
+     * Sends one call per address concurrently. A first call blocks the connection until all calls are queued, so
+     * they are sent together.
+     */
+    private List<Result> sendConcurrently(MulticallClient client, String methodName, String... addresses)
+            throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        client.blocker = blocked;
+        Thread blocker = new Thread(() -> {
+            try {
+                client.sendBatchable(PORT, "getValue", List.of(BLOCKER, "LEVEL"));
+            } catch (IOException e) {
+                // not checked
+            }
+        });
+        blocker.start();
+        waitForAssert(() -> assertThat(client.blocker, nullValue()));
+
+        List<Result> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (String address : addresses) {
+            Result result = new Result(address);
+            results.add(result);
+            Thread thread = new Thread(() -> {
+                try {
+                    result.value = client.sendBatchable(PORT, methodName, List.of(address, "LEVEL"));
+                } catch (IOException e) {
+                    result.exception = e;
+                }
+            });
+            threads.add(thread);
+            thread.start();
+            // keep the order of the calls in the batch
+            waitForAssert(() -> assertThat(thread.getState(), is(Thread.State.WAITING)));
+        }
+
+        blocked.countDown();
+        blocker.join(TimeUnit.SECONDS.toMillis(10));
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        return results;
+    }
+
+    /**
+     * Answers a call with a value depending on its address, or a fault if the address names one.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object[] echo(TestRequest request) {
+        if ("system.multicall".equals(request.getMethodName())) {
+            List<Object> results = new ArrayList<>();
+            for (Map<String, Object> call : (List<Map<String, Object>>) request.args.get(0)) {
+                List<Object> params = (List<Object>) call.get("params");
+                Object[] result = answer(String.valueOf(params.get(0)));
+                results.add(result[0] instanceof Map ? result[0] : result);
+            }
+            return new Object[] { results.toArray() };
+        }
+        return answer(String.valueOf(request.args.get(0)));
+    }
+
+    private static Object[] answer(String address) {
+        switch (address) {
+            case "FAILURE":
+                return fault(-1, "Failure");
+            case "UNKNOWN_PARAMSET":
+                return fault(-3, "Unknown paramset");
+            case "FAULT":
+                return fault(-5, "Unknown instance");
+            default:
+                return new Object[] { "value of " + address };
+        }
+    }
+
+    private static Object[] fault(int code, String message) {
+        Map<String, Object> fault = new HashMap<>();
+        fault.put("faultCode", Integer.valueOf(code));
+        fault.put("faultString", message);
+        return new Object[] { fault };
+    }
+
+    private interface Gateway {
+        Object[] answer(TestRequest request) throws IOException;
+    }
+
+    private static class Result {
+        private final String address;
+        private volatile Object[] value;
+        private volatile IOException exception;
+
+        Result(String address) {
+            this.address = address;
+        }
+    }
+
+    private static class TestRequest implements RpcRequest<String> {
+        private final String methodName;
+        private final List<Object> args = new ArrayList<>();
+
+        TestRequest(String methodName) {
+            this.methodName = methodName;
+        }
+
+        @Override
+        public void addArg(Object arg) {
+            args.add(arg);
+        }
+
+        @Override
+        public String createMessage() {
+            return methodName + args;
+        }
+
+        @Override
+        public String getMethodName() {
+            return methodName;
+        }
+    }
+
+    /**
+     * A BIN-RPC gateway on a local port. It answers every request with the given response, or closes the connection
+     * after the request if there is none.
+     */
+    private static class SocketGateway implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final List<String> receivedMethods = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger connections = new AtomicInteger();
+
+        SocketGateway(byte[] response) throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread thread = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try (Socket socket = serverSocket.accept()) {
+                        connections.incrementAndGet();
+                        InputStream in = socket.getInputStream();
+                        do {
+                            receivedMethods.add(new BinRpcMessage(in, true, "ISO-8859-1").getMethodName());
+                            if (response != null) {
+                                socket.getOutputStream().write(response);
+                            }
+                        } while (response != null);
+                    } catch (IOException e) {
+                        // connection closed by the client or gateway closed
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        BinRpcClient createClient() {
+            HomematicConfig config = new HomematicConfig();
+            config.setGatewayAddress(InetAddress.getLoopbackAddress().getHostAddress());
+            config.setTimeout(5);
+            return new BinRpcClient(config);
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+
+    /**
+     * A client combining calls with system.multicall, the responses are created by a {@link Gateway}.
+     */
+    private static class MulticallClient extends RpcClientMockImpl {
+        private final Gateway gateway;
+        private final List<String> sentMethods = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> multicallSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile CountDownLatch blocker;
+
+        MulticallClient(Gateway gateway) throws IOException {
+            this.gateway = gateway;
+        }
+
+        @Override
+        protected boolean isMulticallSupported() {
+            return true;
+        }
+
+        @Override
+        protected RpcRequest<String> createRpcRequest(String methodName) {
+            return new TestRequest(methodName);
+        }
+
+        @Override
+        protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+            TestRequest testRequest = (TestRequest) request;
+            sentMethods.add(request.getMethodName());
+            if (BLOCKER.equals(testRequest.args.get(0))) {
+                CountDownLatch latch = blocker;
+                blocker = null;
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Object[] { "blocked" };
+            }
+            if ("system.multicall".equals(request.getMethodName())) {
+                multicallSizes.add(((List<?>) testRequest.args.get(0)).size());
+            }
+            return new RpcResponseParser(request).parse(gateway.answer(testRequest));
+        }
+    }
 }
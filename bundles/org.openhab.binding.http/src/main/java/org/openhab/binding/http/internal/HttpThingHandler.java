@@ -18,6 +18,7 @@ import java.net.URISyntaxException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -69,21 +70,25 @@ public class HttpThingHandler extends BaseThingHandler {
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final RefreshingUrlCacheRegistry cacheRegistry;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
+    private final Map<Consumer<Content>, RefreshingUrlCache> subscriptions = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            RefreshingUrlCacheRegistry cacheRegistry) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
+        this.cacheRegistry = cacheRegistry;
     }
 
     @Override
@@ -191,11 +196,12 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        // stop update tasks (shared tasks continue as long as other things use them)
+        subscriptions.forEach((consumer, cache) -> cacheRegistry.unsubscribe(cache, consumer));
         rateLimitedHttpClient.shutdown();
 
         // clear lists
+        subscriptions.clear();
         urlHandlers.clear();
         channels.clear();
         channelUrls.clear();
@@ -275,8 +281,14 @@ public class HttpThingHandler extends BaseThingHandler {
             // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
-            urlHandlers.computeIfAbsent(key, k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                    config, channelConfig.stateContent)).addConsumer(itemValueConverter::process);
+            // without rate-limit the cache can be shared with other things requesting the same URL
+            RateLimitedHttpClient stateHttpClient = config.delay == 0 ? cacheRegistry.getSharedClient(httpClient)
+                    : rateLimitedHttpClient;
+            Consumer<Content> consumer = itemValueConverter::process;
+            RefreshingUrlCache refreshingUrlCache = cacheRegistry.subscribe(stateHttpClient, stateUrl, config,
+                    channelConfig.stateContent, consumer);
+            urlHandlers.put(key, refreshingUrlCache);
+            subscriptions.put(consumer, refreshingUrlCache);
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,10 +30,28 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String etag;
+    private final @Nullable String lastModified;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    /**
+     * create a content with the cache validators of the response
+     *
+     * @param rawContent the response body
+     * @param encoding the encoding of the body
+     * @param mediaType the media type of the body (if known)
+     * @param etag the value of the ETag response header (if present)
+     * @param lastModified the value of the Last-Modified response header (if present)
+     */
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String etag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.etag = etag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +72,23 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    public @Nullable String getEtag() {
+        return etag;
+    }
+
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * check if another content has the same body, encoding and media type (cache validators are not compared)
+     *
+     * @param other the content to compare with
+     * @return true if the other content would result in the same channel updates
+     */
+    public boolean hasSameBody(@Nullable Content other) {
+        return other != null && encoding.equals(other.encoding) && Objects.equals(mediaType, other.mediaType)
+                && Arrays.equals(rawContent, other.rawContent);
+    }
 }
@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -33,6 +34,9 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
+ * <p>
+ * GET requests are sent as conditional requests if the last response contained an ETag or Last-Modified header. If
+ * enabled, content that did not change since the last request is only passed to newly added consumers.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -46,12 +50,15 @@ public class RefreshingUrlCache {
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
     private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
+    private final Set<Consumer<Content>> newConsumers = ConcurrentHashMap.newKeySet();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
+    private final boolean skipUnchangedContent;
 
     private final ScheduledFuture<?> future;
     private @Nullable Content lastContent;
+    private @Nullable URI lastUri;
 
     public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
             HttpThingConfig thingConfig, String httpContent) {
@@ -62,6 +69,7 @@ public class RefreshingUrlCache {
         this.headers = thingConfig.headers;
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
+        this.skipUnchangedContent = thingConfig.skipUnchangedContent;
         fallbackEncoding = thingConfig.encoding;
 
         future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
@@ -95,25 +103,45 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                // validators are only valid for the same resource, formatted URLs may change on every request
+                Content content = lastContent;
+                if (httpMethod == HttpMethod.GET && content != null && uri.equals(lastUri)) {
+                    String etag = content.getEtag();
+                    if (etag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, etag);
+                    }
+                    String lastModified = content.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
-                response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
-                        if (isRetry) {
-                            logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
-                        } else {
-                            AuthenticationStore authStore = httpClient.getAuthenticationStore();
-                            Authentication.Result authResult = authStore.findAuthenticationResult(uri);
-                            if (authResult != null) {
-                                authStore.removeAuthenticationResult(authResult);
-                                logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
+                response.whenComplete((result, e) -> {
+                    if (e == null) {
+                        processResult(uri, result);
+                    } else if (e instanceof HttpNotModifiedException) {
+                        processNotModified();
+                    } else {
+                        if (e instanceof HttpAuthException) {
+                            if (isRetry) {
+                                logger.warn("Retry after authentication failure failed again for '{}', failing here",
+                                        uri);
                             } else {
-                                logger.warn("Could not find authentication result for '{}', failing here", uri);
+                                AuthenticationStore authStore = httpClient.getAuthenticationStore();
+                                Authentication.Result authResult = authStore.findAuthenticationResult(uri);
+                                if (authResult != null) {
+                                    authStore.removeAuthenticationResult(authResult);
+                                    logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
+                                    refresh(true);
+                                } else {
+                                    logger.warn("Could not find authentication result for '{}', failing here", uri);
+                                }
                             }
                         }
+                        processResult(uri, null);
                     }
-                    return null;
-                }).thenAccept(this::processResult);
+                });
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
@@ -136,14 +164,29 @@ public class RefreshingUrlCache {
     public void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
+        newConsumers.clear();
         future.cancel(false);
         logger.trace("Stopped refresh task for URL '{}'", url);
     }
 
     public void addConsumer(Consumer<Content> consumer) {
+        // new consumers receive the next response even if it is unchanged or not modified
+        newConsumers.add(consumer);
         consumers.add(consumer);
     }
 
+    /**
+     * remove a consumer
+     *
+     * @param consumer the consumer to remove
+     * @return true if there are consumers left
+     */
+    public boolean removeConsumer(Consumer<Content> consumer) {
+        consumers.remove(consumer);
+        newConsumers.remove(consumer);
+        return !consumers.isEmpty();
+    }
+
     public Optional<Content> get() {
         final Content content = lastContent;
         if (content == null) {
@@ -153,16 +196,35 @@ public class RefreshingUrlCache {
         }
     }
 
-    private void processResult(@Nullable Content content) {
+    private void processResult(URI uri, @Nullable Content content) {
+        Content previousContent = lastContent;
+        lastContent = content;
+        lastUri = uri;
         if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
-                }
+            if (skipUnchangedContent && content.hasSameBody(previousContent)) {
+                logger.trace("Content of URL {} is unchanged", url);
+                notifyConsumers(newConsumers, content);
+            } else {
+                notifyConsumers(consumers, content);
+            }
+        }
+    }
+
+    private void processNotModified() {
+        Content content = lastContent;
+        if (content != null) {
+            notifyConsumers(skipUnchangedContent ? newConsumers : consumers, content);
+        }
+    }
+
+    private void notifyConsumers(Set<Consumer<Content>> receivers, Content content) {
+        for (Consumer<Content> consumer : receivers) {
+            newConsumers.remove(consumer);
+            try {
+                consumer.accept(content);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
             }
         }
-        lastContent = content;
     }
 }
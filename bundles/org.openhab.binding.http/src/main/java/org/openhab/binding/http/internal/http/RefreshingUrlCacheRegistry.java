@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} shares {@link RefreshingUrlCache}s between all things of the binding. Channels
+ * that request the same URL with the same method, headers and content (and the same request settings) are served by a
+ * single refresh task.
+ * <p>
+ * Caches of things that do not rate-limit their requests use a shared {@link RateLimitedHttpClient} without delay.
+ * Things with a delay use their own client, so their caches are only shared between their own channels.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final ScheduledExecutorService scheduler;
+    private final Map<CacheKey, RefreshingUrlCache> caches = new HashMap<>();
+    private final Map<HttpClient, RateLimitedHttpClient> sharedClients = new HashMap<>();
+
+    public RefreshingUrlCacheRegistry(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * get the client for caches that are shared between things
+     *
+     * @param httpClient secure or insecure Jetty http client
+     * @return a client without rate-limit
+     */
+    public synchronized RateLimitedHttpClient getSharedClient(HttpClient httpClient) {
+        return sharedClients.computeIfAbsent(httpClient, client -> new RateLimitedHttpClient(client, scheduler));
+    }
+
+    /**
+     * add a consumer to the cache for the given request, the cache is created if necessary
+     *
+     * @param httpClient the client for the requests
+     * @param url the (unformatted) state URL
+     * @param thingConfig the configuration of the subscribing thing
+     * @param httpContent the content of the state request
+     * @param consumer the consumer for the content
+     * @return the cache the consumer was added to
+     */
+    public synchronized RefreshingUrlCache subscribe(RateLimitedHttpClient httpClient, String url,
+            HttpThingConfig thingConfig, String httpContent, Consumer<Content> consumer) {
+        RefreshingUrlCache cache = caches.computeIfAbsent(new CacheKey(httpClient, url, thingConfig, httpContent),
+                key -> new RefreshingUrlCache(scheduler, httpClient, url, thingConfig, httpContent));
+        cache.addConsumer(consumer);
+        return cache;
+    }
+
+    /**
+     * remove a consumer from a cache, the cache is stopped if this was the last consumer
+     *
+     * @param cache the cache returned by {@link #subscribe}
+     * @param consumer the consumer to remove
+     */
+    public synchronized void unsubscribe(RefreshingUrlCache cache, Consumer<Content> consumer) {
+        if (!cache.removeConsumer(consumer)) {
+            cache.stop();
+            caches.values().remove(cache);
+        }
+    }
+
+    /**
+     * @return the number of active caches
+     */
+    public synchronized int size() {
+        return caches.size();
+    }
+
+    /**
+     * stop all caches
+     */
+    public synchronized void dispose() {
+        caches.values().forEach(RefreshingUrlCache::stop);
+        caches.clear();
+        sharedClients.values().forEach(RateLimitedHttpClient::shutdown);
+        sharedClients.clear();
+    }
+
+    private static class CacheKey {
+        private final RateLimitedHttpClient httpClient;
+        private final String url;
+        private final HttpMethod method;
+        private final List<String> headers;
+        private final String httpContent;
+        private final int refresh;
+        private final int timeout;
+        private final int bufferSize;
+        private final @Nullable String encoding;
+        private final boolean skipUnchangedContent;
+
+        public CacheKey(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
+                String httpContent) {
+            this.httpClient = httpClient;
+            this.url = url;
+            this.method = thingConfig.stateMethod;
+            this.headers = List.copyOf(thingConfig.headers);
+            this.httpContent = httpContent;
+            this.refresh = thingConfig.refresh;
+            this.timeout = thingConfig.timeout;
+            this.bufferSize = thingConfig.bufferSize;
+            this.encoding = thingConfig.encoding;
+            this.skipUnchangedContent = thingConfig.skipUnchangedContent;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return httpClient == other.httpClient && url.equals(other.url) && method == other.method
+                    && headers.equals(other.headers) && httpContent.equals(other.httpContent)
+                    && refresh == other.refresh && timeout == other.timeout && bufferSize == other.bufferSize
+                    && Objects.equals(encoding, other.encoding) && skipUnchangedContent == other.skipUnchangedContent;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(httpClient), url, method, headers, httpContent, refresh,
+                    timeout, bufferSize, encoding, skipUnchangedContent);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistryTest} is a test class for sharing URL caches between things
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class RefreshingUrlCacheRegistryTest {
+    private static final String URL = "http://example.com/status.json";
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> future;
+    private @Mock @NonNullByDefault({}) HttpClient secureClient;
+    private @Mock @NonNullByDefault({}) HttpClient insecureClient;
+    private @Mock @NonNullByDefault({}) RateLimitedHttpClient rateLimitedClient;
+    private @Mock @NonNullByDefault({}) Consumer<Content> consumer1;
+    private @Mock @NonNullByDefault({}) Consumer<Content> consumer2;
+
+    private @NonNullByDefault({}) RefreshingUrlCacheRegistry registry;
+    private @NonNullByDefault({}) Request request;
+    private @NonNullByDefault({}) Runnable refreshTask;
+
+    @BeforeEach
+    public void setup() {
+        doReturn(future).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any(TimeUnit.class));
+        registry = new RefreshingUrlCacheRegistry(scheduler);
+
+        request = mock(Request.class, RETURNS_SELF);
+        doReturn(HttpMethod.GET.asString()).when(request).getMethod();
+        doReturn(CompletableFuture.completedFuture(request)).when(rateLimitedClient).newRequest(any(URI.class),
+                any(HttpMethod.class), anyString());
+    }
+
+    /**
+     * Creates a cache using the mocked client and captures its refresh task
+     */
+    private RefreshingUrlCache createCache(HttpThingConfig config) {
+        RefreshingUrlCache cache = new RefreshingUrlCache(scheduler, rateLimitedClient, URL, config, "");
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(captor.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        refreshTask = captor.getValue();
+        return cache;
+    }
+
+    /**
+     * Runs the refresh task and answers the request with the given response
+     */
+    private void refresh(int status, @Nullable String etag, String body) {
+        clearInvocations(request);
+        refreshTask.run();
+
+        ArgumentCaptor<Response.CompleteListener> captor = ArgumentCaptor.forClass(Response.CompleteListener.class);
+        verify(request).send(captor.capture());
+        HttpResponseListener listener = (HttpResponseListener) captor.getValue();
+
+        HttpFields headers = new HttpFields();
+        if (etag != null) {
+            headers.put(HttpHeader.ETAG, etag);
+        }
+        Response response = mock(Response.class);
+        doReturn(request).when(response).getRequest();
+        doReturn(headers).when(response).getHeaders();
+        doReturn(status).when(response).getStatus();
+        listener.onHeaders(response);
+        if (!body.isEmpty()) {
+            listener.onContent(response, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        Result result = mock(Result.class);
+        doReturn(request).when(result).getRequest();
+        doReturn(response).when(result).getResponse();
+        listener.onComplete(result);
+    }
+
+    private static HttpThingConfig config(String... headers) {
+        HttpThingConfig config = new HttpThingConfig();
+        for (String header : headers) {
+            config.headers.add(header);
+        }
+        return config;
+    }
+
+    private static Consumer<Content> consumer() {
+        return content -> {
+        };
+    }
+
+    @Test
+    public void equalRequestsShareOneCache() {
+        RateLimitedHttpClient client = registry.getSharedClient(secureClient);
+        Assertions.assertSame(client, registry.getSharedClient(secureClient));
+
+        Consumer<Content> consumer1 = consumer();
+        Consumer<Content> consumer2 = consumer();
+        RefreshingUrlCache cache1 = registry.subscribe(client, URL, config("Accept=application/json"), "", consumer1);
+        RefreshingUrlCache cache2 = registry.subscribe(client, URL, config("Accept=application/json"), "", consumer2);
+
+        Assertions.assertSame(cache1, cache2);
+        Assertions.assertEquals(1, registry.size());
+        verify(scheduler, times(1)).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any(TimeUnit.class));
+
+        registry.unsubscribe(cache1, consumer1);
+        Assertions.assertEquals(1, registry.size());
+        verify(future, never()).cancel(anyBoolean());
+
+        registry.unsubscribe(cache2, consumer2);
+        Assertions.assertEquals(0, registry.size());
+        verify(future).cancel(false);
+    }
+
+    @Test
+    public void differentRequestsUseDifferentCaches() {
+        RateLimitedHttpClient client = registry.getSharedClient(secureClient);
+
+        RefreshingUrlCache cache = registry.subscribe(client, URL, config(), "", consumer());
+        Assertions.assertNotSame(cache, registry.subscribe(client, URL, config("Accept=application/json"), "",
+                consumer()));
+        Assertions.assertNotSame(cache, registry.subscribe(client, URL, config(), "content", consumer()));
+        Assertions.assertNotSame(cache, registry.subscribe(registry.getSharedClient(insecureClient), URL, config(),
+                "", consumer()));
+
+        HttpThingConfig otherRefresh = config();
+        otherRefresh.refresh = 5;
+        Assertions.assertNotSame(cache, registry.subscribe(client, URL, otherRefresh, "", consumer()));
+
+        Assertions.assertEquals(5, registry.size());
+
+        registry.dispose();
+        Assertions.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void sameBodyIgnoresValidators() {
+        byte[] body = "{\"value\":1}".getBytes(StandardCharsets.UTF_8);
+        Content content = new Content(body, "UTF-8", "application/json", "\"a\"", null);
+
+        Assertions.assertTrue(content.hasSameBody(new Content(body.clone(), "UTF-8", "application/json")));
+        Assertions.assertFalse(content.hasSameBody(
+                new Content("{\"value\":2}".getBytes(StandardCharsets.UTF_8), "UTF-8", "application/json")));
+        Assertions.assertFalse(content.hasSameBody(null));
+    }
+
+    @Test
+    public void secondRefreshSendsEtag() {
+        RefreshingUrlCache cache = createCache(config());
+        cache.addConsumer(consumer1);
+
+        refresh(HttpStatus.OK_200, "\"v1\"", "{\"value\":1}");
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+
+        refresh(HttpStatus.OK_200, "\"v2\"", "{\"value\":2}");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v1\"");
+
+        refresh(HttpStatus.OK_200, null, "{\"value\":3}");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v2\"");
+        verify(consumer1, times(3)).accept(any());
+    }
+
+    @Test
+    public void notModifiedKeepsContent() {
+        HttpThingConfig config = config();
+        config.skipUnchangedContent = true;
+        RefreshingUrlCache cache = createCache(config);
+        cache.addConsumer(consumer1);
+
+        refresh(HttpStatus.OK_200, "\"v1\"", "{\"value\":1}");
+        Content content = cache.get().orElseThrow();
+        Assertions.assertEquals("{\"value\":1}", content.getAsString());
+        Assertions.assertEquals("\"v1\"", content.getEtag());
+        verify(consumer1).accept(content);
+
+        refresh(HttpStatus.NOT_MODIFIED_304, null, "");
+        Assertions.assertSame(content, cache.get().orElseThrow());
+        verify(consumer1, times(1)).accept(any());
+
+        // the validators of the cached content are sent again
+        refresh(HttpStatus.NOT_MODIFIED_304, null, "");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v1\"");
+        verify(consumer1, times(1)).accept(any());
+    }
+
+    @Test
+    public void skipUnchangedContentStopsFanOut() {
+        HttpThingConfig config = config();
+        config.skipUnchangedContent = true;
+        RefreshingUrlCache cache = createCache(config);
+        cache.addConsumer(consumer1);
+
+        refresh(HttpStatus.OK_200, null, "{\"value\":1}");
+        verify(consumer1, times(1)).accept(any());
+
+        refresh(HttpStatus.OK_200, null, "{\"value\":1}");
+        verify(consumer1, times(1)).accept(any());
+
+        // a new consumer receives the unchanged content once
+        cache.addConsumer(consumer2);
+        refresh(HttpStatus.OK_200, null, "{\"value\":1}");
+        verify(consumer1, times(1)).accept(any());
+        verify(consumer2, times(1)).accept(any());
+
+        refresh(HttpStatus.OK_200, null, "{\"value\":2}");
+        verify(consumer1, times(2)).accept(any());
+        verify(consumer2, times(2)).accept(any());
+    }
+
+    @Test
+    public void unchangedContentIsPassedOnByDefault() {
+        RefreshingUrlCache cache = createCache(config());
+        cache.addConsumer(consumer1);
+
+        refresh(HttpStatus.OK_200, null, "{\"value\":1}");
+        refresh(HttpStatus.OK_200, null, "{\"value\":1}");
+        verify(consumer1, times(2)).accept(any());
+    }
+}
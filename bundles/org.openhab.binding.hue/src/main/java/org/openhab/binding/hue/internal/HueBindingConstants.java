@@ -90,6 +90,15 @@ public class HueBindingConstants {
     public static final String PROTOCOL = "protocol";
     public static final String USER_NAME = "userName";
 
+    // Bridge command statistics properties
+    public static final String PROPERTY_COMMANDS_SENT = "commandsSent";
+    public static final String PROPERTY_COMMANDS_COALESCED = "commandsCoalesced";
+    public static final String PROPERTY_COMMANDS_PROMOTED_TO_GROUP = "commandsPromotedToGroup";
+    public static final String PROPERTY_COMMAND_QUEUE_LATENCY = "commandQueueLatencyMs";
+
+    // Fingerprint of the certificate of the bridge event stream
+    public static final String PROPERTY_EVENT_STREAM_CERTIFICATE = "eventStreamCertificate";
+
     // Thing configuration properties
     public static final String LIGHT_ID = "lightId";
     public static final String SENSOR_ID = "sensorId";
@@ -25,6 +25,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -74,6 +75,9 @@ public class HueBridge {
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
     private final ScheduledExecutorService scheduler;
+    private final HueCommandDispatcher commandDispatcher;
+    private final HueResourceCache<FullLight> lightCache = new HueResourceCache<>(gson, FullLight.class);
+    private final HueResourceCache<FullSensor> sensorCache = new HueResourceCache<>(gson, FullSensor.class);
 
     @Nullable
     private Config cachedConfig;
@@ -97,6 +101,7 @@ public class HueBridge {
         }
         this.baseUrl = baseUrl;
         this.scheduler = scheduler;
+        this.commandDispatcher = createCommandDispatcher();
     }
 
     /**
@@ -126,6 +131,21 @@ public class HueBridge {
         this.username = username;
         this.scheduler = scheduler;
         this.http = http;
+        this.commandDispatcher = createCommandDispatcher();
+    }
+
+    private HueCommandDispatcher createCommandDispatcher() {
+        return new HueCommandDispatcher(http, scheduler,
+                groupId -> getRelativeURL("groups/" + enc(groupId) + "/action"));
+    }
+
+    /**
+     * Returns the dispatcher sending the state changes to the bridge.
+     *
+     * @return the command dispatcher
+     */
+    public HueCommandDispatcher getCommandDispatcher() {
+        return commandDispatcher;
     }
 
     /**
@@ -258,6 +278,69 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the lights that are new or changed since the previous call. Lights whose JSON representation did not
+     * change are not deserialized.
+     *
+     * @return the ids of all known lights and the new or changed lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public HueResourceCache.Changes<FullLight> getFullLightChanges() throws IOException, ApiException {
+        if (!ApiVersionUtils.supportsFullLights(getVersion())) {
+            List<FullLight> lights = getFullConfig().getLights();
+            return new HueResourceCache.Changes<>(
+                    lights.stream().map(FullLight::getId).collect(Collectors.toCollection(LinkedHashSet::new)),
+                    lights);
+        }
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights"));
+
+        handleErrors(result);
+
+        return lightCache.update(result.getBody());
+    }
+
+    /**
+     * Returns the sensors that are new or changed since the previous call. Sensors whose JSON representation did not
+     * change are not deserialized.
+     *
+     * @return the ids of all known sensors and the new or changed sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public HueResourceCache.Changes<FullSensor> getSensorChanges() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        return sensorCache.update(result.getBody());
+    }
+
+    /**
+     * Report a light as changed by the next call of {@link #getFullLightChanges()}, even if it did not change.
+     */
+    public void invalidateLight(String id) {
+        lightCache.invalidate(id);
+    }
+
+    /**
+     * Report a sensor as changed by the next call of {@link #getSensorChanges()}, even if it did not change.
+     */
+    public void invalidateSensor(String id) {
+        sensorCache.invalidate(id);
+    }
+
+    /**
+     * Report all lights and sensors as changed by the next calls of {@link #getFullLightChanges()} and
+     * {@link #getSensorChanges()}.
+     */
+    public void invalidateResources() {
+        lightCache.clear();
+        sensorCache.clear();
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -381,8 +464,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandDispatcher.setLightState(light.getId(), getRelativeURL("lights/" + enc(light.getId()) + "/state"),
+                body);
     }
 
     /**
@@ -399,8 +482,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandDispatcher.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body);
     }
 
     /**
@@ -416,8 +498,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandDispatcher.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body);
     }
 
     /**
@@ -462,6 +543,7 @@ public class HueBridge {
             group.setId(id);
             groupList.add(group);
         });
+        commandDispatcher.setGroups(groupList);
 
         return groupList;
     }
@@ -643,8 +725,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandDispatcher.setGroupState(group.getId(),
+                getRelativeURL("groups/" + enc(group.getId()) + "/action"), body);
     }
 
     /**
@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * The {@link HueCommandDispatcher} sends the state changes of lights, groups and sensors to the bridge without
+ * exceeding the command rate the bridge can handle.
+ * <p>
+ * Commands for a resource that are still waiting to be sent are merged, the latest value of an attribute wins. For
+ * example only the last brightness of a slider drag is sent if the bridge cannot keep up. Commands are sent in order
+ * by a token bucket that allows about 10 light commands or 1 group command per second, see
+ * https://developers.meethue.com/develop/application-design-guidance/hue-system-performance/
+ * <p>
+ * If all lights of a group wait for the same state change including the on/off state, a single group command is sent
+ * instead of the light commands.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandDispatcher {
+    static final int BUCKET_CAPACITY = 10;
+    static final long TOKEN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int LIGHT_COMMAND_COST = 1;
+    static final int GROUP_COMMAND_COST = 10;
+    static final int MIN_LIGHTS_FOR_GROUP_COMMAND = 3;
+
+    private static final Set<String> COLOR_ATTRIBUTES = Set.of("xy", "ct", "hue", "sat");
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandDispatcher.class);
+    private final Gson gson = new Gson();
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, String> groupAddress;
+
+    private final Deque<PendingCommand> queue = new ArrayDeque<>();
+    // Queued commands that later commands for the same address can be merged into
+    private final Map<String, PendingCommand> mergeableCommands = new HashMap<>();
+    private List<FullGroup> groups = List.of();
+
+    private double tokens = BUCKET_CAPACITY;
+    private long lastRefillNanos = System.nanoTime();
+    private boolean dispatching = false;
+
+    private final AtomicLong commandsSent = new AtomicLong();
+    private final AtomicLong commandsCoalesced = new AtomicLong();
+    private final AtomicLong commandsPromoted = new AtomicLong();
+    private final AtomicLong totalQueueLatencyMillis = new AtomicLong();
+
+    private enum Type {
+        LIGHT,
+        GROUP,
+        OTHER
+    }
+
+    private class PendingCommand {
+        private final Type type;
+        private final String id;
+        private final String address;
+        private final @Nullable JsonObject body;
+        private final String rawBody;
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+        private long queuedNanos = System.nanoTime();
+
+        PendingCommand(Type type, String id, String address, String body) {
+            this.type = type;
+            this.id = id;
+            this.address = address;
+            this.rawBody = body;
+            this.body = parse(body);
+        }
+
+        PendingCommand(Type type, String id, String address, JsonObject body) {
+            this.type = type;
+            this.id = id;
+            this.address = address;
+            this.rawBody = body.toString();
+            this.body = body;
+        }
+
+        String getBody() {
+            JsonObject localBody = body;
+            return localBody == null ? rawBody : localBody.toString();
+        }
+
+        /**
+         * Merge the attributes of a later command into this one.
+         *
+         * @return false if the commands cannot be merged
+         */
+        boolean merge(String laterBody) {
+            JsonObject localBody = body;
+            JsonObject later = parse(laterBody);
+            if (localBody == null || later == null || localBody.has("scene") || later.has("scene")) {
+                return false;
+            }
+            if (later.keySet().stream().anyMatch(COLOR_ATTRIBUTES::contains)) {
+                // The bridge picks the color mode from the attributes, so a new color replaces the previous one
+                COLOR_ATTRIBUTES.forEach(localBody::remove);
+            }
+            later.entrySet().forEach(entry -> localBody.add(entry.getKey(), entry.getValue()));
+            return true;
+        }
+    }
+
+    /**
+     * @param http the client to send the commands with
+     * @param scheduler the scheduler to run the dispatcher on
+     * @param groupAddress provides the address of the action of a group from the group id
+     */
+    public HueCommandDispatcher(HttpClient http, ScheduledExecutorService scheduler,
+            Function<String, String> groupAddress) {
+        this.http = http;
+        this.scheduler = scheduler;
+        this.groupAddress = groupAddress;
+    }
+
+    public CompletableFuture<Result> setLightState(String lightId, String address, String body) {
+        return enqueue(Type.LIGHT, lightId, address, body);
+    }
+
+    public CompletableFuture<Result> setGroupState(String groupId, String address, String body) {
+        return enqueue(Type.GROUP, groupId, address, body);
+    }
+
+    public CompletableFuture<Result> put(String address, String body) {
+        return enqueue(Type.OTHER, address, address, body);
+    }
+
+    /**
+     * Set the groups of the bridge, used to replace light commands by group commands.
+     */
+    public synchronized void setGroups(Collection<FullGroup> groups) {
+        List<FullGroup> sortedGroups = new ArrayList<>(groups);
+        // Prefer the largest group
+        sortedGroups.sort(Comparator.comparingInt((FullGroup group) -> group.getLightIds().size()).reversed());
+        this.groups = sortedGroups;
+    }
+
+    public long getCommandsSent() {
+        return commandsSent.get();
+    }
+
+    public long getCommandsCoalesced() {
+        return commandsCoalesced.get();
+    }
+
+    public long getCommandsPromoted() {
+        return commandsPromoted.get();
+    }
+
+    /**
+     * @return the average time in milliseconds commands waited before being sent
+     */
+    public long getAverageQueueLatency() {
+        long sent = commandsSent.get();
+        return sent == 0 ? 0 : totalQueueLatencyMillis.get() / sent;
+    }
+
+    private synchronized CompletableFuture<Result> enqueue(Type type, String id, String address, String body) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        PendingCommand command = mergeableCommands.get(address);
+        if (command != null && command.merge(body)) {
+            commandsCoalesced.incrementAndGet();
+            logger.trace("Merged command for {} into queued command: {}", address, command.getBody());
+        } else {
+            command = new PendingCommand(type, id, address, body);
+            queue.add(command);
+            mergeableCommands.put(address, command);
+        }
+        command.futures.add(future);
+        if (!dispatching) {
+            dispatching = true;
+            scheduler.submit(this::dispatch);
+        }
+        return future;
+    }
+
+    private void dispatch() {
+        try {
+            dispatchQueue();
+        } catch (RuntimeException e) {
+            // Clear the flag, otherwise no command would be dispatched anymore. The next command restarts dispatching.
+            logger.warn("Failed to dispatch the commands to the bridge", e);
+            synchronized (this) {
+                dispatching = false;
+            }
+        }
+    }
+
+    private void dispatchQueue() {
+        while (true) {
+            PendingCommand command;
+            synchronized (this) {
+                command = queue.peek();
+                if (command == null) {
+                    dispatching = false;
+                    return;
+                }
+                if (command.type == Type.LIGHT) {
+                    command = promoteToGroupCommand(command);
+                }
+                long waitNanos = acquireTokens(command.type == Type.GROUP ? GROUP_COMMAND_COST : LIGHT_COMMAND_COST);
+                if (waitNanos > 0) {
+                    scheduler.schedule(this::dispatch, waitNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                queue.poll();
+                mergeableCommands.remove(command.address, command);
+            }
+            try {
+                send(command);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to send the command to {}", command.address, e);
+            }
+        }
+    }
+
+    private void send(PendingCommand command) {
+        String body = command.getBody();
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - command.queuedNanos);
+        commandsSent.incrementAndGet();
+        totalQueueLatencyMillis.addAndGet(latencyMillis);
+        logger.debug("Async sending put to address: {} queued: {}ms body: {}", command.address, latencyMillis, body);
+        try {
+            Result result = http.put(command.address, body);
+            command.futures.forEach(future -> future.complete(result));
+        } catch (IOException | RuntimeException e) {
+            command.futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Take tokens from the bucket.
+     *
+     * @return 0 if the tokens were taken, the time to wait for enough tokens otherwise
+     */
+    private long acquireTokens(int cost) {
+        long now = System.nanoTime();
+        tokens = Math.min(BUCKET_CAPACITY, tokens + (double) (now - lastRefillNanos) / TOKEN_INTERVAL_NANOS);
+        lastRefillNanos = now;
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) * TOKEN_INTERVAL_NANOS);
+    }
+
+    /**
+     * Replace the queued commands of all lights of a group by one group command if they are equal. The group command
+     * takes the place of the given command at the head of the queue.
+     */
+    private PendingCommand promoteToGroupCommand(PendingCommand command) {
+        JsonObject body = command.body;
+        if (body == null || !body.has("on")) {
+            // The bridge does not report lights that are off for group commands
+            return command;
+        }
+        for (FullGroup group : groups) {
+            List<String> lightIds = group.getLightIds();
+            if (lightIds.size() < MIN_LIGHTS_FOR_GROUP_COMMAND || !lightIds.contains(command.id)) {
+                continue;
+            }
+            List<PendingCommand> lightCommands = new ArrayList<>();
+            for (PendingCommand queued : queue) {
+                if (queued.type == Type.LIGHT && lightIds.contains(queued.id) && body.equals(queued.body)
+                        && mergeableCommands.get(queued.address) == queued) {
+                    lightCommands.add(queued);
+                }
+            }
+            if (lightCommands.size() != lightIds.size()) {
+                continue;
+            }
+            PendingCommand groupCommand = new PendingCommand(Type.GROUP, group.getId(),
+                    groupAddress.apply(group.getId()), body);
+            groupCommand.queuedNanos = command.queuedNanos;
+            for (PendingCommand lightCommand : lightCommands) {
+                queue.remove(lightCommand);
+                mergeableCommands.remove(lightCommand.address, lightCommand);
+                groupCommand.futures.addAll(lightCommand.futures);
+            }
+            queue.addFirst(groupCommand);
+            commandsPromoted.addAndGet(lightCommands.size());
+            logger.debug("Sending one command to group {} instead of {} light commands", group.getId(),
+                    lightCommands.size());
+            return groupCommand;
+        }
+        return command;
+    }
+
+    private @Nullable JsonObject parse(String body) {
+        try {
+            return gson.fromJson(body, JsonObject.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
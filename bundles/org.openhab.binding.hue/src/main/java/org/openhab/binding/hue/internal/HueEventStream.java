@@ -0,0 +1,358 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.util.HexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * The {@link HueEventStream} listens to the event stream of bridges supporting the CLIP API v2 and reports which kind
+ * of resources changed, so they can be polled right away instead of waiting for the next polling interval.
+ * <p>
+ * Only the v1 resource ids of the events are evaluated, the states are still read by polling. The bridge uses a
+ * self-signed certificate issued for its bridge id. The certificate of the first connection is trusted for all later
+ * connections, its fingerprint is reported to the {@link Listener} to be stored with the bridge.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStream {
+
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    // The bridge sends no keep-alive, reconnect if it stays silent for this long
+    private static final int READ_TIMEOUT_MS = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long MIN_RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final long MAX_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Logger logger = LoggerFactory.getLogger(HueEventStream.class);
+    private final Gson gson = new Gson();
+
+    private final String ip;
+    private final String applicationKey;
+    private final @Nullable String bridgeId;
+    private final ExecutorService executor;
+    private final Listener listener;
+
+    private volatile boolean running = false;
+    private volatile boolean connected = false;
+    private @Nullable Future<?> job;
+    private volatile @Nullable HttpURLConnection connection;
+    private volatile @Nullable String pinnedFingerprint;
+
+    /**
+     * Receives the changes reported by the event stream.
+     */
+    public interface Listener {
+        /**
+         * @param lightsChanged true if a light or group changed
+         * @param sensorsChanged true if a sensor changed
+         */
+        void onResourcesChanged(boolean lightsChanged, boolean sensorsChanged);
+
+        /**
+         * Called when the event stream is connected or disconnected.
+         */
+        void onEventStreamStatusChanged(boolean connected);
+
+        /**
+         * Called when the certificate of the first connection was pinned.
+         *
+         * @param fingerprint the SHA-256 fingerprint of the certificate as hex string
+         */
+        void onCertificatePinned(String fingerprint);
+    }
+
+    /**
+     * @param ip the IP address of the bridge
+     * @param applicationKey the user name to authenticate with
+     * @param bridgeId the bridge id the certificate has to be issued for, or null if not known
+     * @param pinnedFingerprint the fingerprint of the certificate pinned before, or null if none was pinned yet
+     * @param executor the executor to read the event stream with, the stream occupies one thread while it is running
+     * @param listener the listener to report the changes to
+     */
+    public HueEventStream(String ip, String applicationKey, @Nullable String bridgeId,
+            @Nullable String pinnedFingerprint, ExecutorService executor, Listener listener) {
+        this.ip = ip;
+        this.applicationKey = applicationKey;
+        this.bridgeId = bridgeId;
+        this.pinnedFingerprint = pinnedFingerprint;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        job = executor.submit(this::run);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        HttpURLConnection localConnection = connection;
+        if (localConnection != null) {
+            localConnection.disconnect();
+        }
+        Future<?> localJob = job;
+        if (localJob != null) {
+            localJob.cancel(true);
+        }
+        job = null;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void run() {
+        long retryDelay = MIN_RETRY_DELAY_MS;
+        while (running) {
+            try {
+                if (!listen()) {
+                    logger.info("Hue bridge {} does not offer an event stream, using polling only", ip);
+                    running = false;
+                    return;
+                }
+                // The stream ended or timed out after it was established, reconnect right away
+                retryDelay = MIN_RETRY_DELAY_MS;
+            } catch (IOException | GeneralSecurityException e) {
+                if (running) {
+                    logger.debug("Event stream of Hue bridge {} failed, retrying in {}s: {}", ip,
+                            TimeUnit.MILLISECONDS.toSeconds(retryDelay), e.getMessage());
+                }
+                setConnected(false);
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+        setConnected(false);
+    }
+
+    /**
+     * Read the event stream until it ends.
+     *
+     * @return false if the bridge does not support the event stream
+     */
+    private boolean listen() throws IOException, GeneralSecurityException {
+        HttpsURLConnection conn = (HttpsURLConnection) new URL("https://" + ip + "/eventstream/clip/v2")
+                .openConnection();
+        conn.setSSLSocketFactory(createSslContext().getSocketFactory());
+        // The certificate is issued for the bridge id instead of the host name
+        conn.setHostnameVerifier((hostname, session) -> isIssuedForBridge(session));
+        conn.setRequestProperty("hue-application-key", applicationKey);
+        conn.setRequestProperty("Accept", "text/event-stream");
+        conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        conn.setReadTimeout(READ_TIMEOUT_MS);
+        connection = conn;
+        try {
+            int responseCode = conn.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                return false;
+            } else if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response code " + responseCode);
+            }
+            setConnected(true);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                StringBuilder data = new StringBuilder();
+                String line;
+                while (running && (line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (data.length() > 0) {
+                            handleEvent(data.toString());
+                            data.setLength(0);
+                        }
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5).trim());
+                    }
+                }
+            } catch (SocketTimeoutException e) {
+                logger.debug("Event stream of Hue bridge {} timed out, reconnecting", ip);
+            }
+            return true;
+        } finally {
+            connection = null;
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Evaluate the data of an event, an array of event containers with the changed resources.
+     */
+    void handleEvent(String data) {
+        boolean lightsChanged = false;
+        boolean sensorsChanged = false;
+        try {
+            JsonArray containers = gson.fromJson(data, JsonArray.class);
+            if (containers == null) {
+                return;
+            }
+            for (JsonElement container : containers) {
+                if (!container.isJsonObject() || !container.getAsJsonObject().has("data")) {
+                    continue;
+                }
+                for (JsonElement resource : container.getAsJsonObject().getAsJsonArray("data")) {
+                    JsonElement idV1 = resource.isJsonObject() ? ((JsonObject) resource).get("id_v1") : null;
+                    if (idV1 == null || !idV1.isJsonPrimitive()) {
+                        continue;
+                    }
+                    String id = idV1.getAsString();
+                    if (id.startsWith("/lights/") || id.startsWith("/groups/")) {
+                        lightsChanged = true;
+                    } else if (id.startsWith("/sensors/")) {
+                        sensorsChanged = true;
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | ClassCastException e) {
+            logger.debug("Ignoring unexpected event of Hue bridge {}: {}", ip, data);
+            return;
+        }
+        if (lightsChanged || sensorsChanged) {
+            listener.onResourcesChanged(lightsChanged, sensorsChanged);
+        }
+    }
+
+    private void setConnected(boolean connected) {
+        if (this.connected != connected) {
+            this.connected = connected;
+            logger.debug("Event stream of Hue bridge {} {}", ip, connected ? "connected" : "disconnected");
+            if (running) {
+                listener.onEventStreamStatusChanged(connected);
+            }
+        }
+    }
+
+    private boolean isIssuedForBridge(@Nullable SSLSession session) {
+        if (session == null) {
+            return false;
+        }
+        try {
+            Certificate[] chain = session.getPeerCertificates();
+            return chain.length > 0 && chain[0] instanceof X509Certificate
+                    && isIssuedForBridge((X509Certificate) chain[0]);
+        } catch (SSLPeerUnverifiedException e) {
+            logger.debug("Failed to read the certificate of Hue bridge {}: {}", ip, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isIssuedForBridge(X509Certificate certificate) {
+        String localBridgeId = bridgeId;
+        if (localBridgeId == null) {
+            // the bridge id was not read yet, only the pinned certificate is checked
+            return true;
+        }
+        try {
+            for (Rdn rdn : new LdapName(certificate.getSubjectX500Principal().getName()).getRdns()) {
+                if ("CN".equalsIgnoreCase(rdn.getType())) {
+                    return localBridgeId.equalsIgnoreCase(rdn.getValue().toString());
+                }
+            }
+        } catch (InvalidNameException e) {
+            logger.debug("Failed to read the subject of the certificate of Hue bridge {}: {}", ip, e.getMessage());
+        }
+        return false;
+    }
+
+    private SSLContext createSslContext() throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] { new PinningTrustManager() }, new SecureRandom());
+        return sslContext;
+    }
+
+    /**
+     * Trusts the certificate of the first connection, or the certificate pinned before, and only this certificate
+     * afterwards.
+     */
+    class PinningTrustManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate @Nullable [] chain, @Nullable String authType)
+                throws CertificateException {
+            throw new CertificateException("Client certificates are not supported");
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate @Nullable [] chain, @Nullable String authType)
+                throws CertificateException {
+            if (chain == null || chain.length == 0) {
+                throw new CertificateException("No certificate");
+            }
+            chain[0].checkValidity();
+            if (!isIssuedForBridge(chain[0])) {
+                throw new CertificateException("Certificate of Hue bridge " + ip + " is not issued for its bridge id");
+            }
+            String fingerprint;
+            try {
+                fingerprint = HexUtils
+                        .bytesToHex(MessageDigest.getInstance("SHA-256").digest(chain[0].getEncoded()));
+            } catch (GeneralSecurityException e) {
+                throw new CertificateException(e);
+            }
+            String pinned = pinnedFingerprint;
+            if (pinned == null) {
+                pinnedFingerprint = fingerprint;
+                listener.onCertificatePinned(fingerprint);
+            } else if (!pinned.equalsIgnoreCase(fingerprint)) {
+                throw new CertificateException("Certificate of Hue bridge " + ip + " changed");
+            }
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * The {@link HueResourceCache} remembers the raw JSON of every resource of a resource list (e.g. all lights) returned
+ * by the bridge. The response is split into the raw JSON of each resource without deserializing it, and only new and
+ * changed resources are deserialized. Unchanged resources are skipped completely.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueResourceCache<T extends HueObject> {
+
+    private final Gson gson;
+    private final Class<T> type;
+    private final Map<String, String> rawResources = new HashMap<>();
+
+    /**
+     * The resources of a response that changed since the previous response.
+     */
+    public static class Changes<T> {
+        private final Set<String> ids;
+        private final List<T> changed;
+
+        Changes(Set<String> ids, List<T> changed) {
+            this.ids = ids;
+            this.changed = changed;
+        }
+
+        /**
+         * @return the ids of all resources of the response, including the unchanged ones
+         */
+        public Set<String> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return the new and changed resources
+         */
+        public List<T> getChanged() {
+            return changed;
+        }
+    }
+
+    public HueResourceCache(Gson gson, Class<T> type) {
+        this.gson = gson;
+        this.type = type;
+    }
+
+    /**
+     * Compare a resource list response with the previous one.
+     *
+     * @param json the response body, a JSON object with the resource ids as keys
+     * @return the ids of all resources and the deserialized new and changed resources
+     * @throws ApiException if the response is not a JSON object or a resource cannot be deserialized
+     */
+    public synchronized Changes<T> update(String json) throws ApiException {
+        Map<String, String> resources = split(json);
+        List<T> changed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : resources.entrySet()) {
+            String id = entry.getKey();
+            String raw = entry.getValue();
+            if (raw.equals(rawResources.get(id))) {
+                continue;
+            }
+            T resource;
+            try {
+                resource = gson.fromJson(raw, type);
+            } catch (JsonParseException e) {
+                throw new ApiException("API returned unexpected result: " + e.getMessage());
+            }
+            if (resource == null) {
+                continue;
+            }
+            resource.setId(id);
+            changed.add(resource);
+            rawResources.put(id, raw);
+        }
+        rawResources.keySet().retainAll(resources.keySet());
+        return new Changes<>(resources.keySet(), changed);
+    }
+
+    /**
+     * Forget a resource, so it is reported as changed by the next update even if it did not change.
+     */
+    public synchronized void invalidate(String id) {
+        rawResources.remove(id);
+    }
+
+    /**
+     * Forget all resources, so they are all reported as changed by the next update.
+     */
+    public synchronized void clear() {
+        rawResources.clear();
+    }
+
+    /**
+     * Split a JSON object into the raw JSON text of its members. The values are not parsed, only their bounds are
+     * determined.
+     *
+     * @param json a JSON object
+     * @return the raw value of each member by member name, in the order of the response
+     * @throws ApiException if the text is not a JSON object
+     */
+    static Map<String, String> split(String json) throws ApiException {
+        Map<String, String> members = new LinkedHashMap<>();
+        int pos = skipWhitespace(json, 0);
+        if (pos >= json.length() || json.charAt(pos) != '{') {
+            throw new ApiException("API returned unexpected result: JSON object expected");
+        }
+        pos = skipWhitespace(json, pos + 1);
+        if (pos < json.length() && json.charAt(pos) == '}') {
+            return members;
+        }
+        while (true) {
+            if (pos >= json.length() || json.charAt(pos) != '"') {
+                throw unexpectedEnd();
+            }
+            int keyEnd = endOfString(json, pos);
+            String key = unescape(json.substring(pos + 1, keyEnd - 1));
+            pos = skipWhitespace(json, keyEnd);
+            if (pos >= json.length() || json.charAt(pos) != ':') {
+                throw unexpectedEnd();
+            }
+            int valueStart = skipWhitespace(json, pos + 1);
+            int valueEnd = endOfValue(json, valueStart);
+            members.put(key, json.substring(valueStart, valueEnd));
+            pos = skipWhitespace(json, valueEnd);
+            if (pos >= json.length()) {
+                throw unexpectedEnd();
+            }
+            char c = json.charAt(pos);
+            if (c == '}') {
+                return members;
+            } else if (c != ',') {
+                throw unexpectedEnd();
+            }
+            pos = skipWhitespace(json, pos + 1);
+        }
+    }
+
+    private static int skipWhitespace(String json, int pos) {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @return the position after the closing quote of the string starting at the given position
+     */
+    private static int endOfString(String json, int start) throws ApiException {
+        for (int pos = start + 1; pos < json.length(); pos++) {
+            char c = json.charAt(pos);
+            if (c == '\\') {
+                pos++;
+            } else if (c == '"') {
+                return pos + 1;
+            }
+        }
+        throw unexpectedEnd();
+    }
+
+    /**
+     * @return the position after the value starting at the given position
+     */
+    private static int endOfValue(String json, int start) throws ApiException {
+        int depth = 0;
+        int pos = start;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                pos = endOfString(json, pos);
+                if (depth == 0) {
+                    return pos;
+                }
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    // end of a scalar value
+                    return trimEnd(json, start, pos);
+                }
+                depth--;
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            } else if (c == ',' && depth == 0) {
+                return trimEnd(json, start, pos);
+            }
+            pos++;
+        }
+        throw unexpectedEnd();
+    }
+
+    private static int trimEnd(String json, int start, int end) {
+        while (end > start && Character.isWhitespace(json.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static String unescape(String key) {
+        return key.indexOf('\\') < 0 ? key : new Gson().fromJson('"' + key + '"', String.class);
+    }
+
+    private static ApiException unexpectedEnd() {
+        return new ApiException("API returned unexpected result: malformed JSON object");
+    }
+}
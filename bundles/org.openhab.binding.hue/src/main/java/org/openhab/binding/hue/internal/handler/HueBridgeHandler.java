@@ -28,12 +28,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -41,7 +41,10 @@ import org.openhab.binding.hue.internal.FullGroup;
 import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
+import org.openhab.binding.hue.internal.HueCommandDispatcher;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueEventStream;
+import org.openhab.binding.hue.internal.HueResourceCache;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
@@ -52,6 +55,7 @@ import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
 import org.openhab.binding.hue.internal.exceptions.LinkButtonException;
 import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.core.status.ConfigStatusMessage;
 import org.openhab.core.library.types.HSBType;
@@ -95,6 +99,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private static final String DEVICE_TYPE = "EclipseSmartHome";
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
+    private static final long COMMAND_STATISTICS_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    // Polling interval while the event stream of the bridge reports the changes
+    private static final long EVENT_STREAM_POLLING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String EVENT_STREAM_THREADPOOL_NAME = "hue-eventstream";
 
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
@@ -108,6 +116,15 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, GroupStatusListener> groupStatusListeners = new ConcurrentHashMap<>();
 
+    private long commandStatisticsTimestamp = 0;
+    private long commandStatisticsSent = 0;
+
+    private @Nullable HueEventStream eventStream;
+    private volatile long lastLightPollNanos = 0;
+    private volatile long lastSensorPollNanos = 0;
+    private final AtomicBoolean lightPollRequested = new AtomicBoolean();
+    private final AtomicBoolean sensorPollRequested = new AtomicBoolean();
+
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
@@ -182,18 +199,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            lastSensorPollNanos = System.nanoTime();
+            HueResourceCache.Changes<FullSensor> changes = hueBridge.getSensorChanges();
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            // Sensors that did not change since the last poll are skipped
+            for (final FullSensor sensor : changes.getChanged()) {
                 String sensorId = sensor.getId();
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
                     logger.trace("Hue sensor '{}' added.", sensorId);
 
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
+                    if (discovery != null && !lastSensorStates.containsKey(sensorId)) {
                         discovery.addSensorDiscovery(sensor);
                     }
 
@@ -201,11 +220,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                    } else {
+                        // The state was not accepted, so it has to be reported again by the next poll
+                        hueBridge.invalidateSensor(sensorId);
                     }
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
 
+            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            lastSensorStateCopy.keySet().removeAll(changes.getIds());
+
             // Check for removed sensors
             lastSensorStateCopy.forEach((sensorId, sensor) -> {
                 logger.trace("Hue sensor '{}' removed.", sensorId);
@@ -226,30 +250,26 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            lastLightPollNanos = System.nanoTime();
             updateLights();
             updateGroups();
+            updateCommandStatistics();
         }
 
         private void updateLights() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+            HueResourceCache.Changes<FullLight> changes = hueBridge.getFullLightChanges();
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
+            // Lights that did not change since the last poll are skipped
+            for (final FullLight fullLight : changes.getChanged()) {
                 final String lightId = fullLight.getId();
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
                     logger.trace("Hue light '{}' added.", lightId);
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
+                    if (discovery != null && !lastLightStates.containsKey(lightId)) {
                         discovery.addLightDiscovery(fullLight);
                     }
 
@@ -257,11 +277,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                    } else {
+                        // The state was not accepted, so it has to be reported again by the next poll
+                        hueBridge.invalidateLight(lightId);
                     }
                 }
-                lastLightStateCopy.remove(lightId);
             }
 
+            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+            lastLightStateCopy.keySet().removeAll(changes.getIds());
+
             // Check for removed lights
             lastLightStateCopy.forEach((lightId, light) -> {
                 logger.trace("Hue light '{}' removed.", lightId);
@@ -391,9 +416,55 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     };
 
+    // While the event stream is connected, the polling jobs only run as a fallback for missed events
+    private final Runnable scheduledLightPollingRunnable = () -> {
+        if (!isPolledByEventStream(lastLightPollNanos)) {
+            lightPollingRunnable.run();
+        }
+    };
+
+    private final Runnable scheduledSensorPollingRunnable = () -> {
+        if (!isPolledByEventStream(lastSensorPollNanos)) {
+            sensorPollingRunnable.run();
+        }
+    };
+
+    private final HueEventStream.Listener eventStreamListener = new HueEventStream.Listener() {
+        @Override
+        public void onResourcesChanged(boolean lightsChanged, boolean sensorsChanged) {
+            // Several events in a row trigger only one poll
+            if (lightsChanged && lightPollRequested.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    lightPollRequested.set(false);
+                    lightPollingRunnable.run();
+                });
+            }
+            if (sensorsChanged && sensorPollRequested.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    sensorPollRequested.set(false);
+                    sensorPollingRunnable.run();
+                });
+            }
+        }
+
+        @Override
+        public void onEventStreamStatusChanged(boolean connected) {
+            if (!connected) {
+                // Changes may have been missed
+                onResourcesChanged(true, true);
+            }
+        }
+
+        @Override
+        public void onCertificatePinned(String fingerprint) {
+            updateProperty(PROPERTY_EVENT_STREAM_CERTIFICATE, fingerprint);
+        }
+    };
+
     private boolean lastBridgeConnectionState = false;
 
     private boolean propertiesInitializedSuccessfully = false;
+    private @Nullable String bridgeId;
 
     private @Nullable Future<?> initJob;
     private @Nullable ScheduledFuture<?> lightPollingJob;
@@ -422,6 +493,23 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void updateCommandStatistics() {
+        HueCommandDispatcher dispatcher = hueBridge.getCommandDispatcher();
+        long now = System.currentTimeMillis();
+        long commandsSent = dispatcher.getCommandsSent();
+        if (commandsSent == commandStatisticsSent || now - commandStatisticsTimestamp < COMMAND_STATISTICS_INTERVAL_MS) {
+            return;
+        }
+        commandStatisticsTimestamp = now;
+        commandStatisticsSent = commandsSent;
+        Map<String, String> properties = editProperties();
+        properties.put(PROPERTY_COMMANDS_SENT, String.valueOf(commandsSent));
+        properties.put(PROPERTY_COMMANDS_COALESCED, String.valueOf(dispatcher.getCommandsCoalesced()));
+        properties.put(PROPERTY_COMMANDS_PROMOTED_TO_GROUP, String.valueOf(dispatcher.getCommandsPromoted()));
+        properties.put(PROPERTY_COMMAND_QUEUE_LATENCY, String.valueOf(dispatcher.getAverageQueueLatency()));
+        updateProperties(properties);
+    }
+
     @Override
     public void updateLightState(LightStatusListener listener, FullLight light, StateUpdate stateUpdate,
             long fadeTime) {
@@ -600,8 +688,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 lightPollingInterval = configPollingInterval;
             }
             // Delay the first execution to give a chance to have all light and group things registered
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
-                    TimeUnit.SECONDS);
+            lightPollingJob = scheduler.scheduleWithFixedDelay(scheduledLightPollingRunnable, 3,
+                    lightPollingInterval, TimeUnit.SECONDS);
         }
     }
 
@@ -627,8 +715,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     sensorPollingInterval = configSensorPollingInterval;
                 }
                 // Delay the first execution to give a chance to have all sensor things registered
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
+                sensorPollingJob = scheduler.scheduleWithFixedDelay(scheduledSensorPollingRunnable, 4000,
+                        sensorPollingInterval, TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -641,6 +729,31 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         sensorPollingJob = null;
     }
 
+    private boolean isPolledByEventStream(long lastPollNanos) {
+        HueEventStream stream = eventStream;
+        return stream != null && stream.isConnected()
+                && System.nanoTime() - lastPollNanos < EVENT_STREAM_POLLING_INTERVAL_NANOS;
+    }
+
+    private synchronized void startEventStream() {
+        String userName = hueBridgeConfig.getUserName();
+        if (eventStream == null && hueBridgeConfig.isUseEventStream() && userName != null) {
+            HueEventStream stream = new HueEventStream(hueBridge.getIPAddress(), userName, bridgeId,
+                    thing.getProperties().get(PROPERTY_EVENT_STREAM_CERTIFICATE),
+                    ThreadPoolManager.getPool(EVENT_STREAM_THREADPOOL_NAME), eventStreamListener);
+            eventStream = stream;
+            stream.start();
+        }
+    }
+
+    private synchronized void stopEventStream() {
+        HueEventStream stream = eventStream;
+        if (stream != null) {
+            stream.stop();
+        }
+        eventStream = null;
+    }
+
     private void startScenePolling() {
         ScheduledFuture<?> job = scenePollingJob;
         if (job == null || job.isCancelled()) {
@@ -668,6 +781,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
+        stopEventStream();
         if (hueBridge != null) {
             hueBridge = null;
         }
@@ -728,6 +842,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
 
+        // Report all lights and sensors again, their state may have changed while the bridge was not reachable
+        hueBridge.invalidateResources();
+
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
             Config config = fullConfig.getConfig();
@@ -740,9 +857,13 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 properties.put(PROPERTY_MAC_ADDRESS, config.getMACAddress());
                 properties.put(PROPERTY_FIRMWARE_VERSION, config.getSoftwareVersion());
                 updateProperties(properties);
+                bridgeId = config.getBridgeId();
                 propertiesInitializedSuccessfully = true;
             }
         }
+
+        // The certificate of the event stream is checked against the bridge id
+        startEventStream();
     }
 
     /**
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests for {@link HueCommandDispatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueCommandDispatcherTest {
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private HttpClient mockHttpClient = Mockito.mock(HttpClient.class);
+    private ScheduledExecutorService mockScheduler = Mockito.mock(ScheduledExecutorService.class);
+    private HueCommandDispatcher dispatcher = new HueCommandDispatcher(mockHttpClient, mockScheduler,
+            groupId -> "groups/" + groupId + "/action");
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        when(mockScheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            submitted.add(invocation.getArgument(0));
+            return null;
+        });
+        when(mockHttpClient.put(anyString(), anyString())).thenReturn(new Result("[]", 200));
+    }
+
+    private void runSubmitted() {
+        List<Runnable> runnables = new ArrayList<>(submitted);
+        submitted.clear();
+        runnables.forEach(Runnable::run);
+    }
+
+    @Test
+    public void queuedCommandsForOneLightAreMerged() throws IOException {
+        CompletableFuture<Result> first = dispatcher.setLightState("1", "lights/1/state", "{\"bri\":100}");
+        CompletableFuture<Result> second = dispatcher.setLightState("1", "lights/1/state", "{\"bri\":120}");
+        CompletableFuture<Result> third = dispatcher.setLightState("1", "lights/1/state", "{\"on\":true}");
+        runSubmitted();
+
+        verify(mockHttpClient).put("lights/1/state", "{\"bri\":120,\"on\":true}");
+        verifyNoMoreInteractions(mockHttpClient);
+        assertTrue(first.isDone() && second.isDone() && third.isDone());
+        assertThat(dispatcher.getCommandsCoalesced(), is(2L));
+        assertThat(dispatcher.getCommandsSent(), is(1L));
+    }
+
+    @Test
+    public void newColorReplacesQueuedColor() throws IOException {
+        dispatcher.setLightState("1", "lights/1/state", "{\"ct\":300,\"bri\":10}");
+        dispatcher.setLightState("1", "lights/1/state", "{\"xy\":[0.1,0.2]}");
+        runSubmitted();
+
+        verify(mockHttpClient).put("lights/1/state", "{\"bri\":10,\"xy\":[0.1,0.2]}");
+    }
+
+    @Test
+    public void scenesAreNotMerged() throws IOException {
+        dispatcher.setGroupState("1", "groups/1/action", "{\"scene\":\"abc\"}");
+        dispatcher.setGroupState("1", "groups/1/action", "{\"bri\":10}");
+        runSubmitted();
+
+        verify(mockHttpClient).put("groups/1/action", "{\"scene\":\"abc\"}");
+        verify(mockHttpClient).put("groups/1/action", "{\"bri\":10}");
+    }
+
+    @Test
+    public void equalCommandsForAllLightsOfAGroupArePromoted() throws IOException {
+        dispatcher.setGroups(List.of(new FullGroup("1", "group", "Room", new State(), List.of("1", "2", "3"),
+                new State())));
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        for (String lightId : List.of("1", "2", "3")) {
+            futures.add(dispatcher.setLightState(lightId, "lights/" + lightId + "/state", "{\"on\":false}"));
+        }
+        runSubmitted();
+
+        verify(mockHttpClient).put("groups/1/action", "{\"on\":false}");
+        verifyNoMoreInteractions(mockHttpClient);
+        futures.forEach(future -> assertTrue(future.isDone()));
+        assertThat(dispatcher.getCommandsPromoted(), is(3L));
+    }
+
+    @Test
+    public void commandsForPartOfAGroupAreNotPromoted() throws IOException {
+        dispatcher.setGroups(List.of(new FullGroup("1", "group", "Room", new State(), List.of("1", "2", "3"),
+                new State())));
+        dispatcher.setLightState("1", "lights/1/state", "{\"on\":false}");
+        dispatcher.setLightState("2", "lights/2/state", "{\"on\":false}");
+        runSubmitted();
+
+        verify(mockHttpClient).put("lights/1/state", "{\"on\":false}");
+        verify(mockHttpClient).put("lights/2/state", "{\"on\":false}");
+        verify(mockHttpClient, never()).put(eq("groups/1/action"), anyString());
+    }
+
+    @Test
+    public void commandRateIsLimited() throws IOException {
+        for (int i = 0; i < HueCommandDispatcher.BUCKET_CAPACITY + 2; i++) {
+            dispatcher.setLightState(String.valueOf(i), "lights/" + i + "/state", "{\"bri\":10}");
+        }
+        runSubmitted();
+
+        verify(mockHttpClient, times(HueCommandDispatcher.BUCKET_CAPACITY)).put(anyString(), anyString());
+        verify(mockScheduler).schedule(any(Runnable.class), longThat(delay -> delay > 0), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void dispatchingResumesAfterAFailure() throws IOException {
+        when(mockScheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenThrow(new RejectedExecutionException()).thenReturn(null);
+        for (int i = 0; i < HueCommandDispatcher.BUCKET_CAPACITY + 1; i++) {
+            dispatcher.setLightState(String.valueOf(i), "lights/" + i + "/state", "{\"bri\":10}");
+        }
+        runSubmitted();
+        verify(mockHttpClient, times(HueCommandDispatcher.BUCKET_CAPACITY)).put(anyString(), anyString());
+
+        // the failed dispatcher is restarted by the next command
+        dispatcher.setLightState("x", "lights/x/state", "{\"bri\":10}");
+        verify(mockScheduler, times(2)).submit(any(Runnable.class));
+    }
+}
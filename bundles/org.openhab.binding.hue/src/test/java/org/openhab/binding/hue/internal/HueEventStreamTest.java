@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openhab.core.util.HexUtils;
+
+/**
+ * Tests for the certificate pinning and the event parsing of {@link HueEventStream}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueEventStreamTest {
+
+    private static final String BRIDGE_ID = "001788fffe123456";
+
+    private HueEventStream.Listener mockListener = Mockito.mock(HueEventStream.Listener.class);
+    private ExecutorService mockExecutor = Mockito.mock(ExecutorService.class);
+
+    private static X509Certificate load(String name) throws IOException, GeneralSecurityException {
+        try (InputStream stream = HueEventStreamTest.class.getResourceAsStream("certificate-" + name + ".pem")) {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(stream);
+        }
+    }
+
+    private static String fingerprint(X509Certificate certificate) throws GeneralSecurityException {
+        return HexUtils.bytesToHex(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()));
+    }
+
+    private HueEventStream createEventStream(@Nullable String bridgeId, @Nullable String pinnedFingerprint) {
+        return new HueEventStream("192.168.0.2", "key", bridgeId, pinnedFingerprint, mockExecutor, mockListener);
+    }
+
+    private void checkServerTrusted(HueEventStream eventStream, X509Certificate certificate)
+            throws CertificateException {
+        eventStream.new PinningTrustManager().checkServerTrusted(new X509Certificate[] { certificate }, "ECDHE_ECDSA");
+    }
+
+    @Test
+    public void certificateOfFirstConnectionIsPinned() throws Exception {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+        X509Certificate certificate = load("bridge");
+
+        checkServerTrusted(eventStream, certificate);
+        verify(mockListener).onCertificatePinned(fingerprint(certificate));
+
+        // the pinned certificate is trusted by later connections without pinning it again
+        checkServerTrusted(eventStream, certificate);
+        verify(mockListener, times(1)).onCertificatePinned(anyString());
+        // another certificate for the same bridge id is not
+        assertThrows(CertificateException.class, () -> checkServerTrusted(eventStream, load("bridge2")));
+    }
+
+    @Test
+    public void storedFingerprintIsTrusted() throws Exception {
+        X509Certificate certificate = load("bridge");
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, fingerprint(certificate).toLowerCase());
+
+        checkServerTrusted(eventStream, certificate);
+        verify(mockListener, never()).onCertificatePinned(anyString());
+    }
+
+    @Test
+    public void changedCertificateIsRejected() throws Exception {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, fingerprint(load("bridge")));
+
+        assertThrows(CertificateException.class, () -> checkServerTrusted(eventStream, load("bridge2")));
+        verify(mockListener, never()).onCertificatePinned(anyString());
+    }
+
+    @Test
+    public void certificateOfAnotherBridgeIsRejected() throws Exception {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        assertThrows(CertificateException.class, () -> checkServerTrusted(eventStream, load("other")));
+        verify(mockListener, never()).onCertificatePinned(anyString());
+    }
+
+    @Test
+    public void certificateIsPinnedIfTheBridgeIdIsUnknown() throws Exception {
+        HueEventStream eventStream = createEventStream(null, null);
+        X509Certificate certificate = load("other");
+
+        checkServerTrusted(eventStream, certificate);
+        verify(mockListener).onCertificatePinned(fingerprint(certificate));
+    }
+
+    @Test
+    public void expiredCertificateIsRejected() throws Exception {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        assertThrows(CertificateException.class, () -> checkServerTrusted(eventStream, load("expired")));
+        verify(mockListener, never()).onCertificatePinned(anyString());
+    }
+
+    @Test
+    public void missingCertificateIsRejected() {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        assertThrows(CertificateException.class,
+                () -> eventStream.new PinningTrustManager().checkServerTrusted(new X509Certificate[0], "ECDHE_ECDSA"));
+    }
+
+    @Test
+    public void lightAndGroupEventsTriggerLightPolling() {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        eventStream.handleEvent("[{\"type\":\"update\",\"data\":[{\"id\":\"a\",\"id_v1\":\"/lights/1\",\"on\":{}}]}]");
+        eventStream.handleEvent("[{\"type\":\"update\",\"data\":[{\"id\":\"b\",\"id_v1\":\"/groups/2\"}]}]");
+
+        verify(mockListener, times(2)).onResourcesChanged(true, false);
+        verifyNoMoreInteractions(mockListener);
+    }
+
+    @Test
+    public void sensorEventsTriggerSensorPolling() {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        eventStream.handleEvent("[{\"type\":\"update\",\"data\":[{\"id\":\"a\",\"id_v1\":\"/sensors/5\"}]},"
+                + "{\"type\":\"update\",\"data\":[{\"id\":\"b\",\"id_v1\":\"/lights/1\"}]}]");
+
+        verify(mockListener).onResourcesChanged(true, true);
+        verifyNoMoreInteractions(mockListener);
+    }
+
+    @Test
+    public void otherEventsAreIgnored() {
+        HueEventStream eventStream = createEventStream(BRIDGE_ID, null);
+
+        // resources without v1 id, other resource types and unexpected content
+        eventStream.handleEvent("[{\"type\":\"update\",\"data\":[{\"id\":\"a\",\"type\":\"zigbee_connectivity\"}]}]");
+        eventStream.handleEvent("[{\"type\":\"update\",\"data\":[{\"id\":\"a\",\"id_v1\":\"/scenes/x\"}]}]");
+        eventStream.handleEvent("[{\"type\":\"update\"},\"text\",{\"data\":[1,{\"id_v1\":{}}]}]");
+        eventStream.handleEvent("{\"data\":[]}");
+        eventStream.handleEvent("[{\"data\":");
+        eventStream.handleEvent("");
+
+        verifyNoInteractions(mockListener);
+    }
+}
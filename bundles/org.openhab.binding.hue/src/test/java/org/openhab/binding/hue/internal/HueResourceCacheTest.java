@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests for {@link HueResourceCache} with recorded bridge responses.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueResourceCacheTest {
+
+    private final Logger logger = LoggerFactory.getLogger(HueResourceCacheTest.class);
+    private final Gson gson = new GsonBuilder().setDateFormat("yyyy-MM-dd'T'HH:mm:ss").create();
+
+    private static String load(String name) throws IOException {
+        try (InputStream stream = HueResourceCacheTest.class.getResourceAsStream(name)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void splitReturnsRawResources() throws IOException, ApiException {
+        Map<String, String> lights = HueResourceCache.split(load("lights.json"));
+
+        assertThat(lights.keySet(), is(Set.of("1", "2", "3")));
+        // Names with braces and escaped quotes do not confuse the splitter
+        assertThat(gson.fromJson(lights.get("1"), FullLight.class).getName(), is("Living room {ceiling}"));
+        assertThat(gson.fromJson(lights.get("2"), FullLight.class).getName(), is("Hallway \"spot\" 1"));
+
+        Map<String, String> members = HueResourceCache.split(" { \"a\" : 1 , \"b\":\"x,}\", \"c\":[1,{\"d\":null}] } ");
+        assertThat(members, is(Map.of("a", "1", "b", "\"x,}\"", "c", "[1,{\"d\":null}]")));
+        assertThat(HueResourceCache.split("{}").size(), is(0));
+    }
+
+    @Test
+    public void splitRejectsUnexpectedResponses() {
+        assertThrows(ApiException.class, () -> HueResourceCache.split("[{\"error\":{}}]"));
+        assertThrows(ApiException.class, () -> HueResourceCache.split("{\"1\":{\"state\":{}}"));
+        assertThrows(ApiException.class, () -> HueResourceCache.split("{\"1\" {}}"));
+    }
+
+    @Test
+    public void unchangedResourcesAreNotDeserialized() throws IOException, ApiException {
+        HueResourceCache<FullLight> cache = new HueResourceCache<>(gson, FullLight.class);
+        String json = load("lights.json");
+
+        HueResourceCache.Changes<FullLight> changes = cache.update(json);
+        assertThat(changes.getChanged().size(), is(3));
+        assertThat(changes.getChanged().get(0).getId(), is("1"));
+        assertThat(changes.getChanged().get(0).getState().getBrightness(), is(144));
+
+        changes = cache.update(json);
+        assertThat(changes.getChanged().size(), is(0));
+        assertThat(changes.getIds(), is(Set.of("1", "2", "3")));
+    }
+
+    @Test
+    public void changedAndRemovedResourcesAreReported() throws IOException, ApiException {
+        HueResourceCache<FullSensor> cache = new HueResourceCache<>(gson, FullSensor.class);
+        String json = load("sensors.json");
+        cache.update(json);
+
+        String changedJson = json.replace("\"presence\": false", "\"presence\": true");
+        HueResourceCache.Changes<FullSensor> changes = cache.update(changedJson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getId(), is("5"));
+        assertThat(changes.getChanged().get(0).getState().get("presence"), is(true));
+
+        Map<String, String> sensors = HueResourceCache.split(changedJson);
+        sensors.remove("8");
+        changes = cache.update(toJson(sensors));
+        assertThat(changes.getChanged().size(), is(0));
+        assertFalse(changes.getIds().contains("8"));
+
+        // A sensor that comes back is reported as new
+        changes = cache.update(changedJson);
+        assertThat(changes.getChanged().size(), is(1));
+        assertThat(changes.getChanged().get(0).getId(), is("8"));
+    }
+
+    @Test
+    public void invalidatedResourcesAreReportedAgain() throws IOException, ApiException {
+        HueResourceCache<FullLight> cache = new HueResourceCache<>(gson, FullLight.class);
+        String json = load("lights.json");
+        cache.update(json);
+
+        cache.invalidate("2");
+        List<FullLight> changed = cache.update(json).getChanged();
+        assertThat(changed.size(), is(1));
+        assertThat(changed.get(0).getId(), is("2"));
+
+        cache.clear();
+        assertThat(cache.update(json).getChanged().size(), is(3));
+    }
+
+    /**
+     * Compares the decoding of the full response with the diff of the response of a large installation, where one
+     * light changes between two polls. The recorded resources are repeated to reach the size of the installation.
+     */
+    @Test
+    public void benchmarkFullAndDiffDecoding() throws IOException, ApiException {
+        String lights = repeat(HueResourceCache.split(load("lights.json")), 120);
+        String sensors = repeat(HueResourceCache.split(load("sensors.json")), 60);
+        final int polls = 500;
+
+        long fullNanos = 0;
+        long diffNanos = 0;
+        HueResourceCache<FullLight> lightCache = new HueResourceCache<>(gson, FullLight.class);
+        HueResourceCache<FullSensor> sensorCache = new HueResourceCache<>(gson, FullSensor.class);
+        lightCache.update(lights);
+        sensorCache.update(sensors);
+        for (int i = 0; i < polls; i++) {
+            // One light changes its brightness between two polls
+            String polledLights = lights.replaceFirst("\"bri\": \\d+", "\"bri\": " + (i % 254));
+
+            long start = System.nanoTime();
+            Map<String, FullLight> fullLights = gson.fromJson(polledLights, FullLight.GSON_TYPE);
+            Map<String, FullSensor> fullSensors = gson.fromJson(sensors, FullSensor.GSON_TYPE);
+            fullNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            HueResourceCache.Changes<FullLight> lightChanges = lightCache.update(polledLights);
+            HueResourceCache.Changes<FullSensor> sensorChanges = sensorCache.update(sensors);
+            diffNanos += System.nanoTime() - start;
+
+            assertThat(fullLights.size(), is(120));
+            assertThat(fullSensors.size(), is(60));
+            assertThat(lightChanges.getIds().size(), is(120));
+            assertThat(lightChanges.getChanged().size(), is(1));
+            assertThat(sensorChanges.getChanged().size(), is(0));
+        }
+        logger.info("{} polls of 120 lights and 60 sensors: full decoding {}ms, diff decoding {}ms", polls,
+                TimeUnit.NANOSECONDS.toMillis(fullNanos), TimeUnit.NANOSECONDS.toMillis(diffNanos));
+    }
+
+    private static String repeat(Map<String, String> resources, int count) {
+        List<String> raw = List.copyOf(resources.values());
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(i + 1).append("\": ").append(raw.get(i % raw.size()));
+        }
+        return json.append('}').toString();
+    }
+
+    private static String toJson(Map<String, String> resources) {
+        return resources.entrySet().stream().map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+}
@@ -310,7 +310,8 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
             return false;
         }
         try (final FileInputStream fileStream = new FileInputStream(calendarFile)) {
-            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream);
+            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream,
+                    runtimeCalendar);
             runtimeCalendar = calendar;
             rescheduleCalendarStateUpdate();
             calendarDownloadedTime = Instant.ofEpochMilli(calendarFile.lastModified());
@@ -43,6 +43,22 @@ public abstract class AbstractPresentableCalendar {
         return new BiweeklyPresentableCalendar(calendarStream);
     }
 
+    /**
+     * Creates an implementing Instance of AbstractPresentableCalendar, which replaces a previous version of the same
+     * calendar. Data calculated for events unchanged since the previous version is reused.
+     *
+     * @param calendarStream A Stream containing the iCal data.
+     * @param predecessor The previous version of the calendar or null, if there is none.
+     * @return The instance.
+     * @throws IOException When something while reading stream fails.
+     * @throws CalendarException When something while parsing fails.
+     */
+    public static AbstractPresentableCalendar create(InputStream calendarStream,
+            @Nullable AbstractPresentableCalendar predecessor) throws IOException, CalendarException {
+        return new BiweeklyPresentableCalendar(calendarStream,
+                predecessor instanceof BiweeklyPresentableCalendar ? (BiweeklyPresentableCalendar) predecessor : null);
+    }
+
     /**
      * Searches the event currently (at given Instant) present.
      *
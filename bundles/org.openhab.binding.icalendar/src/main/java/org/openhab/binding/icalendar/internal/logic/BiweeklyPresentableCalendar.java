@@ -20,14 +20,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.icalendar.internal.logic.EventTextFilter.Type;
+import org.openhab.binding.icalendar.internal.logic.OccurrenceIndex.Expansion;
+import org.openhab.binding.icalendar.internal.logic.OccurrenceIndex.Occurrence;
 
 import biweekly.ICalendar;
 import biweekly.component.VEvent;
@@ -43,11 +52,14 @@ import biweekly.property.Description;
 import biweekly.property.DurationProperty;
 import biweekly.property.Location;
 import biweekly.property.RecurrenceId;
+import biweekly.property.RecurrenceRule;
 import biweekly.property.Status;
 import biweekly.property.Summary;
 import biweekly.property.TextProperty;
 import biweekly.property.Uid;
+import biweekly.util.Frequency;
 import biweekly.util.ICalDate;
+import biweekly.util.Recurrence;
 import biweekly.util.com.google.ical.compat.javautil.DateIterator;
 
 /**
@@ -62,9 +74,55 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    /**
+     * Time added before and after the queried frame when the occurrence index is (re)built.
+     */
+    private static final Duration INDEX_MARGIN = Duration.ofDays(1);
+    /**
+     * Minimum length of the time frame covered by the occurrence index.
+     */
+    private static final Duration INDEX_LENGTH = Duration.ofDays(32);
+    /**
+     * Queries for longer frames are answered without the occurrence index.
+     */
+    private static final Duration INDEX_MAX_LENGTH = Duration.ofDays(400);
+    /**
+     * Limits the occurrences of a single event in the index, the index covers a shorter time frame if exceeded.
+     */
+    private static final int INDEX_MAX_OCCURRENCES_PER_EVENT = 20000;
+
     private final ICalendar usedCalendar;
+    private final boolean occurrenceIndexEnabled;
+    private volatile @Nullable OccurrenceIndex occurrenceIndex;
+    private @Nullable Map<VEvent, Expansion> predecessorExpansions;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
+        this(streamed, null);
+    }
+
+    /**
+     * Creates the calendar, the occurrences of events unchanged since the predecessor are taken from the predecessor's
+     * occurrence index.
+     *
+     * @param streamed A Stream containing the iCal data.
+     * @param predecessor The previous version of the calendar or null.
+     */
+    BiweeklyPresentableCalendar(InputStream streamed, @Nullable BiweeklyPresentableCalendar predecessor)
+            throws IOException, CalendarException {
+        this(streamed, predecessor, true);
+    }
+
+    /**
+     * Creates the calendar, optionally without the occurrence index. All queries of a calendar without the index
+     * iterate the recurrences of the events.
+     *
+     * @param streamed A Stream containing the iCal data.
+     * @param predecessor The previous version of the calendar or null.
+     * @param occurrenceIndexEnabled Whether queries may be answered by the occurrence index.
+     */
+    BiweeklyPresentableCalendar(InputStream streamed, @Nullable BiweeklyPresentableCalendar predecessor,
+            boolean occurrenceIndexEnabled) throws IOException, CalendarException {
+        this.occurrenceIndexEnabled = occurrenceIndexEnabled;
         try (final ICalReader reader = new ICalReader(streamed)) {
             final ICalendar currentCalendar = reader.readNext();
             if (currentCalendar == null) {
@@ -72,6 +130,12 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        if (predecessor != null) {
+            final OccurrenceIndex predecessorIndex = predecessor.occurrenceIndex;
+            if (predecessorIndex != null) {
+                predecessorExpansions = predecessorIndex.getExpansions();
+            }
+        }
     }
 
     @Override
@@ -86,6 +150,17 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
+        final OccurrenceIndex index = getOccurrenceIndex(frameBegin, frameEnd);
+        if (index != null) {
+            final List<Event> eventList = new ArrayList<>();
+            for (final Occurrence occurrence : firstPerEvent(index.getStartingBetween(frameBegin, frameEnd))) {
+                final Instant endInst = occurrence.hasDuration ? occurrence.end
+                        : occurrence.start.plus(Duration.ofMinutes(1));
+                eventList.add(new VEventWPeriod(occurrence.vEvent, occurrence.start, endInst).toEvent());
+            }
+            return eventList;
+        }
+
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -112,6 +187,15 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
+        final OccurrenceIndex index = getOccurrenceIndex(frameBegin, frameEnd);
+        if (index != null) {
+            final List<Event> eventList = new ArrayList<>();
+            for (final Occurrence occurrence : firstPerEvent(index.getEndingBetween(frameBegin, frameEnd))) {
+                eventList.add(new VEventWPeriod(occurrence.vEvent, occurrence.start, occurrence.end).toEvent());
+            }
+            return eventList;
+        }
+
         final List<Event> eventList = new ArrayList<>();
         // process all the events in the iCalendar
         for (final VEvent event : usedCalendar.getEvents()) {
@@ -139,6 +223,15 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        final OccurrenceIndex index = getOccurrenceIndex(instant, instant);
+        if (index != null) {
+            final Occurrence next = index.findNext(instant);
+            if (next != null) {
+                return new VEventWPeriod(next.vEvent, next.start, next.end).toEvent();
+            }
+            // nothing within the index, searching the whole calendar
+        }
+
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -245,6 +338,29 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return All events which begin in the time frame.
      */
     private List<VEventWPeriod> getVEventWPeriodsBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries) {
+        final OccurrenceIndex index = getOccurrenceIndex(frameBegin, frameEnd);
+        if (index != null) {
+            final Map<Integer, List<Occurrence>> perEvent = new TreeMap<>();
+            for (final Occurrence occurrence : index.getStartingBetween(frameBegin, frameEnd)) {
+                if (!occurrence.present || occurrence.start.equals(frameEnd)) {
+                    continue;
+                }
+                final List<Occurrence> series = perEvent.computeIfAbsent(occurrence.eventIndex,
+                        key -> new ArrayList<>());
+                if (maximumPerSeries == 0 || series.size() < maximumPerSeries) {
+                    series.add(occurrence);
+                }
+            }
+            // same order as when iterating the events
+            final List<VEventWPeriod> eventList = new ArrayList<>();
+            for (final List<Occurrence> series : perEvent.values()) {
+                for (final Occurrence occurrence : series) {
+                    eventList.add(new VEventWPeriod(occurrence.vEvent, occurrence.start, occurrence.end));
+                }
+            }
+            return eventList;
+        }
+
         final List<VEvent> positiveEvents = new ArrayList<>();
         final List<VEvent> negativeEvents = new ArrayList<>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -287,6 +403,222 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return eventList;
     }
 
+    /**
+     * Returns an occurrence index covering the given frame, (re)building it if needed.
+     *
+     * @param frameBegin The begin of the frame that will be queried.
+     * @param frameEnd The end of the frame that will be queried.
+     * @return The index or null if the index is disabled or the frame is too long to be indexed.
+     */
+    private @Nullable OccurrenceIndex getOccurrenceIndex(Instant frameBegin, Instant frameEnd) {
+        if (!occurrenceIndexEnabled) {
+            return null;
+        }
+        OccurrenceIndex index = occurrenceIndex;
+        if (index != null && index.covers(frameBegin, frameEnd)) {
+            return index;
+        }
+        if (frameEnd.isBefore(frameBegin) || Duration.between(frameBegin, frameEnd).compareTo(INDEX_MAX_LENGTH) > 0) {
+            return null;
+        }
+        synchronized (this) {
+            index = occurrenceIndex;
+            if (index != null && index.covers(frameBegin, frameEnd)) {
+                return index;
+            }
+            final Instant indexBegin = frameBegin.minus(INDEX_MARGIN);
+            Instant indexEnd = frameEnd.plus(INDEX_MARGIN);
+            if (indexEnd.isBefore(indexBegin.plus(INDEX_LENGTH))) {
+                indexEnd = indexBegin.plus(INDEX_LENGTH);
+            }
+            final Map<VEvent, Expansion> reusableExpansions = (index != null ? index.getExpansions()
+                    : predecessorExpansions);
+            index = buildOccurrenceIndex(indexBegin, indexEnd, reusableExpansions);
+            predecessorExpansions = null;
+            occurrenceIndex = index;
+            return index.covers(frameBegin, frameEnd) ? index : null;
+        }
+    }
+
+    /**
+     * Creates the occurrences of all events within the given time frame and applies the counter events to them.
+     *
+     * @param indexBegin The begin of the time frame.
+     * @param indexEnd The end of the time frame.
+     * @param reusableExpansions Expansions of a previous index, which are reused for equal events.
+     * @return The index.
+     */
+    private OccurrenceIndex buildOccurrenceIndex(Instant indexBegin, Instant indexEnd,
+            @Nullable Map<VEvent, Expansion> reusableExpansions) {
+        final List<VEvent> events = usedCalendar.getEvents();
+        final int eventCount = events.size();
+
+        // same classification as classifyEvents(), counter events are grouped by uid
+        final boolean[] positive = new boolean[eventCount];
+        final Map<String, List<Integer>> counterIndexesByUid = new HashMap<>();
+        for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+            final VEvent event = events.get(eventIndex);
+            positive[eventIndex] = isPositive(event);
+            final String uid = getUidValue(event);
+            if (uid != null && (!positive[eventIndex] || event.getRecurrenceId() != null)) {
+                counterIndexesByUid.computeIfAbsent(uid, key -> new ArrayList<>()).add(eventIndex);
+            }
+        }
+
+        // starts are needed from the earliest one which may end within the index up to the latest one which may end
+        // within the index
+        final Duration[] durations = new Duration[eventCount];
+        final Instant[] froms = new Instant[eventCount];
+        final Instant[] tos = new Instant[eventCount];
+        final Map<String, Instant> counteredFroms = new HashMap<>();
+        final Map<String, Instant> counteredTos = new HashMap<>();
+        for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+            final Duration duration = getEventLength(events.get(eventIndex));
+            durations[eventIndex] = duration;
+            froms[eventIndex] = (duration == null || duration.isNegative() ? indexBegin : indexBegin.minus(duration));
+            tos[eventIndex] = (duration == null || !duration.isNegative() ? indexEnd : indexEnd.minus(duration));
+
+            final String uid = getUidValue(events.get(eventIndex));
+            if (positive[eventIndex] && uid != null && counterIndexesByUid.containsKey(uid)) {
+                final Instant counteredFrom = counteredFroms.get(uid);
+                if (counteredFrom == null || froms[eventIndex].isBefore(counteredFrom)) {
+                    counteredFroms.put(uid, froms[eventIndex]);
+                }
+                final Instant counteredTo = counteredTos.get(uid);
+                if (counteredTo == null || tos[eventIndex].isAfter(counteredTo)) {
+                    counteredTos.put(uid, tos[eventIndex]);
+                }
+            }
+        }
+        // counter events without RecurrenceId need starts wherever the events they may counter have some
+        for (final Map.Entry<String, List<Integer>> counterEntry : counterIndexesByUid.entrySet()) {
+            final Instant counteredFrom = counteredFroms.get(counterEntry.getKey());
+            final Instant counteredTo = counteredTos.get(counterEntry.getKey());
+            if (counteredFrom == null || counteredTo == null) {
+                continue;
+            }
+            for (final int counterIndex : counterEntry.getValue()) {
+                if (events.get(counterIndex).getRecurrenceId() == null) {
+                    if (counteredFrom.isBefore(froms[counterIndex])) {
+                        froms[counterIndex] = counteredFrom;
+                    }
+                    if (counteredTo.isAfter(tos[counterIndex])) {
+                        tos[counterIndex] = counteredTo;
+                    }
+                }
+            }
+        }
+
+        final Map<VEvent, Expansion> expansions = new HashMap<>();
+        final List<Expansion> eventExpansions = new ArrayList<>(eventCount);
+        Instant coverageEnd = indexEnd;
+        for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+            final VEvent event = events.get(eventIndex);
+            final Expansion expansion = expand(event, froms[eventIndex], tos[eventIndex], reusableExpansions);
+            eventExpansions.add(expansion);
+            expansions.put(event, expansion);
+            final Duration duration = durations[eventIndex];
+            final Instant eventCoverageEnd = (duration == null || !duration.isNegative() ? expansion.completeUntil
+                    : expansion.completeUntil.plus(duration));
+            if (eventCoverageEnd.isBefore(coverageEnd)) {
+                coverageEnd = eventCoverageEnd;
+            }
+        }
+
+        final Map<Integer, Set<Instant>> counterStarts = new HashMap<>();
+        for (final List<Integer> counterIndexes : counterIndexesByUid.values()) {
+            for (final int counterIndex : counterIndexes) {
+                if (events.get(counterIndex).getRecurrenceId() == null) {
+                    counterStarts.put(counterIndex, new HashSet<>(eventExpansions.get(counterIndex).starts));
+                }
+            }
+        }
+
+        // counter events are applied once here, instead of on every query
+        final List<Occurrence> occurrences = new ArrayList<>();
+        for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+            final VEvent event = events.get(eventIndex);
+            final Duration duration = durations[eventIndex];
+            final String uid = getUidValue(event);
+            final List<Integer> counterIndexes = (uid == null ? null : counterIndexesByUid.get(uid));
+            for (final Instant startInstant : eventExpansions.get(eventIndex).starts) {
+                final boolean present = positive[eventIndex] && (counterIndexes == null
+                        || !isCounteredBy(startInstant, counterIndexes, events, counterStarts));
+                occurrences.add(new Occurrence(event, eventIndex, startInstant,
+                        duration == null ? startInstant : startInstant.plus(duration), duration != null, present));
+            }
+        }
+        return new OccurrenceIndex(indexBegin, coverageEnd, occurrences, expansions);
+    }
+
+    /**
+     * Finds the starts of an event within a time frame, reusing a previous expansion of the event if possible.
+     *
+     * @param vEvent The event.
+     * @param from The (inclusive) begin of the time frame.
+     * @param to The (exclusive) end of the time frame.
+     * @param reusableExpansions Previous expansions or null.
+     * @return The expansion of the event.
+     */
+    private Expansion expand(VEvent vEvent, Instant from, Instant to,
+            @Nullable Map<VEvent, Expansion> reusableExpansions) {
+        final TimeZone tz = getTimeZone(vEvent);
+        final List<Instant> starts = new ArrayList<>();
+        Instant expandFrom = from;
+        final Expansion previous = (reusableExpansions == null ? null : reusableExpansions.get(vEvent));
+        if (previous != null && previous.timeZone.getID().equals(tz.getID()) && previous.timeZone.hasSameRules(tz)
+                && !previous.from.isAfter(from) && !previous.completeUntil.isBefore(from)) {
+            for (final Instant startInstant : previous.starts) {
+                if (!startInstant.isBefore(to)) {
+                    break;
+                } else if (!startInstant.isBefore(from)) {
+                    starts.add(startInstant);
+                }
+            }
+            if (!previous.completeUntil.isBefore(to)) {
+                return new Expansion(tz, from, to, starts);
+            }
+            expandFrom = previous.completeUntil;
+        }
+
+        Instant completeUntil = to;
+        final DateIterator startDates = new AdvancingDateIterator(vEvent, tz);
+        startDates.advanceTo(Date.from(expandFrom));
+        while (startDates.hasNext()) {
+            final Instant startInstant = startDates.next().toInstant();
+            if (!startInstant.isBefore(to)) {
+                break;
+            } else if (startInstant.isBefore(expandFrom)) {
+                continue;
+            }
+            if (starts.size() >= INDEX_MAX_OCCURRENCES_PER_EVENT) {
+                completeUntil = startInstant;
+                break;
+            }
+            starts.add(startInstant);
+        }
+        return new Expansion(tz, from, completeUntil, starts);
+    }
+
+    /**
+     * Keeps only the first occurrence of each event.
+     *
+     * @param occurrences The occurrences in the order to keep the first of.
+     * @return The first occurrences, ordered like the events in the calendar.
+     */
+    private static List<Occurrence> firstPerEvent(List<Occurrence> occurrences) {
+        final Map<Integer, Occurrence> firstOccurrences = new TreeMap<>();
+        for (final Occurrence occurrence : occurrences) {
+            firstOccurrences.putIfAbsent(occurrence.eventIndex, occurrence);
+        }
+        return new ArrayList<>(firstOccurrences.values());
+    }
+
+    private static @Nullable String getUidValue(VEvent vEvent) {
+        final Uid uid = vEvent.getUid();
+        return uid == null ? null : uid.getValue();
+    }
+
     /**
      * Classifies events into positive and negative ones.
      *
@@ -295,8 +627,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      */
     private void classifyEvents(Collection<VEvent> positiveEvents, Collection<VEvent> negativeEvents) {
         for (final VEvent currentEvent : usedCalendar.getEvents()) {
-            final Status eventStatus = currentEvent.getStatus();
-            boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+            boolean positive = isPositive(currentEvent);
             final RecurrenceId eventRecurrenceId = currentEvent.getRecurrenceId();
             if (positive && eventRecurrenceId != null) {
                 // RecurrenceId moves an event. This blocks other events of series and creates a new single instance
@@ -309,6 +640,17 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         }
     }
 
+    /**
+     * Checks whether an event is neither cancelled nor otherwise not taking place.
+     *
+     * @param vEvent The event to check.
+     * @return True if the event has no status, is tentative or is confirmed.
+     */
+    private static boolean isPositive(VEvent vEvent) {
+        final Status eventStatus = vEvent.getStatus();
+        return (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+    }
+
     /**
      * Searches for a current event at given Instant.
      *
@@ -316,6 +658,12 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        final OccurrenceIndex index = getOccurrenceIndex(instant, instant);
+        if (index != null) {
+            final Occurrence current = index.findCurrent(instant);
+            return current == null ? null : new VEventWPeriod(current.vEvent, current.start, current.end);
+        }
+
         final List<VEvent> negativeEvents = new ArrayList<VEvent>();
         final List<VEvent> positiveEvents = new ArrayList<VEvent>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -372,17 +720,24 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return The DateIterator for {@link VEvent}
      */
     private DateIterator getRecurredEventDateIterator(VEvent vEvent) {
+        return new AdvancingDateIterator(vEvent, getTimeZone(vEvent));
+    }
+
+    /**
+     * Finds the TimeZone the occurrences of an event are calculated in.
+     *
+     * @param vEvent The VEvent to find the TimeZone for.
+     * @return The TimeZone of the events start.
+     */
+    private TimeZone getTimeZone(VEvent vEvent) {
         final TimezoneInfo tzinfo = this.usedCalendar.getTimezoneInfo();
 
         final DateStart firstStart = vEvent.getDateStart();
-        TimeZone tz;
         if (tzinfo.isFloating(firstStart)) {
-            tz = TimeZone.getDefault();
-        } else {
-            final TimezoneAssignment startAssignment = tzinfo.getTimezone(firstStart);
-            tz = (startAssignment == null ? TimeZone.getTimeZone("UTC") : startAssignment.getTimeZone());
+            return TimeZone.getDefault();
         }
-        return vEvent.getDateIterator(tz);
+        final TimezoneAssignment startAssignment = tzinfo.getTimezone(firstStart);
+        return (startAssignment == null ? TimeZone.getTimeZone("UTC") : startAssignment.getTimeZone());
     }
 
     /**
@@ -399,21 +754,8 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             if (counterEventUid != null && eventUid.getValue().contentEquals(counterEventUid.getValue())) {
                 final RecurrenceId counterRecurrenceId = counterEvent.getRecurrenceId();
                 if (counterRecurrenceId != null) {
-                    ICalDate recurrenceDate = counterRecurrenceId.getValue();
-                    if (recurrenceDate != null) {
-                        Instant recurrenceInstant = Instant.ofEpochMilli(recurrenceDate.getTime());
-                        if (recurrenceInstant.equals(startInstant)) {
-                            return true;
-                        }
-                        Range futureOrPast = counterRecurrenceId.getRange();
-                        if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_FUTURE)
-                                && startInstant.isAfter(recurrenceInstant)) {
-                            return true;
-                        }
-                        if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_PRIOR)
-                                && startInstant.isBefore(recurrenceInstant)) {
-                            return true;
-                        }
+                    if (isCounteredBy(startInstant, counterRecurrenceId)) {
+                        return true;
                     }
                 } else {
                     final DateIterator counterStartDates = getRecurredEventDateIterator(counterEvent);
@@ -430,6 +772,61 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return false;
     }
 
+    /**
+     * Checks whether an counter event blocks an event with given start. Same as
+     * {@link #isCounteredBy(Instant, Uid, Collection)}, but using the precalculated starts of the counter events.
+     *
+     * @param startInstant The start of the event.
+     * @param counterIndexes The positions of the events with the uid of the event that may counter.
+     * @param events All events of the calendar.
+     * @param counterStarts The starts of the counter events without RecurrenceId by position.
+     * @return True if a counter event exists that matches the start, else false.
+     */
+    private static boolean isCounteredBy(Instant startInstant, List<Integer> counterIndexes, List<VEvent> events,
+            Map<Integer, Set<Instant>> counterStarts) {
+        for (final int counterIndex : counterIndexes) {
+            final RecurrenceId counterRecurrenceId = events.get(counterIndex).getRecurrenceId();
+            if (counterRecurrenceId != null) {
+                if (isCounteredBy(startInstant, counterRecurrenceId)) {
+                    return true;
+                }
+            } else {
+                final Set<Instant> starts = counterStarts.get(counterIndex);
+                if (starts != null && starts.contains(startInstant)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the RecurrenceId of a counter event blocks an event with given start.
+     *
+     * @param startInstant The start of the event.
+     * @param counterRecurrenceId The RecurrenceId of the counter event.
+     * @return True if the RecurrenceId matches the start.
+     */
+    private static boolean isCounteredBy(Instant startInstant, RecurrenceId counterRecurrenceId) {
+        ICalDate recurrenceDate = counterRecurrenceId.getValue();
+        if (recurrenceDate != null) {
+            Instant recurrenceInstant = Instant.ofEpochMilli(recurrenceDate.getTime());
+            if (recurrenceInstant.equals(startInstant)) {
+                return true;
+            }
+            Range futureOrPast = counterRecurrenceId.getRange();
+            if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_FUTURE)
+                    && startInstant.isAfter(recurrenceInstant)) {
+                return true;
+            }
+            if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_PRIOR)
+                    && startInstant.isBefore(recurrenceInstant)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * A Class describing an event together with a start and end instant.
      *
@@ -454,4 +851,58 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             return new Event(title, start, end, description);
         }
     }
+
+    /**
+     * A DateIterator returning no dates before the date advanced to. After advancing into a day, the iterators of
+     * sub-daily recurrences return the time of day of the event's start on that day first, even if there is no such
+     * occurrence. So these are advanced into the previous day and the dates before the requested one are skipped.
+     */
+    private static class AdvancingDateIterator implements DateIterator {
+        private final DateIterator iterator;
+        private final boolean subDaily;
+        private @Nullable Date advancedTo;
+        private @Nullable Date pending;
+
+        public AdvancingDateIterator(VEvent vEvent, TimeZone timeZone) {
+            iterator = vEvent.getDateIterator(timeZone);
+            final RecurrenceRule rule = vEvent.getRecurrenceRule();
+            final Recurrence recurrence = (rule == null ? null : rule.getValue());
+            final Frequency frequency = (recurrence == null ? null : recurrence.getFrequency());
+            subDaily = frequency == Frequency.HOURLY || frequency == Frequency.MINUTELY
+                    || frequency == Frequency.SECONDLY;
+        }
+
+        @Override
+        public void advanceTo(Date newStartUtc) {
+            iterator.advanceTo(subDaily ? Date.from(newStartUtc.toInstant().minus(Duration.ofDays(1))) : newStartUtc);
+            advancedTo = newStartUtc;
+            pending = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending != null) {
+                return true;
+            }
+            final Date limit = advancedTo;
+            while (iterator.hasNext()) {
+                final Date date = iterator.next();
+                if (limit == null || !date.before(limit)) {
+                    pending = date;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Date next() {
+            final Date date = hasNext() ? pending : null;
+            if (date == null) {
+                throw new NoSuchElementException();
+            }
+            pending = null;
+            return date;
+        }
+    }
 }
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import biweekly.component.VEvent;
+
+/**
+ * The occurrences of all events of a calendar within a time window, sorted by start and by end. The occurrences of
+ * the present events additionally form an interval tree, so the queries of the calendar are answered without
+ * iterating the recurrences of the events. Queries are valid only within the covered time frame, see
+ * {@link #covers(Instant, Instant)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class OccurrenceIndex {
+    private static final Comparator<Occurrence> BY_START = Comparator.<Occurrence, Instant> comparing(o -> o.start)
+            .thenComparingInt(o -> o.eventIndex);
+    private static final Comparator<Occurrence> BY_END = Comparator.<Occurrence, Instant> comparing(o -> o.end)
+            .thenComparingInt(o -> o.eventIndex);
+
+    private final Instant coverageBegin;
+    private final Instant coverageEnd;
+    private final Occurrence[] byStart;
+    private final Occurrence[] byEnd;
+    private final Occurrence[] presentByStart;
+    private final Instant[] presentMaxEnd;
+    private final Map<VEvent, Expansion> expansions;
+
+    /**
+     * @param coverageBegin The begin of the time frame the index answers queries for.
+     * @param coverageEnd The (exclusive) end of the time frame the index answers queries for.
+     * @param occurrences All occurrences of all events needed for the covered time frame.
+     * @param expansions The start instants the occurrences were created from, for reuse by the next index.
+     */
+    OccurrenceIndex(Instant coverageBegin, Instant coverageEnd, List<Occurrence> occurrences,
+            Map<VEvent, Expansion> expansions) {
+        this.coverageBegin = coverageBegin;
+        this.coverageEnd = coverageEnd;
+        this.expansions = expansions;
+
+        final List<Occurrence> withDuration = new ArrayList<>();
+        final List<Occurrence> present = new ArrayList<>();
+        for (final Occurrence occurrence : occurrences) {
+            if (occurrence.hasDuration) {
+                withDuration.add(occurrence);
+                if (occurrence.present) {
+                    present.add(occurrence);
+                }
+            }
+        }
+        byStart = occurrences.toArray(new Occurrence[0]);
+        byEnd = withDuration.toArray(new Occurrence[0]);
+        presentByStart = present.toArray(new Occurrence[0]);
+        Arrays.sort(byStart, BY_START);
+        Arrays.sort(byEnd, BY_END);
+        Arrays.sort(presentByStart, BY_START);
+
+        presentMaxEnd = new Instant[presentByStart.length];
+        buildMaxEnd(0, presentByStart.length);
+    }
+
+    /**
+     * Fills the maximum end of the implicit tree rooted in the middle of the given range.
+     *
+     * @return The maximum end of the range or null if the range is empty.
+     */
+    private @Nullable Instant buildMaxEnd(int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        final int middle = (from + to) >>> 1;
+        Instant maxEnd = presentByStart[middle].end;
+        final Instant leftMaxEnd = buildMaxEnd(from, middle);
+        if (leftMaxEnd != null && leftMaxEnd.isAfter(maxEnd)) {
+            maxEnd = leftMaxEnd;
+        }
+        final Instant rightMaxEnd = buildMaxEnd(middle + 1, to);
+        if (rightMaxEnd != null && rightMaxEnd.isAfter(maxEnd)) {
+            maxEnd = rightMaxEnd;
+        }
+        presentMaxEnd[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    /**
+     * Checks whether the index contains all occurrences needed for queries within the given frame.
+     *
+     * @param frameBegin The begin of the frame.
+     * @param frameEnd The (inclusive) end of the frame.
+     * @return True if queries within the frame may be answered by this index.
+     */
+    boolean covers(Instant frameBegin, Instant frameEnd) {
+        return !frameBegin.isBefore(coverageBegin) && frameEnd.isBefore(coverageEnd);
+    }
+
+    /**
+     * Returns the expansions this index was built from.
+     */
+    Map<VEvent, Expansion> getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * Searches the present occurrence with a duration, which contains the given instant. If several occurrences
+     * contain the instant, the one of the first event in the calendar is returned.
+     *
+     * @param instant The Instant to search the occurrence for. Must be covered by the index.
+     * @return The occurrence or null if there is none.
+     */
+    @Nullable
+    Occurrence findCurrent(Instant instant) {
+        return findCurrent(instant, 0, presentByStart.length, null);
+    }
+
+    private @Nullable Occurrence findCurrent(Instant instant, int from, int to, @Nullable Occurrence found) {
+        if (from >= to) {
+            return found;
+        }
+        final int middle = (from + to) >>> 1;
+        if (!presentMaxEnd[middle].isAfter(instant)) {
+            // no occurrence of this subtree ends after the instant
+            return found;
+        }
+        Occurrence result = findCurrent(instant, from, middle, found);
+        final Occurrence candidate = presentByStart[middle];
+        if (candidate.start.isBefore(instant)) {
+            if (candidate.end.isAfter(instant) && (result == null || candidate.eventIndex < result.eventIndex)) {
+                result = candidate;
+            }
+            result = findCurrent(instant, middle + 1, to, result);
+        }
+        return result;
+    }
+
+    /**
+     * Searches the first present occurrence with a duration, which starts after the given instant. If several
+     * occurrences start at the same time, the one of the first event in the calendar is returned.
+     *
+     * @param instant The Instant after which the occurrence should start. Must be covered by the index.
+     * @return The occurrence or null if there is none within the covered time frame.
+     */
+    @Nullable
+    Occurrence findNext(Instant instant) {
+        int low = 0;
+        int high = presentByStart.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (presentByStart[middle].start.isAfter(instant)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (low < presentByStart.length && presentByStart[low].start.isBefore(coverageEnd)) {
+            return presentByStart[low];
+        }
+        return null;
+    }
+
+    /**
+     * Returns all occurrences, present or not, which start within the given frame, ordered by start.
+     *
+     * @param frameBegin The (inclusive) begin of the frame.
+     * @param frameEnd The (inclusive) end of the frame. The frame must be covered by the index.
+     * @return The occurrences.
+     */
+    List<Occurrence> getStartingBetween(Instant frameBegin, Instant frameEnd) {
+        final List<Occurrence> result = new ArrayList<>();
+        for (int i = lowerBound(byStart, frameBegin, false); i < byStart.length; i++) {
+            if (byStart[i].start.isAfter(frameEnd)) {
+                break;
+            }
+            result.add(byStart[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns all occurrences with a duration, present or not, which end within the given frame, ordered by end.
+     *
+     * @param frameBegin The (inclusive) begin of the frame.
+     * @param frameEnd The (inclusive) end of the frame. The frame must be covered by the index.
+     * @return The occurrences.
+     */
+    List<Occurrence> getEndingBetween(Instant frameBegin, Instant frameEnd) {
+        final List<Occurrence> result = new ArrayList<>();
+        for (int i = lowerBound(byEnd, frameBegin, true); i < byEnd.length; i++) {
+            if (byEnd[i].end.isAfter(frameEnd)) {
+                break;
+            }
+            result.add(byEnd[i]);
+        }
+        return result;
+    }
+
+    private static int lowerBound(Occurrence[] occurrences, Instant instant, boolean useEnd) {
+        int low = 0;
+        int high = occurrences.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final Instant value = useEnd ? occurrences[middle].end : occurrences[middle].start;
+            if (value.isBefore(instant)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A single occurrence of an event.
+     */
+    static class Occurrence {
+        final VEvent vEvent;
+        final int eventIndex;
+        final Instant start;
+        final Instant end;
+        final boolean hasDuration;
+        final boolean present;
+
+        /**
+         * @param vEvent The event.
+         * @param eventIndex The position of the event in the calendar.
+         * @param start The start of the occurrence.
+         * @param end The end of the occurrence, equal to start if the event has no duration.
+         * @param hasDuration Whether the duration of the event is known.
+         * @param present Whether the event is neither cancelled nor countered by another event at this start.
+         */
+        Occurrence(VEvent vEvent, int eventIndex, Instant start, Instant end, boolean hasDuration, boolean present) {
+            this.vEvent = vEvent;
+            this.eventIndex = eventIndex;
+            this.start = start;
+            this.end = end;
+            this.hasDuration = hasDuration;
+            this.present = present;
+        }
+    }
+
+    /**
+     * The start instants of an event within a time frame.
+     */
+    static class Expansion {
+        final TimeZone timeZone;
+        final Instant from;
+        final Instant completeUntil;
+        final List<Instant> starts;
+
+        /**
+         * @param timeZone The TimeZone the recurrence was calculated in.
+         * @param from The (inclusive) begin of the time frame.
+         * @param completeUntil The (exclusive) end up to which all starts are contained.
+         * @param starts The ordered starts within the time frame.
+         */
+        Expansion(TimeZone timeZone, Instant from, Instant completeUntil, List<Instant> starts) {
+            this.timeZone = timeZone;
+            this.from = from;
+            this.completeUntil = completeUntil;
+            this.starts = starts;
+        }
+    }
+}
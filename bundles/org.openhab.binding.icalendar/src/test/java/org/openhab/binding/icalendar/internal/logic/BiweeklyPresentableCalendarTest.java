@@ -153,6 +153,34 @@ public class BiweeklyPresentableCalendarTest {
         assertEquals(0, Instant.parse("2019-12-01T10:00:00Z").compareTo(nextEventAfterCancelled.start));
     }
 
+    /**
+     * Tests that a calendar reloaded from its predecessor and queries moving through time give the same results as
+     * a fresh calendar.
+     */
+    @Test
+    public void testReloadedCalendar() throws IOException, CalendarException {
+        // builds the occurrence index of the predecessor
+        assertTrue(calendar2.isEventPresent(Instant.parse("2019-11-03T10:01:00Z")));
+
+        AbstractPresentableCalendar reloaded = AbstractPresentableCalendar
+                .create(new FileInputStream("src/test/resources/test2.ics"), calendar2);
+        assertTrue(reloaded.isEventPresent(Instant.parse("2019-11-03T10:01:00Z")));
+        assertFalse(reloaded.isEventPresent(Instant.parse("2019-11-24T10:01:00Z")));
+
+        Event nextEventAfterCancelled = reloaded.getNextEvent(Instant.parse("2019-11-24T09:55:00Z"));
+        assertNotNull(nextEventAfterCancelled);
+        assertEquals(Instant.parse("2019-12-01T10:00:00Z"), nextEventAfterCancelled.start);
+
+        // moves the occurrence index away and back again
+        assertFalse(reloaded.isEventPresent(Instant.parse("2020-06-01T10:01:00Z")));
+        List<Event> expectedEvents = calendar2.getFilteredEventsBetween(Instant.parse("2019-11-08T06:00:00Z"),
+                Instant.parse("2019-12-31T06:00:00Z"), null, 3);
+        List<Event> realEvents = reloaded.getFilteredEventsBetween(Instant.parse("2019-11-08T06:00:00Z"),
+                Instant.parse("2019-12-31T06:00:00Z"), null, 3);
+        assertEquals(3, realEvents.size());
+        assertEquals(expectedEvents, realEvents);
+    }
+
     /**
      * This test checks for Events that have just begun or ended, and if so it checks for Command Tags
      * and checks if these tags are valid
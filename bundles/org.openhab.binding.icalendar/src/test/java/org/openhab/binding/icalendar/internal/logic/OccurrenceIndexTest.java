@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the answers of calendars using the {@link OccurrenceIndex} with the answers of the same calendars iterating
+ * the recurrences of the events.
+ *
+ * @author agent - Initial contribution
+ */
+public class OccurrenceIndexTest {
+    private static final Instant BASE = Instant.parse("2021-03-01T00:00:00Z");
+    private static final Duration STEP = Duration.ofMinutes(15);
+    private static final DateTimeFormatter ICAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int[] DURATION_MINUTES = { 0, 15, 45, 60, 120, 1440, 2880 };
+
+    private BiweeklyPresentableCalendar indexed;
+    private BiweeklyPresentableCalendar iterated;
+
+    @Test
+    public void randomCalendarsGiveTheSameResults() throws IOException, CalendarException {
+        for (long seed = 1; seed <= 8; seed++) {
+            Random random = new Random(seed);
+            load(randomCalendar(random));
+            Instant instant = BASE.minus(Duration.ofDays(25));
+            int query = 0;
+            while (instant.isBefore(BASE.plus(Duration.ofDays(70)))) {
+                String message = "seed " + seed + " at " + instant;
+                compareAt(instant, message);
+                // the occurrences start and end on the grid, so these are just before and after the edges
+                compareAt(instant.minusMillis(1), message + " - 1 ms");
+                compareAt(instant.plusMillis(1), message + " + 1 ms");
+                if (++query % 25 == 0) {
+                    compareBetween(instant, instant.plus(Duration.ofDays(31)), message);
+                }
+                instant = instant.plus(STEP.multipliedBy(1 + random.nextInt(24)));
+            }
+        }
+    }
+
+    @Test
+    public void framesUpTo400DaysAreIndexed() throws IOException, CalendarException {
+        Random random = new Random(42);
+        load(randomCalendar(random));
+        Instant begin = BASE.minus(Duration.ofDays(20));
+        for (Duration length : List.of(Duration.ofDays(400).minusMillis(1), Duration.ofDays(400),
+                Duration.ofDays(400).plusMillis(1))) {
+            compareBetween(begin, begin.plus(length), "frame of " + length);
+        }
+        // the long frame leaves a large index behind, the following queries are answered by it
+        compareAt(BASE, "after long frame");
+        compareBetween(BASE, BASE.plus(Duration.ofDays(1)), "after long frame");
+    }
+
+    @Test
+    public void firstEventOfTheCalendarWinsTies() throws IOException, CalendarException {
+        StringBuilder ical = new StringBuilder();
+        appendEvent(ical, "First", "uid-a", BASE, "FREQ=DAILY;COUNT=5", Duration.ofHours(2), null);
+        // overlaps and starts together with the first event
+        appendEvent(ical, "Second", "uid-b", BASE.minus(Duration.ofDays(1)), "FREQ=DAILY;COUNT=6",
+                Duration.ofHours(2), null);
+        appendEvent(ical, "Third", "uid-c", BASE, null, Duration.ofHours(1), null);
+        load(calendar(ical));
+
+        for (AbstractPresentableCalendar calendar : List.of(indexed, iterated)) {
+            Event current = calendar.getCurrentEvent(BASE.plus(Duration.ofMinutes(30)));
+            assertNotNull(current);
+            assertEquals("First", current.title);
+            Event next = calendar.getNextEvent(BASE.minus(Duration.ofMinutes(30)));
+            assertNotNull(next);
+            assertEquals("First", next.title);
+            List<Event> begun = calendar.getJustBegunEvents(BASE, BASE.plus(Duration.ofMinutes(1)));
+            assertEquals(List.of("First", "Second", "Third"), titles(begun));
+            List<Event> between = calendar.getFilteredEventsBetween(BASE, BASE.plus(Duration.ofDays(1)), null, 10);
+            assertEquals(List.of("First", "Second", "Third"), titles(between));
+        }
+        compareAt(BASE, "tie");
+        compareAt(BASE.plus(Duration.ofHours(1)), "tie");
+    }
+
+    @Test
+    public void eventsWithTooManyOccurrencesAreNotIndexedBeyondTheLimit() throws IOException, CalendarException {
+        StringBuilder ical = new StringBuilder();
+        appendEvent(ical, "Minutely", "uid-a", BASE, "FREQ=MINUTELY;INTERVAL=2", Duration.ofMinutes(1), null);
+        appendEvent(ical, "Daily", "uid-b", BASE.plus(Duration.ofMinutes(30)), "FREQ=DAILY", Duration.ofHours(1),
+                null);
+        load(calendar(ical));
+
+        Instant instant = BASE.minus(Duration.ofHours(1));
+        while (instant.isBefore(BASE.plus(Duration.ofDays(40)))) {
+            compareAt(instant, "at " + instant);
+            instant = instant.plus(Duration.ofHours(13).plusMinutes(1));
+        }
+    }
+
+    @Test
+    public void subDailyRecurrencesAreSearchedFromTheGivenInstant() throws IOException, CalendarException {
+        StringBuilder ical = new StringBuilder();
+        // occurrences at 03:00, 08:00 and 13:00 on March 1st, none at the time of day of the first start
+        appendEvent(ical, "Five hourly", "uid-a", BASE.minus(Duration.ofDays(2)).plus(Duration.ofHours(11)),
+                "FREQ=HOURLY;INTERVAL=5", Duration.ofHours(1), null);
+        load(calendar(ical));
+
+        Instant instant = BASE.plus(Duration.ofMinutes(8 * 60 + 30));
+        for (AbstractPresentableCalendar calendar : List.of(indexed, iterated)) {
+            Event next = calendar.getNextEvent(instant);
+            assertNotNull(next);
+            assertEquals(BASE.plus(Duration.ofHours(13)), next.start);
+            List<Event> between = calendar.getFilteredEventsBetween(instant, instant.plus(Duration.ofHours(10)), null,
+                    10);
+            assertEquals(List.of(BASE.plus(Duration.ofHours(13)), BASE.plus(Duration.ofHours(18))), starts(between));
+            // occurrences starting before the frame are not found, even within the same second
+            between = calendar.getFilteredEventsBetween(BASE.plus(Duration.ofHours(3)).plusMillis(1),
+                    BASE.plus(Duration.ofHours(9)), null, 10);
+            assertEquals(List.of(BASE.plus(Duration.ofHours(8))), starts(between));
+        }
+    }
+
+    private void load(String ical) throws IOException, CalendarException {
+        indexed = new BiweeklyPresentableCalendar(stream(ical), null, true);
+        iterated = new BiweeklyPresentableCalendar(stream(ical), null, false);
+    }
+
+    private static ByteArrayInputStream stream(String ical) {
+        return new ByteArrayInputStream(ical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void compareAt(Instant instant, String message) {
+        assertEquals(iterated.isEventPresent(instant), indexed.isEventPresent(instant), message);
+        assertEquals(iterated.getCurrentEvent(instant), indexed.getCurrentEvent(instant), message);
+        assertEquals(iterated.getNextEvent(instant), indexed.getNextEvent(instant), message);
+        Instant frameBegin = instant.minus(STEP);
+        assertEquals(iterated.getJustBegunEvents(frameBegin, instant), indexed.getJustBegunEvents(frameBegin, instant),
+                message);
+        assertEquals(iterated.getJustEndedEvents(frameBegin, instant), indexed.getJustEndedEvents(frameBegin, instant),
+                message);
+        compareBetween(instant, instant.plus(Duration.ofDays(1)), message);
+    }
+
+    private void compareBetween(Instant begin, Instant end, String message) {
+        for (int maximumCount : new int[] { 1, 3, 1000 }) {
+            assertEquals(iterated.getFilteredEventsBetween(begin, end, null, maximumCount),
+                    indexed.getFilteredEventsBetween(begin, end, null, maximumCount), message);
+        }
+    }
+
+    private static List<String> titles(List<Event> events) {
+        List<String> titles = new ArrayList<>();
+        events.forEach(event -> titles.add(event.title));
+        return titles;
+    }
+
+    private static List<Instant> starts(List<Event> events) {
+        List<Instant> starts = new ArrayList<>();
+        events.forEach(event -> starts.add(event.start));
+        return starts;
+    }
+
+    /**
+     * Creates a calendar with recurring, overlapping, cancelled and moved events. Starts and durations are multiples
+     * of {@link #STEP}, so many events start or end at the same time.
+     */
+    private static String randomCalendar(Random random) {
+        StringBuilder ical = new StringBuilder();
+        List<Series> series = new ArrayList<>();
+        int eventCount = 8 + random.nextInt(8);
+        for (int i = 0; i < eventCount; i++) {
+            String title = "Event " + i;
+            Duration duration = random.nextInt(6) == 0 ? null
+                    : Duration.ofMinutes(DURATION_MINUTES[random.nextInt(DURATION_MINUTES.length)]);
+            int kind = random.nextInt(10);
+            if (kind >= 6 && !series.isEmpty()) {
+                Series countered = series.get(random.nextInt(series.size()));
+                Instant counteredStart = countered.start.plus(countered.interval.multipliedBy(random.nextInt(10)));
+                // searching the next event of an endless series never ends if all following occurrences are countered
+                boolean all = random.nextInt(3) == 0 && countered.isFinite();
+                if (kind < 8) {
+                    // cancels one or (with the same recurrence) all following occurrences of the series
+                    appendEvent(ical, title, countered.uid, counteredStart, all ? countered.rrule : null, duration,
+                            "STATUS:CANCELLED");
+                } else {
+                    // moves one or all following occurrences of the series
+                    String recurrenceId = "RECURRENCE-ID" + (all ? ";RANGE=THISANDFUTURE" : "") + ":"
+                            + ICAL_FORMAT.format(counteredStart);
+                    Instant start = counteredStart.plus(STEP.multipliedBy(random.nextInt(17) - 8));
+                    appendEvent(ical, title, countered.uid, start, null, duration,
+                            random.nextInt(4) == 0 ? recurrenceId + "\r\nSTATUS:CANCELLED" : recurrenceId);
+                }
+                continue;
+            }
+
+            Instant start = random.nextInt(4) == 0 && !series.isEmpty() ? series.get(series.size() - 1).start
+                    : BASE.plus(STEP.multipliedBy(random.nextInt(40 * 96) - 20 * 96));
+            String uid = random.nextInt(6) == 0 ? null : "uid-" + random.nextInt(5);
+            Duration interval;
+            String rrule;
+            switch (random.nextInt(4)) {
+                case 0:
+                    interval = Duration.ofDays(1);
+                    rrule = null;
+                    break;
+                case 1:
+                    int hours = 1 + random.nextInt(6);
+                    interval = Duration.ofHours(hours);
+                    rrule = "FREQ=HOURLY;INTERVAL=" + hours;
+                    break;
+                case 2:
+                    int days = 1 + random.nextInt(3);
+                    interval = Duration.ofDays(days);
+                    rrule = "FREQ=DAILY;INTERVAL=" + days;
+                    break;
+                default:
+                    interval = Duration.ofDays(7);
+                    rrule = "FREQ=WEEKLY";
+                    break;
+            }
+            String status = new String[] { null, null, "STATUS:CONFIRMED", "STATUS:TENTATIVE",
+                    "STATUS:CANCELLED" }[random.nextInt(5)];
+            if (rrule != null) {
+                // like above, an endless cancelled series may cancel all following occurrences of another series
+                switch (uid != null && "STATUS:CANCELLED".equals(status) ? random.nextInt(2) : random.nextInt(3)) {
+                    case 0:
+                        rrule += ";COUNT=" + (1 + random.nextInt(60));
+                        break;
+                    case 1:
+                        rrule += ";UNTIL=" + ICAL_FORMAT.format(start.plus(Duration.ofDays(1 + random.nextInt(60))));
+                        break;
+                    default:
+                        break;
+                }
+            }
+            appendEvent(ical, title, uid, start, rrule, duration, status);
+            if (uid != null) {
+                series.add(new Series(uid, start, interval, rrule));
+            }
+        }
+        return calendar(ical);
+    }
+
+    private static String calendar(StringBuilder events) {
+        return "BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//openHAB//OccurrenceIndexTest//EN\r\n" + events
+                + "END:VCALENDAR\r\n";
+    }
+
+    private static void appendEvent(StringBuilder ical, String title, String uid, Instant start, String rrule,
+            Duration duration, String properties) {
+        ical.append("BEGIN:VEVENT\r\n");
+        ical.append("SUMMARY:").append(title).append("\r\n");
+        if (uid != null) {
+            ical.append("UID:").append(uid).append("\r\n");
+        }
+        ical.append("DTSTART:").append(ICAL_FORMAT.format(start)).append("\r\n");
+        if (duration != null) {
+            if (duration.toMinutes() % 2 == 0) {
+                ical.append("DTEND:").append(ICAL_FORMAT.format(start.plus(duration))).append("\r\n");
+            } else {
+                ical.append("DURATION:PT").append(duration.toMinutes()).append("M\r\n");
+            }
+        }
+        if (rrule != null) {
+            ical.append("RRULE:").append(rrule).append("\r\n");
+        }
+        if (properties != null) {
+            ical.append(properties).append("\r\n");
+        }
+        ical.append("END:VEVENT\r\n");
+    }
+
+    /**
+     * A generated event with uid, which other events may cancel or move.
+     */
+    private static class Series {
+        private final String uid;
+        private final Instant start;
+        private final Duration interval;
+        private final String rrule;
+
+        Series(String uid, Instant start, Duration interval, String rrule) {
+            this.uid = uid;
+            this.start = start;
+            this.interval = interval;
+            this.rrule = rrule;
+        }
+
+        boolean isFinite() {
+            return rrule == null || rrule.contains("COUNT") || rrule.contains("UNTIL");
+        }
+    }
+}
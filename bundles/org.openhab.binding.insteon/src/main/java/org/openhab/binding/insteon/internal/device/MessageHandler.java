@@ -265,10 +265,10 @@ public abstract class MessageHandler {
     protected boolean isDuplicate(Msg msg) {
         boolean isDuplicate = false;
         try {
-            MsgType t = MsgType.fromValue(msg.getByte("messageFlags"));
+            MsgType t = MsgType.fromValue(msg.getMessageFlags());
             if (t == MsgType.ALL_LINK_BROADCAST) {
-                int group = msg.getAddress("toAddress").getLowByte() & 0xff;
-                byte cmd1 = msg.getByte("command1");
+                int group = msg.getToAddress().getLowByte() & 0xff;
+                byte cmd1 = msg.getCommand1();
                 // if the command is 0x06, then it's success message
                 // from the original broadcaster, with which the device
                 // confirms that it got all cleanup replies successfully.
@@ -277,7 +277,7 @@ public abstract class MessageHandler {
             } else if (t == MsgType.ALL_LINK_CLEANUP) {
                 // the cleanup messages are direct messages, so the
                 // group # is not in the toAddress, but in cmd2
-                int group = msg.getByte("command2") & 0xff;
+                int group = msg.getCommand2() & 0xff;
                 isDuplicate = !feature.getDevice().getGroupState(group, GroupMessage.CLEAN, (byte) 0);
             }
         } catch (IllegalArgumentException e) {
@@ -299,8 +299,8 @@ public abstract class MessageHandler {
         // the cleanup messages have the button number in the command2 field
         // the broadcast messages have it as the lsb of the toAddress
         try {
-            int bclean = msg.getByte("command2") & 0xff;
-            int bbcast = msg.getAddress("toAddress").getLowByte() & 0xff;
+            int bclean = msg.getCommand2() & 0xff;
+            int bbcast = msg.getToAddress().getLowByte() & 0xff;
             int button = msg.isCleanup() ? bclean : bbcast;
             logger.trace("{} button: {} bclean: {} bbcast: {}", f.getDevice().getAddress(), button, bclean, bbcast);
             return button;
@@ -483,7 +483,7 @@ public abstract class MessageHandler {
 
         private int getLevel(Msg msg) {
             try {
-                byte cmd2 = msg.getByte("command2");
+                byte cmd2 = msg.getCommand2();
                 return (int) Math.round(((cmd2 >> 4) & 0x0f) * (100 / 15d));
             } catch (FieldException e) {
                 logger.warn("Can't access command2 byte", e);
@@ -507,7 +507,7 @@ public abstract class MessageHandler {
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
                 InsteonAddress a = f.getDevice().getAddress();
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 int button = this.getIntParameter("button", -1);
                 if (button < 0) {
                     handleNoButtons(cmd2, a, msg);
@@ -574,7 +574,7 @@ public abstract class MessageHandler {
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             InsteonDevice dev = f.getDevice();
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 if (cmd2 == 0xfe) {
                     // sometimes dimmer devices are returning 0xfe when on instead of 0xff
                     cmd2 = 0xff;
@@ -636,7 +636,7 @@ public abstract class MessageHandler {
         @Override
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 int upDown = (cmd2 == 0) ? 0 : 2;
                 logger.debug("{}: dev {} manual state change: {}", nm(), f.getDevice().getAddress(),
                         (upDown == 0) ? "DOWN" : "UP");
@@ -679,7 +679,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 switch (cmd2) {
                     case 0x00: // this is a product data response message
                         int prodKey = msg.getInt24("userData2", "userData3", "userData4");
@@ -714,7 +714,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 int batteryLevel;
                 int lightLevel;
                 int temperatureLevel;
@@ -782,7 +782,7 @@ public abstract class MessageHandler {
                 }
                 int batteryLevel = toAddr.getHighByte() & 0xff;
                 int lightLevel = toAddr.getMiddleByte() & 0xff;
-                int temperatureLevel = msg.getByte("command2") & 0xff;
+                int temperatureLevel = msg.getCommand2() & 0xff;
 
                 logger.debug("{}: {} got light level: {}, battery level: {}, temperature level: {}", nm(),
                         dev.getAddress(), lightLevel, batteryLevel, temperatureLevel);
@@ -824,7 +824,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 switch (cmd2) {
                     case 0x00: // this is a product data response message
                         int batteryLevel = msg.getByte("userData4") & 0xff;
@@ -924,8 +924,8 @@ public abstract class MessageHandler {
             byte cmd = 0x00;
             byte cmd2 = 0x00;
             try {
-                cmd = msg.getByte("Cmd");
-                cmd2 = msg.getByte("command2");
+                cmd = msg.getCmd();
+                cmd2 = msg.getCommand2();
             } catch (FieldException e) {
                 logger.debug("{} no cmd found, dropping msg {}", nm(), msg);
                 return;
@@ -968,7 +968,7 @@ public abstract class MessageHandler {
         @Override
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
-                byte cmd2 = msg.getByte("command2");
+                byte cmd2 = msg.getCommand2();
                 switch (cmd1) {
                     case 0x11:
                         switch (cmd2) {
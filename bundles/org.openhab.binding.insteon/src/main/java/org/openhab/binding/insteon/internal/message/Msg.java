@@ -79,10 +79,10 @@ public class Msg {
 
     // has the structure of all known messages
     private static final Map<String, Msg> MSG_MAP = new HashMap<>();
-    // maps between command number and the length of the header
-    private static final Map<Integer, Integer> HEADER_MAP = new HashMap<>();
-    // has templates for all message from modem to host
-    private static final Map<Integer, Msg> REPLY_MAP = new HashMap<>();
+    // header length by command number, -1 for unknown commands
+    private static final int[] HEADER_LENGTHS = new int[256];
+    // templates for all messages from modem to host, indexed by command number and extended flag
+    private static final @Nullable Msg[] REPLY_TEMPLATES = new Msg[512];
 
     private int headerLength = -1;
     private byte[] data;
@@ -114,8 +114,8 @@ public class Msg {
     public Msg(Msg m) {
         headerLength = m.headerLength;
         data = m.data.clone();
-        // the message definition usually doesn't change, but just to be sure...
-        definition = new MsgDefinition(m.definition);
+        // the definitions are only modified while reading the xml file, so the copy can share it
+        definition = m.definition;
         direction = m.direction;
     }
 
@@ -187,11 +187,11 @@ public class Msg {
         if (getLength() < 2) {
             return false;
         }
-        if (!definition.containsField("messageFlags")) {
+        if (!definition.hasMessageFlags()) {
             return (false);
         }
         try {
-            byte flags = getByte("messageFlags");
+            byte flags = getMessageFlags();
             return ((flags & 0x10) == 0x10);
         } catch (FieldException e) {
             // do nothing
@@ -202,7 +202,7 @@ public class Msg {
     public boolean isUnsolicited() {
         // if the message has an ACK/NACK, it is in response to our message,
         // otherwise it is out-of-band, i.e. unsolicited
-        return !definition.containsField("ACK/NACK");
+        return !definition.hasAckNack();
     }
 
     public boolean isEcho() {
@@ -211,7 +211,7 @@ public class Msg {
 
     public boolean isOfType(MsgType mt) {
         try {
-            MsgType t = MsgType.fromValue(getByte("messageFlags"));
+            MsgType t = MsgType.fromValue(getMessageFlags());
             return (t == mt);
         } catch (FieldException e) {
             return false;
@@ -240,7 +240,7 @@ public class Msg {
 
     public boolean isX10() {
         try {
-            int cmd = getByte("Cmd") & 0xff;
+            int cmd = getCmd() & 0xff;
             if (cmd == 0x63 || cmd == 0x52) {
                 return true;
             }
@@ -273,7 +273,7 @@ public class Msg {
     }
 
     public int getHopsLeft() throws FieldException {
-        int hops = (getByte("messageFlags") & 0x0c) >> 2;
+        int hops = (getMessageFlags() & 0x0c) >> 2;
         return hops;
     }
 
@@ -320,6 +320,60 @@ public class Msg {
         return (definition.getField(key).getByte(data));
     }
 
+    /**
+     * Fetches the modem command of the message.
+     *
+     * @return the byte in field Cmd
+     */
+    public byte getCmd() throws FieldException {
+        return definition.getCmdField().getByte(data);
+    }
+
+    /**
+     * Fetches the message flags of an Insteon message.
+     *
+     * @return the byte in field messageFlags
+     */
+    public byte getMessageFlags() throws FieldException {
+        return definition.getMessageFlagsField().getByte(data);
+    }
+
+    /**
+     * Fetches the first command byte of an Insteon message.
+     *
+     * @return the byte in field command1
+     */
+    public byte getCommand1() throws FieldException {
+        return definition.getCommand1Field().getByte(data);
+    }
+
+    /**
+     * Fetches the second command byte of an Insteon message.
+     *
+     * @return the byte in field command2
+     */
+    public byte getCommand2() throws FieldException {
+        return definition.getCommand2Field().getByte(data);
+    }
+
+    /**
+     * Fetches the sender of an Insteon message.
+     *
+     * @return the address in field fromAddress
+     */
+    public InsteonAddress getFromAddress() throws FieldException {
+        return definition.getFromAddressField().getAddress(data);
+    }
+
+    /**
+     * Fetches the recipient of an Insteon message.
+     *
+     * @return the address in field toAddress
+     */
+    public InsteonAddress getToAddress() throws FieldException {
+        return definition.getToAddressField().getAddress(data);
+    }
+
     /**
      * Will fetch a byte array starting at a certain field
      *
@@ -499,7 +553,8 @@ public class Msg {
         if (buf.length < 2) {
             return null;
         }
-        Msg template = REPLY_MAP.get(cmdToKey(buf[1], isExtended));
+        @Nullable
+        Msg template = REPLY_TEMPLATES[cmdToKey(buf[1], isExtended)];
         if (template == null) {
             return null; // cannot find lookup map
         }
@@ -519,11 +574,7 @@ public class Msg {
      * @return the length of the header to expect
      */
     public static int getHeaderLength(byte cmd) {
-        Integer len = HEADER_MAP.get((int) cmd);
-        if (len == null) {
-            return (-1); // not found
-        }
-        return len;
+        return HEADER_LENGTHS[cmd & 0xff];
     }
 
     /**
@@ -534,8 +585,8 @@ public class Msg {
      * @return message length, or -1 if length cannot be determined
      */
     public static int getMessageLength(byte b, boolean isExtended) {
-        int key = cmdToKey(b, isExtended);
-        Msg msg = REPLY_MAP.get(key);
+        @Nullable
+        Msg msg = REPLY_TEMPLATES[cmdToKey(b, isExtended)];
         if (msg == null) {
             return -1;
         }
@@ -580,13 +631,14 @@ public class Msg {
     }
 
     private static int cmdToKey(byte cmd, boolean isExtended) {
-        return (cmd + (isExtended ? 256 : 0));
+        return ((cmd & 0xff) + (isExtended ? 256 : 0));
     }
 
     private static void buildHeaderMap() {
+        Arrays.fill(HEADER_LENGTHS, -1);
         for (Msg m : MSG_MAP.values()) {
             if (m.getDirection() == Direction.FROM_MODEM) {
-                HEADER_MAP.put((int) m.getCommandNumber(), m.getHeaderLength());
+                HEADER_LENGTHS[m.getCommandNumber() & 0xff] = m.getHeaderLength();
             }
         }
     }
@@ -594,8 +646,7 @@ public class Msg {
     private static void buildLengthMap() {
         for (Msg m : MSG_MAP.values()) {
             if (m.getDirection() == Direction.FROM_MODEM) {
-                int key = cmdToKey(m.getCommandNumber(), m.isExtended());
-                REPLY_MAP.put(key, m);
+                REPLY_TEMPLATES[cmdToKey(m.getCommandNumber(), m.isExtended())] = m;
             }
         }
     }
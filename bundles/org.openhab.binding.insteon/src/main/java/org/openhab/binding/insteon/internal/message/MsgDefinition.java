@@ -29,19 +29,18 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class MsgDefinition {
     private Map<String, Field> fields = new HashMap<>();
+    // fields read from almost every message, resolved once when the definition is loaded
+    private @Nullable Field cmd;
+    private @Nullable Field messageFlags;
+    private @Nullable Field command1;
+    private @Nullable Field command2;
+    private @Nullable Field fromAddress;
+    private @Nullable Field toAddress;
+    private boolean ackNack;
 
     MsgDefinition() {
     }
 
-    /*
-     * Copy constructor, needed to make a copy of a message
-     *
-     * @param m the definition to copy
-     */
-    MsgDefinition(MsgDefinition m) {
-        fields = new HashMap<>(m.fields);
-    }
-
     public Map<String, Field> getFields() {
         return fields;
     }
@@ -52,6 +51,31 @@ public class MsgDefinition {
 
     public void addField(Field field) {
         fields.put(field.getName(), field);
+        switch (field.getName()) {
+            case "Cmd":
+                cmd = field;
+                break;
+            case "messageFlags":
+                messageFlags = field;
+                break;
+            case "command1":
+                command1 = field;
+                break;
+            case "command2":
+                command2 = field;
+                break;
+            case "fromAddress":
+                fromAddress = field;
+                break;
+            case "toAddress":
+                toAddress = field;
+                break;
+            case "ACK/NACK":
+                ackNack = true;
+                break;
+            default:
+                break;
+        }
     }
 
     /**
@@ -69,4 +93,43 @@ public class MsgDefinition {
         }
         return f;
     }
+
+    Field getCmdField() throws FieldException {
+        return checkField(cmd, "Cmd");
+    }
+
+    Field getMessageFlagsField() throws FieldException {
+        return checkField(messageFlags, "messageFlags");
+    }
+
+    Field getCommand1Field() throws FieldException {
+        return checkField(command1, "command1");
+    }
+
+    Field getCommand2Field() throws FieldException {
+        return checkField(command2, "command2");
+    }
+
+    Field getFromAddressField() throws FieldException {
+        return checkField(fromAddress, "fromAddress");
+    }
+
+    Field getToAddressField() throws FieldException {
+        return checkField(toAddress, "toAddress");
+    }
+
+    boolean hasMessageFlags() {
+        return messageFlags != null;
+    }
+
+    boolean hasAckNack() {
+        return ackNack;
+    }
+
+    private Field checkField(@Nullable Field field, String name) throws FieldException {
+        if (field == null) {
+            throw new FieldException("field " + name + " not found");
+        }
+        return field;
+    }
 }
@@ -23,10 +23,10 @@ import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,6 +35,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -78,6 +79,8 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -87,7 +90,9 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -125,6 +130,13 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 
 @NonNullByDefault
 public class IpCameraHandler extends BaseThingHandler {
+    private static final String MJPEG_BOUNDARY = "thisMjpegStream";
+    private static final ByteBuf MJPEG_FRAME_FOOTER = Unpooled
+            .unreleasableBuffer(Unpooled.copiedBuffer("\r\n", StandardCharsets.US_ASCII).asReadOnly());
+    // Stream viewers that have more than this many bytes waiting to be sent skip MJPEG frames until they catch up.
+    private static final WriteBufferWaterMark STREAM_WRITE_BUFFER_WATER_MARK = new WriteBufferWaterMark(512 * 1024,
+            2 * 1024 * 1024);
+    private static final long MJPEG_STATISTICS_INTERVAL_MS = 60000;
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(4);
@@ -136,6 +148,21 @@ public class IpCameraHandler extends BaseThingHandler {
     private final ChannelGroup snapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private final ChannelGroup autoSnapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     public final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final AtomicLong mjpegFramesAssembled = new AtomicLong();
+    private final AtomicLong mjpegFramesSent = new AtomicLong();
+    private final AtomicLong mjpegFramesDropped = new AtomicLong();
+    private final AtomicLong mjpegBytesAllocated = new AtomicLong();
+    private long mjpegStatisticsTimestamp = 0;
+    private long mjpegStatisticsFramesAssembled = 0;
+    // Only writes to viewers that keep up with the stream, frames are dropped for the others.
+    private final ChannelMatcher writableStreamChannels = channel -> {
+        if (channel.isWritable()) {
+            mjpegFramesSent.incrementAndGet();
+            return true;
+        }
+        mjpegFramesDropped.incrementAndGet();
+        return false;
+    };
     public @Nullable Ffmpeg ffmpegHLS = null;
     public @Nullable Ffmpeg ffmpegRecord = null;
     public @Nullable Ffmpeg ffmpegGIF = null;
@@ -163,7 +190,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<byte[]>();
+    private ArrayDeque<byte[]> fifoSnapshotBuffer = new ArrayDeque<byte[]>();
     private int snapCount;
     private boolean updateImageChannel = false;
     private boolean updateAutoFps = false;
@@ -670,6 +697,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 serverBootstrap.channel(NioServerSocketChannel.class);
                 // IP "0.0.0.0" will bind the server to all network connections//
                 serverBootstrap.localAddress(new InetSocketAddress("0.0.0.0", cameraConfig.getServerPort()));
+                serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, STREAM_WRITE_BUFFER_WATER_MARK);
                 serverBootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel socketChannel) throws Exception {
@@ -824,8 +852,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
     // sends direct to ctx so can be either snapshots.mjpeg or normal mjpeg stream
     public void sendMjpegFirstPacket(ChannelHandlerContext ctx) {
-        final String boundary = "thisMjpegStream";
-        String contentType = "multipart/x-mixed-replace; boundary=" + boundary;
+        String contentType = "multipart/x-mixed-replace; boundary=" + MJPEG_BOUNDARY;
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
         response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
@@ -836,16 +863,46 @@ public class IpCameraHandler extends BaseThingHandler {
     }
 
     public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
-        final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
-        String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
-                + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+        // Snapshots are never modified once received, so the array can be wrapped instead of copied.
+        sendMjpegFrame(Unpooled.wrappedBuffer(jpg), channelGroup);
+    }
+
+    /**
+     * Sends one MJPEG frame to all channels of the group. The frame is assembled around the JPEG without copying it
+     * and one reference counted frame is shared by all channels. Channels that are not writable, because the viewer
+     * has not received the previous frames yet, skip this frame.
+     *
+     * @param jpg the JPEG of the frame, is released by this method.
+     */
+    public void sendMjpegFrame(ByteBuf jpg, ChannelGroup channelGroup) {
+        if (channelGroup.isEmpty()) {
+            jpg.release();
+            return;
+        }
+        String header = "--" + MJPEG_BOUNDARY + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: "
+                + jpg.readableBytes() + "\r\n\r\n";
+        ByteBuf headerBbuf = PooledByteBufAllocator.DEFAULT.buffer(header.length());
+        headerBbuf.writeCharSequence(header, StandardCharsets.US_ASCII);
+        CompositeByteBuf frame = PooledByteBufAllocator.DEFAULT.compositeBuffer(3);
+        frame.addComponents(true, headerBbuf, jpg, MJPEG_FRAME_FOOTER.duplicate());
+        mjpegFramesAssembled.incrementAndGet();
+        mjpegBytesAllocated.addAndGet(header.length());
+        // The group writes a retained duplicate to each channel and releases the frame afterwards.
+        channelGroup.writeAndFlush(frame, writableStreamChannels);
+    }
+
+    private void logMjpegStatistics() {
+        long now = System.currentTimeMillis();
+        long framesAssembled = mjpegFramesAssembled.get();
+        if (framesAssembled == mjpegStatisticsFramesAssembled
+                || now - mjpegStatisticsTimestamp < MJPEG_STATISTICS_INTERVAL_MS) {
+            return;
+        }
+        mjpegStatisticsTimestamp = now;
+        mjpegStatisticsFramesAssembled = framesAssembled;
+        logger.debug("MJPEG frames for camera at {}: {} assembled, {} sent, {} dropped for slow viewers, {} bytes "
+                + "allocated per frame", cameraConfig.getIp(), framesAssembled, mjpegFramesSent.get(),
+                mjpegFramesDropped.get(), mjpegBytesAllocated.get() / framesAssembled);
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -1619,6 +1676,7 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.debug("There are {} open Channels being tracked.", openChannels.size());
             cleanChannels();
         }
+        logMjpegStatistics();
     }
 
     @Override
@@ -18,6 +18,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,13 @@ public abstract class AbstractLogFileReader implements LogFileReader {
         return fileReaderListeners.remove(fileReaderListener);
     }
 
+    /**
+     * Returns true if at least one listener is registered.
+     */
+    public boolean hasListeners() {
+        return !fileReaderListeners.isEmpty();
+    }
+
     /**
      * Send file not found event to all registered listeners.
      *
@@ -62,10 +70,10 @@ public abstract class AbstractLogFileReader implements LogFileReader {
      * Send read log line to all registered listeners.
      *
      */
-    public void sendLineToListeners(String line) {
+    public void sendLineToListeners(String line, LineMatches matches) {
         for (FileReaderListener fileReaderListener : fileReaderListeners) {
             try {
-                fileReaderListener.handle(line);
+                fileReaderListener.handle(line, matches);
             } catch (Exception e) {
                 // catch all exceptions give all handlers a fair chance of handling the messages
                 logger.debug("An exception occurred while calling the FileReaderListener. ", e);
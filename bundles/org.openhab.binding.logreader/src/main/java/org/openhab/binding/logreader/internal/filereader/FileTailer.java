@@ -22,6 +22,8 @@ import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,12 +38,18 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
     private Tailer tailer;
     private ExecutorService executor;
+    private final MultiPatternMatcher matcher = new MultiPatternMatcher();
 
     TailerListener logListener = new TailerListenerAdapter() {
 
         @Override
         public void handle(@Nullable String line) {
-            sendLineToListeners(line);
+            if (line == null) {
+                return;
+            }
+            LineMatches matches = matcher.match(line);
+            sendLineToListeners(line, matches);
+            matcher.complete(matches);
         }
 
         @Override
@@ -84,4 +92,9 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
         }
         logger.debug("Shutdown complite");
     }
+
+    @Override
+    public MultiPatternMatcher getMatcher() {
+        return matcher;
+    }
 }
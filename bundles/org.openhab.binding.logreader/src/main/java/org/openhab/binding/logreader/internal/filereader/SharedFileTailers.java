@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps one {@link FileTailer} per log file. The readers created by this class share the tailer of their file, so a
+ * file monitored by several things is read and matched only once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedFileTailers {
+    private final Logger logger = LoggerFactory.getLogger(SharedFileTailers.class);
+
+    private final Map<String, FileTailer> tailers = new HashMap<>();
+    private final Map<String, Long> refreshRates = new HashMap<>();
+
+    /**
+     * Creates a reader which shares the tailer of its file with the other readers of this instance.
+     */
+    public LogFileReader createReader() {
+        return new SharedFileReader();
+    }
+
+    private synchronized FileTailer attach(String key, String filePath, long refreshRate,
+            FileReaderListener listener) throws FileReaderException {
+        FileTailer tailer = tailers.get(key);
+        if (tailer == null) {
+            tailer = new FileTailer();
+            tailer.registerListener(listener);
+            tailer.start(filePath, refreshRate);
+            tailers.put(key, tailer);
+            refreshRates.put(key, refreshRate);
+            logger.debug("Started tailer for '{}'", key);
+        } else {
+            tailer.registerListener(listener);
+            Long tailerRefreshRate = refreshRates.get(key);
+            if (tailerRefreshRate != null && tailerRefreshRate != refreshRate) {
+                logger.debug("File '{}' is already read with refresh rate {}ms, ignoring refresh rate {}ms", key,
+                        tailerRefreshRate, refreshRate);
+            }
+        }
+        return tailer;
+    }
+
+    private synchronized void detach(String key, FileTailer tailer, FileReaderListener listener) {
+        tailer.unregisterListener(listener);
+        if (!tailer.hasListeners()) {
+            tailers.remove(key);
+            refreshRates.remove(key);
+            tailer.stop();
+            logger.debug("Stopped tailer for '{}'", key);
+        }
+    }
+
+    /**
+     * Forwards the events of the shared tailer to the listeners of one thing.
+     */
+    private class SharedFileReader extends AbstractLogFileReader implements FileReaderListener {
+        private @Nullable FileTailer tailer;
+        private String key = "";
+
+        @Override
+        public synchronized void start(String filePath, long refreshRate) throws FileReaderException {
+            if (tailer == null) {
+                key = new File(filePath).getAbsolutePath();
+                tailer = attach(key, filePath, refreshRate, this);
+            }
+        }
+
+        @Override
+        public synchronized void stop() {
+            FileTailer localTailer = tailer;
+            if (localTailer != null) {
+                detach(key, localTailer, this);
+                tailer = null;
+            }
+        }
+
+        @Override
+        public synchronized MultiPatternMatcher getMatcher() {
+            FileTailer localTailer = tailer;
+            if (localTailer == null) {
+                throw new IllegalStateException("Reader is not started");
+            }
+            return localTailer.getMatcher();
+        }
+
+        @Override
+        public void fileNotFound() {
+            sendFileNotFoundToListeners();
+        }
+
+        @Override
+        public void fileRotated() {
+            sendFileRotationToListeners();
+        }
+
+        @Override
+        public void handle(String line, LineMatches matches) {
+            sendLineToListeners(line, matches);
+        }
+
+        @Override
+        public void handle(Exception ex) {
+            sendExceptionToListeners(ex);
+        }
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.logreader.internal.filereader.api;
 
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
+
 /**
  * Interface for file reader listeners.
  *
@@ -34,8 +36,9 @@ public interface FileReaderListener {
      * This method is called when new line is detected.
      *
      * @param line the line.
+     * @param matches the matching state of the line, shared by all listeners of the file.
      */
-    void handle(String line);
+    void handle(String line, LineMatches matches);
 
     /**
      * This method is called when exception has occurred.
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.logreader.internal.filereader.api;
 
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+
 /**
  * Interface for log file readers.
  *
@@ -48,4 +50,11 @@ public interface LogFileReader {
      * Stop log file reader.
      */
     void stop();
+
+    /**
+     * Returns the matcher for the lines of the file, only available after the reader was started.
+     *
+     * @return the matcher shared by all readers of the file.
+     */
+    MultiPatternMatcher getMatcher();
 }
@@ -15,11 +15,14 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
@@ -44,6 +47,7 @@ import org.slf4j.LoggerFactory;
  */
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
+    private static final long STATISTICS_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
 
     private LogReaderConfiguration configuration;
 
@@ -53,6 +57,11 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private SearchEngine warningEngine;
     private SearchEngine customEngine;
 
+    private volatile MultiPatternMatcher matcher;
+    private long statisticsTime;
+    private long statisticsLines;
+    private long statisticsMatchNanos;
+
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
         this.fileReader = fileReader;
@@ -110,6 +119,11 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         try {
             fileReader.registerListener(this);
             fileReader.start(configuration.filePath, configuration.refreshRate);
+            matcher = fileReader.getMatcher();
+            matcher.register(errorEngine, warningEngine, customEngine);
+            statisticsTime = System.nanoTime();
+            statisticsLines = matcher.getLines();
+            statisticsMatchNanos = matcher.getMatchNanos();
             updateStatus(ThingStatus.ONLINE);
         } catch (Exception e) {
             logger.debug("Exception occurred during initalization: {}. ", e.getMessage(), e);
@@ -154,6 +168,10 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
 
     private void shutdown() {
         logger.debug("Stop file reader");
+        if (matcher != null) {
+            matcher.unregister(errorEngine, warningEngine, customEngine);
+            matcher = null;
+        }
         fileReader.unregisterListener(this);
         fileReader.stop();
     }
@@ -170,27 +188,47 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         updateChannelIfLinked(CHANNEL_LOGROTATED, new DateTimeType(ZonedDateTime.now()));
     }
 
-    @Override
-    public void handle(String line) {
-        if (line == null) {
+    /**
+     * Logs the lines per second and the average time needed to match a line against the patterns of all things
+     * reading the same file.
+     */
+    private void logStatistics() {
+        MultiPatternMatcher localMatcher = matcher;
+        long now = System.nanoTime();
+        if (localMatcher == null || now - statisticsTime < STATISTICS_INTERVAL_NANOS) {
             return;
         }
+        long lines = localMatcher.getLines() - statisticsLines;
+        long matchNanos = localMatcher.getMatchNanos() - statisticsMatchNanos;
+        double seconds = (now - statisticsTime) / 1e9;
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}: {} lines per second, {} microseconds to match a line", thing.getUID(),
+                    String.format("%.1f", lines / seconds),
+                    lines > 0 ? String.format("%.1f", matchNanos / 1000.0 / lines) : "0");
+        }
+        statisticsTime = now;
+        statisticsLines += lines;
+        statisticsMatchNanos += matchNanos;
+    }
 
+    @Override
+    public void handle(String line, LineMatches matches) {
         if (!(thing.getStatus() == ThingStatus.ONLINE)) {
             updateStatus(ThingStatus.ONLINE);
         }
+        logStatistics();
 
-        if (errorEngine.isMatching(line)) {
+        if (errorEngine.isMatching(matches)) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
         }
-        if (warningEngine.isMatching(line)) {
+        if (warningEngine.isMatching(matches)) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
         }
-        if (customEngine.isMatching(line)) {
+        if (customEngine.isMatching(matches)) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds the patterns which can match a line, by searching the literal text every match of a pattern must contain.
+ * All literals are searched in one pass over the line with an Aho-Corasick automaton, only the patterns whose
+ * literal was found (and the patterns without literal) have to be run as regular expressions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LiteralPrefilter {
+    // the automaton covers ASCII, literals with other characters are not used
+    private static final int ALPHABET_SIZE = 128;
+    private static final String ESCAPES_WITH_OPERAND = "xuc0123456789NpPk";
+
+    private final BitSet alwaysCandidates = new BitSet();
+    private final int[][] transitions;
+    private final int[][] outputs;
+
+    /**
+     * @param patterns the patterns, the index in the list is the pattern id
+     */
+    LiteralPrefilter(List<Pattern> patterns) {
+        List<int[]> goTo = new ArrayList<>();
+        List<BitSet> stateOutputs = new ArrayList<>();
+        goTo.add(newState());
+        stateOutputs.add(new BitSet());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String literal = requiredLiteral(patterns.get(id));
+            if (literal == null) {
+                alwaysCandidates.set(id);
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                char c = literal.charAt(i);
+                if (goTo.get(state)[c] <= 0) {
+                    goTo.get(state)[c] = goTo.size();
+                    goTo.add(newState());
+                    stateOutputs.add(new BitSet());
+                }
+                state = goTo.get(state)[c];
+            }
+            stateOutputs.get(state).set(id);
+        }
+
+        // complete the trie to a DFA, a breadth first walk sets the failure transitions
+        int[] failure = new int[goTo.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            int next = goTo.get(0)[c];
+            if (next > 0) {
+                failure[next] = 0;
+                queue.add(next);
+            } else {
+                goTo.get(0)[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            stateOutputs.get(state).or(stateOutputs.get(failure[state]));
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = goTo.get(state)[c];
+                if (next > 0) {
+                    failure[next] = goTo.get(failure[state])[c];
+                    queue.add(next);
+                } else {
+                    goTo.get(state)[c] = goTo.get(failure[state])[c];
+                }
+            }
+        }
+
+        transitions = goTo.toArray(new int[0][]);
+        outputs = new int[stateOutputs.size()][];
+        for (int state = 0; state < outputs.length; state++) {
+            outputs[state] = stateOutputs.get(state).stream().toArray();
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * Returns the ids of the patterns which can match the line.
+     */
+    BitSet candidates(String line) {
+        BitSet candidates = (BitSet) alwaysCandidates.clone();
+        int state = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            state = c < ALPHABET_SIZE ? transitions[state][c] : 0;
+            for (int id : outputs[state]) {
+                candidates.set(id);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the longest text every match of the pattern contains, or null if no such text can be determined. Only
+     * plain concatenations are analyzed, patterns with flags, groups, alternatives or escape sequences with an operand
+     * get no literal.
+     */
+    static @Nullable String requiredLiteral(Pattern pattern) {
+        String regex = pattern.pattern();
+        if (pattern.flags() != 0 || regex.contains("(") || regex.contains("|") || regex.contains("\\Q")
+                || containsEscapeWithOperand(regex)) {
+            return null;
+        }
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                i += 2;
+                if (Character.isLetterOrDigit(escaped)) {
+                    // character classes, anchors and escape sequences end the literal
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    continue;
+                }
+                literal = escaped;
+            } else if (c == '[') {
+                int end = skipCharacterClass(regex, i);
+                if (end < 0) {
+                    return null;
+                }
+                i = end;
+                longest = longer(longest, current);
+                current.setLength(0);
+                continue;
+            } else if (c == '.' || c == '^' || c == '$') {
+                i++;
+                longest = longer(longest, current);
+                current.setLength(0);
+                continue;
+            } else if (c == '*' || c == '?' || c == '{') {
+                // the preceding character is optional
+                if (current.length() > 0) {
+                    current.setLength(current.length() - 1);
+                }
+                longest = longer(longest, current);
+                current.setLength(0);
+                i = c == '{' ? skipRepetition(regex, i) : skipQuantifierSuffix(regex, i + 1);
+                continue;
+            } else if (c == '+') {
+                // the preceding character is required, but may repeat
+                longest = longer(longest, current);
+                current.setLength(0);
+                i = skipQuantifierSuffix(regex, i + 1);
+                continue;
+            } else {
+                literal = c;
+                i++;
+            }
+            if (literal >= ALPHABET_SIZE) {
+                longest = longer(longest, current);
+                current.setLength(0);
+            } else {
+                current.append(literal);
+            }
+        }
+        longest = longer(longest, current);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * Checks for escape sequences followed by an operand, like hexadecimal, octal, unicode and control characters,
+     * named characters, unicode properties and back references. Their operands are not literal text.
+     */
+    private static boolean containsEscapeWithOperand(String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) == '\\') {
+                if (ESCAPES_WITH_OPERAND.indexOf(regex.charAt(i + 1)) >= 0) {
+                    return true;
+                }
+                i++;
+            }
+        }
+        return false;
+    }
+
+    private static String longer(String longest, StringBuilder current) {
+        return current.length() > longest.length() ? current.toString() : longest;
+    }
+
+    /**
+     * Returns the index after the character class starting at the given index, or -1 for nested classes.
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // a closing bracket at the beginning is part of the class
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '[') {
+                return -1;
+            } else if (c == ']') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipRepetition(String regex, int start) {
+        int end = regex.indexOf('}', start);
+        return end < 0 ? regex.length() : skipQuantifierSuffix(regex, end + 1);
+    }
+
+    private static int skipQuantifierSuffix(String regex, int start) {
+        // reluctant and possessive quantifiers
+        if (start < regex.length() && (regex.charAt(start) == '?' || regex.charAt(start) == '+')) {
+            return start + 1;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Matches the lines of one log file against the patterns of all {@link SearchEngine}s reading this file. Equal
+ * patterns of different engines are evaluated only once per line, and a {@link LiteralPrefilter} skips the patterns
+ * which can't match the line.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcher {
+    private final List<SearchEngine> engines = new ArrayList<>();
+    private volatile Compiled compiled = new Compiled(List.of());
+
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong matchNanos = new AtomicLong();
+    private final AtomicLong regexEvaluations = new AtomicLong();
+
+    /**
+     * Adds the patterns of the search engines to the matcher.
+     */
+    public synchronized void register(SearchEngine... searchEngines) {
+        for (SearchEngine engine : searchEngines) {
+            if (!engines.contains(engine)) {
+                engines.add(engine);
+            }
+        }
+        compiled = new Compiled(engines);
+    }
+
+    /**
+     * Removes the patterns of the search engines from the matcher.
+     */
+    public synchronized void unregister(SearchEngine... searchEngines) {
+        for (SearchEngine engine : searchEngines) {
+            engines.remove(engine);
+        }
+        compiled = new Compiled(engines);
+    }
+
+    /**
+     * Prepares the matching of a line, the patterns are evaluated when the search engines ask for them.
+     */
+    public LineMatches match(String line) {
+        long start = System.nanoTime();
+        Compiled current = compiled;
+        LineMatches matches = new LineMatches(current, line, current.prefilter.candidates(line));
+        matches.addNanos(System.nanoTime() - start);
+        return matches;
+    }
+
+    /**
+     * Records the statistics of a line after all search engines evaluated it.
+     */
+    public void complete(LineMatches matches) {
+        lines.incrementAndGet();
+        matchNanos.addAndGet(matches.getNanos());
+        regexEvaluations.addAndGet(matches.getRegexEvaluations());
+    }
+
+    /**
+     * Returns the number of lines matched so far.
+     */
+    public long getLines() {
+        return lines.get();
+    }
+
+    /**
+     * Returns the total time spent matching lines, in nanoseconds.
+     */
+    public long getMatchNanos() {
+        return matchNanos.get();
+    }
+
+    /**
+     * Returns the number of regular expressions run so far.
+     */
+    public long getRegexEvaluations() {
+        return regexEvaluations.get();
+    }
+
+    /**
+     * The distinct patterns of the registered search engines and the prefilter for them.
+     */
+    static class Compiled {
+        final Pattern[] patterns;
+        final LiteralPrefilter prefilter;
+        private final Map<SearchEngine, int[]> searchIds = new IdentityHashMap<>();
+        private final Map<SearchEngine, int[]> blacklistIds = new IdentityHashMap<>();
+
+        Compiled(List<SearchEngine> engines) {
+            Map<String, Integer> ids = new LinkedHashMap<>();
+            List<Pattern> distinctPatterns = new ArrayList<>();
+            for (SearchEngine engine : engines) {
+                searchIds.put(engine, toIds(engine.getPatterns(), ids, distinctPatterns));
+                blacklistIds.put(engine, toIds(engine.getBlacklistingPatterns(), ids, distinctPatterns));
+            }
+            patterns = distinctPatterns.toArray(new Pattern[0]);
+            prefilter = new LiteralPrefilter(distinctPatterns);
+        }
+
+        private static int[] toIds(List<Pattern> enginePatterns, Map<String, Integer> ids,
+                List<Pattern> distinctPatterns) {
+            int[] result = new int[enginePatterns.size()];
+            for (int i = 0; i < result.length; i++) {
+                Pattern pattern = enginePatterns.get(i);
+                Integer id = ids.get(pattern.pattern());
+                if (id == null) {
+                    id = distinctPatterns.size();
+                    ids.put(pattern.pattern(), id);
+                    distinctPatterns.add(pattern);
+                }
+                result[i] = id;
+            }
+            return result;
+        }
+
+        int @Nullable [] getSearchIds(SearchEngine engine) {
+            return searchIds.get(engine);
+        }
+
+        int @Nullable [] getBlacklistIds(SearchEngine engine) {
+            return blacklistIds.get(engine);
+        }
+    }
+
+    /**
+     * The matching state of one line. Each pattern is run at most once, no matter how many search engines use it.
+     * A line is matched by the thread reading the file, so this class is not thread safe.
+     */
+    public static class LineMatches {
+        private final Compiled compiled;
+        private final String line;
+        private final BitSet candidates;
+        private final BitSet evaluated = new BitSet();
+        private final BitSet found = new BitSet();
+        private long nanos;
+        private int regexEvaluations;
+
+        LineMatches(Compiled compiled, String line, BitSet candidates) {
+            this.compiled = compiled;
+            this.line = line;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Returns true, if the line matches one of the search patterns of the engine and none of its blacklisting
+         * patterns.
+         */
+        boolean isMatching(SearchEngine engine) {
+            int[] searchIds = compiled.getSearchIds(engine);
+            int[] blacklistIds = compiled.getBlacklistIds(engine);
+            if (searchIds == null || blacklistIds == null) {
+                // registered after this line was prepared
+                return engine.isMatchingDirectly(line);
+            }
+            long start = System.nanoTime();
+            boolean matching = findAny(searchIds) && !findAny(blacklistIds);
+            nanos += System.nanoTime() - start;
+            return matching;
+        }
+
+        private boolean findAny(int[] ids) {
+            for (int id : ids) {
+                if (find(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean find(int id) {
+            if (!candidates.get(id)) {
+                return false;
+            }
+            if (!evaluated.get(id)) {
+                evaluated.set(id);
+                regexEvaluations++;
+                if (compiled.patterns[id].matcher(line).find()) {
+                    found.set(id);
+                }
+            }
+            return found.get(id);
+        }
+
+        void addNanos(long nanos) {
+            this.nanos += nanos;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+
+        int getRegexEvaluations() {
+            return regexEvaluations;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
 
 /**
  * This class implements logic for regular expression based searching.
@@ -51,15 +52,39 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
-            if (notBlacklisted(data)) {
-                matchCount++;
-                return true;
-            }
+        if (isMatchingDirectly(data)) {
+            matchCount++;
+            return true;
         }
         return false;
     }
 
+    /**
+     * Check if a line prepared by a {@link MultiPatternMatcher} is matching to one of the provided search patterns.
+     *
+     * @param matches the line and the patterns already evaluated for it.
+     * @return true if one of the search patterns found.
+     */
+    public boolean isMatching(LineMatches matches) {
+        if (matches.isMatching(this)) {
+            matchCount++;
+            return true;
+        }
+        return false;
+    }
+
+    boolean isMatchingDirectly(String data) {
+        return isMatching(matchers, data) && notBlacklisted(data);
+    }
+
+    List<Pattern> getPatterns() {
+        return matchers;
+    }
+
+    List<Pattern> getBlacklistingPatterns() {
+        return blacklistingMatchers;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
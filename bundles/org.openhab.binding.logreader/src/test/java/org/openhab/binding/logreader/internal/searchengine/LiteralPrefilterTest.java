@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the literal extraction and the automaton of the {@link LiteralPrefilter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralPrefilterTest {
+
+    private static @Nullable String literal(String regex) {
+        return LiteralPrefilter.requiredLiteral(Pattern.compile(regex));
+    }
+
+    private static BitSet candidates(List<String> regexes, String line) {
+        return new LiteralPrefilter(regexes.stream().map(Pattern::compile).collect(Collectors.toList()))
+                .candidates(line);
+    }
+
+    private static BitSet ids(int... ids) {
+        BitSet result = new BitSet();
+        for (int id : ids) {
+            result.set(id);
+        }
+        return result;
+    }
+
+    @Test
+    public void plainTextIsTheLiteral() {
+        assertEquals("Exception", literal("Exception"));
+        assertEquals("[WARN ]", literal("\\[WARN \\]"));
+        assertEquals("a.b", literal("a\\.b"));
+    }
+
+    @Test
+    public void quantifiersShortenTheLiteral() {
+        // the repeated character is still required
+        assertEquals("ERROR", literal("ERROR+"));
+        assertEquals("ab", literal("ab+?c"));
+        // the optional character is dropped
+        assertEquals("a", literal("ab*c"));
+        assertEquals("def", literal("abc?def"));
+        assertEquals("cde", literal("ab{3}cde"));
+        assertEquals("cde", literal("ab{1,2}+cde"));
+        assertNull(literal("a*"));
+    }
+
+    @Test
+    public void classesAndAnchorsEndTheLiteral() {
+        assertEquals(" WARN", literal("\\d+ WARN"));
+        assertEquals("ERROR", literal("[A-Z]+ERROR"));
+        assertEquals("ERROR", literal("[]^]ERROR[^]x]"));
+        assertEquals("Start", literal("^Start"));
+        assertEquals("end", literal("end$"));
+        assertEquals("failed", literal("\\bfailed\\b"));
+        assertEquals("state", literal("item.*state"));
+        assertNull(literal(".*"));
+        assertNull(literal("[a-z&&[^e]]x"));
+    }
+
+    @Test
+    public void nonAsciiCharactersEndTheLiteral() {
+        assertEquals("Fehler: Ausgang ", literal("Fehler: Ausgang überlastet"));
+        assertNull(literal("äöü"));
+    }
+
+    @Test
+    public void patternsWithoutPlainConcatenationHaveNoLiteral() {
+        assertNull(literal("(ERROR|WARN)"));
+        assertNull(literal("ERROR|WARN"));
+        assertNull(literal("\\QERROR\\E"));
+        assertNull(literal("(?i)error"));
+        assertNull(LiteralPrefilter.requiredLiteral(Pattern.compile("error", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void escapeSequencesWithOperandHaveNoLiteral() {
+        assertNull(literal("\\x41BC"));
+        assertNull(literal("\\x{41}BC"));
+        assertNull(literal("\\u00e4nderung"));
+        assertNull(literal("\\0101pple"));
+        assertNull(literal("\\cAXYZ"));
+        assertNull(literal("\\N{LATIN SMALL LETTER A}pple"));
+        assertNull(literal("\\p{Lu}ERROR"));
+        assertNull(literal("ERROR\\P{Alpha}"));
+        assertNull(literal("[\\x41-\\x5A]ERROR"));
+        // escaped backslashes and escapes without operand are handled
+        assertEquals("\\xABC", literal("\\\\xABC"));
+        assertEquals("ERROR", literal("\\tERROR\\n"));
+    }
+
+    @Test
+    public void overlappingLiteralsAreAllFound() {
+        List<String> regexes = List.of("he", "she", "his", "hers");
+        assertEquals(ids(0, 1, 3), candidates(regexes, "ushers"));
+        assertEquals(ids(0, 2), candidates(regexes, "this is where"));
+        assertEquals(ids(), candidates(regexes, "nothing to see"));
+
+        assertEquals(ids(0, 1), candidates(List.of("ERROR+", "RR", "ERRORS"), "ERROR ERR"));
+        assertEquals(ids(0, 1, 2), candidates(List.of("ERROR+", "RR", "ERRORS"), "ERRERRORS"));
+    }
+
+    @Test
+    public void patternsWithoutLiteralAreAlwaysCandidates() {
+        List<String> regexes = List.of("ERROR+", "(?i)warn", "\\d+");
+        assertEquals(ids(1, 2), candidates(regexes, "INFO"));
+        assertEquals(ids(0, 1, 2), candidates(regexes, "ERROR"));
+    }
+
+    @Test
+    public void nonAsciiCharactersInTheLineResetTheAutomaton() {
+        List<String> regexes = List.of("ab", "Ausgang ");
+        assertEquals(ids(), candidates(regexes, "aüb"));
+        assertEquals(ids(0, 1), candidates(regexes, "Ausgang überlastet: ab"));
+    }
+
+    @Test
+    public void candidatesAreASupersetOfTheMatches() {
+        List<String> regexes = List.of("ERROR+", "ab*c", "abc?def", "ab{3}cde", "\\d+ WARN", "^Start", "end$",
+                "Fehler: Ausgang überlastet", "(?i)error", "\\x41BC", "\\u00e4nderung", "\\0101pple", "\\cAXYZ");
+        List<Pattern> patterns = regexes.stream().map(Pattern::compile).collect(Collectors.toList());
+        LiteralPrefilter prefilter = new LiteralPrefilter(patterns);
+        for (String line : List.of("ERRO", "ERRORRR", "ac", "abbbc", "abdef", "abbbcde", "12 WARN", "Start end",
+                "Fehler: Ausgang überlastet", "Error", "ABC", "änderung", "Apple", "\u0001XYZ", "")) {
+            BitSet candidates = prefilter.candidates(line);
+            for (int id = 0; id < patterns.size(); id++) {
+                if (patterns.get(id).matcher(line).find()) {
+                    assertTrue(candidates.get(id), "'" + regexes.get(id) + "' matches '" + line + "'");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LineMatches;
+
+/**
+ * Tests that the {@link MultiPatternMatcher} gives the same results as the {@link SearchEngine} itself, while running
+ * each pattern at most once per line.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcherTest {
+    private static final List<String> LINES = List.of("2021-03-01 12:00:00.000 [ERROR] [core] failed",
+            "2021-03-01 12:00:00.000 [ERROR] [core] failed, ignored", "[WARN ] [binding] timeout",
+            "[WARN ] [binding] timeout, ignored", "[INFO ] [core] started", "Fehler: Ausgang überlastet", "");
+
+    private @NonNullByDefault({}) MultiPatternMatcher matcher;
+    private @NonNullByDefault({}) SearchEngine errors;
+    private @NonNullByDefault({}) SearchEngine warnings;
+    private @NonNullByDefault({}) SearchEngine custom;
+
+    @BeforeEach
+    public void setUp() {
+        matcher = new MultiPatternMatcher();
+        errors = new SearchEngine("ERROR+", "ignored");
+        warnings = new SearchEngine("WARN+|ERROR+", "");
+        custom = new SearchEngine("überlastet|\\[(?:INFO) ?\\]", "");
+    }
+
+    @Test
+    public void sharedPatternIsRunOnce() {
+        matcher.register(errors, warnings);
+
+        LineMatches matches = matcher.match(LINES.get(0));
+        assertTrue(errors.isMatching(matches));
+        assertTrue(warnings.isMatching(matches));
+        // "ERROR+" is run once for both engines, the literal of "ignored" and "WARN" is missing
+        assertEquals(1, matches.getRegexEvaluations());
+        matcher.complete(matches);
+
+        matches = matcher.match(LINES.get(2));
+        assertFalse(errors.isMatching(matches));
+        assertTrue(warnings.isMatching(matches));
+        assertEquals(1, matches.getRegexEvaluations());
+        matcher.complete(matches);
+
+        assertEquals(2, matcher.getLines());
+        assertEquals(2, matcher.getRegexEvaluations());
+        assertEquals(1, errors.getMatchCount());
+        assertEquals(2, warnings.getMatchCount());
+    }
+
+    @Test
+    public void blacklistOfOneEngineDoesNotAffectTheOthers() {
+        matcher.register(errors, warnings);
+
+        LineMatches matches = matcher.match(LINES.get(1));
+        assertFalse(errors.isMatching(matches));
+        assertTrue(warnings.isMatching(matches));
+
+        matches = matcher.match(LINES.get(3));
+        assertFalse(errors.isMatching(matches));
+        assertTrue(warnings.isMatching(matches));
+    }
+
+    @Test
+    public void resultsEqualTheSearchEngine() {
+        matcher.register(errors, warnings, custom);
+        for (String line : LINES) {
+            LineMatches matches = matcher.match(line);
+            for (SearchEngine engine : List.of(errors, warnings, custom)) {
+                assertEquals(engine.isMatchingDirectly(line), engine.isMatching(matches), line);
+            }
+        }
+    }
+
+    @Test
+    public void engineRegisteredMidLineIsMatchedDirectly() {
+        matcher.register(errors);
+
+        LineMatches matches = matcher.match(LINES.get(5));
+        matcher.register(custom);
+        assertFalse(errors.isMatching(matches));
+        assertTrue(custom.isMatching(matches));
+        // the prepared line doesn't know the patterns of the new engine
+        assertEquals(0, matches.getRegexEvaluations());
+        assertEquals(1, custom.getMatchCount());
+
+        matches = matcher.match(LINES.get(4));
+        assertTrue(custom.isMatching(matches));
+        assertEquals(1, matches.getRegexEvaluations());
+    }
+
+    @Test
+    public void unregisteredEngineIsStillAnswered() {
+        matcher.register(errors, warnings);
+        matcher.unregister(warnings);
+
+        LineMatches matches = matcher.match(LINES.get(2));
+        assertFalse(errors.isMatching(matches));
+        assertTrue(warnings.isMatching(matches));
+        assertEquals(0, matches.getRegexEvaluations());
+    }
+}
@@ -19,6 +19,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +35,7 @@ import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
@@ -50,6 +53,12 @@ import org.slf4j.LoggerFactory;
  * It scans trough the defined model items and notifies the
  * discovery service about the discovered devices
  *
+ * To keep the number of requests low, the model chain is read in
+ * windows of up to {@link ModbusConstants#MAX_REGISTERS_READ_COUNT}
+ * registers and the model headers are walked in memory. If the device
+ * rejects such large reads, the process falls back to reading only
+ * the registers needed for each step.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  */
 @NonNullByDefault
@@ -113,6 +122,23 @@ public class SunspecDiscoveryProcess {
      */
     private ModbusCommunicationInterface comms;
 
+    /**
+     * The registers read by the last window read and their start address
+     */
+    private @Nullable ModbusRegisterArray window = null;
+    private int windowStart;
+
+    /**
+     * Whether large windows are read. Disabled when the device rejects them.
+     */
+    private boolean readWindows = true;
+
+    /**
+     * Number of requests sent and the start of the process, for reporting
+     */
+    private int requestCount = 0;
+    private final long startNanos = System.nanoTime();
+
     /**
      * New instances of this class should get a reference to the handler
      *
@@ -153,6 +179,7 @@ public class SunspecDiscoveryProcess {
         }
         // Try the next address from the possibles
         baseAddress = possibleAddresses.poll();
+        window = null;
         logger.trace("Beginning scan for SunSpec device at address {}", baseAddress);
 
         ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
@@ -160,6 +187,7 @@ public class SunspecDiscoveryProcess {
                 SUNSPEC_ID_SIZE, // number or words to return
                 maxTries);
 
+        requestCount++;
         comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::headerReceived),
                 this::handleError);
     }
@@ -189,14 +217,60 @@ public class SunspecDiscoveryProcess {
      * Look for a valid model block at the current base address
      */
     private void lookForModelBlock() {
+        readRegisters(baseAddress, MODEL_HEADER_SIZE, this::modelBlockReceived);
+    }
 
+    /**
+     * Read registers, either from the last window read or from the device
+     *
+     * @param address start address of the registers
+     * @param length number of registers needed
+     * @param callback receives exactly the registers needed
+     */
+    private void readRegisters(int address, int length, Consumer<ModbusRegisterArray> callback) {
+        ModbusRegisterArray localWindow = window;
+        if (localWindow != null && address >= windowStart
+                && address + length <= windowStart + localWindow.size()) {
+            callback.accept(slice(localWindow, address - windowStart, length));
+            return;
+        }
+
+        boolean windowRead = readWindows && length < ModbusConstants.MAX_REGISTERS_READ_COUNT;
         ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, baseAddress, // Start address
-                MODEL_HEADER_SIZE, // number or words to return
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, address, // Start address
+                windowRead ? ModbusConstants.MAX_REGISTERS_READ_COUNT : length, // number or words to return
                 maxTries);
 
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::modelBlockReceived),
-                this::handleError);
+        requestCount++;
+        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(registers -> {
+            window = registers;
+            windowStart = address;
+            if (registers.size() < length) {
+                logger.debug("Device returned {} registers at address {}, expected at least {}", registers.size(),
+                        address, length);
+                parsingFinished();
+                return;
+            }
+            callback.accept(registers.size() == length ? registers : slice(registers, 0, length));
+        }), failure -> {
+            if (windowRead && failure.getCause() instanceof ModbusSlaveErrorResponseException) {
+                // The window probably extends beyond the register map of the device
+                logger.debug("Device rejected reading {} registers at address {}, reading only {} registers",
+                        ModbusConstants.MAX_REGISTERS_READ_COUNT, address, length);
+                readWindows = false;
+                readRegisters(address, length, callback);
+            } else {
+                handleError(failure);
+            }
+        });
+    }
+
+    private static ModbusRegisterArray slice(ModbusRegisterArray registers, int offset, int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = registers.getRegister(offset + i);
+        }
+        return new ModbusRegisterArray(values);
     }
 
     /**
@@ -243,13 +317,7 @@ public class SunspecDiscoveryProcess {
      * @param block
      */
     private void readCommonBlock(ModelBlock block) {
-        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, block.address, // Start address
-                block.length, // number or words to return
-                maxTries);
-
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::parseCommonBlock),
-                this::handleError);
+        readRegisters(block.address, block.length, this::parseCommonBlock);
     }
 
     /**
@@ -311,6 +379,9 @@ public class SunspecDiscoveryProcess {
      * Now we have to report back to the handler the common block and the block we were looking for
      */
     private void parsingFinished() {
+        logger.debug("SunSpec discovery of slave {} on {} finished in {} ms with {} requests, {} blocks found", slaveId,
+                handler.getUID(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), requestCount,
+                blocksFound);
         listener.discoveryFinished();
     }
 
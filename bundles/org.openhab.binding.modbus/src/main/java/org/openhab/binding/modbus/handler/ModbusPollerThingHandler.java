@@ -21,6 +21,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Span;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
@@ -183,6 +185,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusReadPlanner readPlanner;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -306,6 +309,12 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             comms.unregisterRegularPoll(localPollTask);
         }
         this.pollTask = null;
+        ModbusReadPlanner localReadPlanner = this.readPlanner;
+        if (localReadPlanner != null) {
+            logger.debug("Unregistering polling from endpoint read planner");
+            localReadPlanner.unregister(this);
+        }
+        this.readPlanner = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -320,7 +329,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || readPlanner != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -350,9 +359,16 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
 
+        ModbusReadPlanner localReadPlanner = slaveEndpointThingHandler.getReadPlanner();
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (localReadPlanner != null) {
+            logger.debug("Registering polling with endpoint read planner");
+            localReadPlanner.register(this, localRequest, config.getRefresh(), this::getRequiredSpan,
+                    callbackDelegator, callbackDelegator);
+            readPlanner = localReadPlanner;
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
@@ -379,6 +395,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
             this.childCallbacks.add((ModbusDataThingHandler) childHandler);
+            readSpanChanged();
         }
     }
 
@@ -387,9 +404,31 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusDataThingHandler) {
             this.childCallbacks.remove(childHandler);
+            readSpanChanged();
+        }
+    }
+
+    /**
+     * Notify the poller that the data read by a child thing has changed, for example because channels were linked or
+     * unlinked.
+     */
+    public void readSpanChanged() {
+        ModbusReadPlanner localReadPlanner = readPlanner;
+        if (localReadPlanner != null) {
+            localReadPlanner.requestReplan();
         }
     }
 
+    /**
+     * Get the span of the request read by the child things
+     *
+     * @return span covering the data read by all child things, or empty if no child thing reads any data
+     */
+    private Optional<Span> getRequiredSpan() {
+        return childCallbacks.stream().map(ModbusDataThingHandler::getReadSpan).filter(Optional::isPresent)
+                .map(Optional::get).reduce(Span::union);
+    }
+
     /**
      * Return {@link ModbusReadRequestBlueprint} represented by this thing.
      *
@@ -0,0 +1,396 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusReadPlanner} merges the regular polls of all pollers of one endpoint into as few read requests as
+ * possible.
+ *
+ * Each poller registers its request together with the range of data elements (registers, coils or discrete inputs)
+ * that is actually read by its data things. Pollers with the same slave id, function code and refresh rate are merged
+ * into blocks, as long as a block does not exceed the configured maximum length and the gap between two merged ranges
+ * does not exceed the configured maximum gap. The result of a block is cut into results for the original requests of
+ * the pollers, so the pollers and their data things work as if they polled on their own. Data elements of a poller
+ * outside the range read by its data things are reported as zero.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlanner {
+
+    /**
+     * Delay before polls are registered again after a change. Avoids re-planning for every single thing during
+     * startup.
+     */
+    private static final long REPLAN_DELAY_MILLIS = 500;
+
+    /**
+     * Range of data elements, start inclusive and end exclusive
+     */
+    public static class Span {
+        public final int start;
+        public final int end;
+
+        public Span(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Return the smallest span covering both this and the other span
+         */
+        public Span union(Span other) {
+            return new Span(Math.min(start, other.start), Math.max(end, other.end));
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Span other = (Span) obj;
+            return start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Span(start=%d, end=%d)", start, end);
+        }
+    }
+
+    /**
+     * Regular poll requested by a poller: its original request and the span actually needed
+     */
+    static class Demand {
+        final ModbusReadRequestBlueprint request;
+        final long refreshMillis;
+        final Span span;
+        final @Nullable Member member;
+
+        Demand(ModbusReadRequestBlueprint request, long refreshMillis, Span span, @Nullable Member member) {
+            this.request = request;
+            this.refreshMillis = refreshMillis;
+            this.span = span;
+            this.member = member;
+        }
+    }
+
+    /**
+     * Merged read request serving one or more demands
+     */
+    static class Block {
+        final ModbusReadRequestBlueprint request;
+        final long refreshMillis;
+        final List<Demand> demands;
+
+        Block(ModbusReadRequestBlueprint request, long refreshMillis, List<Demand> demands) {
+            this.request = request;
+            this.refreshMillis = refreshMillis;
+            this.demands = demands;
+        }
+    }
+
+    private static class Member {
+        final ModbusReadRequestBlueprint request;
+        final long refreshMillis;
+        final Supplier<Optional<Span>> requiredSpan;
+        final ModbusReadCallback resultCallback;
+        final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Member(ModbusReadRequestBlueprint request, long refreshMillis, Supplier<Optional<Span>> requiredSpan,
+                ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.refreshMillis = refreshMillis;
+            this.requiredSpan = requiredSpan;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+    }
+
+    /**
+     * Callback of a block, cutting the result into the results of the original requests
+     */
+    private class BlockCallback implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final Block block;
+
+        BlockCallback(Block block) {
+            this.block = block;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Demand demand : block.demands) {
+                Member member = demand.member;
+                if (member != null && !disposed) {
+                    member.resultCallback.handle(slice(block, demand, result));
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Demand demand : block.demands) {
+                Member member = demand.member;
+                if (member != null && !disposed) {
+                    member.failureCallback.handle(new AsyncModbusFailure<>(demand.request, failure.getCause()));
+                }
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadPlanner.class);
+
+    private final String endpointId;
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int maxRegisters;
+    private final int maxGap;
+
+    private final Map<Object, Member> members = new LinkedHashMap<>();
+    private final List<PollTask> pollTasks = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+    private volatile boolean disposed;
+
+    /**
+     * Constructor
+     *
+     * @param endpointId id of the endpoint, used for logging
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler used to delay the re-planning after changes
+     * @param maxRegisters maximum number of registers read with one request
+     * @param maxGap maximum number of unused registers read to merge two ranges
+     */
+    public ModbusReadPlanner(String endpointId, ModbusCommunicationInterface comms,
+            ScheduledExecutorService scheduler, int maxRegisters, int maxGap) {
+        this.endpointId = endpointId;
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.maxRegisters = Math.max(1, Math.min(maxRegisters, ModbusConstants.MAX_REGISTERS_READ_COUNT));
+        this.maxGap = Math.max(0, maxGap);
+    }
+
+    /**
+     * Register a regular poll
+     *
+     * @param owner owner of the poll, used as key to unregister the poll
+     * @param request the request of the poller
+     * @param refreshMillis poll period
+     * @param requiredSpan supplies the span of the request that is actually needed, empty if nothing is needed
+     * @param resultCallback callback receiving results for the original request
+     * @param failureCallback callback receiving failures for the original request
+     */
+    public synchronized void register(Object owner, ModbusReadRequestBlueprint request, long refreshMillis,
+            Supplier<Optional<Span>> requiredSpan, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        members.put(owner, new Member(request, refreshMillis, requiredSpan, resultCallback, failureCallback));
+        requestReplan();
+    }
+
+    /**
+     * Unregister the regular poll of the owner
+     *
+     * @param owner owner of the poll
+     */
+    public synchronized void unregister(Object owner) {
+        if (members.remove(owner) != null) {
+            requestReplan();
+        }
+    }
+
+    /**
+     * Schedule the re-planning of all polls, for example because the required span of a poller has changed
+     */
+    public synchronized void requestReplan() {
+        if (disposed) {
+            return;
+        }
+        ScheduledFuture<?> job = replanJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        replanJob = scheduler.schedule(this::replan, REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Unregister all polls
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        ScheduledFuture<?> job = replanJob;
+        if (job != null) {
+            job.cancel(false);
+            replanJob = null;
+        }
+        unregisterPollTasks();
+        members.clear();
+    }
+
+    private void replan() {
+        // Collect the required spans without holding the lock, the suppliers query the data things
+        Map<Object, Member> localMembers;
+        synchronized (this) {
+            localMembers = new LinkedHashMap<>(members);
+        }
+        List<Demand> demands = new ArrayList<>();
+        localMembers.values().forEach(member -> member.requiredSpan.get().ifPresent(
+                span -> demands.add(new Demand(member.request, member.refreshMillis, span, member))));
+
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            unregisterPollTasks();
+            List<Block> blocks = plan(demands, maxRegisters, maxGap);
+            for (Block block : blocks) {
+                BlockCallback callback = new BlockCallback(block);
+                pollTasks.add(comms.registerRegularPoll(block.request, block.refreshMillis, 0, callback, callback));
+            }
+            logger.debug("Endpoint {} polls {} pollers with {} merged read requests ({} pollers read nothing)",
+                    endpointId, localMembers.size(), blocks.size(), localMembers.size() - demands.size());
+            if (logger.isTraceEnabled()) {
+                blocks.forEach(block -> logger.trace("Endpoint {} polls {} every {} ms for {} pollers", endpointId,
+                        block.request, block.refreshMillis, block.demands.size()));
+            }
+        }
+    }
+
+    private void unregisterPollTasks() {
+        pollTasks.forEach(comms::unregisterRegularPoll);
+        pollTasks.clear();
+    }
+
+    /**
+     * Merge demands into blocks. Demands are only merged if they share slave id, function code and refresh rate.
+     *
+     * @param demands demands to plan
+     * @param maxRegisters maximum length of a merged register request. Bit requests are limited to
+     *            {@link ModbusConstants#MAX_BITS_READ_COUNT}.
+     * @param maxGap maximum number of unused registers between two merged demands. For bit requests, the gap is
+     *            multiplied by 16.
+     * @return blocks covering all demands
+     */
+    static List<Block> plan(Collection<Demand> demands, int maxRegisters, int maxGap) {
+        Map<List<Object>, List<Demand>> groups = new LinkedHashMap<>();
+        for (Demand demand : demands) {
+            List<Object> key = List.of(demand.request.getUnitID(), demand.request.getFunctionCode(),
+                    demand.refreshMillis);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(demand);
+        }
+
+        List<Block> blocks = new ArrayList<>();
+        for (List<Demand> group : groups.values()) {
+            group.sort(Comparator.comparingInt((Demand demand) -> demand.span.start)
+                    .thenComparingInt(demand -> demand.span.end));
+            boolean bits = isBitRequest(group.get(0).request.getFunctionCode());
+            int maxLength = bits ? ModbusConstants.MAX_BITS_READ_COUNT : maxRegisters;
+            int gap = bits ? maxGap * 16 : maxGap;
+
+            List<Demand> current = new ArrayList<>();
+            @Nullable
+            Span currentSpan = null;
+            for (Demand demand : group) {
+                if (currentSpan != null) {
+                    Span merged = currentSpan.union(demand.span);
+                    if (demand.span.start - currentSpan.end <= gap && merged.end - merged.start <= maxLength) {
+                        current.add(demand);
+                        currentSpan = merged;
+                        continue;
+                    }
+                    blocks.add(toBlock(current, currentSpan));
+                }
+                current = new ArrayList<>();
+                current.add(demand);
+                currentSpan = demand.span;
+            }
+            if (currentSpan != null) {
+                blocks.add(toBlock(current, currentSpan));
+            }
+        }
+        return blocks;
+    }
+
+    private static Block toBlock(List<Demand> demands, Span span) {
+        Demand first = demands.get(0);
+        int maxTries = demands.stream().mapToInt(demand -> demand.request.getMaxTries()).max().orElse(1);
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(first.request.getUnitID(),
+                first.request.getFunctionCode(), span.start, span.end - span.start, maxTries);
+        return new Block(request, first.refreshMillis, demands);
+    }
+
+    private static boolean isBitRequest(ModbusReadFunctionCode functionCode) {
+        return functionCode == ModbusReadFunctionCode.READ_COILS
+                || functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES;
+    }
+
+    /**
+     * Cut the result of a block into a result for the original request of a demand
+     */
+    static AsyncModbusReadResult slice(Block block, Demand demand, AsyncModbusReadResult result) {
+        ModbusReadRequestBlueprint request = demand.request;
+        int blockStart = block.request.getReference();
+        int requestStart = request.getReference();
+        Optional<ModbusRegisterArray> registers = result.getRegisters();
+        if (registers.isPresent()) {
+            ModbusRegisterArray blockRegisters = registers.get();
+            int[] values = new int[request.getDataLength()];
+            for (int index = demand.span.start; index < demand.span.end; index++) {
+                values[index - requestStart] = blockRegisters.getRegister(index - blockStart);
+            }
+            return new AsyncModbusReadResult(request, new ModbusRegisterArray(values));
+        }
+        BitArray blockBits = result.getBits().orElseThrow(() -> new IllegalArgumentException("No data in result"));
+        boolean[] values = new boolean[request.getDataLength()];
+        for (int index = demand.span.start; index < demand.span.end; index++) {
+            values[index - requestStart] = blockBits.getBit(index - blockStart);
+        }
+        return new AsyncModbusReadResult(request, new BitArray(values));
+    }
+}
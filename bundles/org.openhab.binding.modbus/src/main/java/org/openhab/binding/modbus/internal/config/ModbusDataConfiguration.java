@@ -34,6 +34,7 @@ public class ModbusDataConfiguration {
     private boolean writeMultipleEvenWithSingleRegisterOrCoil;
     private int writeMaxTries = 3; // backwards compatibility and tests
     private long updateUnchangedValuesEveryMillis = 1000L;
+    private int skipUnchangedPolls;
 
     public @Nullable String getReadStart() {
         return readStart;
@@ -114,4 +115,12 @@ public class ModbusDataConfiguration {
     public void setUpdateUnchangedValuesEveryMillis(long updateUnchangedValuesEveryMillis) {
         this.updateUnchangedValuesEveryMillis = updateUnchangedValuesEveryMillis;
     }
+
+    public int getSkipUnchangedPolls() {
+        return skipUnchangedPolls;
+    }
+
+    public void setSkipUnchangedPolls(int skipUnchangedPolls) {
+        this.skipUnchangedPolls = skipUnchangedPolls;
+    }
 }
@@ -14,6 +14,7 @@ package org.openhab.binding.modbus.internal.config;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 
 /**
  * Configuration for serial thing
@@ -38,6 +39,9 @@ public class ModbusSerialConfiguration {
     private int connectMaxTries;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean mergePollers;
+    private int mergeMaxRegisters = ModbusConstants.MAX_REGISTERS_READ_COUNT;
+    private int mergeMaxGap = 10;
 
     public @Nullable String getPort() {
         return port;
@@ -158,4 +162,28 @@ public class ModbusSerialConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isMergePollers() {
+        return mergePollers;
+    }
+
+    public void setMergePollers(boolean mergePollers) {
+        this.mergePollers = mergePollers;
+    }
+
+    public int getMergeMaxRegisters() {
+        return mergeMaxRegisters;
+    }
+
+    public void setMergeMaxRegisters(int mergeMaxRegisters) {
+        this.mergeMaxRegisters = mergeMaxRegisters;
+    }
+
+    public int getMergeMaxGap() {
+        return mergeMaxGap;
+    }
+
+    public void setMergeMaxGap(int mergeMaxGap) {
+        this.mergeMaxGap = mergeMaxGap;
+    }
 }
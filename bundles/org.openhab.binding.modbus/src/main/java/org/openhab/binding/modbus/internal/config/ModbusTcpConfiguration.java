@@ -14,6 +14,7 @@ package org.openhab.binding.modbus.internal.config;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 
 /**
  * Configuration for tcp thing
@@ -32,6 +33,9 @@ public class ModbusTcpConfiguration {
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
     private boolean enableDiscovery;
+    private boolean mergePollers;
+    private int mergeMaxRegisters = ModbusConstants.MAX_REGISTERS_READ_COUNT;
+    private int mergeMaxGap = 10;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -109,4 +113,28 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isMergePollers() {
+        return mergePollers;
+    }
+
+    public void setMergePollers(boolean mergePollers) {
+        this.mergePollers = mergePollers;
+    }
+
+    public int getMergeMaxRegisters() {
+        return mergeMaxRegisters;
+    }
+
+    public void setMergeMaxRegisters(int mergeMaxRegisters) {
+        this.mergeMaxRegisters = mergeMaxRegisters;
+    }
+
+    public int getMergeMaxGap() {
+        return mergeMaxGap;
+    }
+
+    public void setMergeMaxGap(int mergeMaxGap) {
+        this.mergeMaxGap = mergeMaxGap;
+    }
 }
@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +35,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Span;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -123,6 +125,27 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     // data channels + 4 for read/write last error/success
     private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
 
+    /**
+     * Data channel with everything needed to update it, computed once when the thing is initialized
+     */
+    private static class PlannedChannel {
+        final String channelId;
+        final ChannelUID uid;
+        final List<Class<? extends State>> acceptedDataTypes;
+        // ON/OFF or OPEN/CLOSED for channels accepting such types, null otherwise
+        final @Nullable State trueState;
+        final @Nullable State falseState;
+
+        PlannedChannel(String channelId, ChannelUID uid, List<Class<? extends State>> acceptedDataTypes,
+                @Nullable State trueState, @Nullable State falseState) {
+            this.channelId = channelId;
+            this.uid = uid;
+            this.acceptedDataTypes = acceptedDataTypes;
+            this.trueState = trueState;
+            this.falseState = falseState;
+        }
+    }
+
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
     //
@@ -139,6 +162,12 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadFunctionCode functionCode;
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
+    private volatile int skipUnchangedPolls;
+    private volatile List<PlannedChannel> channelPlan = Collections.emptyList();
+    private volatile @Nullable ChannelUID lastReadSuccessUID;
+    private volatile int @Nullable [] lastRawRegisters;
+    private volatile @Nullable Boolean lastRawBit;
+    private volatile int skippedPolls;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
@@ -174,6 +203,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 // There is no data to update
                 return;
             }
+            // Channels must be updated with the refreshed data, even if unchanged
+            resetRawData();
             // We *schedule* the REFRESH to avoid dead-lock situation where poller is trying update this
             // data thing with cached data (resulting in deadlock in two synchronized methods: this (handleCommand) and
             // onRegisters.
@@ -334,6 +365,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             ModbusDataConfiguration localConfig = config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = localConfig.getUpdateUnchangedValuesEveryMillis();
+            skipUnchangedPolls = localConfig.getSkipUnchangedPolls();
             Bridge bridge = getBridge();
             if (bridge == null || !bridge.getStatus().equals(ThingStatus.ONLINE)) {
                 logger.debug("Thing {} '{}' has no bridge or it is not online", getThing().getUID(),
@@ -378,6 +410,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             validateAndParseReadParameters(localConfig);
             validateAndParseWriteParameters(localConfig);
             validateMustReadOrWrite();
+            updateChannelPlan();
 
             updateStatusIfChanged(ThingStatus.ONLINE);
         } catch (ModbusConfigurationException | EndpointNotInitializedException e) {
@@ -410,6 +443,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         childOfEndpoint = false;
         pollerHandler = null;
         channelCache = new HashMap<>();
+        skipUnchangedPolls = 0;
+        channelPlan = Collections.emptyList();
+        lastReadSuccessUID = null;
+        resetRawData();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
@@ -658,6 +695,142 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         });
     }
 
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        // Newly linked channels must receive the next polled value
+        resetRawData();
+        super.channelLinked(channelUID);
+        ModbusPollerThingHandler poller = pollerHandler;
+        if (poller != null) {
+            poller.readSpanChanged();
+        }
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        super.channelUnlinked(channelUID);
+        ModbusPollerThingHandler poller = pollerHandler;
+        if (poller != null) {
+            poller.readSpanChanged();
+        }
+    }
+
+    /**
+     * Get the data elements (registers, coils or discrete inputs) read by this thing.
+     *
+     * Not synchronized on purpose, since the span is queried by the endpoint read planner while data things might be
+     * waiting for the planner.
+     *
+     * @return span of the read data elements, or empty if this thing is not reading or has no linked channels
+     */
+    public Optional<Span> getReadSpan() {
+        Optional<Integer> localReadIndex = readIndex;
+        ValueType localReadValueType = readValueType;
+        if (!isReadEnabled || !localReadIndex.isPresent() || localReadValueType == null || readRequest == null) {
+            return Optional.empty();
+        }
+        if (getThing().getChannels().stream().noneMatch(channel -> isLinked(channel.getUID()))) {
+            return Optional.empty();
+        }
+        int start = localReadIndex.get();
+        ModbusReadFunctionCode localFunctionCode = functionCode;
+        if (localFunctionCode == ModbusReadFunctionCode.READ_COILS
+                || localFunctionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES) {
+            return Optional.of(new Span(start, start + 1));
+        }
+        // types below 16 bits are always contained in a single register
+        int registers = Math.max(1, localReadValueType.getBits() / 16);
+        return Optional.of(new Span(start, start + registers));
+    }
+
+    /**
+     * Compute the data channels and how to update them. Whether a channel is linked is still checked on every update,
+     * since the handler is informed about new links asynchronously.
+     */
+    private void updateChannelPlan() {
+        List<PlannedChannel> plan = new ArrayList<>(CHANNEL_ID_TO_ACCEPTED_TYPES.size());
+        CHANNEL_ID_TO_ACCEPTED_TYPES.forEach((channelId, acceptedDataTypes) -> {
+            if (acceptedDataTypes.isEmpty()) {
+                return;
+            }
+            ChannelUID channelUID = getChannelUID(channelId);
+            if (containsOnOff(acceptedDataTypes)) {
+                plan.add(new PlannedChannel(channelId, channelUID, acceptedDataTypes, OnOffType.ON, OnOffType.OFF));
+            } else if (containsOpenClosed(acceptedDataTypes)) {
+                plan.add(new PlannedChannel(channelId, channelUID, acceptedDataTypes, OpenClosedType.OPEN,
+                        OpenClosedType.CLOSED));
+            } else {
+                plan.add(new PlannedChannel(channelId, channelUID, acceptedDataTypes, null, null));
+            }
+        });
+        channelPlan = plan;
+        lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        resetRawData();
+    }
+
+    private void resetRawData() {
+        lastRawRegisters = null;
+        lastRawBit = null;
+        skippedPolls = 0;
+    }
+
+    /**
+     * Compare the registers read by this thing with the previous poll and remember them.
+     *
+     * @param registers polled registers
+     * @param firstIndex index of the first register read by this thing
+     * @param count number of registers read by this thing
+     * @return whether processing of this poll can be skipped
+     */
+    private boolean skipUnchangedRegisters(ModbusRegisterArray registers, int firstIndex, int count) {
+        if (skipUnchangedPolls <= 0) {
+            return false;
+        }
+        int[] last = lastRawRegisters;
+        boolean unchanged = false;
+        if (last != null && last.length == count) {
+            unchanged = true;
+            for (int i = 0; i < count; i++) {
+                if (registers.getRegister(firstIndex + i) != last[i]) {
+                    unchanged = false;
+                    break;
+                }
+            }
+        }
+        if (!unchanged) {
+            last = new int[count];
+            for (int i = 0; i < count; i++) {
+                last[i] = registers.getRegister(firstIndex + i);
+            }
+            lastRawRegisters = last;
+        }
+        return skipUnchanged(unchanged);
+    }
+
+    /**
+     * Compare the bit read by this thing with the previous poll and remember it.
+     *
+     * @param bit polled bit read by this thing
+     * @return whether processing of this poll can be skipped
+     */
+    private boolean skipUnchangedBit(boolean bit) {
+        if (skipUnchangedPolls <= 0) {
+            return false;
+        }
+        Boolean last = lastRawBit;
+        lastRawBit = bit;
+        return skipUnchanged(last != null && last == bit);
+    }
+
+    private boolean skipUnchanged(boolean unchanged) {
+        if (unchanged && skippedPolls < skipUnchangedPolls) {
+            skippedPolls++;
+            return true;
+        }
+        skippedPolls = 0;
+        return false;
+    }
+
     public synchronized void onReadResult(AsyncModbusReadResult result) {
         result.getRegisters().ifPresent(registers -> onRegisters(result.getRequest(), registers));
         result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
@@ -693,6 +866,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         // respectively.
         // with >=16 bit types, this is index of first register
         int extractIndex;
+        int firstRegister = readIndex.get() - pollStart;
+        if (skipUnchangedRegisters(registers, firstRegister, Math.max(1, readValueType.getBits() / 16))) {
+            logger.trace("Thing {} registers unchanged, skipping update", thing.getUID());
+            return;
+        }
         if (readValueType.getBits() >= 16) {
             // Invariant, checked in initialize
             assert readSubIndex.orElse(0) == 0;
@@ -719,6 +897,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (skipUnchangedBit(boolValue)) {
+            logger.trace("Thing {} bit unchanged, skipping update", thing.getUID());
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -744,6 +926,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        // The next successful poll must update the channels and the thing status
+        resetRawData();
         Map<ChannelUID, State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -826,63 +1010,44 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
-        Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
-            if (!isLinked(channelUID)) {
-                return;
+        Map<ChannelUID, State> states = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        for (PlannedChannel channel : channelPlan) {
+            if (!isLinked(channel.uid)) {
+                continue;
             }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
-            }
-
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OnOffType.ON : OnOffType.OFF;
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
-            }
-
+            State boolLikeState = boolValue ? channel.trueState : channel.falseState;
             State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
-                    // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
-                    transformedState = boolLikeState;
-                } else {
-                    // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
-                }
+            if (localReadTransformation.isIdentityTransform() && boolLikeState != null) {
+                // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
+                transformedState = boolLikeState;
             } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
+                // Numeric states always go through transformation. This allows value of 17.5 to be
+                // converted to
+                // 17.5% with percent types (instead of raising error)
+                transformedState = localReadTransformation.transformState(bundleContext, channel.acceptedDataTypes,
                         numericState);
             }
 
             if (transformedState != null) {
                 logger.trace(
                         "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
+                        channel.channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
                         readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                states.put(channelUID, transformedState);
+                states.put(channel.uid, transformedState);
             } else {
                 String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+                        channel.acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
                 logger.warn(
                         "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
+                        channel.channelId, types, numericState, readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
             }
-        });
+        }
 
-        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
-        if (isLinked(lastReadSuccessUID)) {
-            states.put(lastReadSuccessUID, new DateTimeType());
+        ChannelUID localLastReadSuccessUID = lastReadSuccessUID;
+        if (localLastReadSuccessUID != null && isLinked(localLastReadSuccessUID)) {
+            states.put(localLastReadSuccessUID, new DateTimeType());
         }
         updateExpiredChannels(states);
         return states;
@@ -69,6 +69,10 @@ public class ModbusSerialThingHandler
         poolConfiguration.setInterConnectDelayMillis(1000);
         poolConfiguration.setReconnectAfterMillis(-1);
 
+        mergePollers = config.isMergePollers();
+        mergeMaxRegisters = config.getMergeMaxRegisters();
+        mergeMaxGap = config.getMergeMaxGap();
+
         endpoint = new ModbusSerialSlaveEndpoint(port, baud, flowControlIn, flowControlOut, config.getDataBits(),
                 stopBits, parity, encoding, config.isEcho(), config.getReceiveTimeoutMillis());
     }
@@ -60,6 +60,10 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+
+        mergePollers = config.isMergePollers();
+        mergeMaxRegisters = config.getMergeMaxRegisters();
+        mergeMaxGap = config.getMergeMaxGap();
     }
 
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
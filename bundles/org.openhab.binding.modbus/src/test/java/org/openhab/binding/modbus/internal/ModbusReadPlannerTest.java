@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Block;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Demand;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Span;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlannerTest {
+
+    private static Demand demand(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
+            long refreshMillis) {
+        return demand(slaveId, functionCode, start, length, refreshMillis, new Span(start, start + length));
+    }
+
+    private static Demand demand(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
+            long refreshMillis, Span span) {
+        return new Demand(new ModbusReadRequestBlueprint(slaveId, functionCode, start, length, 3), refreshMillis, span,
+                null);
+    }
+
+    @Test
+    public void testMergeWithinGap() {
+        List<Block> blocks = ModbusReadPlanner.plan(
+                List.of(demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5, 1000),
+                        demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5, 1000),
+                        demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 40, 2, 1000)),
+                125, 10);
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertThat(blocks.get(0).request.getReference(), is(equalTo(0)));
+        assertThat(blocks.get(0).request.getDataLength(), is(equalTo(15)));
+        assertThat(blocks.get(0).demands.size(), is(equalTo(2)));
+        assertThat(blocks.get(1).request.getReference(), is(equalTo(40)));
+        assertThat(blocks.get(1).request.getDataLength(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testMaxRegisters() {
+        List<Block> blocks = ModbusReadPlanner.plan(
+                List.of(demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 60, 1000),
+                        demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 60, 60, 1000)),
+                100, 10);
+        assertThat(blocks.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testNoMergeOfDifferentGroups() {
+        List<Block> blocks = ModbusReadPlanner.plan(
+                List.of(demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5, 1000),
+                        demand(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5, 1000),
+                        demand(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5, 1000),
+                        demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5, 500)),
+                125, 10);
+        assertThat(blocks.size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testOverlappingDemandsAndMaxTries() {
+        Demand first = new Demand(
+                new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 1), 1000,
+                new Span(0, 10), null);
+        Demand second = demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 10, 1000);
+        List<Block> blocks = ModbusReadPlanner.plan(List.of(first, second), 125, 0);
+        assertThat(blocks.size(), is(equalTo(1)));
+        assertThat(blocks.get(0).request.getDataLength(), is(equalTo(15)));
+        assertThat(blocks.get(0).request.getMaxTries(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testSliceRegisters() {
+        // Poller polls 10..19, but only 12..13 are read by its data things
+        Demand demand = demand(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 10, 1000, new Span(12, 14));
+        Block block = ModbusReadPlanner.plan(List.of(demand), 125, 10).get(0);
+        assertThat(block.request.getReference(), is(equalTo(12)));
+        assertThat(block.request.getDataLength(), is(equalTo(2)));
+
+        AsyncModbusReadResult sliced = ModbusReadPlanner.slice(block, demand,
+                new AsyncModbusReadResult(block.request, new ModbusRegisterArray(7, 8)));
+        assertThat(sliced.getRequest(), is(sameInstance(demand.request)));
+        ModbusRegisterArray registers = sliced.getRegisters().get();
+        assertThat(registers.size(), is(equalTo(10)));
+        assertThat(registers.getRegister(0), is(equalTo(0)));
+        assertThat(registers.getRegister(2), is(equalTo(7)));
+        assertThat(registers.getRegister(3), is(equalTo(8)));
+    }
+
+    @Test
+    public void testSliceBits() {
+        Demand first = demand(1, ModbusReadFunctionCode.READ_COILS, 0, 4, 1000);
+        Demand second = demand(1, ModbusReadFunctionCode.READ_COILS, 4, 4, 1000);
+        Block block = ModbusReadPlanner.plan(List.of(first, second), 125, 0).get(0);
+        assertThat(block.request.getDataLength(), is(equalTo(8)));
+
+        AsyncModbusReadResult result = new AsyncModbusReadResult(block.request,
+                new BitArray(false, false, false, false, true, false, true, true));
+        BitArray bits = ModbusReadPlanner.slice(block, second, result).getBits().get();
+        assertThat(bits.size(), is(equalTo(4)));
+        assertThat(bits.getBit(0), is(equalTo(true)));
+        assertThat(bits.getBit(1), is(equalTo(false)));
+        assertThat(bits.getBit(3), is(equalTo(true)));
+    }
+}
@@ -160,6 +160,13 @@ public abstract class AbstractComponent<C extends BaseChannelConfiguration> {
         return channelGroupUID;
     }
 
+    /**
+     * The HomeAssistant topic ID of this component.
+     */
+    public HaID getHaID() {
+        return haID;
+    }
+
     /**
      * Component (Channel Group) name.
      */
@@ -193,6 +200,13 @@ public abstract class AbstractComponent<C extends BaseChannelConfiguration> {
         return configHash;
     }
 
+    /**
+     * @return Returns the configuration JSON of this component, as received from the broker.
+     */
+    public String getChannelConfigurationJson() {
+        return channelConfigurationJson;
+    }
+
     /**
      * Return the channel group type.
      */
@@ -14,8 +14,10 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +60,9 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     protected @NonNullByDefault({}) ComponentDiscovered discoveredListener;
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
+    // The last processed configuration per config topic.
+    // Retained configurations are received again on every (re-)subscription and are skipped if unchanged.
+    private final Map<String, String> configPerTopic = new ConcurrentHashMap<>();
 
     /**
      * Implement this to get notified of new components
@@ -96,8 +101,15 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
+            if (config.equals(configPerTopic.get(topic))) {
+                logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                        haID.component);
+                return;
+            }
             component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler, gson,
                     transformationServiceProvider);
+        } else {
+            configPerTopic.remove(topic);
         }
         if (component != null) {
             component.setConfigSeen();
@@ -111,6 +123,19 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
     }
 
+    /**
+     * Registers the configuration of an already known component, for example one that has been restored from the
+     * persisted channel configuration. A retained configuration with the same content is then not parsed again
+     * and not reported to the {@link ComponentDiscovered} listener.
+     *
+     * @param haID The location of the component
+     * @param config The configuration JSON of the component, see
+     *            {@link AbstractComponent#getChannelConfigurationJson()}
+     */
+    public void setKnownConfig(HaID haID, String config) {
+        configPerTopic.put(haID.getTopic("config"), config);
+    }
+
     /**
      * Start a components discovery.
      *
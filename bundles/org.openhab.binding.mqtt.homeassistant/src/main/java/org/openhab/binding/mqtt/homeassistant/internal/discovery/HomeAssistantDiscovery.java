@@ -66,6 +66,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The last processed configuration per config topic.
+    // Retained configurations are received again on every broker reconnect and are skipped if unchanged.
+    protected final Map<String, String> configPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -126,6 +129,20 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         return typeProvider.getThingTypeUIDs();
     }
 
+    @Override
+    protected void startScan() {
+        // A manual scan reports all things again, even if their configuration has not changed
+        configPerTopic.clear();
+        super.startScan();
+    }
+
+    @Override
+    protected void startBackgroundDiscovery() {
+        // Older results are removed by the super class, so they need to be reported again
+        configPerTopic.clear();
+        super.startBackgroundDiscovery();
+    }
+
     @Override
     public void receivedMessage(ThingUID connectionBridge, MqttBrokerConnection connection, String topic,
             byte[] payload) {
@@ -139,6 +156,12 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
+        String configJSON = new String(payload, StandardCharsets.UTF_8);
+        if (configJSON.equals(configPerTopic.get(topic))) {
+            // Already discovered with the same configuration
+            return;
+        }
+
         // Reset the found-component timer.
         // We will collect components for the thing label description for another 2 seconds.
         final ScheduledFuture<?> future = this.future;
@@ -147,8 +170,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
         this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        BaseChannelConfiguration config = BaseChannelConfiguration.fromString(configJSON, gson);
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
@@ -163,6 +185,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
 
         thingIDPerTopic.put(topic, thingUID);
+        configPerTopic.put(topic, configJSON);
 
         // We need to keep track of already found component topics for a specific thing
         Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
@@ -190,8 +213,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         Collection<DiscoveryResult> localResults;
 
         localResults = new ArrayList<>(results.values());
+        // componentsPerThingID is kept, because unchanged components of a thing are not processed again
         results.clear();
-        componentsPerThingID.clear();
         for (DiscoveryResult result : localResults) {
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
@@ -206,6 +229,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             final String thingID = thingUID.getId();
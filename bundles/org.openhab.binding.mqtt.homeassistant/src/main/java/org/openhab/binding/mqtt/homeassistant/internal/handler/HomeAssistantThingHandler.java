@@ -160,6 +160,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             if (component != null) {
                 haComponents.put(component.uid().getId(), component);
                 component.addChannelTypes(channelTypeProvider);
+                // The persisted configuration is up to date, unless the retained configuration differs
+                discoverComponents.setKnownConfig(haID, component.getChannelConfigurationJson());
             } else {
                 logger.warn("Could not restore component {}", thing);
             }
@@ -281,6 +283,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 discovered.addChannelTypes(channelTypeProvider);
                 // Add component to the component map
                 haComponents.put(discovered.uid().getId(), discovered);
+                // Skip parsing the same retained configuration again, e.g. after a reconnect
+                discoverComponents.setKnownConfig(discovered.getHaID(), discovered.getChannelConfigurationJson());
                 // Start component / Subscribe to channel topics
                 discovered.start(connection, scheduler, 0).exceptionally(e -> {
                     logger.warn("Failed to start component {}", discovered.uid(), e);
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.AvailabilityTracker;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents.ComponentDiscovered;
+import org.openhab.binding.mqtt.homeassistant.internal.handler.ThingChannelConstants;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests cases for the configuration hash based skipping of unchanged components in {@link DiscoverComponents}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class DiscoverComponentsTests {
+    private static final String TOPIC = "homeassistant/switch/node/object/config";
+    private static final String CONFIG = "{\"name\":\"Switch\",\"state_topic\":\"switch/state\","
+            + "\"command_topic\":\"switch/set\"}";
+    private static final String CHANGED_CONFIG = "{\"name\":\"Switch 2\",\"state_topic\":\"switch/state\","
+            + "\"command_topic\":\"switch/set\"}";
+
+    private @Mock ScheduledExecutorService scheduler;
+    private @Mock ChannelStateUpdateListener updateListener;
+    private @Mock AvailabilityTracker tracker;
+    private @Mock TransformationServiceProvider transformationServiceProvider;
+    private @Mock ComponentDiscovered discoveredListener;
+    private @Captor ArgumentCaptor<AbstractComponent<?>> componentCaptor;
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory())
+            .create();
+
+    private DiscoverComponents subject;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new DiscoverComponents(ThingChannelConstants.testHomeAssistantThing, scheduler, updateListener,
+                tracker, gson, transformationServiceProvider);
+        subject.discoveredListener = discoveredListener;
+    }
+
+    @Test
+    public void unchangedConfigurationIsSkipped() {
+        subject.processMessage(TOPIC, CONFIG.getBytes(StandardCharsets.UTF_8));
+        verify(discoveredListener).componentDiscovered(any(HaID.class), componentCaptor.capture());
+
+        // The handler registers the accepted component
+        AbstractComponent<?> component = componentCaptor.getValue();
+        subject.setKnownConfig(component.getHaID(), component.getChannelConfigurationJson());
+
+        subject.processMessage(TOPIC, CONFIG.getBytes(StandardCharsets.UTF_8));
+        verifyNoMoreInteractions(discoveredListener);
+
+        subject.processMessage(TOPIC, CHANGED_CONFIG.getBytes(StandardCharsets.UTF_8));
+        verify(discoveredListener, times(2)).componentDiscovered(any(HaID.class), any());
+    }
+
+    @Test
+    public void unknownConfigurationIsReportedAgain() {
+        subject.processMessage(TOPIC, CONFIG.getBytes(StandardCharsets.UTF_8));
+        subject.processMessage(TOPIC, CONFIG.getBytes(StandardCharsets.UTF_8));
+
+        verify(discoveredListener, times(2)).componentDiscovered(any(HaID.class), any());
+    }
+}
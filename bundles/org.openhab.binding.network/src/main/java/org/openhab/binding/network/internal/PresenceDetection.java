@@ -19,8 +19,7 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,11 +30,13 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
+import org.openhab.binding.network.internal.utils.NetworkProbeEngine;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
 import org.openhab.core.cache.ExpiringCache;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,8 +52,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     public static final double NOT_REACHABLE = -1;
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
+    /**
+     * Time in ms the probes of a background detection may additionally be queued behind other probes
+     */
+    private static final int BACKGROUND_QUEUE_TIME = 300 * 1000;
 
     NetworkUtils networkUtils = new NetworkUtils();
+    NetworkProbeEngine probeEngine = NetworkProbeEngine.getInstance();
+    ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(NetworkBindingConstants.BINDING_ID);
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -63,6 +70,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     protected ArpPingUtilEnum arpPingMethod = ArpPingUtilEnum.UNKNOWN_TOOL;
     protected @Nullable IpPingMethodEnum pingMethod = null;
     private boolean iosDevice;
+    private boolean background;
     private Set<Integer> tcpPorts = new HashSet<>();
 
     private long refreshIntervalInMS = 60000;
@@ -79,7 +87,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    @Nullable CountDownLatch detectionFinished;
+    private int detectionId;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -144,6 +153,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.useDHCPsniffing = enable;
     }
 
+    /**
+     * Set to true for the presence detections of the network discovery. Their probes are queued behind the probes of
+     * things by the {@link NetworkProbeEngine}.
+     */
+    public void setBackground(boolean background) {
+        this.background = background;
+    }
+
     public void setRefreshInterval(long refreshInterval) {
         this.refreshIntervalInMS = refreshInterval;
     }
@@ -279,14 +296,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. All probes are performed by the binding wide
+     * {@link NetworkProbeEngine}: TCP connection attempts are non-blocking, ICMP and ARP pings
+     * are executed on its shared thread pool.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -296,78 +310,81 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * - Non system / Java pings are not recommended at all
      * (not interruptible, useless TCP echo service fall back)
      *
-     * @param waitForDetectionToFinish If you want to synchronously wait for the result, set this to true
+     * @param waitForDetectionToFinish If you want to synchronously wait for the result, set this to true. Otherwise
+     *            the final result is submitted when all checks are finished, at the latest after a timeout.
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        final int id;
+        final Set<String> interfaceNames;
+        synchronized (this) {
+            if (detectionFinished != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
+                // The arping processes of all interfaces are started together by a single check
+                interfaceNames = arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS
+                        ? Set.of("") // arp-ping.exe tool capable of handling multiple interfaces by itself
+                        : networkUtils.getInterfaceNames();
+                if (!interfaceNames.isEmpty()) {
+                    detectionChecks += 1;
+                }
+            } else {
+                interfaceNames = Set.of();
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        if (detectionChecks == 0) {
-            return false;
+            id = ++detectionId;
+            detectionFinished = new CountDownLatch(1);
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        if (!waitForDetectionToFinish) {
+            // Without a waiting caller, a probe that never finishes must not block all following detections
+            scheduler.schedule(() -> finishDetection(id), getDetectionTimeout(), TimeUnit.MILLISECONDS);
+        }
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort, () -> checkIfFinished(id));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
-            }
+        // ARP ping for IPv4 addresses
+        if (!interfaceNames.isEmpty()) {
+            probeEngine.execute(() -> {
+                if (isDetectionRunning(id)) {
+                    performARPping(interfaceNames);
+                }
+                checkIfFinished(id);
+            }, background);
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
+            probeEngine.execute(() -> {
+                if (isDetectionRunning(id)) {
+                    if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                        performSystemPing();
+                    } else {
+                        performJavaPing();
+                    }
                 }
-                checkIfFinished();
-            });
+                checkIfFinished(id);
+            }, background);
         }
 
         if (waitForDetectionToFinish) {
@@ -377,21 +394,44 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * @return The time in ms after which a detection is finished, even if not all checks are finished
+     */
+    private long getDetectionTimeout() {
+        return timeoutInMS + 100 + (background ? BACKGROUND_QUEUE_TIME : 0);
+    }
+
+    private synchronized boolean isDetectionRunning(int id) {
+        return detectionFinished != null && detectionId == id;
+    }
+
+    /**
+     * Submits the final result of the given detection process, if it is still running.
+     *
+     * @param id The id of the detection process
+     */
+    private synchronized void finishDetection(int id) {
+        if (isDetectionRunning(id)) {
+            logger.debug("Presence detection for {} timed out", hostname);
+            submitFinalResult();
+        }
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and still running checks are
+     * not counted anymore.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        finished.countDown();
+        detectionFinished = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -419,8 +459,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param id The id of the detection process the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(int id) {
+        if (!isDetectionRunning(id)) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -433,18 +478,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            finished.await(getDetectionTimeout(), TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (detectionFinished == finished) {
+                    detectionFinished = null;
+                    detectionChecks = 0;
+                }
+            }
         }
     }
 
@@ -473,37 +522,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Starts a non-blocking TCP connection attempt on the given port.
+     *
+     * @param tcpPort The TCP port
+     * @param finished Called when the connection attempt is finished. Called by the selector thread of the
+     *            {@link NetworkProbeEngine}, so it must not block.
+     */
+    protected void performServicePing(int tcpPort, Runnable finished) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
-                    }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            finished.run();
+            return;
         }
+        probeEngine.tcpProbe(destinationAddress, tcpPort, timeoutInMS, background, o -> {
+            if (o.isSuccess()) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
+                        getLatency(o, preferResponseTimeAsLatency));
+                v.addReachableTcpService(tcpPort);
+                updateListener.partialDetectionResult(v);
+            }
+            finished.run();
+        });
     }
 
     /**
-     * Performs an "ARP ping" (ARP request) on the given interface.
+     * Performs an "ARP ping" (ARP request) on the given interfaces. The arping processes
+     * for all interfaces are started at once.
      * If it is an iOS device, the {@see NetworkUtils.wakeUpIOS()} method is
      * called before performing the ARP ping.
      *
-     * @param interfaceName The interface name. You can request a list of interface names
+     * @param interfaceNames The interface names. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
      */
-    protected void performARPping(String interfaceName) {
+    protected void performARPping(Set<String> interfaceNames) {
         try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+            logger.trace("Perform ARP ping presence detection for {} on interfaces: {}", hostname, interfaceNames);
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress == null) {
                 return;
@@ -513,7 +568,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 Thread.sleep(50);
             }
 
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceNames,
                     destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
                         if (o.isSuccess()) {
                             PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
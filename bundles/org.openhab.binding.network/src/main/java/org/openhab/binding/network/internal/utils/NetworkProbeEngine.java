@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link NetworkProbeEngine} performs the probes of all presence detections of the binding, i.e. of all network
+ * things and of the network discovery.
+ * <p>
+ * TCP connection probes are non-blocking. A single selector thread handles all of them and limits the number of
+ * simultaneously open connections, further probes are queued. The selector thread ends as soon as there are no more
+ * probes.
+ * <p>
+ * Probes that need an external process (ping, arping) or block otherwise are executed by one shared and bounded thread
+ * pool, whose threads end after some idle time.
+ * <p>
+ * The probes of the network discovery are background probes: Probes of things are always started before queued
+ * background probes, and background probes do not use all connections, so a discovery sweep does not delay the
+ * presence detection of things.
+ * <p>
+ * Result callbacks of TCP probes are called by the selector thread and must not block.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkProbeEngine {
+    private static final int MAX_OPEN_CONNECTIONS = 256;
+    private static final int MAX_OPEN_BACKGROUND_CONNECTIONS = 192;
+    private static final int MAX_PROCESS_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private static final NetworkProbeEngine INSTANCE = new NetworkProbeEngine();
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkProbeEngine.class);
+
+    private final Queue<TcpProbe> queuedProbes = new ConcurrentLinkedQueue<>();
+    private final Queue<TcpProbe> queuedBackgroundProbes = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor processPool;
+    private final AtomicLong submittedProbes = new AtomicLong();
+    private @Nullable Selector selector;
+
+    private static class TcpProbe {
+        private final InetSocketAddress address;
+        private final int timeoutInMS;
+        private final Consumer<PingResult> callback;
+        private final boolean background;
+        private long startNanos;
+        private long deadlineNanos;
+
+        TcpProbe(InetSocketAddress address, int timeoutInMS, Consumer<PingResult> callback, boolean background) {
+            this.address = address;
+            this.timeoutInMS = timeoutInMS;
+            this.callback = callback;
+            this.background = background;
+        }
+    }
+
+    /**
+     * A blocking probe in the queue of the thread pool. Probes of things are run before background probes, probes of
+     * the same kind in the order of submission.
+     */
+    private static class QueuedProbe implements Runnable, Comparable<QueuedProbe> {
+        private final Runnable probe;
+        private final boolean background;
+        private final long sequence;
+
+        QueuedProbe(Runnable probe, boolean background, long sequence) {
+            this.probe = probe;
+            this.background = background;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            probe.run();
+        }
+
+        @Override
+        public int compareTo(QueuedProbe other) {
+            if (background != other.background) {
+                return background ? 1 : -1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    NetworkProbeEngine() {
+        this(MAX_PROCESS_THREADS);
+    }
+
+    NetworkProbeEngine(int processThreads) {
+        processPool = new ThreadPoolExecutor(processThreads, processThreads, IDLE_THREAD_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS, new PriorityBlockingQueue<>(), new NamedThreadFactory("network-probe", true));
+        processPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return The engine shared by all presence detections of the binding
+     */
+    public static NetworkProbeEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Execute a blocking probe, like a native ping, on the shared probe thread pool.
+     *
+     * @param probe The probe
+     * @param background True for probes of the discovery, which are queued behind the probes of things
+     */
+    public void execute(Runnable probe, boolean background) {
+        processPool.execute(new QueuedProbe(probe, background, submittedProbes.getAndIncrement()));
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port without blocking. The callback receives an unsuccessful
+     * result if a timeout occurred or the connection was denied.
+     *
+     * @param address The destination address
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in ms, starting when the connection is actually attempted
+     * @param background True for probes of the discovery, which are queued behind the probes of things
+     * @param callback Receives the result of the probe
+     */
+    public void tcpProbe(InetAddress address, int port, int timeoutInMS, boolean background,
+            Consumer<PingResult> callback) {
+        TcpProbe probe = new TcpProbe(new InetSocketAddress(address, port), timeoutInMS, callback, background);
+        (background ? queuedBackgroundProbes : queuedProbes).add(probe);
+        wakeup();
+    }
+
+    private synchronized void wakeup() {
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            logger.warn("Cannot open a selector for TCP probes: {}", e.getMessage());
+            TcpProbe probe;
+            while ((probe = queuedProbes.poll()) != null || (probe = queuedBackgroundProbes.poll()) != null) {
+                complete(probe, false);
+            }
+            return;
+        }
+        this.selector = selector;
+        final Selector threadSelector = selector;
+        Thread thread = new Thread(() -> run(threadSelector), "OH-binding-network-probe-selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(Selector selector) {
+        int openConnections = 0;
+        int openBackgroundConnections = 0;
+        try {
+            while (true) {
+                openConnections += connectQueuedProbes(selector, queuedProbes, MAX_OPEN_CONNECTIONS - openConnections);
+                int backgroundLimit = Math.min(MAX_OPEN_CONNECTIONS - openConnections,
+                        MAX_OPEN_BACKGROUND_CONNECTIONS - openBackgroundConnections);
+                int startedBackground = connectQueuedProbes(selector, queuedBackgroundProbes, backgroundLimit);
+                openConnections += startedBackground;
+                openBackgroundConnections += startedBackground;
+                if (openConnections == 0) {
+                    synchronized (this) {
+                        if (queuedProbes.isEmpty() && queuedBackgroundProbes.isEmpty()) {
+                            this.selector = null;
+                            return;
+                        }
+                    }
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    if (key.isValid()) {
+                        nextDeadline = Math.min(nextDeadline, ((TcpProbe) key.attachment()).deadlineNanos);
+                    }
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now)));
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    boolean success;
+                    try {
+                        success = ((SocketChannel) key.channel()).finishConnect();
+                    } catch (IOException e) {
+                        success = false;
+                    }
+                    openConnections--;
+                    if (((TcpProbe) key.attachment()).background) {
+                        openBackgroundConnections--;
+                    }
+                    close(key);
+                    complete((TcpProbe) key.attachment(), success);
+                }
+                selector.selectedKeys().clear();
+
+                now = System.nanoTime();
+                for (SelectionKey key : selector.keys()) {
+                    if (key.isValid() && ((TcpProbe) key.attachment()).deadlineNanos - now <= 0) {
+                        openConnections--;
+                        if (((TcpProbe) key.attachment()).background) {
+                            openBackgroundConnections--;
+                        }
+                        close(key);
+                        complete((TcpProbe) key.attachment(), false);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("TCP probe selector failed: {}", e.getMessage());
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid()) {
+                    close(key);
+                    complete((TcpProbe) key.attachment(), false);
+                }
+            }
+            synchronized (this) {
+                this.selector = null;
+                if (!queuedProbes.isEmpty() || !queuedBackgroundProbes.isEmpty()) {
+                    wakeup();
+                }
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Start the connection attempts of queued probes.
+     *
+     * @param queue The queued probes to start
+     * @param limit The maximum number of connection attempts to start
+     * @return The number of started connection attempts
+     */
+    private int connectQueuedProbes(Selector selector, Queue<TcpProbe> queue, int limit) {
+        int started = 0;
+        TcpProbe probe;
+        while (started < limit && (probe = queue.poll()) != null) {
+            probe.startNanos = System.nanoTime();
+            probe.deadlineNanos = probe.startNanos + TimeUnit.MILLISECONDS.toNanos(probe.timeoutInMS);
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    channel.close();
+                    complete(probe, true);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    started++;
+                }
+            } catch (IOException | RuntimeException e) {
+                // For example "network unreachable" or an unresolved address
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                complete(probe, false);
+            }
+        }
+        return started;
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void complete(TcpProbe probe, boolean success) {
+        double executionTimeInMS = (System.nanoTime() - probe.startNanos) / 1000000.0;
+        try {
+            probe.callback.accept(new PingResult(success, probe.startNanos == 0 ? 0 : executionTimeInMS));
+        } catch (RuntimeException e) {
+            logger.warn("TCP probe callback for {} failed", probe.address, e);
+        }
+    }
+}
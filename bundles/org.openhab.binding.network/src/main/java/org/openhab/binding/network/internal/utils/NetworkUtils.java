@@ -29,11 +29,18 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -54,6 +61,11 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    /**
+     * Time the arping processes get in addition to the ping timeout, e.g. for rounding it to seconds
+     */
+    private static final int ARP_PING_DEADLINE_MARGIN_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -321,22 +333,80 @@ public class NetworkUtils {
         if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL) {
             return Optional.empty();
         }
-        Process proc;
+        Process proc = startNativeARPPing(arpingTool, arpUtilPath, interfaceName, ipV4address, timeoutInMS);
+
+        // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
+        // network interface not ready.
+        return Optional.of(new PingResult(proc.waitFor() == 0, System.currentTimeMillis() - execStartTimeInMS));
+    }
+
+    /**
+     * Execute the arping tool on several interfaces at once to perform an ARP ping (only for IPv4 addresses).
+     * The arping tools only accept a single interface and target, therefore one process per interface is started and
+     * all of them are awaited together by the calling thread, at most until a shared deadline shortly after the
+     * timeout.
+     *
+     * @param arpUtilPath The arping absolute path including filename.
+     * @param interfaceNames The interface names, on linux for example "wlp58s0", shown by ifconfig.
+     * @param ipV4address The ipV4 address. Must not be null.
+     * @param timeoutInMS A timeout in milliseconds
+     * @return Ping result information, successful if the ARP ping was successful on any interface. Optional is empty
+     *         if no ping command was executed.
+     * @throws IOException The ping command could probably not be found
+     * @throws InterruptedException The calling thread was interrupted, the processes are stopped
+     */
+    public Optional<PingResult> nativeARPPing(@Nullable ArpPingUtilEnum arpingTool, @Nullable String arpUtilPath,
+            Set<String> interfaceNames, String ipV4address, int timeoutInMS) throws IOException, InterruptedException {
+        double execStartTimeInMS = System.currentTimeMillis();
+
+        if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL
+                || interfaceNames.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Process> processes = new ArrayList<>(interfaceNames.size());
+        try {
+            for (String interfaceName : interfaceNames) {
+                processes.add(startNativeARPPing(arpingTool, arpUtilPath, interfaceName, ipV4address, timeoutInMS));
+            }
+            // The processes are awaited together: the first successful one answers the ping, it fails as soon as all
+            // processes failed or the shared deadline passed.
+            CompletableFuture<Boolean> reachable = new CompletableFuture<>();
+            AtomicInteger running = new AtomicInteger(processes.size());
+            for (Process proc : processes) {
+                proc.onExit().thenAccept(exited -> {
+                    if (exited.exitValue() == 0) {
+                        reachable.complete(true);
+                    } else if (running.decrementAndGet() == 0) {
+                        reachable.complete(false);
+                    }
+                });
+            }
+            boolean success;
+            try {
+                success = reachable.get(timeoutInMS + ARP_PING_DEADLINE_MARGIN_MS, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                success = false;
+            }
+            return Optional.of(new PingResult(success, System.currentTimeMillis() - execStartTimeInMS));
+        } finally {
+            // The device answered on one interface or the calling thread was interrupted
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    private Process startNativeARPPing(ArpPingUtilEnum arpingTool, String arpUtilPath, String interfaceName,
+            String ipV4address, int timeoutInMS) throws IOException {
         if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT) {
-            proc = new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address).start();
         } else if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-C", "1", "-i",
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-C", "1", "-i",
                     interfaceName, ipV4address).start();
         } else if (arpingTool == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS), "-x", ipV4address).start();
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS), "-x", ipV4address).start();
         } else {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I",
+            return new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I",
                     interfaceName, ipV4address).start();
         }
-
-        // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
-        // network interface not ready.
-        return Optional.of(new PingResult(proc.waitFor() == 0, System.currentTimeMillis() - execStartTimeInMS));
     }
 
     /**
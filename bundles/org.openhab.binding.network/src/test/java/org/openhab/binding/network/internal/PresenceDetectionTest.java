@@ -19,10 +19,11 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -37,6 +38,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheHelper;
+import org.openhab.binding.network.internal.utils.NetworkProbeEngine;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -55,9 +57,10 @@ public class PresenceDetectionTest {
     private PresenceDetection subject;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
+    private @Mock NetworkProbeEngine probeEngine;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
+    private @Mock ScheduledExecutorService scheduler;
 
     @BeforeEach
     public void setUp() throws UnknownHostException {
@@ -68,6 +71,8 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.probeEngine = probeEngine;
+        subject.scheduler = scheduler;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -89,26 +94,38 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    @SuppressWarnings("unchecked")
+    private void executeProbesImmediately() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(probeEngine).execute(any(), anyBoolean());
+        doAnswer(invocation -> {
+            ((Consumer<PingResult>) invocation.getArgument(4)).accept(new PingResult(true, 10));
+            return null;
+        }).when(probeEngine).tcpProbe(any(InetAddress.class), anyInt(), anyInt(), anyBoolean(), any());
+    }
+
+    // Depending on the configured detection methods an according amount of checks is performed.
+    // We will check if they are counted and the detection finishes in time.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.detectionFinished);
 
-        doNothing().when(subject).performARPping(any());
+        doNothing().when(subject).performARPping(anySet());
         doNothing().when(subject).performJavaPing();
         doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doNothing().when(subject).performServicePing(anyInt(), any());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP (all interfaces) + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
     }
 
     @Test
@@ -116,16 +133,16 @@ public class PresenceDetectionTest {
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anySet(), any(), anyInt());
+        executeProbesImmediately();
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
 
         verify(subject, times(0)).performJavaPing();
         verify(subject).performSystemPing();
-        verify(subject).performARPping(any());
-        verify(subject).performServicePing(anyInt());
+        verify(subject).performARPping(anySet());
+        verify(subject).performServicePing(anyInt(), any());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -135,30 +152,31 @@ public class PresenceDetectionTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void cacheTest() throws InterruptedException, IOException {
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anySet(), any(), anyInt());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection probes now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(probeEngine, times(2)).execute(capture.capture(), eq(false));
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        ArgumentCaptor<Consumer<PingResult>> tcpCapture = ArgumentCaptor.forClass(Consumer.class);
+        verify(probeEngine).tcpProbe(any(InetAddress.class), eq(1010), anyInt(), eq(false), tcpCapture.capture());
+        tcpCapture.getValue().accept(new PingResult(true, 10));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -176,6 +194,52 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void detectionTimeoutFinishesDetection() {
+        // The probes never finish
+        subject.performPresenceDetection(false);
+        assertNotNull(subject.detectionFinished);
+        verify(listener, never()).finalDetectionResult(any());
+
+        ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timeout.capture(), eq(400L), eq(TimeUnit.MILLISECONDS));
+        timeout.getValue().run();
+
+        assertNull(subject.detectionFinished);
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).finalDetectionResult(capture.capture());
+        assertFalse(capture.getValue().isReachable());
+    }
+
+    @Test
+    public void detectionTimeoutDoesNotFinishLaterDetection() {
+        executeProbesImmediately();
+
+        assertTrue(subject.performPresenceDetection(false));
+        verify(listener).finalDetectionResult(any());
+        ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timeout.capture(), anyLong(), any());
+
+        // A new detection is started, the timeout of the finished one must not finish it
+        subject.cache.invalidateValue();
+        reset(probeEngine);
+        assertTrue(subject.performPresenceDetection(false));
+        timeout.getValue().run();
+
+        assertNotNull(subject.detectionFinished);
+        verify(listener).finalDetectionResult(any());
+    }
+
+    @Test
+    public void backgroundDetectionQueuesProbesAsBackground() {
+        subject.setBackground(true);
+
+        subject.performPresenceDetection(false);
+
+        verify(probeEngine, times(2)).execute(any(), eq(true));
+        verify(probeEngine).tcpProbe(any(InetAddress.class), eq(1010), anyInt(), eq(true), any());
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
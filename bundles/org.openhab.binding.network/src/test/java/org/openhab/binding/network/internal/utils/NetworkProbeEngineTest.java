@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link NetworkProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkProbeEngineTest {
+    private final NetworkProbeEngine engine = new NetworkProbeEngine();
+
+    @Test
+    public void tcpProbeToOpenPortSucceeds() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<PingResult> result = new CompletableFuture<>();
+            engine.tcpProbe(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 2000, false, result::complete);
+
+            assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    public void tcpProbeToClosedPortFails() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        CompletableFuture<PingResult> result = new CompletableFuture<>();
+        engine.tcpProbe(InetAddress.getLoopbackAddress(), port, 2000, false, result::complete);
+
+        assertFalse(result.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void manyConcurrentTcpProbesComplete() throws IOException, InterruptedException {
+        final int probes = 600;
+        try (ServerSocket serverSocket = new ServerSocket(0, probes, InetAddress.getLoopbackAddress())) {
+            CountDownLatch finished = new CountDownLatch(probes);
+            AtomicInteger successful = new AtomicInteger();
+            for (int i = 0; i < probes; i++) {
+                engine.tcpProbe(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 2000, i % 2 == 0,
+                        result -> {
+                            if (result.isSuccess()) {
+                                successful.incrementAndGet();
+                            }
+                            finished.countDown();
+                        });
+            }
+
+            assertTrue(finished.await(30, TimeUnit.SECONDS));
+            assertThat(successful.get(), is(probes));
+        }
+    }
+
+    @Test
+    public void executeRunsOnSharedPool() throws Exception {
+        CompletableFuture<String> threadName = new CompletableFuture<>();
+        engine.execute(() -> threadName.complete(Thread.currentThread().getName()), false);
+
+        assertTrue(threadName.get(5, TimeUnit.SECONDS).contains("network-probe"));
+    }
+
+    @Test
+    public void queuedProbesOfThingsRunBeforeBackgroundProbes() throws Exception {
+        NetworkProbeEngine singleThreadEngine = new NetworkProbeEngine(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(4);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        singleThreadEngine.execute(() -> {
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        }, false);
+        singleThreadEngine.execute(() -> {
+            order.add("background1");
+            finished.countDown();
+        }, true);
+        singleThreadEngine.execute(() -> {
+            order.add("background2");
+            finished.countDown();
+        }, true);
+        singleThreadEngine.execute(() -> {
+            order.add("thing");
+            finished.countDown();
+        }, false);
+        blocked.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertThat(order, is(List.of("thing", "background1", "background2")));
+    }
+}
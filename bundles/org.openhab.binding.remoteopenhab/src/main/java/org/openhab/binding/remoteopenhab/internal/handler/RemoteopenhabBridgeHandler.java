@@ -22,7 +22,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -112,6 +115,10 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
     private RemoteopenhabRestClient restClient;
 
     private Map<ChannelUID, State> channelsLastStates = new HashMap<>();
+    private final Set<String> linkedItemNames = ConcurrentHashMap.newKeySet();
+
+    private long lastStatisticsTimestamp;
+    private long lastStatisticsEventsReceived;
 
     public RemoteopenhabBridgeHandler(Bridge bridge, HttpClient httpClient, HttpClient httpClientTrustingCert,
             ClientBuilder clientBuilder, SseEventSourceFactory eventSourceFactory,
@@ -186,6 +193,28 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         stopStreamingUpdates();
         stopCheckConnectionJob();
         channelsLastStates.clear();
+        linkedItemNames.clear();
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        linkedItemNames.add(channelUID.getId());
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        if (!isLinked(channelUID)) {
+            linkedItemNames.remove(channelUID.getId());
+        }
+        super.channelUnlinked(channelUID);
+    }
+
+    private void refreshLinkedItemNames() {
+        Set<String> names = getThing().getChannels().stream().map(Channel::getUID).filter(this::isLinked)
+                .map(ChannelUID::getId).collect(Collectors.toSet());
+        linkedItemNames.retainAll(names);
+        linkedItemNames.addAll(names);
     }
 
     @Override
@@ -299,6 +328,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
                                 getThing().getUID(), items.size());
                     }
                 }
+                refreshLinkedItemNames();
                 return true;
             } catch (IllegalArgumentException e) {
                 logger.warn("An error occurred while creating the channels for the server {}: {}", getThing().getUID(),
@@ -323,6 +353,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
                 updateThing(thingBuilder.build());
                 logger.debug("{} channels removed for the thing {} (from {} items)", nbRemoved, getThing().getUID(),
                         items.size());
+                refreshLinkedItemNames();
             }
         }
     }
@@ -379,6 +410,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         ScheduledFuture<?> localCheckConnectionJob = checkConnectionJob;
         if (localCheckConnectionJob == null || localCheckConnectionJob.isCancelled()) {
             checkConnectionJob = scheduler.scheduleWithFixedDelay(() -> {
+                logEventStatistics();
                 long millisSinceLastEvent = System.currentTimeMillis() - restClient.getLastEventTimestamp();
                 if (aliveInterval == 0 || restClient.getLastEventTimestamp() == 0) {
                     logger.debug("Time to check server accessibility");
@@ -397,6 +429,21 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         }
     }
 
+    private void logEventStatistics() {
+        long now = System.currentTimeMillis();
+        long eventsReceived = restClient.getEventsReceived();
+        String eventsPerSecond = "";
+        if (lastStatisticsTimestamp > 0 && now > lastStatisticsTimestamp) {
+            eventsPerSecond = String.format(Locale.ROOT, "%.2f",
+                    (eventsReceived - lastStatisticsEventsReceived) * 1000.0 / (now - lastStatisticsTimestamp));
+        }
+        lastStatisticsTimestamp = now;
+        lastStatisticsEventsReceived = eventsReceived;
+        logger.debug("Events from {}: {} received ({} events/s), {} dropped for unknown items, {} coalesced",
+                getThing().getUID(), eventsReceived, eventsPerSecond, restClient.getEventsDroppedUnknownItem(),
+                restClient.getEventsCoalesced());
+    }
+
     private void stopCheckConnectionJob() {
         ScheduledFuture<?> localCheckConnectionJob = checkConnectionJob;
         if (localCheckConnectionJob != null) {
@@ -442,6 +489,11 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, message);
     }
 
+    @Override
+    public boolean acceptsItemState(String itemName) {
+        return linkedItemNames.contains(itemName);
+    }
+
     @Override
     public void onItemStateEvent(String itemName, String stateType, String state, boolean onlyIfStateChanged) {
         updateChannelState(itemName, stateType, state, onlyIfStateChanged);
@@ -24,6 +24,12 @@ import org.openhab.binding.remoteopenhab.internal.rest.RemoteopenhabRestClient;
 @NonNullByDefault
 public interface RemoteopenhabItemsDataListener {
 
+    /**
+     * Check whether state events of an item are of interest for the listener. State events of items not accepted by
+     * any listener are dropped without parsing their payload.
+     */
+    boolean acceptsItemState(String itemName);
+
     /**
      * A new ItemStateEvent was published.
      */
@@ -13,15 +13,19 @@
 package org.openhab.binding.remoteopenhab.internal.rest;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSession;
@@ -59,10 +63,16 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * A client to use the openHAB REST API and to receive/parse events received from the openHAB REST API Server-Sent
  * Events (SSE).
+ * <p>
+ * The SSE subscription is limited to the event types handled by the binding. Events are parsed in a single pass with a
+ * streaming reader, item state events for items not accepted by any items listener are dropped before their payload is
+ * parsed and an ItemStateChangedEvent repeating the preceding ItemStateEvent of the same item is dropped.
  *
  * @author Laurent Garnier - Initial contribution
  */
@@ -94,6 +104,11 @@ public class RemoteopenhabRestClient {
     private @Nullable SseEventSource eventSource;
     private long lastEventTimestamp;
 
+    private final Map<String, String> lastItemStates = new ConcurrentHashMap<>();
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong eventsDroppedUnknownItem = new AtomicLong();
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+
     public RemoteopenhabRestClient(final HttpClient httpClient, final ClientBuilder clientBuilder,
             final SseEventSourceFactory eventSourceFactory, final Gson jsonParser) {
         this.httpClient = httpClient;
@@ -243,6 +258,7 @@ public class RemoteopenhabRestClient {
             closeEventSource(0, TimeUnit.SECONDS);
             logger.debug("EventSource stopped");
             lastEventTimestamp = 0;
+            lastItemStates.clear();
         }
     }
 
@@ -272,8 +288,13 @@ public class RemoteopenhabRestClient {
 
         String url;
         try {
-            url = String.format("%s?topics=%s/items/*/*,%s/things/*/*,%s/channels/*/triggered", getRestApiUrl("events"),
-                    getTopicNamespace(), getTopicNamespace(), getTopicNamespace());
+            // only subscribe to the events handled by the binding
+            String ns = getTopicNamespace();
+            url = String.format(
+                    "%s?topics=%s/items/*/state,%s/items/*/statechanged,%s/items/*/*/statechanged,%s/items/*/added,"
+                            + "%s/items/*/removed,%s/items/*/updated,%s/things/*/added,%s/things/*/removed,"
+                            + "%s/things/*/statuschanged,%s/channels/*/triggered",
+                    getRestApiUrl("events"), ns, ns, ns, ns, ns, ns, ns, ns, ns, ns);
         } catch (RemoteopenhabException e) {
             logger.debug("{}", e.getMessage());
             return;
@@ -331,12 +352,34 @@ public class RemoteopenhabRestClient {
         return lastEventTimestamp;
     }
 
+    /**
+     * @return the number of events received since the creation of the client
+     */
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    /**
+     * @return the number of item state events dropped because no listener accepts the item
+     */
+    public long getEventsDroppedUnknownItem() {
+        return eventsDroppedUnknownItem.get();
+    }
+
+    /**
+     * @return the number of ItemStateChangedEvents dropped because they repeated the preceding ItemStateEvent
+     */
+    public long getEventsCoalesced() {
+        return eventsCoalesced.get();
+    }
+
     private void onEvent(InboundSseEvent inboundEvent) {
         String name = inboundEvent.getName();
         String data = inboundEvent.readData();
         logger.trace("Received event name {} date {}", name, data);
 
         lastEventTimestamp = System.currentTimeMillis();
+        eventsReceived.incrementAndGet();
         if (!connected) {
             logger.debug("Connected to streaming events");
             connected = true;
@@ -349,30 +392,23 @@ public class RemoteopenhabRestClient {
         }
 
         try {
-            RemoteopenhabEvent event = jsonParser.fromJson(data, RemoteopenhabEvent.class);
+            RemoteopenhabEvent event = parseEvent(data);
             String itemName;
             String thingUID;
-            RemoteopenhabEventPayload payload;
             RemoteopenhabItem item;
             RemoteopenhabThing thing;
             switch (event.type) {
                 case "ItemStateEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "state");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
-                    itemsListeners.forEach(
-                            listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, false));
+                    dispatchItemState(itemName, event.payload, false);
                     break;
                 case "ItemStateChangedEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "statechanged");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
-                    itemsListeners.forEach(
-                            listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, true));
+                    dispatchItemState(itemName, event.payload, true);
                     break;
                 case "GroupItemStateChangedEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "statechanged");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
-                    itemsListeners.forEach(
-                            listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, false));
+                    dispatchItemState(itemName, event.payload, false);
                     break;
                 case "ItemAddedEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "added");
@@ -429,12 +465,87 @@ public class RemoteopenhabRestClient {
                     logger.debug("Unexpected event type {} for topic {}", event.type, event.topic);
                     break;
             }
-        } catch (RemoteopenhabException | JsonSyntaxException e) {
+        } catch (RemoteopenhabException | JsonSyntaxException | IOException | IllegalStateException e) {
             logger.debug("An exception occurred while processing the inbound '{}' event containg data: {}", name, data,
                     e);
         }
     }
 
+    private void dispatchItemState(String itemName, String jsonPayload, boolean onlyIfStateChanged)
+            throws IOException {
+        if (!itemsListeners.stream().anyMatch(listener -> listener.acceptsItemState(itemName))) {
+            eventsDroppedUnknownItem.incrementAndGet();
+            return;
+        }
+        RemoteopenhabEventPayload payload = parseStatePayload(jsonPayload);
+        String state = payload.type + ":" + payload.value;
+        if (onlyIfStateChanged) {
+            // an ItemStateChangedEvent follows the ItemStateEvent that caused the change
+            if (state.equals(lastItemStates.get(itemName))) {
+                eventsCoalesced.incrementAndGet();
+                return;
+            }
+        }
+        lastItemStates.put(itemName, state);
+        itemsListeners.forEach(
+                listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, onlyIfStateChanged));
+    }
+
+    private static RemoteopenhabEvent parseEvent(String json) throws IOException {
+        RemoteopenhabEvent event = new RemoteopenhabEvent();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "type":
+                        event.type = nextString(reader);
+                        break;
+                    case "topic":
+                        event.topic = nextString(reader);
+                        break;
+                    case "payload":
+                        event.payload = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+        return event;
+    }
+
+    private static RemoteopenhabEventPayload parseStatePayload(String json) throws IOException {
+        RemoteopenhabEventPayload payload = new RemoteopenhabEventPayload();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "type":
+                        payload.type = nextString(reader);
+                        break;
+                    case "value":
+                        payload.value = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+        return payload;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return "";
+        }
+        return reader.nextString();
+    }
+
     private void onError(Throwable error) {
         logger.debug("Error occurred while receiving events", error);
         listeners.forEach(listener -> listener.onError("Error occurred while receiving events"));
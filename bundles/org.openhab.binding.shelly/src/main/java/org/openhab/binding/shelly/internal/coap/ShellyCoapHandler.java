@@ -16,12 +16,16 @@ import static org.openhab.binding.shelly.internal.ShellyBindingConstants.*;
 import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.*;
 import static org.openhab.binding.shelly.internal.util.ShellyUtils.*;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.californium.core.CoapClient;
 import org.eclipse.californium.core.coap.CoAP.Code;
@@ -41,7 +45,6 @@ import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensorTypeAdapter;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
@@ -55,6 +58,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
 
 /**
  * The {@link ShellyCoapHandler} handles the CoIoT/CoAP registration and events.
@@ -64,6 +68,8 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class ShellyCoapHandler implements ShellyCoapListener {
     private static final byte[] EMPTY_BYTE = new byte[0];
+    private static final CoIotSensorTypeAdapter SENSOR_LIST_ADAPTER = new CoIotSensorTypeAdapter();
+    private static final long PACKET_STATISTICS_INTERVAL_MS = 60000;
 
     private final Logger logger = LoggerFactory.getLogger(ShellyCoapHandler.class);
     private final ShellyBaseHandler thingHandler;
@@ -86,6 +92,12 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    // Sensor id -> fixed sensor definition linked to an existing block, built from the device description
+    private Map<String, CoIotDescrSen> sensorTable = new HashMap<>();
+
+    private final AtomicLong packetsReceived = new AtomicLong();
+    private final AtomicLong packetsDuplicate = new AtomicLong();
+    private final AtomicLong packetStatisticsTimestamp = new AtomicLong(System.currentTimeMillis());
     private ShellyDeviceProfile profile;
 
     public ShellyCoapHandler(ShellyBaseHandler thingHandler, ShellyCoapServer coapServer) {
@@ -96,7 +108,6 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         this.coiot = new ShellyCoIoTVersion2(thingName, thingHandler, blkMap, sensorMap); // Default: V2
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
     }
 
@@ -118,7 +129,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
 
             logger.debug("{}: Starting CoAP Listener", thingName);
-            coapServer.start(config.localIp, this);
+            coapServer.start(config.localIp, config.deviceIp, this);
             statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                     .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             @Nullable
@@ -154,10 +165,9 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         if (response == null) {
             return; // other device instance
         }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
-            return;
-        }
+        // the server only passes the packets sent by the resolved device address, so the configured address may be a
+        // host name
+        logPacketStatistics();
 
         String payload = "";
         String devId = "";
@@ -170,6 +180,9 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
             if (response.isCanceled() || response.isDuplicate() || response.isRejected()) {
                 logger.debug("{} ({}): Packet was canceled, rejected or is a duplicate -> discard", thingName, devId);
+                if (response.isDuplicate()) {
+                    packetsDuplicate.incrementAndGet();
+                }
                 return;
             }
 
@@ -230,16 +243,15 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 if ((serial == lastSerial) && payload.equals(lastPayload) && (!profile.hasBattery
                         || coiot.getLastWakeup().equalsIgnoreCase("ext_power") || ((serial & 0xFF) != 0))) {
                     logger.debug("{}: Serial {} was already processed, ignore update", thingName, serial);
+                    packetsDuplicate.incrementAndGet();
                     return;
                 }
 
-                // fixed malformed JSON :-(
-                payload = fixJSON(payload);
-
                 try {
                     if (uri.equalsIgnoreCase(COLOIT_URI_DEVDESC)
                             || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK))) {
-                        handleDeviceDescription(devId, payload);
+                        // fixed malformed JSON :-(
+                        handleDeviceDescription(devId, fixJSON(payload));
                     } else if (uri.equalsIgnoreCase(COLOIT_URI_DEVSTATUS)
                             || (uri.isEmpty() && payload.contains(COIOT_TAG_GENERIC))) {
                         handleStatusUpdate(devId, payload, serial);
@@ -313,6 +325,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 }
             }
             coiot.completeMissingSensorDefinition(sensorMap);
+            compileSensorTable();
 
             if (!valid) {
                 logger.debug(
@@ -363,6 +376,42 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         return true;
     }
 
+    /**
+     * Build the table used to decode status updates: the sensor definitions are fixed once and only sensors linked to
+     * a known block are included.
+     */
+    private synchronized void compileSensorTable() {
+        Map<String, CoIotDescrSen> table = new HashMap<>();
+        for (CoIotDescrSen sen : sensorMap.values()) {
+            try {
+                CoIotDescrSen fixed = coiot.fixDescription(sen, blkMap);
+                if (blkMap.containsKey(fixed.links)) {
+                    table.put(fixed.id, fixed);
+                } else {
+                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}", thingName, fixed.links, fixed.id);
+                }
+            } catch (NullPointerException | IllegalArgumentException e) {
+                logger.debug("{}: Unable to decode sensor definition for id={} -> skip", thingName, sen.id, e);
+            }
+        }
+        sensorTable = table;
+    }
+
+    /**
+     * Count received packets and log the packet rates once a minute
+     */
+    private void logPacketStatistics() {
+        packetsReceived.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long timestamp = packetStatisticsTimestamp.get();
+        long elapsed = now - timestamp;
+        if ((elapsed >= PACKET_STATISTICS_INTERVAL_MS) && packetStatisticsTimestamp.compareAndSet(timestamp, now)) {
+            logger.debug("{}: {} CoIoT packets per minute, {} duplicates per minute", thingName,
+                    packetsReceived.getAndSet(0) * PACKET_STATISTICS_INTERVAL_MS / elapsed,
+                    packetsDuplicate.getAndSet(0) * PACKET_STATISTICS_INTERVAL_MS / elapsed);
+        }
+    }
+
     /**
      * Process CoIoT status update message. If a status update is received, but the device description has not been
      * received yet a GET is send to query device description.
@@ -393,14 +442,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
-        }
-
-        List<CoIotSensor> sensorUpdates = list.generic;
+        List<CoIotSensor> sensorUpdates = decodeSensorUpdates(payload);
         Map<String, State> updates = new TreeMap<String, State>();
         logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
         int failed = 0;
@@ -408,23 +450,14 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         for (int i = 0; i < sensorUpdates.size(); i++) {
             try {
                 CoIotSensor s = sensorUpdates.get(i);
-                CoIotDescrSen sen = sensorMap.get(s.id);
+                CoIotDescrSen sen = sensorTable.get(s.id);
                 if (sen == null) {
                     logger.debug("{}: Unable to sensor definition for id={}, payload={}", thingName, s.id, payload);
                     continue;
                 }
-                // find matching sensor definition from device description, use the Link ID as index
-                CoIotDescrBlk element = null;
-                sen = coiot.fixDescription(sen, blkMap);
-                element = blkMap.get(sen.links);
-                if (element == null) {
-                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}, payload={}", thingName, sen.links,
-                            sen.id, payload);
-                    continue;
-                }
-                logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})", thingName,
-                        i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
-                        sen.links, element.desc);
+                logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={})", thingName, i,
+                        s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
+                        sen.links);
 
                 if (!coiot.handleStatusUpdate(sensorUpdates, sen, serial, s, updates, col)) {
                     logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}", thingName,
@@ -510,6 +543,24 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         reqDescription = sendRequest(reqDescription, config.deviceIp, COLOIT_URI_DEVDESC, Type.CON);
     }
 
+    /**
+     * Decode the sensor values of a status update, example: {"G":[[0,112,0],[0,111,"text"]]}. The list is read with
+     * the {@link CoIotSensorTypeAdapter} directly, without creating a JSON tree or using reflection.
+     *
+     * @param payload status update payload
+     * @return list of sensor values
+     * @throws ShellyApiException if the payload has an invalid format
+     */
+    static List<CoIotSensor> decodeSensorUpdates(String payload) throws ShellyApiException {
+        // fixed malformed JSON :-(
+        try (JsonReader reader = new JsonReader(new StringReader(fixJSON(payload)))) {
+            reader.setLenient(true);
+            return SENSOR_LIST_ADAPTER.read(reader).generic;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new ShellyApiException("Sensor list has invalid format: " + payload, e);
+        }
+    }
+
     /**
      * Fix malformed JSON - stupid, but the devices sometimes return malformed JSON with then causes a
      * JsonSyntaxException
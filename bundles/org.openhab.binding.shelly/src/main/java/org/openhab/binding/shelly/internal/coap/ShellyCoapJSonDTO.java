@@ -270,8 +270,11 @@ public class ShellyCoapJSonDTO {
             CoIotGenericSensorList list = new CoIotGenericSensorList();
 
             in.beginObject();
-            String generic = in.nextName();
-            if (generic.equals(COIOT_TAG_GENERIC)) {
+            while (in.hasNext()) {
+                if (!in.nextName().equals(COIOT_TAG_GENERIC)) {
+                    in.skipValue();
+                    continue;
+                }
                 in.beginArray();
                 while (in.hasNext()) {
                     CoIotSensor sensor = new CoIotSensor();
@@ -295,13 +298,23 @@ public class ShellyCoapJSonDTO {
                                 sensor.valueArray.add(in.nextString());
                             } else {
                                 // skip
-                                in.nextNull();
+                                in.skipValue();
                             }
                         }
                         in.endArray();
+                    } else {
+                        // e.g. null, the sensor has no value
+                        in.skipValue();
+                        sensor = null;
+                    }
+                    // skip additional elements
+                    while (in.hasNext()) {
+                        in.skipValue();
                     }
                     in.endArray();
-                    list.generic.add(sensor);
+                    if (sensor != null) {
+                        list.generic.add(sensor);
+                    }
                 }
                 in.endArray();
             }
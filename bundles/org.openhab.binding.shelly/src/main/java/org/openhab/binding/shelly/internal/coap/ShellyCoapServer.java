@@ -18,6 +18,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -51,6 +52,8 @@ public class ShellyCoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private final CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);;
     private final Set<ShellyCoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    // Index to route a packet to the listener of the sending device (device IP address -> listener)
+    private final Map<String, ShellyCoapListener> deviceListeners = new ConcurrentHashMap<>();
 
     protected class ShellyStatusListener extends CoapResource {
         private ShellyCoapServer listener;
@@ -77,8 +80,16 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, ShellyCoapListener listener)
+    /**
+     * Start the server (if not yet started) and register a listener for the packets of a device
+     *
+     * @param localIp IP address of the local interface to listen on
+     * @param deviceIp IP address or host name of the device, packets from this address are routed to the listener
+     * @param listener the listener for the packets of the device
+     */
+    public synchronized void start(String localIp, String deviceIp, ShellyCoapListener listener)
             throws UnknownHostException, SocketException {
+        String deviceAddress = normalizeAddress(deviceIp);
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, COIOT_PORT);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -96,13 +107,46 @@ public class ShellyCoapServer {
             started = true;
         }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+        addListener(deviceAddress, listener);
+    }
+
+    /**
+     * The packets are routed by the numeric address of the sender, resolve host names and remove blanks or leading
+     * zeros of the configured address.
+     *
+     * @param deviceIp IP address or host name of the device
+     * @return the numeric IP address
+     */
+    static String normalizeAddress(String deviceIp) throws UnknownHostException {
+        return InetAddress.getByName(deviceIp.trim()).getHostAddress();
+    }
+
+    void addListener(String deviceIp, ShellyCoapListener listener) {
+        coapListeners.add(listener);
+        ShellyCoapListener previous = deviceListeners.put(deviceIp, listener);
+        if ((previous != null) && (previous != listener)) {
+            logger.debug("CoIoT listener for device {} replaced", deviceIp);
         }
     }
 
+    private void removeListener(ShellyCoapListener listener) {
+        coapListeners.remove(listener);
+        deviceListeners.values().removeIf(l -> l == listener);
+    }
+
+    /**
+     * Route a received packet to the listener of the sending device. Packets of devices without a thing are dropped.
+     *
+     * @param response the received packet
+     */
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetAddress peer = response.getSourceContext().getPeerAddress().getAddress();
+        ShellyCoapListener listener = peer != null ? deviceListeners.get(peer.getHostAddress()) : null;
+        if (listener == null) {
+            logger.trace("CoIoT packet from {} discarded, no thing is listening for this device", peer);
+            return;
+        }
+        listener.processResponse(response);
     }
 
     public static Response createResponse(Request request) {
@@ -124,7 +168,7 @@ public class ShellyCoapServer {
      * Cancel pending requests and shutdown the client
      */
     public void stop(ShellyCoapListener listener) {
-        coapListeners.remove(listener);
+        removeListener(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -136,6 +180,7 @@ public class ShellyCoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            deviceListeners.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
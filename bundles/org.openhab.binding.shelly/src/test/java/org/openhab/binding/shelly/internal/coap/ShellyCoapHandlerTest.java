@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+
+/**
+ * Tests the decoding of CoIoT status updates by the {@link ShellyCoapHandler}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoapHandlerTest {
+
+    @Test
+    public void decodesNumbersStringsAndArrays() throws ShellyApiException {
+        // Shelly Button 1
+        List<CoIotSensor> sensors = ShellyCoapHandler.decodeSensorUpdates(
+                "{\"G\":[[0,2102,\"S\"],[0,2103,12],[0,3115,0],[0,3111,98.5],[0,9102,[\"button\",\"usb\"]]]}");
+
+        assertEquals(5, sensors.size());
+        assertEquals("2102", sensors.get(0).id);
+        assertEquals("S", sensors.get(0).valueStr);
+        assertEquals(-1, sensors.get(0).value);
+        assertEquals("2103", sensors.get(1).id);
+        assertEquals(12, sensors.get(1).value);
+        assertEquals("", sensors.get(1).valueStr);
+        assertEquals(98.5, sensors.get(3).value);
+        assertEquals(List.of("button", "usb"), sensors.get(4).valueArray);
+    }
+
+    @Test
+    public void unescapesStrings() throws ShellyApiException {
+        List<CoIotSensor> sensors = ShellyCoapHandler
+                .decodeSensorUpdates("{\"G\":[[0,9101,\"Living \\\"room\\\", \\u00e4\"],[0,9102,[\"a\\\\b\"]]]}");
+
+        assertEquals(2, sensors.size());
+        assertEquals("Living \"room\", \u00e4", sensors.get(0).valueStr);
+        assertEquals(List.of("a\\b"), sensors.get(1).valueArray);
+    }
+
+    @Test
+    public void repairsMissingSeparators() throws ShellyApiException {
+        // Some firmware releases send entries without or with duplicate separators
+        List<CoIotSensor> sensors = ShellyCoapHandler
+                .decodeSensorUpdates("{\"G\":[[0,111,0.0][0,112,1],,[0,118,-1]]}");
+
+        assertEquals(3, sensors.size());
+        assertEquals("111", sensors.get(0).id);
+        assertEquals("112", sensors.get(1).id);
+        assertEquals(1, sensors.get(1).value);
+        assertEquals("118", sensors.get(2).id);
+        assertEquals(-1, sensors.get(2).value);
+    }
+
+    @Test
+    public void skipsUnknownValues() throws ShellyApiException {
+        List<CoIotSensor> sensors = ShellyCoapHandler
+                .decodeSensorUpdates("{\"x\":{\"y\":[1]},\"G\":[[0,111,null],[0,112,1,\"extra\"],[0,113,[1,\"a\"]]]}");
+
+        assertEquals(2, sensors.size());
+        assertEquals("112", sensors.get(0).id);
+        assertEquals(1, sensors.get(0).value);
+        assertEquals(List.of("a"), sensors.get(1).valueArray);
+    }
+
+    @Test
+    public void rejectsMalformedPayloads() {
+        assertThrows(ShellyApiException.class,
+                () -> ShellyCoapHandler.decodeSensorUpdates("{\"G\":[[0,111,0.0],[0,112"));
+        assertThrows(ShellyApiException.class,
+                () -> ShellyCoapHandler.decodeSensorUpdates("{\"G\":[[0,111,\"unterminated]]}"));
+        assertThrows(ShellyApiException.class,
+                () -> ShellyCoapHandler.decodeSensorUpdates("{\"G\":[[0,\"id\",1]]}"));
+        assertThrows(ShellyApiException.class, () -> ShellyCoapHandler.decodeSensorUpdates("[[0,111,1]]"));
+        assertThrows(ShellyApiException.class, () -> ShellyCoapHandler.decodeSensorUpdates(""));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_PORT;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ShellyCoapServer}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoapServerTest {
+
+    @Test
+    public void normalizesDeviceAddress() throws UnknownHostException {
+        assertEquals("192.168.1.5", ShellyCoapServer.normalizeAddress("192.168.1.5"));
+        assertEquals("192.168.1.5", ShellyCoapServer.normalizeAddress(" 192.168.1.5 "));
+        assertEquals("192.168.1.5", ShellyCoapServer.normalizeAddress("192.168.001.005"));
+    }
+
+    private static Response packetFrom(String address) throws UnknownHostException {
+        Response response = new Response(ResponseCode.CONTENT);
+        response.setSourceContext(
+                new AddressEndpointContext(new InetSocketAddress(InetAddress.getByName(address), COIOT_PORT)));
+        return response;
+    }
+
+    @Test
+    public void packetsAreRoutedToTheListenerOfTheSendingDevice() throws UnknownHostException {
+        ShellyCoapServer server = new ShellyCoapServer();
+        ShellyCoapListener first = mock(ShellyCoapListener.class);
+        ShellyCoapListener second = mock(ShellyCoapListener.class);
+        server.addListener(ShellyCoapServer.normalizeAddress("192.168.1.5"), first);
+        server.addListener(ShellyCoapServer.normalizeAddress("192.168.001.006"), second);
+
+        Response response = packetFrom("192.168.1.5");
+        server.processResponse(response);
+        verify(first).processResponse(response);
+        verify(second, never()).processResponse(any());
+
+        response = packetFrom("192.168.1.6");
+        server.processResponse(response);
+        verify(second).processResponse(response);
+        verifyNoMoreInteractions(first, second);
+    }
+
+    @Test
+    public void packetsOfUnknownDevicesAreDropped() throws UnknownHostException {
+        ShellyCoapServer server = new ShellyCoapServer();
+        ShellyCoapListener listener = mock(ShellyCoapListener.class);
+        server.addListener(ShellyCoapServer.normalizeAddress("192.168.1.5"), listener);
+
+        server.processResponse(packetFrom("192.168.1.7"));
+        verifyNoInteractions(listener);
+
+        // no packets are routed to a stopped listener
+        server.stop(listener);
+        server.processResponse(packetFrom("192.168.1.5"));
+        verifyNoInteractions(listener);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -181,6 +182,16 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<>());
 
+    /**
+     * The last LastChange event per service, used to skip the parsing of repeated events
+     */
+    private final Map<String, String> lastChangeEvents = new ConcurrentHashMap<>();
+
+    /**
+     * The parsed meta data per state variable, so that the DIDL-Lite documents are only parsed again after a change
+     */
+    private final Map<String, ParsedMetaData> metaDataCache = new ConcurrentHashMap<>();
+
     private @Nullable ScheduledFuture<?> pollingJob;
     private @Nullable SonosZonePlayerState savedState;
 
@@ -193,6 +204,16 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private @Nullable List<SonosMusicService> musicServices;
 
+    private static class ParsedMetaData {
+        private final String xml;
+        private final SonosMetaData metaData;
+
+        private ParsedMetaData(String xml, SonosMetaData metaData) {
+            this.xml = xml;
+            this.metaData = metaData;
+        }
+    }
+
     private enum LineInType {
         ANALOG,
         DIGITAL,
@@ -221,6 +242,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         removeSubscription();
         service.unregisterParticipant(this);
+
+        lastChangeEvents.clear();
+        metaDataCache.clear();
     }
 
     @Override
@@ -475,7 +499,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     new Object[] { variable, value, service, this.getThing().getUID() });
 
             String oldValue = this.stateMap.get(variable);
-            if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
+            if (shouldIgnoreVariableUpdate(variable, value, oldValue)
+                    || isRepeatedLastChange(variable, value, service)) {
                 return;
             }
 
@@ -1030,6 +1055,22 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return !hasValueChanged(value, oldValue) && !isQueueEvent(variable);
     }
 
+    /**
+     * The AVTransport and RenderingControl services event their state variables as sub values within a LastChange
+     * state variable. Parsing a repeated event again would only produce unchanged values.
+     */
+    private boolean isRepeatedLastChange(String variable, String value, String service) {
+        if ("LastChange".equals(variable)
+                && (SERVICE_AV_TRANSPORT.equals(service) || SERVICE_RENDERING_CONTROL.equals(service))) {
+            if (value.equals(lastChangeEvents.put(service, value))) {
+                logger.trace("Ignoring repeated LastChange event of service '{}' for thing '{}'", service,
+                        getThing().getUID());
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean hasValueChanged(@Nullable String value, @Nullable String oldValue) {
         return oldValue != null ? !oldValue.equals(value) : value != null;
     }
@@ -1096,6 +1137,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             logger.debug("{}: Subscription to service {} {}", getUDN(), service, succeeded ? "succeeded" : "failed");
             subscriptionState.put(service, succeeded);
         }
+        // The initial event of a new subscription has to be processed completely
+        lastChangeEvents.remove(service);
     }
 
     private Map<String, String> executeAction(String serviceId, String actionId, @Nullable Map<String, String> inputs) {
@@ -1380,18 +1423,28 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public @Nullable SonosMetaData getCurrentURIMetadata() {
-        String metaData = getCurrentURIMetadataAsString();
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentURIMetaData");
     }
 
     public @Nullable SonosMetaData getTrackMetadata() {
-        String metaData = stateMap.get("CurrentTrackMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentTrackMetaData");
     }
 
     public @Nullable SonosMetaData getEnqueuedTransportURIMetaData() {
-        String metaData = stateMap.get("EnqueuedTransportURIMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("EnqueuedTransportURIMetaData");
+    }
+
+    private @Nullable SonosMetaData getMetaData(String variable) {
+        String metaData = stateMap.get(variable);
+        if (metaData == null || metaData.isEmpty()) {
+            return null;
+        }
+        ParsedMetaData parsed = metaDataCache.get(variable);
+        if (parsed == null || !parsed.xml.equals(metaData)) {
+            parsed = new ParsedMetaData(metaData, SonosXMLParser.getMetaDataFromXML(metaData));
+            metaDataCache.put(variable, parsed);
+        }
+        return parsed.metaData;
     }
 
     public @Nullable String getMACAddress() {
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link SonosXMLParser} with captured UPnP event payloads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SonosXMLParserTest {
+
+    private static final String TRACK_METADATA = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"-1\" parentID=\"-1\" restricted=\"true\">"
+            + "<res protocolInfo=\"x-file-cifs:*:audio/x-ms-wma:*\" duration=\"0:03:02\">"
+            + "x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Broken%20Box.wma</res>"
+            + "<r:streamContent></r:streamContent><dc:title>Broken Box</dc:title>"
+            + "<upnp:class>object.item.audioItem.musicTrack</upnp:class>"
+            + "<dc:creator>Queens Of The Stone Age</dc:creator><upnp:album>Lullabies To Paralyze</upnp:album>"
+            + "<r:albumArtist>Queens Of The Stone Age</r:albumArtist></item></DIDL-Lite>";
+
+    private static final String AV_TRANSPORT_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/AVT/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\"><InstanceID val=\"0\">"
+            + "<TransportState val=\"PLAYING\"/><CurrentPlayMode val=\"NORMAL\"/><NumberOfTracks val=\"29\"/>"
+            + "<CurrentTrack val=\"12\"/><CurrentSection val=\"0\"/>"
+            + "<CurrentTrackURI val=\"x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Broken%20Box.wma\"/>"
+            + "<CurrentTrackDuration val=\"0:03:02\"/><CurrentTrackMetaData val=\"" + escape(TRACK_METADATA)
+            + "\"/><r:NextTrackMetaData val=\"" + escape(TRACK_METADATA) + "\"/>"
+            + "<PlaybackStorageMedium val=\"NETWORK\"/>"
+            + "<AVTransportURI val=\"x-rincon-queue:RINCON_000E5812BC1801400#0\"/><AVTransportURIMetaData val=\"\"/>"
+            + "<CurrentTransportActions val=\"Play, Stop, Pause, Seek, Next, Previous\"/>"
+            + "<TransportStatus val=\"OK\"/><r:SleepTimerGeneration val=\"0\"/><r:AlarmRunning val=\"0\"/>"
+            + "<TransportPlaySpeed val=\"NOT_IMPLEMENTED\"/></InstanceID></Event>";
+
+    private static final String RENDERING_CONTROL_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\">"
+            + "<InstanceID val=\"0\"><Volume channel=\"Master\" val=\"23\"/><Volume channel=\"LF\" val=\"100\"/>"
+            + "<Volume channel=\"RF\" val=\"100\"/><Mute channel=\"Master\" val=\"0\"/>"
+            + "<Loudness channel=\"Master\" val=\"1\"/><Bass val=\"0\"/><Treble val=\"-2\"/>"
+            + "<OutputFixed val=\"0\"/><PresetNameList>FactoryDefaults</PresetNameList></InstanceID></Event>";
+
+    private static final String ENTRIES = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"FV:2/1\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Radio</dc:title>"
+            + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+            + "<res protocolInfo=\"x-rincon-mp3radio:*:*:*\">x-rincon-mp3radio://radio.example.com/stream</res>"
+            + "<r:resMD>" + escape("<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+                    + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+                    + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+                    + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+                    + "<item id=\"R:0/0/0\" parentID=\"R:0/0\" restricted=\"true\"><dc:title>Radio</dc:title>"
+                    + "<upnp:class>object.item.audioItem.audioBroadcast</upnp:class>"
+                    + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">"
+                    + "SA_RINCON65031_</desc></item></DIDL-Lite>")
+            + "</r:resMD></item></DIDL-Lite>";
+
+    private static String escape(String xml) {
+        return xml.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Test
+    public void parseAVTransportEvent() {
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT);
+
+        assertThat(changes.get("TransportState"), is("PLAYING"));
+        assertThat(changes.get("AVTransportURI"), is("x-rincon-queue:RINCON_000E5812BC1801400#0"));
+        assertThat(changes.get("CurrentTrackMetaData"), is(TRACK_METADATA));
+
+        SonosMetaData metaData = SonosXMLParser.getMetaDataFromXML(TRACK_METADATA);
+        assertThat(metaData.getTitle(), is("Broken Box"));
+        assertThat(metaData.getCreator(), is("Queens Of The Stone Age"));
+        assertThat(metaData.getAlbum(), is("Lullabies To Paralyze"));
+    }
+
+    @Test
+    public void parseRenderingControlEvent() {
+        Map<String, String> changes = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT);
+
+        assertThat(changes.get("VolumeMaster"), is("23"));
+        assertThat(changes.get("LoudnessMaster"), is("1"));
+        assertThat(changes.get("Treble"), is("-2"));
+        assertThat(changes.get("PresetNameList"), is("FactoryDefaults"));
+    }
+
+    @Test
+    public void parseNestedResourceMetaData() {
+        // the entries handler parses the resource meta data while the outer document is still being parsed
+        for (int i = 0; i < 3; i++) {
+            List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(ENTRIES);
+
+            assertThat(entries.size(), is(1));
+            SonosResourceMetaData resourceMetaData = entries.get(0).getResourceMetaData();
+            assertThat(resourceMetaData, is(notNullValue()));
+            if (resourceMetaData != null) {
+                assertThat(resourceMetaData.getDesc(), is("SA_RINCON65031_"));
+            }
+        }
+    }
+
+    @Test
+    public void parseAfterMalformedDocument() {
+        SonosXMLParser.getAVTransportFromXML("<Event><InstanceID val=\"0\">");
+
+        assertThat(SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT).get("TransportState"), is("PLAYING"));
+    }
+}
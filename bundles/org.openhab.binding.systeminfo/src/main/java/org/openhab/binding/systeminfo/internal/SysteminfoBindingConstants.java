@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.systeminfo.internal;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.thing.ThingTypeUID;
 
@@ -54,6 +56,21 @@ public class SysteminfoBindingConstants {
      */
     public static final String PROPERTY_OS_VERSION = "OS Version";
 
+    /**
+     * Time in milliseconds needed to sample and update the high priority channels
+     */
+    public static final String PROPERTY_SAMPLING_TIME_HIGH = "Sampling Time High Priority";
+
+    /**
+     * Time in milliseconds needed to sample and update the medium priority channels
+     */
+    public static final String PROPERTY_SAMPLING_TIME_MEDIUM = "Sampling Time Medium Priority";
+
+    /**
+     * Time in milliseconds needed to sample and update the low priority channels
+     */
+    public static final String PROPERTY_SAMPLING_TIME_LOW = "Sampling Time Low Priority";
+
     // List of all Channel IDs
 
     /**
@@ -307,6 +324,71 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_PROCESS_PATH = "process#path";
 
+    /**
+     * Size of the heap used by the JVM in MB
+     */
+    public static final String CHANNEL_JVM_HEAP_USED = "jvm#heapUsed";
+
+    /**
+     * Maximum size of the heap of the JVM in MB
+     */
+    public static final String CHANNEL_JVM_HEAP_MAX = "jvm#heapMax";
+
+    /**
+     * Size of the metaspace used by the JVM in MB
+     */
+    public static final String CHANNEL_JVM_METASPACE_USED = "jvm#metaspaceUsed";
+
+    /**
+     * Number of live threads of the JVM
+     */
+    public static final String CHANNEL_JVM_THREADS = "jvm#threads";
+
+    /**
+     * Number of live daemon threads of the JVM
+     */
+    public static final String CHANNEL_JVM_DAEMON_THREADS = "jvm#daemonThreads";
+
+    /**
+     * Number of garbage collections since the start of the JVM
+     */
+    public static final String CHANNEL_JVM_GC_COUNT = "jvm#gcCount";
+
+    /**
+     * Time spent in garbage collections since the start of the JVM in seconds
+     */
+    public static final String CHANNEL_JVM_GC_TIME = "jvm#gcTime";
+
+    /**
+     * Time spent in garbage collections in milliseconds per minute
+     */
+    public static final String CHANNEL_JVM_GC_TIME_RATE = "jvm#gcTimeRate";
+
+    /**
+     * Size of the memory allocated on the heap in MB per minute
+     */
+    public static final String CHANNEL_JVM_ALLOCATION_RATE = "jvm#allocationRate";
+
+    /**
+     * Time spent by the JIT compiler since the start of the JVM in seconds
+     */
+    public static final String CHANNEL_JVM_COMPILATION_TIME = "jvm#compilationTime";
+
+    /**
+     * Name of the channel group for openHAB thread pool information
+     */
+    public static final String CHANNEL_GROUP_THREAD_POOL = "threadpool";
+
+    /**
+     * Number of threads of the thread pool executing tasks
+     */
+    public static final String CHANNEL_THREAD_POOL_ACTIVE_THREADS = "threadpool#activeThreads";
+
+    /**
+     * Number of due tasks of the thread pool waiting for a thread
+     */
+    public static final String CHANNEL_THREAD_POOL_WAITING_TASKS = "threadpool#waitingTasks";
+
     // Thing configuraion
     /**
      * Name of the configuration parameter of the thing that defines refresh time for High priority channels
@@ -330,4 +412,21 @@ public class SysteminfoBindingConstants {
      *
      */
     public static final String PID_PARAM = "pid";
+
+    /**
+     * Name of the channel configuration parameter pool
+     */
+    public static final String POOL_PARAM = "pool";
+
+    /**
+     * The thread pool tracked by default, it runs the tasks of all thing handlers
+     */
+    public static final String DEFAULT_THREAD_POOL = "thingHandler";
+
+    /**
+     * The thread pools of openHAB which can be tracked. Other names are not passed to the ThreadPoolManager, as it
+     * would create a new pool for them.
+     */
+    public static final Set<String> THREAD_POOLS = Set.of("common", DEFAULT_THREAD_POOL, "thingManager", "safeCall",
+            "discovery");
 }
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.systeminfo.internal.handler;
 
+import static java.util.Map.entry;
 import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.*;
 
 import java.math.BigDecimal;
@@ -20,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -88,8 +90,93 @@ public class SysteminfoHandler extends BaseThingHandler {
      */
     public static final int WAIT_TIME_CHANNEL_ITEM_LINK_INIT = 1;
 
+    /**
+     * Minimum time between two updates of the sampling time properties in milliseconds.
+     */
+    private static final long SAMPLING_TIME_PROPERTY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The methods of the {@link SysteminfoInterface} providing the state of the channels, by channel ID without the
+     * device index.
+     */
+    private static final Map<String, ChannelExtractor> CHANNEL_EXTRACTORS = Map.ofEntries(
+            entry(CHANNEL_DISPLAY_INFORMATION, SysteminfoInterface::getDisplayInformation),
+            entry(CHANNEL_BATTERY_NAME, SysteminfoInterface::getBatteryName),
+            entry(CHANNEL_BATTERY_REMAINING_CAPACITY, SysteminfoInterface::getBatteryRemainingCapacity),
+            entry(CHANNEL_BATTERY_REMAINING_TIME, SysteminfoInterface::getBatteryRemainingTime),
+            entry(CHANNEL_SENSORS_CPU_TEMPERATURE, (systeminfo, deviceIndex) -> systeminfo.getSensorsCpuTemperature()),
+            entry(CHANNEL_SENOSRS_CPU_VOLTAGE, (systeminfo, deviceIndex) -> systeminfo.getSensorsCpuVoltage()),
+            entry(CHANNEL_SENSORS_FAN_SPEED, SysteminfoInterface::getSensorsFanSpeed),
+            entry(CHANNEL_CPU_LOAD_1, (systeminfo, deviceIndex) -> systeminfo.getCpuLoad1()),
+            entry(CHANNEL_CPU_LOAD_5, (systeminfo, deviceIndex) -> systeminfo.getCpuLoad5()),
+            entry(CHANNEL_CPU_LOAD_15, (systeminfo, deviceIndex) -> systeminfo.getCpuLoad15()),
+            entry(CHANNEL_CPU_UPTIME, (systeminfo, deviceIndex) -> systeminfo.getCpuUptime()),
+            entry(CHANNEL_CPU_THREADS, (systeminfo, deviceIndex) -> systeminfo.getCpuThreads()),
+            entry(CHANNEL_CPU_DESCRIPTION, (systeminfo, deviceIndex) -> systeminfo.getCpuDescription()),
+            entry(CHANNEL_CPU_NAME, (systeminfo, deviceIndex) -> systeminfo.getCpuName()),
+            entry(CHANNEL_MEMORY_AVAILABLE, (systeminfo, deviceIndex) -> systeminfo.getMemoryAvailable()),
+            entry(CHANNEL_MEMORY_USED, (systeminfo, deviceIndex) -> systeminfo.getMemoryUsed()),
+            entry(CHANNEL_MEMORY_TOTAL, (systeminfo, deviceIndex) -> systeminfo.getMemoryTotal()),
+            entry(CHANNEL_MEMORY_AVAILABLE_PERCENT,
+                    (systeminfo, deviceIndex) -> systeminfo.getMemoryAvailablePercent()),
+            entry(CHANNEL_MEMORY_USED_PERCENT, (systeminfo, deviceIndex) -> systeminfo.getMemoryUsedPercent()),
+            entry(CHANNEL_SWAP_AVAILABLE, (systeminfo, deviceIndex) -> systeminfo.getSwapAvailable()),
+            entry(CHANNEL_SWAP_USED, (systeminfo, deviceIndex) -> systeminfo.getSwapUsed()),
+            entry(CHANNEL_SWAP_TOTAL, (systeminfo, deviceIndex) -> systeminfo.getSwapTotal()),
+            entry(CHANNEL_SWAP_AVAILABLE_PERCENT, (systeminfo, deviceIndex) -> systeminfo.getSwapAvailablePercent()),
+            entry(CHANNEL_SWAP_USED_PERCENT, (systeminfo, deviceIndex) -> systeminfo.getSwapUsedPercent()),
+            entry(CHANNEL_DRIVE_MODEL, SysteminfoInterface::getDriveModel),
+            entry(CHANNEL_DRIVE_SERIAL, SysteminfoInterface::getDriveSerialNumber),
+            entry(CHANNEL_DRIVE_NAME, SysteminfoInterface::getDriveName),
+            entry(CHANNEL_STORAGE_NAME, SysteminfoInterface::getStorageName),
+            entry(CHANNEL_STORAGE_DESCRIPTION, SysteminfoInterface::getStorageDescription),
+            entry(CHANNEL_STORAGE_AVAILABLE, SysteminfoInterface::getStorageAvailable),
+            entry(CHANNEL_STORAGE_USED, SysteminfoInterface::getStorageUsed),
+            entry(CHANNEL_STORAGE_TOTAL, SysteminfoInterface::getStorageTotal),
+            entry(CHANNEL_STORAGE_TYPE, SysteminfoInterface::getStorageType),
+            entry(CHANNEL_STORAGE_AVAILABLE_PERCENT, SysteminfoInterface::getStorageAvailablePercent),
+            entry(CHANNEL_STORAGE_USED_PERCENT, SysteminfoInterface::getStorageUsedPercent),
+            entry(CHANNEL_NETWORK_IP, SysteminfoInterface::getNetworkIp),
+            entry(CHANNEL_NETWORK_ADAPTER_NAME, SysteminfoInterface::getNetworkDisplayName),
+            entry(CHANNEL_NETWORK_NAME, SysteminfoInterface::getNetworkName),
+            entry(CHANNEL_NETWORK_MAC, SysteminfoInterface::getNetworkMac),
+            entry(CHANNEL_NETWORK_DATA_SENT, SysteminfoInterface::getNetworkDataSent),
+            entry(CHANNEL_NETWORK_DATA_RECEIVED, SysteminfoInterface::getNetworkDataReceived),
+            entry(CHANNEL_NETWORK_PACKETS_RECEIVED, SysteminfoInterface::getNetworkPacketsReceived),
+            entry(CHANNEL_NETWORK_PACKETS_SENT, SysteminfoInterface::getNetworkPacketsSent),
+            entry(CHANNEL_PROCESS_LOAD, SysteminfoInterface::getProcessCpuUsage),
+            entry(CHANNEL_PROCESS_MEMORY, SysteminfoInterface::getProcessMemoryUsage),
+            entry(CHANNEL_PROCESS_NAME, SysteminfoInterface::getProcessName),
+            entry(CHANNEL_PROCESS_PATH, SysteminfoInterface::getProcessPath),
+            entry(CHANNEL_PROCESS_THREADS, SysteminfoInterface::getProcessThreads),
+            entry(CHANNEL_JVM_HEAP_USED, (systeminfo, deviceIndex) -> systeminfo.getJvmHeapUsed()),
+            entry(CHANNEL_JVM_HEAP_MAX, (systeminfo, deviceIndex) -> systeminfo.getJvmHeapMax()),
+            entry(CHANNEL_JVM_METASPACE_USED, (systeminfo, deviceIndex) -> systeminfo.getJvmMetaspaceUsed()),
+            entry(CHANNEL_JVM_THREADS, (systeminfo, deviceIndex) -> systeminfo.getJvmThreads()),
+            entry(CHANNEL_JVM_DAEMON_THREADS, (systeminfo, deviceIndex) -> systeminfo.getJvmDaemonThreads()),
+            entry(CHANNEL_JVM_GC_COUNT, (systeminfo, deviceIndex) -> systeminfo.getJvmGcCount()),
+            entry(CHANNEL_JVM_GC_TIME, (systeminfo, deviceIndex) -> systeminfo.getJvmGcTime()),
+            entry(CHANNEL_JVM_GC_TIME_RATE, (systeminfo, deviceIndex) -> systeminfo.getJvmGcTimeRate()),
+            entry(CHANNEL_JVM_ALLOCATION_RATE, (systeminfo, deviceIndex) -> systeminfo.getJvmAllocationRate()),
+            entry(CHANNEL_JVM_COMPILATION_TIME, (systeminfo, deviceIndex) -> systeminfo.getJvmCompilationTime()));
+
+    /**
+     * The methods of the {@link SysteminfoInterface} providing the state of the thread pool channels, by channel ID.
+     * These channels identify their pool by the configuration parameter pool instead of a device index.
+     */
+    private static final Map<String, PoolChannelExtractor> POOL_CHANNEL_EXTRACTORS = Map.of(
+            CHANNEL_THREAD_POOL_ACTIVE_THREADS, SysteminfoInterface::getThreadPoolActiveThreads,
+            CHANNEL_THREAD_POOL_WAITING_TASKS, SysteminfoInterface::getThreadPoolWaitingTasks);
+
     private SysteminfoInterface systeminfo;
 
+    /**
+     * The readers of all channels, created at {@link #initialize()} and when the configuration of a channel changes.
+     */
+    private final Map<ChannelUID, ChannelReader> channelReaders = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> samplingTimePropertyUpdates = new ConcurrentHashMap<>();
+
     private @Nullable ScheduledFuture<?> highPriorityTasks;
     private @Nullable ScheduledFuture<?> mediumPriorityTasks;
 
@@ -174,6 +261,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         List<Channel> channels = this.thing.getChannels();
 
         for (Channel channel : channels) {
+            channelReaders.put(channel.getUID(), createChannelReader(channel.getUID()));
             Configuration properties = channel.getConfiguration();
             String priority = (String) properties.get(PRIOIRITY_PARAM);
             if (priority == null) {
@@ -222,32 +310,59 @@ public class SysteminfoHandler extends BaseThingHandler {
     private void scheduleUpdates() {
         logger.debug("Schedule high priority tasks at fixed rate {} s.", refreshIntervalHighPriority);
         highPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(highPriorityChannels);
+            publishData(highPriorityChannels, PROPERTY_SAMPLING_TIME_HIGH);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalHighPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule medium priority tasks at fixed rate {} s.", refreshIntervalMediumPriority);
         mediumPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(mediumPriorityChannels);
+            publishData(mediumPriorityChannels, PROPERTY_SAMPLING_TIME_MEDIUM);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalMediumPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule one time update for low priority tasks.");
         scheduler.schedule(() -> {
-            publishData(lowPriorityChannels);
+            publishData(lowPriorityChannels, PROPERTY_SAMPLING_TIME_LOW);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, TimeUnit.SECONDS);
     }
 
-    private void publishData(Set<ChannelUID> channels) {
+    /**
+     * Updates the linked channels of one priority from a single snapshot of the system information.
+     *
+     * @param channels the channels of the priority
+     * @param samplingTimeProperty the property to report the time needed for sampling and updating the channels
+     */
+    private void publishData(Set<ChannelUID> channels, String samplingTimeProperty) {
+        long start = System.nanoTime();
+        SysteminfoInterface snapshot = systeminfo.createSnapshot();
+        int updatedChannels = 0;
         Iterator<ChannelUID> iter = channels.iterator();
         while (iter.hasNext()) {
             ChannelUID channeUID = iter.next();
             if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+                publishDataForChannel(channeUID, snapshot);
+                updatedChannels++;
             }
         }
+        long samplingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.trace("Updated {} channels in {} ms", updatedChannels, samplingTime);
+        updateSamplingTime(samplingTimeProperty, samplingTime);
+    }
+
+    private void updateSamplingTime(String samplingTimeProperty, long samplingTime) {
+        long now = System.currentTimeMillis();
+        Long lastUpdate = samplingTimePropertyUpdates.get(samplingTimeProperty);
+        if (lastUpdate != null && now - lastUpdate < SAMPLING_TIME_PROPERTY_INTERVAL) {
+            return;
+        }
+        samplingTimePropertyUpdates.put(samplingTimeProperty, now);
+        updateProperty(samplingTimeProperty, Long.toString(samplingTime));
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
-        State state = getInfoForChannel(channelUID);
+        publishDataForChannel(channelUID, systeminfo);
+    }
+
+    private void publishDataForChannel(ChannelUID channelUID, SysteminfoInterface source) {
+        State state = getInfoForChannel(channelUID, source);
         String channelID = channelUID.getId();
         updateState(channelID, state);
     }
@@ -266,179 +381,27 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     /**
      * This method gets the information for specific channel through the {@link SysteminfoInterface}. It uses the
-     * channel ID to call the correct method from the {@link SysteminfoInterface} with deviceIndex parameter (in case of
-     * multiple devices, for reference see {@link #getDeviceIndex(String)}})
+     * {@link ChannelReader} of the channel, which calls the correct method from the {@link SysteminfoInterface} with
+     * deviceIndex parameter (in case of multiple devices, for reference see {@link #getDeviceIndex(ChannelUID)}})
      *
      * @param channelUID the UID of the channel
+     * @param source the system information or a snapshot of it
      * @return State object or null, if there is no information for the device with this index
      */
-    private State getInfoForChannel(ChannelUID channelUID) {
+    private State getInfoForChannel(ChannelUID channelUID, SysteminfoInterface source) {
         State state = null;
 
-        String channelID = channelUID.getId();
-        String channelIDWithoutGroup = channelUID.getIdWithoutGroup();
-        String channelGroupID = channelUID.getGroupId();
-
-        int deviceIndex = getDeviceIndex(channelUID);
-
-        // The channelGroup may contain deviceIndex. It must be deleted from the channelID, because otherwise the
-        // switch will not find the correct method below.
-        // All digits are deleted from the ID
-        if (channelGroupID != null) {
-            channelID = channelGroupID.replaceAll("\\d+", "") + "#" + channelIDWithoutGroup;
+        ChannelReader reader = channelReaders.get(channelUID);
+        if (reader == null) {
+            reader = createChannelReader(channelUID);
+            channelReaders.put(channelUID, reader);
         }
 
         try {
-            switch (channelID) {
-                case CHANNEL_DISPLAY_INFORMATION:
-                    state = systeminfo.getDisplayInformation(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_NAME:
-                    state = systeminfo.getBatteryName(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_CAPACITY:
-                    state = systeminfo.getBatteryRemainingCapacity(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_TIME:
-                    state = systeminfo.getBatteryRemainingTime(deviceIndex);
-                    break;
-                case CHANNEL_SENSORS_CPU_TEMPERATURE:
-                    state = systeminfo.getSensorsCpuTemperature();
-                    break;
-                case CHANNEL_SENOSRS_CPU_VOLTAGE:
-                    state = systeminfo.getSensorsCpuVoltage();
-                    break;
-                case CHANNEL_SENSORS_FAN_SPEED:
-                    state = systeminfo.getSensorsFanSpeed(deviceIndex);
-                    break;
-                case CHANNEL_CPU_LOAD_1:
-                    state = systeminfo.getCpuLoad1();
-                    break;
-                case CHANNEL_CPU_LOAD_5:
-                    state = systeminfo.getCpuLoad5();
-                    break;
-                case CHANNEL_CPU_LOAD_15:
-                    state = systeminfo.getCpuLoad15();
-                    break;
-                case CHANNEL_CPU_UPTIME:
-                    state = systeminfo.getCpuUptime();
-                    break;
-                case CHANNEL_CPU_THREADS:
-                    state = systeminfo.getCpuThreads();
-                    break;
-                case CHANNEL_CPU_DESCRIPTION:
-                    state = systeminfo.getCpuDescription();
-                    break;
-                case CHANNEL_CPU_NAME:
-                    state = systeminfo.getCpuName();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE:
-                    state = systeminfo.getMemoryAvailable();
-                    break;
-                case CHANNEL_MEMORY_USED:
-                    state = systeminfo.getMemoryUsed();
-                    break;
-                case CHANNEL_MEMORY_TOTAL:
-                    state = systeminfo.getMemoryTotal();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE_PERCENT:
-                    state = systeminfo.getMemoryAvailablePercent();
-                    break;
-                case CHANNEL_MEMORY_USED_PERCENT:
-                    state = systeminfo.getMemoryUsedPercent();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE:
-                    state = systeminfo.getSwapAvailable();
-                    break;
-                case CHANNEL_SWAP_USED:
-                    state = systeminfo.getSwapUsed();
-                    break;
-                case CHANNEL_SWAP_TOTAL:
-                    state = systeminfo.getSwapTotal();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE_PERCENT:
-                    state = systeminfo.getSwapAvailablePercent();
-                    break;
-                case CHANNEL_SWAP_USED_PERCENT:
-                    state = systeminfo.getSwapUsedPercent();
-                    break;
-                case CHANNEL_DRIVE_MODEL:
-                    state = systeminfo.getDriveModel(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_SERIAL:
-                    state = systeminfo.getDriveSerialNumber(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_NAME:
-                    state = systeminfo.getDriveName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_NAME:
-                    state = systeminfo.getStorageName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_DESCRIPTION:
-                    state = systeminfo.getStorageDescription(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE:
-                    state = systeminfo.getStorageAvailable(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED:
-                    state = systeminfo.getStorageUsed(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TOTAL:
-                    state = systeminfo.getStorageTotal(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TYPE:
-                    state = systeminfo.getStorageType(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE_PERCENT:
-                    state = systeminfo.getStorageAvailablePercent(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED_PERCENT:
-                    state = systeminfo.getStorageUsedPercent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_IP:
-                    state = systeminfo.getNetworkIp(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_ADAPTER_NAME:
-                    state = systeminfo.getNetworkDisplayName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_NAME:
-                    state = systeminfo.getNetworkName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_MAC:
-                    state = systeminfo.getNetworkMac(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_SENT:
-                    state = systeminfo.getNetworkDataSent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_RECEIVED:
-                    state = systeminfo.getNetworkDataReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_RECEIVED:
-                    state = systeminfo.getNetworkPacketsReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_SENT:
-                    state = systeminfo.getNetworkPacketsSent(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_LOAD:
-                    state = systeminfo.getProcessCpuUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_MEMORY:
-                    state = systeminfo.getProcessMemoryUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_NAME:
-                    state = systeminfo.getProcessName(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_PATH:
-                    state = systeminfo.getProcessPath(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_THREADS:
-                    state = systeminfo.getProcessThreads(deviceIndex);
-                    break;
-                default:
-                    logger.debug("Channel with unknown ID: {} !", channelID);
-            }
+            state = reader.read(source);
         } catch (DeviceNotFoundException e) {
-            logger.warn("No information for channel {} with device index {} :", channelID, deviceIndex);
+            logger.warn("No information for channel {} with device index {} :", reader.channelKey,
+                    reader.deviceIndex);
         } catch (Exception e) {
             logger.debug("Unexpected error occurred while getting system information!", e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
@@ -447,6 +410,40 @@ public class SysteminfoHandler extends BaseThingHandler {
         return state != null ? state : UnDefType.UNDEF;
     }
 
+    /**
+     * Resolves the method of the {@link SysteminfoInterface} and the device index of a channel.
+     *
+     * @param channelUID the UID of the channel
+     * @return the reader of the channel
+     */
+    private ChannelReader createChannelReader(ChannelUID channelUID) {
+        String channelKey = channelUID.getId();
+        String channelIDWithoutGroup = channelUID.getIdWithoutGroup();
+        String channelGroupID = channelUID.getGroupId();
+
+        // The channelGroup may contain deviceIndex. It must be deleted from the channelID, because otherwise the
+        // method below will not be found.
+        // All digits are deleted from the ID
+        if (channelGroupID != null) {
+            channelKey = channelGroupID.replaceAll("\\d+", "") + "#" + channelIDWithoutGroup;
+        }
+
+        PoolChannelExtractor poolExtractor = POOL_CHANNEL_EXTRACTORS.get(channelKey);
+        if (poolExtractor != null) {
+            String poolName = getPoolName(channelUID);
+            logger.debug("Channel with UID {} tracks thread pool: {}", channelUID, poolName);
+            return new ChannelReader(channelKey,
+                    (systeminfo, deviceIndex) -> poolExtractor.extract(systeminfo, poolName), 0);
+        }
+
+        ChannelExtractor extractor = CHANNEL_EXTRACTORS.get(channelKey);
+        if (extractor == null) {
+            logger.debug("Channel with unknown ID: {} !", channelKey);
+            extractor = (systeminfo, deviceIndex) -> null;
+        }
+        return new ChannelReader(channelKey, extractor, getDeviceIndex(channelUID));
+    }
+
     /**
      * The device index is an optional part of the channelID - the last characters of the groupID. It is used to
      * identify unique device, when more than one devices are available (e.g. local disks with names C:\, D:\, E"\ - the
@@ -508,6 +505,27 @@ public class SysteminfoHandler extends BaseThingHandler {
         return pid;
     }
 
+    /**
+     * This method gets the name of the thread pool tracked by a channel
+     *
+     * @param channelUID channel unique identifier
+     * @return the name of the pool in the ThreadPoolManager
+     */
+    private String getPoolName(ChannelUID channelUID) {
+        Channel channel = this.thing.getChannel(channelUID.getId());
+        if (channel != null) {
+            Object poolName = channel.getConfiguration().get(POOL_PARAM);
+            if (poolName instanceof String && THREAD_POOLS.contains(((String) poolName).trim())) {
+                return ((String) poolName).trim();
+            }
+            logger.debug("Unknown thread pool name {}, it must be one of {}. Fall back to default value.", poolName,
+                    THREAD_POOLS);
+        } else {
+            logger.debug("Channel does not exist ! Fall back to default value.");
+        }
+        return DEFAULT_THREAD_POOL;
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
@@ -561,8 +579,15 @@ public class SysteminfoHandler extends BaseThingHandler {
 
             if (isConfigurationKeyChanged(currentChannelConfig, newChannelConfig, PID_PARAM)) {
                 isChannelConfigChanged = true;
+                channelReaders.remove(channelUID);
                 handleChannelConfigurationChange(oldChannel, newChannelConfig, PID_PARAM);
             }
+
+            if (isConfigurationKeyChanged(currentChannelConfig, newChannelConfig, POOL_PARAM)) {
+                isChannelConfigChanged = true;
+                channelReaders.remove(channelUID);
+                handleChannelConfigurationChange(oldChannel, newChannelConfig, POOL_PARAM);
+            }
         }
 
         if (!(isInitialized() && isChannelConfigChanged)) {
@@ -600,4 +625,42 @@ public class SysteminfoHandler extends BaseThingHandler {
     public void dispose() {
         stopScheduledUpdates();
     }
+
+    /**
+     * Gets the state of a channel from the {@link SysteminfoInterface}.
+     */
+    @FunctionalInterface
+    private interface ChannelExtractor {
+        @Nullable
+        State extract(SysteminfoInterface systeminfo, int deviceIndex) throws DeviceNotFoundException;
+    }
+
+    /**
+     * Gets the state of a thread pool channel from the {@link SysteminfoInterface}.
+     */
+    @FunctionalInterface
+    private interface PoolChannelExtractor {
+        @Nullable
+        State extract(SysteminfoInterface systeminfo, String poolName);
+    }
+
+    /**
+     * The {@link ChannelExtractor} of a channel together with the device index of the channel.
+     */
+    private static class ChannelReader {
+        final String channelKey;
+        final ChannelExtractor extractor;
+        final int deviceIndex;
+
+        ChannelReader(String channelKey, ChannelExtractor extractor, int deviceIndex) {
+            this.channelKey = channelKey;
+            this.extractor = extractor;
+            this.deviceIndex = deviceIndex;
+        }
+
+        @Nullable
+        State read(SysteminfoInterface systeminfo) throws DeviceNotFoundException {
+            return extractor.extract(systeminfo, deviceIndex);
+        }
+    }
 }
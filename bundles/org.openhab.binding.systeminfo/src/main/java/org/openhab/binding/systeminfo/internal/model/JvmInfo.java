@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the runtime information of the JVM running openHAB from the platform MXBeans and the openHAB thread pools.
+ * The MXBeans are looked up once, every sampling method only reads the current values. The rates are calculated from
+ * the samples taken by all callers, so they are shared by the snapshots of the {@link OSHISysteminfo}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JvmInfo {
+    /**
+     * The rates are calculated over at least this interval, if the values are sampled often enough.
+     */
+    private static final long RATE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(JvmInfo.class);
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> garbageCollectorBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final @Nullable MemoryPoolMXBean metaspaceBean = findMetaspaceBean();
+    private final @Nullable CompilationMXBean compilationBean = ManagementFactory.getCompilationMXBean();
+    private final com.sun.management.@Nullable ThreadMXBean allocationBean = findAllocationBean();
+
+    private final Rate gcTimeRate = new Rate();
+    private final Rate allocationRate = new Rate();
+
+    // Bytes allocated by the live threads at the last sampling, by thread ID
+    private Map<Long, Long> threadAllocatedBytes = new HashMap<>();
+    private long allocatedBytes;
+
+    private @Nullable MemoryPoolMXBean findMetaspaceBean() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.NON_HEAP && "Metaspace".equals(pool.getName())) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    private com.sun.management.@Nullable ThreadMXBean findAllocationBean() {
+        try {
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (LinkageError e) {
+            logger.debug("The allocated memory of the threads can not be measured in this JVM", e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the memory used by the JVM.
+     */
+    public MemorySample sampleMemory() {
+        MemoryUsage heapUsage = memoryBean.getHeapMemoryUsage();
+        long heapUsed = heapUsage.getUsed();
+        long heapMax = heapUsage.getMax();
+        MemoryPoolMXBean localMetaspaceBean = metaspaceBean;
+        long metaspaceUsed = localMetaspaceBean != null ? localMetaspaceBean.getUsage().getUsed() : -1;
+        return new MemorySample(heapUsed, heapMax, metaspaceUsed);
+    }
+
+    /**
+     * Returns the number of live threads of the JVM.
+     */
+    public ThreadSample sampleThreads() {
+        return new ThreadSample(threadBean.getThreadCount(), threadBean.getDaemonThreadCount());
+    }
+
+    /**
+     * Returns the collections and the time spent in the garbage collectors since the start of the JVM.
+     */
+    public GcSample sampleGc() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean bean : garbageCollectorBeans) {
+            // collectors not supporting the values return -1
+            count += Math.max(bean.getCollectionCount(), 0);
+            time += Math.max(bean.getCollectionTime(), 0);
+        }
+        return new GcSample(count, time, gcTimeRate.perMinute(System.nanoTime(), time));
+    }
+
+    /**
+     * Returns the bytes allocated on the heap per minute, or null if the allocations can not be measured or the
+     * values were not sampled before.
+     */
+    public synchronized @Nullable Double sampleAllocationRate() {
+        com.sun.management.ThreadMXBean localAllocationBean = allocationBean;
+        if (localAllocationBean == null) {
+            return null;
+        }
+        long[] threadIds = threadBean.getAllThreadIds();
+        long[] threadBytes = localAllocationBean.getThreadAllocatedBytes(threadIds);
+        return allocationRate.perMinute(System.nanoTime(), addAllocatedBytes(threadIds, threadBytes));
+    }
+
+    /**
+     * Adds the bytes the threads allocated since the last sampling to the allocated bytes.
+     *
+     * @param threadIds the IDs of the live threads
+     * @param threadBytes the bytes allocated by each of the threads since its start, or -1 if the thread ended
+     * @return the bytes allocated by all threads since the first sampling
+     */
+    synchronized long addAllocatedBytes(long[] threadIds, long[] threadBytes) {
+        // the bytes allocated by threads which ended since the last sampling are lost
+        Map<Long, Long> currentAllocatedBytes = new HashMap<>(threadIds.length * 2);
+        for (int i = 0; i < threadIds.length; i++) {
+            if (threadBytes[i] >= 0) {
+                Long previousBytes = threadAllocatedBytes.get(threadIds[i]);
+                allocatedBytes += threadBytes[i] - (previousBytes != null ? previousBytes : 0);
+                currentAllocatedBytes.put(threadIds[i], threadBytes[i]);
+            }
+        }
+        threadAllocatedBytes = currentAllocatedBytes;
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the time spent in the JIT compiler in milliseconds, or -1 if it is not measured by the JVM.
+     */
+    public long getCompilationTime() {
+        CompilationMXBean localCompilationBean = compilationBean;
+        if (localCompilationBean == null || !localCompilationBean.isCompilationTimeMonitoringSupported()) {
+            return -1;
+        }
+        return localCompilationBean.getTotalCompilationTime();
+    }
+
+    /**
+     * Returns the usage of an openHAB thread pool.
+     *
+     * @param poolName the name of the pool in the {@link ThreadPoolManager}, one of
+     *            {@link SysteminfoBindingConstants#THREAD_POOLS}
+     * @return the usage or null if the pool is unknown or does not provide its usage
+     */
+    public @Nullable ThreadPoolSample sampleThreadPool(String poolName) {
+        if (!SysteminfoBindingConstants.THREAD_POOLS.contains(poolName)) {
+            // the ThreadPoolManager would create the pool
+            return null;
+        }
+        ExecutorService pool = ThreadPoolManager.getPool(poolName);
+        if (!(pool instanceof ThreadPoolExecutor)) {
+            return null;
+        }
+        return sampleThreadPool((ThreadPoolExecutor) pool);
+    }
+
+    /**
+     * Returns the usage of a thread pool.
+     */
+    static ThreadPoolSample sampleThreadPool(ThreadPoolExecutor executor) {
+        int waitingTasks = 0;
+        for (Runnable task : executor.getQueue()) {
+            // scheduled pools keep all future tasks in the queue, only the tasks which are due are waiting
+            if (!(task instanceof Delayed) || ((Delayed) task).getDelay(TimeUnit.NANOSECONDS) <= 0) {
+                waitingTasks++;
+            }
+        }
+        return new ThreadPoolSample(executor.getActiveCount(), waitingTasks);
+    }
+
+    /**
+     * Memory used by the JVM in bytes at the time of sampling.
+     */
+    public static class MemorySample {
+        public final long heapUsed;
+        /**
+         * The maximum size of the heap or -1 if it is undefined
+         */
+        public final long heapMax;
+        /**
+         * The size of the metaspace or -1 if the JVM has no metaspace
+         */
+        public final long metaspaceUsed;
+
+        MemorySample(long heapUsed, long heapMax, long metaspaceUsed) {
+            this.heapUsed = heapUsed;
+            this.heapMax = heapMax;
+            this.metaspaceUsed = metaspaceUsed;
+        }
+    }
+
+    /**
+     * Number of live threads at the time of sampling.
+     */
+    public static class ThreadSample {
+        public final int threads;
+        public final int daemonThreads;
+
+        ThreadSample(int threads, int daemonThreads) {
+            this.threads = threads;
+            this.daemonThreads = daemonThreads;
+        }
+    }
+
+    /**
+     * Garbage collections since the start of the JVM at the time of sampling.
+     */
+    public static class GcSample {
+        public final long count;
+        /**
+         * The accumulated collection time in milliseconds
+         */
+        public final long time;
+        /**
+         * The collection time in milliseconds per minute or null if not known yet
+         */
+        public final @Nullable Double timeRate;
+
+        GcSample(long count, long time, @Nullable Double timeRate) {
+            this.count = count;
+            this.time = time;
+            this.timeRate = timeRate;
+        }
+    }
+
+    /**
+     * Usage of a thread pool at the time of sampling.
+     */
+    public static class ThreadPoolSample {
+        public final int activeThreads;
+        public final int waitingTasks;
+
+        ThreadPoolSample(int activeThreads, int waitingTasks) {
+            this.activeThreads = activeThreads;
+            this.waitingTasks = waitingTasks;
+        }
+    }
+
+    /**
+     * Calculates the change of an increasing value per minute. The change is measured against a reference sample
+     * which is replaced once per {@link #RATE_INTERVAL_NANOS}, so the rate covers at least one interval as soon as
+     * two intervals have passed, no matter how often it is sampled.
+     */
+    static class Rate {
+        private long previousTime;
+        private long previousValue;
+        private boolean hasPrevious;
+        private long referenceTime;
+        private long referenceValue;
+        private boolean hasReference;
+
+        synchronized @Nullable Double perMinute(long time, long value) {
+            if (!hasReference) {
+                referenceTime = time;
+                referenceValue = value;
+                hasReference = true;
+                return null;
+            }
+            if (time - referenceTime >= RATE_INTERVAL_NANOS) {
+                previousTime = referenceTime;
+                previousValue = referenceValue;
+                hasPrevious = true;
+                referenceTime = time;
+                referenceValue = value;
+            }
+            long startTime = hasPrevious ? previousTime : referenceTime;
+            long startValue = hasPrevious ? previousValue : referenceValue;
+            long elapsed = time - startTime;
+            if (elapsed <= 0) {
+                return null;
+            }
+            return (double) (value - startValue) * TimeUnit.MINUTES.toNanos(1) / elapsed;
+        }
+    }
+}
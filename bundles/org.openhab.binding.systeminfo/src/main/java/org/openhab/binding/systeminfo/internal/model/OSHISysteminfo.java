@@ -13,6 +13,9 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,6 +36,7 @@ import oshi.hardware.HardwareAbstractionLayer;
 import oshi.hardware.NetworkIF;
 import oshi.hardware.PowerSource;
 import oshi.hardware.Sensors;
+import oshi.hardware.VirtualMemory;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
@@ -73,6 +77,11 @@ public class OSHISysteminfo implements SysteminfoInterface {
     private @NonNullByDefault({}) PowerSource[] powerSources;
     private @NonNullByDefault({}) HWDiskStore[] drives;
 
+    // Samples of the dynamic data, only kept by snapshots
+    private final @Nullable Map<String, Object> samples;
+
+    private final JvmInfo jvmInfo;
+
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
     /**
@@ -81,6 +90,27 @@ public class OSHISysteminfo implements SysteminfoInterface {
      */
     public OSHISysteminfo() {
         logger.debug("OSHISysteminfo service is created");
+        samples = null;
+        jvmInfo = new JvmInfo();
+    }
+
+    /**
+     * Creates a snapshot sharing the OSHI objects of the given instance.
+     */
+    private OSHISysteminfo(OSHISysteminfo source) {
+        hal = source.hal;
+        memory = source.memory;
+        cpu = source.cpu;
+        sensors = source.sensors;
+        computerSystem = source.computerSystem;
+        operatingSystem = source.operatingSystem;
+        networks = source.networks;
+        displays = source.displays;
+        fileStores = source.fileStores;
+        powerSources = source.powerSources;
+        drives = source.drives;
+        samples = new HashMap<>();
+        jvmInfo = source.jvmInfo;
     }
 
     @Override
@@ -104,6 +134,57 @@ public class OSHISysteminfo implements SysteminfoInterface {
         drives = hal.getDiskStores();
     }
 
+    @Override
+    public SysteminfoInterface createSnapshot() {
+        return new OSHISysteminfo(this);
+    }
+
+    /**
+     * Returns the sample of a source of dynamic data. Snapshots sample each source only once, all other instances
+     * sample on every call.
+     *
+     * @param key identifies the source
+     * @param sampler reads the data from OSHI
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T sample(String key, Supplier<T> sampler) {
+        Map<String, Object> localSamples = samples;
+        if (localSamples == null) {
+            return sampler.get();
+        }
+        return (T) localSamples.computeIfAbsent(key, k -> sampler.get());
+    }
+
+    private MemorySample sampleMemory() {
+        return sample("memory", () -> new MemorySample(memory.getTotal(), memory.getAvailable()));
+    }
+
+    private MemorySample sampleSwap() {
+        return sample("swap", () -> {
+            VirtualMemory virtualMemory = memory.getVirtualMemory();
+            long swapTotal = virtualMemory.getSwapTotal();
+            return new MemorySample(swapTotal, swapTotal - virtualMemory.getSwapUsed());
+        });
+    }
+
+    private MemorySample sampleStorage(int index) throws DeviceNotFoundException {
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        return sample("storage" + index, () -> {
+            fileStore.updateAtrributes();
+            return new MemorySample(fileStore.getTotalSpace(), fileStore.getUsableSpace());
+        });
+    }
+
+    private NetworkSample sampleNetwork(int index) throws DeviceNotFoundException {
+        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        return sample("network" + index, () -> new NetworkSample(netInterface));
+    }
+
+    private PowerSourceSample samplePowerSource(int index) throws DeviceNotFoundException {
+        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        return sample("powerSource" + index, () -> new PowerSourceSample(powerSource));
+    }
+
     private Object getDevice(Object @Nullable [] devices, int index) throws DeviceNotFoundException {
         if ((devices == null) || (devices.length <= index)) {
             throw new DeviceNotFoundException("Device with index: " + index + " can not be found!");
@@ -112,7 +193,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        OSProcess process = sample("process" + pid, () -> operatingSystem.getProcess(pid));
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -172,22 +253,23 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = sampleMemory().total;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = sampleMemory().available;
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        MemorySample memorySample = sampleMemory();
+        long totalMemory = memorySample.total;
+        long availableMemory = memorySample.available;
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -195,28 +277,23 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
-        long totalSpace = fileStore.getTotalSpace();
+        long totalSpace = sampleStorage(index).total;
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
     }
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
-        long freeSpace = fileStore.getUsableSpace();
+        long freeSpace = sampleStorage(index).available;
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
     }
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
-        long totalSpace = fileStore.getTotalSpace();
-        long freeSpace = fileStore.getUsableSpace();
+        MemorySample storageSample = sampleStorage(index);
+        long totalSpace = storageSample.total;
+        long freeSpace = storageSample.available;
         long usedSpace = totalSpace - freeSpace;
         usedSpace = getSizeInMB(usedSpace);
         return new DecimalType(usedSpace);
@@ -224,10 +301,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
-        long totalSpace = fileStore.getTotalSpace();
-        long freeSpace = fileStore.getUsableSpace();
+        MemorySample storageSample = sampleStorage(deviceIndex);
+        long totalSpace = storageSample.total;
+        long freeSpace = storageSample.available;
         if (totalSpace > 0) {
             double freePercentDecimal = (double) freeSpace / (double) totalSpace;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -239,10 +315,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
-        long totalSpace = fileStore.getTotalSpace();
-        long freeSpace = fileStore.getUsableSpace();
+        MemorySample storageSample = sampleStorage(deviceIndex);
+        long totalSpace = storageSample.total;
+        long freeSpace = storageSample.available;
         long usedSpace = totalSpace - freeSpace;
         if (totalSpace > 0) {
             double usedPercentDecimal = (double) usedSpace / (double) totalSpace;
@@ -276,9 +351,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
-        netInterface.updateAttributes();
-        String[] ipAddresses = netInterface.getIPv4addr();
+        String[] ipAddresses = sampleNetwork(index).ipv4Addresses;
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
     }
@@ -315,30 +388,28 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        BigDecimal cpuTemp = new BigDecimal(sample("cpuTemperature", sensors::getCpuTemperature));
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        BigDecimal cpuVoltage = new BigDecimal(sample("cpuVoltage", sensors::getCpuVoltage));
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = sample("fanSpeeds", sensors::getFanSpeeds);
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
 
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
-        double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
+        double remainingTimeInSeconds = samplePowerSource(index).timeRemainingEstimated;
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
         return remainingTime.signum() == 1 ? new DecimalType(remainingTime) : null;
@@ -346,9 +417,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
-        double remainingCapacity = powerSource.getRemainingCapacityPercent();
+        double remainingCapacity = samplePowerSource(index).remainingCapacityPercent;
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
     }
@@ -362,8 +431,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemorySample memorySample = sampleMemory();
+        long availableMemory = memorySample.available;
+        long totalMemory = memorySample.total;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -375,8 +445,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemorySample memorySample = sampleMemory();
+        long availableMemory = memorySample.available;
+        long totalMemory = memorySample.total;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -410,32 +481,31 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = sampleSwap().total;
         swapTotal = getSizeInMB(swapTotal);
         return new DecimalType(swapTotal);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
-        long swapAvailable = swapTotal - swapUsed;
+        long swapAvailable = sampleSwap().available;
         swapAvailable = getSizeInMB(swapAvailable);
         return new DecimalType(swapAvailable);
     }
 
     @Override
     public @Nullable DecimalType getSwapUsed() {
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        MemorySample swapSample = sampleSwap();
+        long swapUsed = swapSample.total - swapSample.available;
         swapUsed = getSizeInMB(swapUsed);
         return new DecimalType(swapUsed);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailablePercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
-        long swapAvailable = swapTotal - swapUsed;
+        MemorySample swapSample = sampleSwap();
+        long swapTotal = swapSample.total;
+        long swapAvailable = swapSample.available;
         if (swapTotal > 0) {
             double swapAvailablePercentDecimal = (double) swapAvailable / (double) swapTotal;
             BigDecimal swapAvailablePercent = getPercentsValue(swapAvailablePercentDecimal);
@@ -447,8 +517,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsedPercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        MemorySample swapSample = sampleSwap();
+        long swapTotal = swapSample.total;
+        long swapUsed = swapTotal - swapSample.available;
         if (swapTotal > 0) {
             double swapUsedPercentDecimal = (double) swapUsed / (double) swapTotal;
             BigDecimal swapUsedPercent = getPercentsValue(swapUsedPercentDecimal);
@@ -523,7 +594,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = sample("cpuLoad", () -> cpu.getSystemLoadAverage(3));
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -531,13 +602,13 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuUptime() {
-        long seconds = operatingSystem.getSystemUptime();
+        long seconds = sample("uptime", operatingSystem::getSystemUptime);
         return new DecimalType(getTimeInMinutes(seconds));
     }
 
     @Override
     public DecimalType getCpuThreads() {
-        int threadCount = operatingSystem.getThreadCount();
+        int threadCount = sample("threadCount", operatingSystem::getThreadCount);
         return new DecimalType(threadCount);
     }
 
@@ -550,33 +621,25 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long packRecv = network.getPacketsRecv();
+        long packRecv = sampleNetwork(networkIndex).packetsRecv;
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long packSent = network.getPacketsSent();
+        long packSent = sampleNetwork(networkIndex).packetsSent;
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long bytesSent = network.getBytesSent();
+        long bytesSent = sampleNetwork(networkIndex).bytesSent;
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long bytesRecv = network.getBytesRecv();
+        long bytesRecv = sampleNetwork(networkIndex).bytesRecv;
         return new DecimalType(getSizeInMB(bytesRecv));
     }
 
@@ -636,4 +699,150 @@ public class OSHISysteminfo implements SysteminfoInterface {
             return null;
         }
     }
+
+    private JvmInfo.MemorySample sampleJvmMemory() {
+        return sample("jvmMemory", jvmInfo::sampleMemory);
+    }
+
+    private JvmInfo.ThreadSample sampleJvmThreads() {
+        return sample("jvmThreads", jvmInfo::sampleThreads);
+    }
+
+    private JvmInfo.GcSample sampleJvmGc() {
+        return sample("jvmGc", jvmInfo::sampleGc);
+    }
+
+    private JvmInfo.@Nullable ThreadPoolSample sampleThreadPool(String poolName) {
+        return sample("threadPool" + poolName, () -> jvmInfo.sampleThreadPool(poolName));
+    }
+
+    private BigDecimal getTimeInSeconds(long timeInMillis) {
+        BigDecimal timeInSeconds = new BigDecimal(timeInMillis / 1000D);
+        timeInSeconds = timeInSeconds.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return timeInSeconds;
+    }
+
+    @Override
+    public DecimalType getJvmHeapUsed() {
+        return new DecimalType(getSizeInMB(sampleJvmMemory().heapUsed));
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmHeapMax() {
+        long heapMax = sampleJvmMemory().heapMax;
+        return heapMax >= 0 ? new DecimalType(getSizeInMB(heapMax)) : null;
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmMetaspaceUsed() {
+        long metaspaceUsed = sampleJvmMemory().metaspaceUsed;
+        return metaspaceUsed >= 0 ? new DecimalType(getSizeInMB(metaspaceUsed)) : null;
+    }
+
+    @Override
+    public DecimalType getJvmThreads() {
+        return new DecimalType(sampleJvmThreads().threads);
+    }
+
+    @Override
+    public DecimalType getJvmDaemonThreads() {
+        return new DecimalType(sampleJvmThreads().daemonThreads);
+    }
+
+    @Override
+    public DecimalType getJvmGcCount() {
+        return new DecimalType(sampleJvmGc().count);
+    }
+
+    @Override
+    public DecimalType getJvmGcTime() {
+        return new DecimalType(getTimeInSeconds(sampleJvmGc().time));
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmGcTimeRate() {
+        Double timeRate = sampleJvmGc().timeRate;
+        if (timeRate == null) {
+            return null;
+        }
+        BigDecimal result = new BigDecimal(timeRate);
+        result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return new DecimalType(result);
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmAllocationRate() {
+        Double allocationRate = sample("jvmAllocationRate", jvmInfo::sampleAllocationRate);
+        if (allocationRate == null) {
+            return null;
+        }
+        BigDecimal result = new BigDecimal(allocationRate / (1024D * 1024));
+        result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return new DecimalType(result);
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmCompilationTime() {
+        long compilationTime = sample("jvmCompilationTime", jvmInfo::getCompilationTime);
+        return compilationTime >= 0 ? new DecimalType(getTimeInSeconds(compilationTime)) : null;
+    }
+
+    @Override
+    public @Nullable DecimalType getThreadPoolActiveThreads(String poolName) {
+        JvmInfo.ThreadPoolSample poolSample = sampleThreadPool(poolName);
+        return poolSample != null ? new DecimalType(poolSample.activeThreads) : null;
+    }
+
+    @Override
+    public @Nullable DecimalType getThreadPoolWaitingTasks(String poolName) {
+        JvmInfo.ThreadPoolSample poolSample = sampleThreadPool(poolName);
+        return poolSample != null ? new DecimalType(poolSample.waitingTasks) : null;
+    }
+
+    /**
+     * Total and available size of memory, swap or storage at the time of sampling.
+     */
+    private static class MemorySample {
+        final long total;
+        final long available;
+
+        MemorySample(long total, long available) {
+            this.total = total;
+            this.available = available;
+        }
+    }
+
+    /**
+     * Data of a network interface at the time of sampling.
+     */
+    private static class NetworkSample {
+        final String[] ipv4Addresses;
+        final long bytesSent;
+        final long bytesRecv;
+        final long packetsSent;
+        final long packetsRecv;
+
+        NetworkSample(NetworkIF netInterface) {
+            netInterface.updateAttributes();
+            ipv4Addresses = netInterface.getIPv4addr();
+            bytesSent = netInterface.getBytesSent();
+            bytesRecv = netInterface.getBytesRecv();
+            packetsSent = netInterface.getPacketsSent();
+            packetsRecv = netInterface.getPacketsRecv();
+        }
+    }
+
+    /**
+     * Data of a power source at the time of sampling.
+     */
+    private static class PowerSourceSample {
+        final double timeRemainingEstimated;
+        final double remainingCapacityPercent;
+
+        PowerSourceSample(PowerSource powerSource) {
+            powerSource.updateAttributes();
+            timeRemainingEstimated = powerSource.getTimeRemainingEstimated();
+            remainingCapacityPercent = powerSource.getRemainingCapacityPercent();
+        }
+    }
 }
@@ -31,6 +31,15 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Creates a snapshot of the system information. The snapshot samples each source of dynamic data (e.g. memory,
+     * a network interface or a process) at most once and answers all later calls from this sample, so all channels
+     * updated together read consistent values with a single sampling pass.
+     *
+     * @return the snapshot, which must not be initialized again
+     */
+    public SysteminfoInterface createSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -437,4 +446,85 @@ public interface SysteminfoInterface {
      * @throws DeviceNotFoundException - thrown if process with this PID can not be found
      */
     public @Nullable DecimalType getProcessThreads(int pid) throws DeviceNotFoundException;
+
+    // JVM info
+    /**
+     * Returns the size of the heap used by the JVM running openHAB.
+     *
+     * @return heap size in MB
+     */
+    public DecimalType getJvmHeapUsed();
+
+    /**
+     * Returns the maximum size of the heap of the JVM running openHAB.
+     *
+     * @return heap size in MB or null, if the maximum is undefined
+     */
+    public @Nullable DecimalType getJvmHeapMax();
+
+    /**
+     * Returns the size of the metaspace (class metadata) used by the JVM running openHAB.
+     *
+     * @return metaspace size in MB or null, if the JVM has no metaspace
+     */
+    public @Nullable DecimalType getJvmMetaspaceUsed();
+
+    /**
+     * Returns the number of live threads of the JVM running openHAB.
+     */
+    public DecimalType getJvmThreads();
+
+    /**
+     * Returns the number of live daemon threads of the JVM running openHAB.
+     */
+    public DecimalType getJvmDaemonThreads();
+
+    /**
+     * Returns the number of garbage collections since the start of the JVM.
+     */
+    public DecimalType getJvmGcCount();
+
+    /**
+     * Returns the time spent in garbage collections since the start of the JVM.
+     *
+     * @return time in seconds
+     */
+    public DecimalType getJvmGcTime();
+
+    /**
+     * Returns the time spent in garbage collections per minute, measured over the last one to two minutes.
+     *
+     * @return time in milliseconds per minute or null, if the garbage collections were not sampled before
+     */
+    public @Nullable DecimalType getJvmGcTimeRate();
+
+    /**
+     * Returns the size of the memory allocated on the heap per minute, measured over the last one to two minutes.
+     *
+     * @return size in MB per minute or null, if the allocations can not be measured or were not sampled before
+     */
+    public @Nullable DecimalType getJvmAllocationRate();
+
+    /**
+     * Returns the time spent by the JIT compiler since the start of the JVM.
+     *
+     * @return time in seconds or null, if the compilation time is not measured by the JVM
+     */
+    public @Nullable DecimalType getJvmCompilationTime();
+
+    /**
+     * Returns the number of threads of an openHAB thread pool, which are executing tasks.
+     *
+     * @param poolName - the name of the thread pool
+     * @return number of threads or null, if the pool does not provide its usage
+     */
+    public @Nullable DecimalType getThreadPoolActiveThreads(String poolName);
+
+    /**
+     * Returns the number of tasks, which are due for execution in an openHAB thread pool, but wait for a thread.
+     *
+     * @param poolName - the name of the thread pool
+     * @return number of tasks or null, if the pool does not provide its usage
+     */
+    public @Nullable DecimalType getThreadPoolWaitingTasks(String poolName);
 }
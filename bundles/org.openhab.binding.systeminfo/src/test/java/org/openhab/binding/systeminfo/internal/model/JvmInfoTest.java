@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.systeminfo.internal.model.JvmInfo.Rate;
+import org.openhab.binding.systeminfo.internal.model.JvmInfo.ThreadPoolSample;
+
+/**
+ * Tests the rates, the allocation bookkeeping and the thread pool sampling of the {@link JvmInfo}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JvmInfoTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    public void rateIsUnknownUntilTimeHasPassed() {
+        Rate rate = new Rate();
+        assertNull(rate.perMinute(1000, 5));
+        assertNull(rate.perMinute(1000, 8));
+        assertEquals(60.0, rate.perMinute(1000 + SECOND, 6));
+    }
+
+    @Test
+    public void rateCoversTheTimeSinceTheReferenceWithinTheFirstInterval() {
+        Rate rate = new Rate();
+        rate.perMinute(0, 0);
+        assertEquals(600.0, rate.perMinute(10 * SECOND, 100));
+        assertEquals(300.0, rate.perMinute(30 * SECOND, 150));
+        assertEquals(200.0, rate.perMinute(48 * SECOND, 160));
+    }
+
+    @Test
+    public void rateCoversAtLeastOneIntervalAfterTheReferenceIsReplaced() {
+        Rate rate = new Rate();
+        rate.perMinute(0, 0);
+        // replaces the reference, the rate still covers the whole time since the first sample
+        assertEquals(120.0, rate.perMinute(MINUTE, 120));
+        assertEquals(100.0, rate.perMinute(90 * SECOND, 150));
+        // replaces the reference again, the rate covers the time since the first replacement
+        assertEquals(60.0, rate.perMinute(2 * MINUTE, 180));
+        // a burst since the last replacement is averaged over more than one interval
+        assertEquals(80.0, rate.perMinute(150 * SECOND, 180 + 60));
+    }
+
+    @Test
+    public void rateOfIrregularSamplesCoversAtMostTwoIntervals() {
+        Rate rate = new Rate();
+        rate.perMinute(0, 0);
+        // a long pause replaces the reference by the late sample
+        assertEquals(10.0, rate.perMinute(10 * MINUTE, 100));
+        assertEquals(40.0, rate.perMinute(11 * MINUTE, 140));
+        // the samples before the pause are no longer used
+        assertEquals(30.0, rate.perMinute(12 * MINUTE, 170));
+        assertEquals(60.0, rate.perMinute(12 * MINUTE + 30 * SECOND, 230));
+    }
+
+    @Test
+    public void sampleAtTheReferenceTimeHasNoRate() {
+        Rate rate = new Rate();
+        rate.perMinute(5 * MINUTE, 0);
+        assertNull(rate.perMinute(5 * MINUTE, 10));
+        // the clock of the samples is monotonic, but not necessarily positive
+        rate = new Rate();
+        rate.perMinute(-2 * MINUTE, 0);
+        assertEquals(30.0, rate.perMinute(-MINUTE, 30));
+    }
+
+    @Test
+    public void allocatedBytesOfLiveThreadsAreAccumulated() {
+        JvmInfo jvmInfo = new JvmInfo();
+        assertEquals(300, jvmInfo.addAllocatedBytes(new long[] { 1, 2 }, new long[] { 100, 200 }));
+        // thread 3 started since the last sampling
+        assertEquals(400, jvmInfo.addAllocatedBytes(new long[] { 1, 2, 3 }, new long[] { 150, 200, 50 }));
+        // thread 2 ended, its last allocations are lost
+        assertEquals(430, jvmInfo.addAllocatedBytes(new long[] { 1, 3 }, new long[] { 160, 70 }));
+        // thread 2 is a new thread reusing the ID of the ended thread
+        assertEquals(435, jvmInfo.addAllocatedBytes(new long[] { 1, 2, 3 }, new long[] { 160, 5, 70 }));
+    }
+
+    @Test
+    public void threadsEndedWhileSamplingAreSkipped() {
+        JvmInfo jvmInfo = new JvmInfo();
+        assertEquals(300, jvmInfo.addAllocatedBytes(new long[] { 1, 2 }, new long[] { 100, 200 }));
+        // thread 2 ended after its ID was read, so its bytes are reported as -1
+        assertEquals(310, jvmInfo.addAllocatedBytes(new long[] { 1, 2 }, new long[] { 110, -1 }));
+        // so a later thread with the same ID is counted from its start
+        assertEquals(330, jvmInfo.addAllocatedBytes(new long[] { 1, 2 }, new long[] { 120, 10 }));
+        assertEquals(330, jvmInfo.addAllocatedBytes(new long[0], new long[0]));
+    }
+
+    @Test
+    public void futureTasksOfScheduledPoolsAreNotWaiting() throws InterruptedException {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        try {
+            executor.schedule(() -> {
+            }, 1, TimeUnit.HOURS);
+            executor.scheduleWithFixedDelay(() -> {
+            }, 1, 1, TimeUnit.HOURS);
+
+            ThreadPoolSample sample = JvmInfo.sampleThreadPool(executor);
+            assertEquals(0, sample.waitingTasks);
+
+            // due tasks are waiting while the only thread is busy
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> block(started, release));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            executor.execute(() -> {
+            });
+            sample = JvmInfo.sampleThreadPool(executor);
+            assertEquals(1, sample.activeThreads);
+            assertEquals(1, sample.waitingTasks);
+            release.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void queuedTasksOfOtherPoolsAreWaiting() throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> block(started, release));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            executor.execute(() -> {
+            });
+            executor.execute(() -> {
+            });
+
+            ThreadPoolSample sample = JvmInfo.sampleThreadPool(executor);
+            assertEquals(1, sample.activeThreads);
+            assertEquals(2, sample.waitingTasks);
+            release.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unknownPoolsAreNotSampled() {
+        assertNull(new JvmInfo().sampleThreadPool("not a pool"));
+    }
+
+    private static void block(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
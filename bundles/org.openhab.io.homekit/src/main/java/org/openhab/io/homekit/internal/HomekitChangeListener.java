@@ -14,7 +14,9 @@ package org.openhab.io.homekit.internal;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,8 +24,10 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.items.GroupItem;
@@ -32,6 +36,7 @@ import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemRegistryChangeListener;
 import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.storage.Storage;
 import org.openhab.core.storage.StorageService;
@@ -64,6 +69,22 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private final Set<String> pendingUpdates = new HashSet<>();
 
+    /**
+     * HomeKit metadata per item name. Invalidated by the metadata registry listener.
+     */
+    private final Map<String, Optional<Metadata>> metadataCache = new HashMap<>();
+
+    /**
+     * Names of all accessory groups, i.e. group items without base item and with HomeKit accessory tags. This allows
+     * to find the accessory groups of an item without resolving all its groups and their metadata.
+     */
+    private final Set<String> accessoryGroupNames = new HashSet<>();
+
+    /**
+     * The items and metadata root accessories have been created from. Used to skip rebuilding unchanged accessories.
+     */
+    private final Map<String, AccessorySignature> accessorySignatures = new HashMap<>();
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -88,37 +109,27 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         metadataChangeListener = new RegistryChangeListener<Metadata>() {
             @Override
             public void added(final Metadata metadata) {
-                try {
-                    markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
-                } catch (ItemNotFoundException e) {
-                    logger.debug("Could not found item for metadata {}", metadata);
-                }
+                metadataChanged(metadata);
             }
 
             @Override
             public void removed(final Metadata metadata) {
-                try {
-                    markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
-                } catch (ItemNotFoundException e) {
-                    logger.debug("Could not found item for metadata {}", metadata);
-                }
+                metadataChanged(metadata);
             }
 
             @Override
             public void updated(final Metadata metadata, final Metadata e1) {
-                try {
-                    markDirty(itemRegistry.getItem(metadata.getUID().getItemName()));
-                    if (!metadata.getUID().getItemName().equals(e1.getUID().getItemName())) {
-                        markDirty(itemRegistry.getItem(e1.getUID().getItemName()));
-                    }
-                } catch (ItemNotFoundException e) {
-                    logger.debug("Could not found item for metadata {}", metadata);
+                metadataChanged(metadata);
+                if (!metadata.getUID().getItemName().equals(e1.getUID().getItemName())) {
+                    metadataChanged(e1);
                 }
             }
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        final Collection<Item> items = itemRegistry.getItems();
+        items.forEach(this::updateAccessoryGroupIndex);
+        items.forEach(this::createRootAccessories);
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
@@ -150,6 +161,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     @Override
     public synchronized void added(Item item) {
+        updateAccessoryGroupIndex(item);
         markDirty(item);
     }
 
@@ -158,6 +170,56 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         clearAccessories();
     }
 
+    private synchronized void metadataChanged(Metadata metadata) {
+        if (!HomekitAccessoryFactory.METADATA_KEY.equals(metadata.getUID().getNamespace())) {
+            // only HomeKit metadata is relevant for accessories
+            return;
+        }
+        final String itemName = metadata.getUID().getItemName();
+        metadataCache.remove(itemName);
+        try {
+            final Item item = itemRegistry.getItem(itemName);
+            updateAccessoryGroupIndex(item);
+            markDirty(item);
+        } catch (ItemNotFoundException e) {
+            logger.debug("Could not found item for metadata {}", metadata);
+        }
+    }
+
+    private synchronized @Nullable Metadata getMetadata(Item item) {
+        return metadataCache.computeIfAbsent(item.getName(), name -> Optional
+                .ofNullable(metadataRegistry.get(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, name))))
+                .orElse(null);
+    }
+
+    private List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> getAccessoryTypes(Item item) {
+        return HomekitAccessoryFactory.getAccessoryTypes(getMetadata(item));
+    }
+
+    /**
+     * Add or remove the item to/from the accessory group index, depending on whether it is an accessory group.
+     *
+     * @param item The item that has been added or changed.
+     */
+    private synchronized void updateAccessoryGroupIndex(Item item) {
+        if ((item instanceof GroupItem) && ((GroupItem) item).getBaseItem() == null
+                && !getAccessoryTypes(item).isEmpty()) {
+            accessoryGroupNames.add(item.getName());
+        } else {
+            accessoryGroupNames.remove(item.getName());
+        }
+    }
+
+    /**
+     * return the names of the HomeKit accessory groups an item belongs to
+     *
+     * @param item The item
+     * @return list of accessory group names
+     */
+    private synchronized List<String> getAccessoryGroupNames(Item item) {
+        return item.getGroupNames().stream().filter(accessoryGroupNames::contains).collect(Collectors.toList());
+    }
+
     /**
      * Mark an item as dirty, plus any accessory groups to which it pertains, so that after a debounce period the
      * accessory update can be applied.
@@ -171,15 +233,15 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
          * If findMyAccessoryGroups fails because the accessory group has already been deleted, then we can count on a
          * later update telling us that the accessory group was removed.
          */
-        for (Item accessoryGroup : HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry)) {
-            pendingUpdates.add(accessoryGroup.getName());
-        }
+        pendingUpdates.addAll(getAccessoryGroupNames(item));
         applyUpdatesDebouncer.call();
     }
 
     @Override
     public synchronized void removed(Item item) {
         markDirty(item);
+        accessoryGroupNames.remove(item.getName());
+        metadataCache.remove(item.getName());
     }
 
     private Optional<Item> getItemOptional(String name) {
@@ -199,21 +261,31 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
-    private synchronized void applyUpdates() {
+    synchronized void applyUpdates() {
         logger.trace("apply updates");
+        boolean changed = false;
         for (final String name : pendingUpdates) {
+            final Optional<Item> item = getItemOptional(name);
+            final @Nullable AccessorySignature signature = item.map(this::createAccessorySignature).orElse(null);
+            if (signature != null && signature.equals(accessorySignatures.get(name))) {
+                logger.trace(" skip unchanged item {}", name);
+                continue;
+            }
             accessoryRegistry.remove(name);
+            final boolean removed = accessorySignatures.remove(name) != null;
             logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+            item.ifPresent(this::createRootAccessories);
+            changed |= removed || accessorySignatures.containsKey(name);
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (changed) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
+        pendingUpdates.clear();
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
+    public synchronized void updated(Item oldElement, Item element) {
+        updateAccessoryGroupIndex(element);
         markDirty(oldElement);
         markDirty(element);
     }
@@ -224,6 +296,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        accessorySignatures.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -282,24 +355,102 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * @param item openHAB item
      */
     private void createRootAccessories(Item item) {
-        final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
-                .getAccessoryTypes(item, metadataRegistry);
-        final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
-        if (!accessoryTypes.isEmpty()
-                && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
+        final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = getAccessoryTypes(item);
+        // accessory groups are only group items without base item
+        if (!accessoryTypes.isEmpty() && getAccessoryGroupNames(item).isEmpty()) {
             logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
             final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
-            accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
-                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
+            final @Nullable Metadata metadata = getMetadata(item);
+            boolean created = true;
+            for (Entry<HomekitAccessoryType, HomekitCharacteristicType> rootAccessory : accessoryTypes) {
+                created &= createRootAccessory(new HomekitTaggedItem(itemProxy, rootAccessory.getKey(),
+                        metadata != null ? metadata.getConfiguration() : null));
+            }
+            // failed accessories are retried on the next update of the item, even if it has not changed
+            if (created) {
+                accessorySignatures.put(item.getName(), createAccessorySignature(item));
+            }
+        }
+    }
+
+    /**
+     * collect everything a root accessory for the given item is created from, i.e. the item itself, its accessory
+     * groups and, for group items, all group members together with their HomeKit metadata.
+     *
+     * @param item openHAB item
+     * @return signature of the accessory
+     */
+    private AccessorySignature createAccessorySignature(Item item) {
+        final AccessorySignature signature = new AccessorySignature(getAccessoryGroupNames(item));
+        addToSignature(signature, item, new HashSet<>());
+        return signature;
+    }
+
+    private void addToSignature(AccessorySignature signature, Item item, Set<String> visitedItems) {
+        // groups can contain each other, every item is added once
+        if (!visitedItems.add(item.getName())) {
+            return;
+        }
+        signature.add(item, getMetadata(item));
+        if (item instanceof GroupItem) {
+            for (Item member : ((GroupItem) item).getMembers()) {
+                addToSignature(signature, member, visitedItems);
+            }
         }
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private boolean createRootAccessory(HomekitTaggedItem taggedItem) {
         try {
             accessoryRegistry.addRootAccessory(taggedItem.getName(),
                     HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
+            return true;
         } catch (HomekitException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The items and HomeKit metadata a root accessory has been created from. Items are compared by identity, as
+     * the accessory keeps references to the item instances, which are replaced by the item registry on updates.
+     */
+    private static class AccessorySignature {
+        private final List<Item> items = new ArrayList<>();
+        private final List<@Nullable Object> values = new ArrayList<>();
+
+        AccessorySignature(List<String> accessoryGroupNames) {
+            values.add(accessoryGroupNames);
+        }
+
+        void add(Item item, @Nullable Metadata metadata) {
+            items.add(item);
+            values.add(metadata != null ? metadata.getValue() : null);
+            values.add(metadata != null ? metadata.getConfiguration() : null);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AccessorySignature)) {
+                return false;
+            }
+            final AccessorySignature other = (AccessorySignature) obj;
+            if (items.size() != other.items.size() || !values.equals(other.values)) {
+                return false;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) != other.items.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
         }
     }
 }
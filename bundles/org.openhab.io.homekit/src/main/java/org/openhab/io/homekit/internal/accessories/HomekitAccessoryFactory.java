@@ -178,8 +178,18 @@ public class HomekitAccessoryFactory {
      */
     public static List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> getAccessoryTypes(Item item,
             MetadataRegistry metadataRegistry) {
+        return getAccessoryTypes(metadataRegistry.get(new MetadataKey(METADATA_KEY, item.getUID())));
+    }
+
+    /**
+     * return HomeKit accessory types based on already resolved HomeKit meta data of an item
+     *
+     * @param metadata HomeKit meta data of an item, null if the item has none
+     * @return list of HomeKit accessory types and characteristics.
+     */
+    public static List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> getAccessoryTypes(
+            @Nullable Metadata metadata) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessories = new ArrayList<>();
-        final @Nullable Metadata metadata = metadataRegistry.get(new MetadataKey(METADATA_KEY, item.getUID()));
         if (metadata != null) {
             String[] tags = metadata.getValue().split(",");
             for (String tag : tags) {
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.common.registry.RegistryChangeListener;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.storage.Storage;
+import org.openhab.core.storage.StorageService;
+import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
+
+import io.github.hapjava.accessories.HomekitAccessory;
+
+/**
+ * Tests that the {@link HomekitChangeListener} only rebuilds the accessories whose items or metadata have changed.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class HomekitChangeListenerTest {
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistry;
+    private @Mock @NonNullByDefault({}) MetadataRegistry metadataRegistry;
+    private @Mock @NonNullByDefault({}) StorageService storageService;
+    private @Mock @NonNullByDefault({}) Storage<String> storage;
+
+    private final Map<String, Item> items = new HashMap<>();
+    private final Map<MetadataKey, Metadata> metadata = new HashMap<>();
+
+    private @NonNullByDefault({}) HomekitChangeListener listener;
+    private @NonNullByDefault({}) RegistryChangeListener<Metadata> metadataListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ItemNotFoundException {
+        doReturn(storage).when(storageService).getStorage(HomekitAuthInfoImpl.STORAGE_KEY);
+        when(itemRegistry.getItems()).thenAnswer(invocation -> List.copyOf(items.values()));
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> {
+            final @Nullable Item item = items.get(invocation.getArgument(0));
+            if (item == null) {
+                throw new ItemNotFoundException(invocation.getArgument(0));
+            }
+            return item;
+        });
+        when(metadataRegistry.get(any(MetadataKey.class)))
+                .thenAnswer(invocation -> metadata.get(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (listener != null) {
+            listener.unsetBridge();
+            listener.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void createListener() {
+        listener = new HomekitChangeListener(itemRegistry, new HomekitSettings(), metadataRegistry, storageService);
+        final ArgumentCaptor<RegistryChangeListener<Metadata>> captor = ArgumentCaptor
+                .forClass(RegistryChangeListener.class);
+        verify(metadataRegistry).addRegistryChangeListener(captor.capture());
+        metadataListener = captor.getValue();
+    }
+
+    private <T extends Item> T addItem(T item, String homekitTags, Map<String, Object> configuration) {
+        items.put(item.getName(), item);
+        setMetadata(item, homekitTags, configuration);
+        return item;
+    }
+
+    private Metadata setMetadata(Item item, String homekitTags, Map<String, Object> configuration) {
+        final MetadataKey key = new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, item.getName());
+        final Metadata entry = new Metadata(key, homekitTags, configuration);
+        metadata.put(key, entry);
+        return entry;
+    }
+
+    @Test
+    public void unchangedItemIsSkipped() {
+        final SwitchItem item = addItem(new SwitchItem("switch"), "Switchable", Map.of("inverted", true));
+        createListener();
+        final HomekitAccessory accessory = listener.getAccessories().get("switch");
+        assertNotNull(accessory);
+        final int revision = listener.getConfigurationRevision();
+
+        // an update event with an equal item, the registry keeps the instance the accessory was created from
+        final SwitchItem equalItem = new SwitchItem("switch");
+        assertNotSame(item, equalItem);
+        assertEquals(item, equalItem);
+        listener.updated(item, equalItem);
+        // an update of the metadata with equal values
+        final Metadata oldMetadata = metadata
+                .get(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, item.getName()));
+        final Metadata newMetadata = setMetadata(item, "Switchable", new HashMap<>(Map.of("inverted", true)));
+        assertNotSame(oldMetadata, newMetadata);
+        metadataListener.updated(newMetadata, oldMetadata);
+        listener.applyUpdates();
+
+        assertSame(accessory, listener.getAccessories().get("switch"));
+        assertEquals(revision, listener.getConfigurationRevision());
+    }
+
+    @Test
+    public void metadataChangeRebuildsAccessory() {
+        final SwitchItem item = addItem(new SwitchItem("switch"), "Switchable", Map.of());
+        createListener();
+        final HomekitAccessory accessory = listener.getAccessories().get("switch");
+        assertNotNull(accessory);
+        final int revision = listener.getConfigurationRevision();
+
+        final Metadata oldMetadata = metadata
+                .get(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, item.getName()));
+        final Metadata newMetadata = setMetadata(item, "Switchable", Map.of("inverted", true));
+        metadataListener.updated(newMetadata, oldMetadata);
+        listener.applyUpdates();
+
+        final HomekitAccessory rebuiltAccessory = listener.getAccessories().get("switch");
+        assertNotNull(rebuiltAccessory);
+        assertNotSame(accessory, rebuiltAccessory);
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+    }
+
+    @Test
+    public void memberChangeRebuildsGroupAccessory() {
+        final GroupItem group = addItem(new GroupItem("light"), "Lighting", Map.of());
+        final SwitchItem member = addItem(new SwitchItem("light_on"), "Lighting.OnState", Map.of());
+        member.addGroupName(group.getName());
+        group.addMember(member);
+        createListener();
+        final HomekitAccessory accessory = listener.getAccessories().get("light");
+        assertNotNull(accessory);
+        // the member is a characteristic of the group accessory, not an accessory of its own
+        assertNull(listener.getAccessories().get("light_on"));
+        final int revision = listener.getConfigurationRevision();
+
+        listener.updated(group, group);
+        listener.applyUpdates();
+        assertSame(accessory, listener.getAccessories().get("light"));
+        assertEquals(revision, listener.getConfigurationRevision());
+
+        // the item registry replaces the member instance on updates
+        final SwitchItem newMember = addItem(new SwitchItem("light_on"), "Lighting.OnState", Map.of());
+        newMember.addGroupName(group.getName());
+        group.removeMember(member);
+        group.addMember(newMember);
+        listener.updated(member, newMember);
+        listener.applyUpdates();
+
+        final HomekitAccessory rebuiltAccessory = listener.getAccessories().get("light");
+        assertNotNull(rebuiltAccessory);
+        assertNotSame(accessory, rebuiltAccessory);
+        assertEquals(revision + 1, listener.getConfigurationRevision());
+    }
+}
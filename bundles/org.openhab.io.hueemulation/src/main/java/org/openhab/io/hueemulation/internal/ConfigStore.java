@@ -99,6 +99,11 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer(this)).create();
 
+    /**
+     * Pre-serialized responses of the frequently polled endpoints. Needs to be invalidated on every data change.
+     */
+    public final JsonSnapshotCache snapshots = new JsonSnapshotCache();
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
@@ -248,6 +253,8 @@ public class ConfigStore {
         ds.config.netmask = networkPrefixLength < 32 ? NetUtil.networkPrefixLengthToNetmask(networkPrefixLength)
                 : "255.255.255.0";
 
+        snapshots.invalidate();
+
         if (eventAdmin != null) {
             eventAdmin.postEvent(new Event(EVENT_ADDRESS_CHANGED, Collections.emptyMap()));
         }
@@ -345,6 +352,16 @@ public class ConfigStore {
         return String.valueOf(hueId);
     }
 
+    /**
+     * Return true if a hue ID has been assigned to the given item, i.e. if the item is or has been exposed as light,
+     * group or sensor. This never assigns a new hue ID.
+     *
+     * @param itemName The item name
+     */
+    public boolean hasHueID(String itemName) {
+        return metadataRegistry.get(new MetadataKey(METAKEY, itemName)) != null;
+    }
+
     /**
      * Get the unique id
      *
@@ -391,6 +408,7 @@ public class ConfigStore {
         } else if (!config.permanentV1bridge) {
             ds.config.makeV2bridge();
         }
+        snapshots.invalidate();
         ScheduledFuture<?> future = pairingOffFuture;
         if (future != null) {
             future.cancel(false);
@@ -406,6 +424,7 @@ public class ConfigStore {
             if (!config.permanentV1bridge) { // Restore bridge version
                 ds.config.makeV2bridge();
             }
+            snapshots.invalidate();
             config.createNewUserOnEveryEndpoint = false;
             config.temporarilyEmulateV1bridge = false;
             WriteConfig.unsetPairingMode(configAdmin);
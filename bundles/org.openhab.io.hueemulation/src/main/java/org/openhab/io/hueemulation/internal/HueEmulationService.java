@@ -107,7 +107,22 @@ public class HueEmulationService implements EventHandler {
         }
     }
 
+    /**
+     * Any request that is not a GET request may have modified the data store, so the cached JSON snapshots are
+     * invalidated after the request has been processed.
+     */
+    public class SnapshotInvalidator implements ContainerResponseFilter {
+        @NonNullByDefault({})
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+                cs.snapshots.invalidate();
+            }
+        }
+    }
+
     private final ContainerRequestFilter requestCleaner = new RequestInterceptor();
+    private final ContainerResponseFilter snapshotInvalidator = new SnapshotInvalidator();
 
     /**
      * The Jax-RS application that starts up all REST activities.
@@ -126,7 +141,7 @@ public class HueEmulationService implements EventHandler {
         @Override
         public Set<Object> getSingletons() {
             return Set.of(userManagement, configurationAccess, lightItems, sensors, scenes, schedules, rules,
-                    statusResource, accessInterceptor, requestCleaner);
+                    statusResource, accessInterceptor, requestCleaner, snapshotInvalidator);
         }
 
         Dictionary<String, String> serviceProperties() {
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Hue clients like Amazon Echos and Harmony hubs poll the lights and groups endpoints aggressively.
+ * This cache keeps the serialized JSON responses of those endpoints, so that they are only serialized again after
+ * the underlying data has changed.
+ * <p>
+ * All snapshots share a single data version that is increased by {@link #invalidate()}. This happens for every item
+ * state change of an exposed item, every item registry change and every modifying REST request.
+ * Each snapshot is served with an ETag derived from that version, so that clients sending an If-None-Match header
+ * receive a "304 Not Modified" response without any body.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonSnapshotCache {
+    /**
+     * The responses of all endpoints with the same type (for example all "/lights/{id}" endpoints) share one set of
+     * statistics.
+     */
+    public static class Statistics {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private final AtomicLong serializations = new AtomicLong();
+        private final AtomicLong serializationNanos = new AtomicLong();
+        private final long startNanos = System.nanoTime();
+
+        /**
+         * @return The average number of requests per minute since the start of the service
+         */
+        public double getRequestsPerMinute() {
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+            return seconds > 0 ? requests.get() * 60.0 / seconds : requests.get();
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getNotModified() {
+            return notModified.get();
+        }
+
+        public long getSerializations() {
+            return serializations.get();
+        }
+
+        /**
+         * @return The average serialization time in microseconds
+         */
+        public long getAverageSerializationMicros() {
+            long count = serializations.get();
+            return count > 0 ? TimeUnit.NANOSECONDS.toMicros(serializationNanos.get() / count) : 0;
+        }
+    }
+
+    private static class Snapshot {
+        final long version;
+        final long createdNanos;
+        final byte[] data;
+        final EntityTag etag;
+
+        Snapshot(long version, byte[] data, EntityTag etag) {
+            this.version = version;
+            this.createdNanos = System.nanoTime();
+            this.data = data;
+            this.etag = etag;
+        }
+    }
+
+    // ETags must not be reused after a restart, therefore the version is prefixed with the creation time
+    private final String etagPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Mark all snapshots as outdated.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        // Stale entries would be replaced on the next access anyway. Clearing keeps the map small if ids vanish.
+        snapshots.clear();
+    }
+
+    /**
+     * Return the cached JSON response of an endpoint or serialize it, if the data has changed in the meantime.
+     *
+     * @param request The request, used to evaluate the If-None-Match header
+     * @param endpoint The endpoint type, for example "lights/{id}". Statistics are collected per endpoint type.
+     * @param key The key of the response, for example "lights/1"
+     * @param maxAgeMillis The maximum age of the snapshot or 0 if the snapshot is only outdated by
+     *            {@link #invalidate()}. Used for data that contains the current time.
+     * @param serializer Serializes the response if necessary
+     * @return A response with the serialized data or a "304 Not Modified" response
+     */
+    public Response response(@Nullable Request request, String endpoint, String key, long maxAgeMillis,
+            Supplier<String> serializer) {
+        Statistics stats = statistics.computeIfAbsent(endpoint, e -> new Statistics());
+        stats.requests.incrementAndGet();
+
+        Snapshot snapshot = get(key, maxAgeMillis, serializer, stats);
+
+        if (request != null) {
+            ResponseBuilder notModified = request.evaluatePreconditions(snapshot.etag);
+            if (notModified != null) {
+                stats.notModified.incrementAndGet();
+                return notModified.tag(snapshot.etag).build();
+            }
+        }
+        return Response.ok(snapshot.data).tag(snapshot.etag).build();
+    }
+
+    private Snapshot get(String key, long maxAgeMillis, Supplier<String> serializer, Statistics stats) {
+        long currentVersion = version.get();
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version == currentVersion && (maxAgeMillis <= 0
+                || System.nanoTime() - snapshot.createdNanos < TimeUnit.MILLISECONDS.toNanos(maxAgeMillis))) {
+            return snapshot;
+        }
+
+        long start = System.nanoTime();
+        byte[] data = serializer.get().getBytes(StandardCharsets.UTF_8);
+        stats.serializationNanos.addAndGet(System.nanoTime() - start);
+        stats.serializations.incrementAndGet();
+
+        snapshot = new Snapshot(currentVersion, data,
+                new EntityTag(etagPrefix + Long.toHexString(currentVersion) + "-" + Long.toHexString(start)));
+        if (version.get() == currentVersion) {
+            // Only cache if no invalidation happened during serialization
+            snapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return The statistics per endpoint type
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(statistics));
+    }
+}
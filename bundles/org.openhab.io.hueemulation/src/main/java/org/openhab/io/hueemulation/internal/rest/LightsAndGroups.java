@@ -27,6 +27,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -143,6 +144,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void added(Item newElement) {
+        cs.snapshots.invalidate();
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -197,6 +199,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void removed(Item element) {
+        cs.snapshots.invalidate();
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
         cs.ds.lights.remove(hueID);
@@ -210,6 +213,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @SuppressWarnings({ "null", "unused" })
     @Override
     public synchronized void updated(Item oldElement, Item newElement) {
+        cs.snapshots.invalidate();
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -247,12 +251,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return cs.snapshots.response(request, "lights", "lights", 0, () -> cs.gson.toJson(cs.ds.lights));
     }
 
     @GET
@@ -282,13 +286,14 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights/{id}")
     @Operation(summary = "Return a light", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getLightApi(@Context UriInfo uri, //
+    public Response getLightApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @Parameter(description = "username") String username,
             @PathParam("id") @Parameter(description = "light id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        return cs.snapshots.response(request, "lights/{id}", "lights/" + id, 0,
+                () -> cs.gson.toJson(cs.ds.lights.get(id)));
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -438,24 +443,25 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return cs.snapshots.response(request, "groups", "groups", 0, () -> cs.gson.toJson(cs.ds.groups));
     }
 
     @GET
     @Path("{username}/groups/{id}")
     @Operation(summary = "Return a group", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getGroupApi(@Context UriInfo uri, //
+    public Response getGroupApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @Parameter(description = "username") String username,
             @PathParam("id") @Parameter(description = "group id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        return cs.snapshots.response(request, "groups/{id}", "groups/" + id, 0,
+                () -> cs.gson.toJson(cs.ds.groups.get(id)));
     }
 
     @SuppressWarnings({ "null", "unused" })
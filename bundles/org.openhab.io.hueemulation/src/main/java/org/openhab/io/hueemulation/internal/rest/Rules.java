@@ -112,6 +112,7 @@ public class Rules implements RegistryChangeListener<Rule> {
 
     @Override
     public void added(Rule rule) {
+        cs.snapshots.invalidate();
         if (!rule.getTags().contains(RULES_TAG)) {
             return;
         }
@@ -148,11 +149,13 @@ public class Rules implements RegistryChangeListener<Rule> {
 
     @Override
     public void removed(Rule element) {
+        cs.snapshots.invalidate();
         cs.ds.rules.remove(element.getUID());
     }
 
     @Override
     public void updated(Rule oldElement, Rule element) {
+        cs.snapshots.invalidate();
         removed(oldElement);
         added(element);
     }
@@ -118,6 +118,7 @@ public class Scenes implements RegistryChangeListener<Rule> {
 
     @Override
     public void added(Rule scene) {
+        cs.snapshots.invalidate();
         if (!scene.getTags().contains("scene")) {
             return;
         }
@@ -158,11 +159,13 @@ public class Scenes implements RegistryChangeListener<Rule> {
 
     @Override
     public void removed(Rule element) {
+        cs.snapshots.invalidate();
         cs.ds.scenes.remove(element.getUID());
     }
 
     @Override
     public void updated(Rule oldElement, Rule element) {
+        cs.snapshots.invalidate();
         removed(oldElement);
         added(element);
     }
@@ -119,6 +119,7 @@ public class Schedules implements RegistryChangeListener<Rule> {
      */
     @Override
     public void added(Rule rule) {
+        cs.snapshots.invalidate();
         if (!rule.getTags().contains(SCHEDULE_TAG)) {
             return;
         }
@@ -152,11 +153,13 @@ public class Schedules implements RegistryChangeListener<Rule> {
 
     @Override
     public void removed(Rule element) {
+        cs.snapshots.invalidate();
         cs.ds.schedules.remove(element.getUID());
     }
 
     @Override
     public void updated(Rule oldElement, Rule element) {
+        cs.snapshots.invalidate();
         removed(oldElement);
         added(element);
     }
@@ -112,6 +112,7 @@ public class Sensors implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void added(Item newElement) {
+        cs.snapshots.invalidate();
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -129,6 +130,7 @@ public class Sensors implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void removed(Item element) {
+        cs.snapshots.invalidate();
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
         cs.ds.sensors.remove(hueID);
@@ -136,6 +138,7 @@ public class Sensors implements RegistryChangeListener<Item> {
 
     @Override
     public synchronized void updated(Item oldElement, Item newElement) {
+        cs.snapshots.invalidate();
         if (!(newElement instanceof GenericItem)) {
             return;
         }
@@ -148,6 +148,10 @@ public class StatusResource implements RegistryListener {
                 "<h2>Reachability test</h2>" + //
                 "<table style='border:1px solid black'><tr><td>URL</td><td>Responds?</td><td>Ours?</td></tr>%s</table>"
                 + //
+                "<h2>Request statistics</h2>" + //
+                "<table style='border:1px solid black'><tr><td>Endpoint</td><td>Requests</td><td>Requests/min</td>"
+                + "<td>Not modified</td><td>Serializations</td><td>Avg. serialization time (&micro;s)</td></tr>%s</table>"
+                + //
                 "<h2>Users</h2><ul>%s</ul></body></html>";
 
         String users = cs.ds.config.whitelist.entrySet().stream().map(user -> "<li>" + user.getKey() + " <b>"
@@ -160,6 +164,14 @@ public class StatusResource implements RegistryListener {
                 .map(entry -> TR(TD(entry.address) + TD(toYesNo(entry.reachable)) + TD(toYesNo(entry.isOurs))))
                 .collect(Collectors.joining("\n"));
 
+        String statistics = cs.snapshots.getStatistics().entrySet().stream()
+                .map(entry -> TR(TD(entry.getKey()) + TD(String.valueOf(entry.getValue().getRequests()))
+                        + TD(String.format("%.1f", entry.getValue().getRequestsPerMinute()))
+                        + TD(String.valueOf(entry.getValue().getNotModified()))
+                        + TD(String.valueOf(entry.getValue().getSerializations()))
+                        + TD(String.valueOf(entry.getValue().getAverageSerializationMicros()))))
+                .collect(Collectors.joining("\n"));
+
         Registry registry = upnpService.getRegistry();
         String upnps;
         if (registry != null) {
@@ -178,7 +190,7 @@ public class StatusResource implements RegistryListener {
                 cs.getConfig().temporarilyEmulateV1bridge ? "V1" : "V2", url, url, //
                 cs.ds.lights.size(), url, url, cs.ds.sensors.size(), url, url, //
                 selfTestUpnpFound.name().replace('_', ' '), //
-                upnps, reachable, users);
+                upnps, reachable, statistics, users);
     }
 
     @NonNullByDefault({})
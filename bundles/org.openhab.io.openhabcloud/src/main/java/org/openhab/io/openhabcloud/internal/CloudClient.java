@@ -14,17 +14,19 @@ package org.openhab.io.openhabcloud.internal;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
@@ -37,6 +39,7 @@ import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
@@ -65,6 +68,23 @@ import io.socket.engineio.client.Transport;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * The maximum number of item updates that are kept while the connection to the openHAB Cloud is down
+     */
+    private static final int MAX_PENDING_ITEM_UPDATES = 1000;
+
+    /*
+     * Hop-by-hop headers of the remote request which must not be forwarded to the local openHAB.
+     * Forwarding e.g. "Connection: close" would prevent the reuse of the pooled local connections.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeader.CONNECTION.lowerCaseName(),
+            HttpHeader.KEEP_ALIVE.lowerCaseName(), HttpHeader.PROXY_CONNECTION.lowerCaseName(),
+            HttpHeader.TE.lowerCaseName(), HttpHeader.TRANSFER_ENCODING.lowerCaseName(),
+            HttpHeader.UPGRADE.lowerCaseName(), HttpHeader.CONTENT_LENGTH.lowerCaseName());
+
     /*
      * Logger for this class
      */
@@ -129,6 +149,36 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the interval in milliseconds in which buffered item updates are sent to the openHAB Cloud.
+     * A value of 0 sends item updates immediately.
+     */
+    private final int itemUpdateInterval;
+
+    /*
+     * This map holds the latest state of every item that has not been sent to the openHAB Cloud yet,
+     * in the order of the first pending update. All access is guarded by the map itself.
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+
+    private @Nullable ScheduledFuture<?> itemUpdateJob;
+
+    /*
+     * Counters for the item updates which were sent, replaced by a newer state before sending or discarded
+     * because too many updates were pending
+     */
+    private final AtomicLong emittedItemUpdates = new AtomicLong();
+    private final AtomicLong coalescedItemUpdates = new AtomicLong();
+    private final AtomicLong droppedItemUpdates = new AtomicLong();
+
+    /*
+     * Metrics of the requests proxied to the local openHAB: number of finished requests, the sum of their
+     * durations and the number of response body bytes relayed to the openHAB Cloud
+     */
+    private final AtomicLong proxiedRequests = new AtomicLong();
+    private final AtomicLong proxiedRequestNanos = new AtomicLong();
+    private final AtomicLong proxiedResponseBytes = new AtomicLong();
+
     /**
      * Constructor of CloudClient
      *
@@ -136,15 +186,17 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Interval in milliseconds in which item updates are sent, 0 to send them immediately
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, int itemUpdateInterval) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
+        this.itemUpdateInterval = itemUpdateInterval;
         this.jettyClient = httpClient;
     }
 
@@ -223,6 +275,11 @@ public class CloudClient {
             }
         });
         socket.connect();
+
+        if (itemUpdateInterval > 0) {
+            itemUpdateJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).scheduleWithFixedDelay(
+                    this::flushItemUpdates, itemUpdateInterval, itemUpdateInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -232,6 +289,8 @@ public class CloudClient {
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         isConnected = true;
+        // Send the updates which were buffered while the connection was down
+        ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(this::flushItemUpdates);
     }
 
     /**
@@ -284,34 +343,22 @@ public class CloudClient {
             String requestPath = data.getString("path");
             // Get request method
             String requestMethod = data.getString("method");
-            // Get request body
-            String requestBody = data.getString("body");
             // Get JSONObject for request headers
             JSONObject requestHeadersJson = data.getJSONObject("headers");
-            logger.debug("{}", requestHeadersJson.toString());
+            logger.debug("{}", requestHeadersJson);
             // Get JSONObject for request query parameters
             JSONObject requestQueryJson = data.getJSONObject("query");
-            // Create URI builder with base request URI of openHAB and path from request
-            String newPath = URIUtil.addPaths(localBaseUrl, requestPath);
+            // Create the request to openHAB with the path from the request, the query parameters are encoded by Jetty
+            Request request = jettyClient.newRequest(URIUtil.addPaths(localBaseUrl, requestPath));
             Iterator<String> queryIterator = requestQueryJson.keys();
-            // Add query parameters to URI builder, if any
-            newPath += "?";
             while (queryIterator.hasNext()) {
                 String queryName = queryIterator.next();
-                newPath += queryName;
-                newPath += "=";
-                newPath += URLEncoder.encode(requestQueryJson.getString(queryName), "UTF-8");
-                if (queryIterator.hasNext()) {
-                    newPath += "&";
-                }
+                request.param(queryName, requestQueryJson.getString(queryName));
             }
-            // Finally get the future request URI
-            URI requestUri = new URI(newPath);
             // All preparations which are common for different methods are done
             // Now perform the request to openHAB
             // If method is GET
             logger.debug("Request method is {}", requestMethod);
-            Request request = jettyClient.newRequest(requestUri);
             setRequestHeaders(request, requestHeadersJson);
             String proto = protocol;
             if (data.has("protocol")) {
@@ -323,10 +370,10 @@ public class CloudClient {
                 request.method(HttpMethod.GET);
             } else if (requestMethod.equals("POST")) {
                 request.method(HttpMethod.POST);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(new BytesContentProvider(data.getString("body").getBytes(StandardCharsets.UTF_8)));
             } else if (requestMethod.equals("PUT")) {
                 request.method(HttpMethod.PUT);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(new BytesContentProvider(data.getString("body").getBytes(StandardCharsets.UTF_8)));
             } else {
                 // TODO: Reject unsupported methods
                 logger.warn("Unsupported request method {}", requestMethod);
@@ -337,7 +384,7 @@ public class CloudClient {
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
-        } catch (JSONException | IOException | URISyntaxException e) {
+        } catch (JSONException | IllegalArgumentException e) {
             logger.debug("{}", e.getMessage());
         }
     }
@@ -351,7 +398,7 @@ public class CloudClient {
             try {
                 headerValue = requestHeadersJson.getString(headerName);
                 logger.debug("Jetty set header {} = {}", headerName, headerValue);
-                if (!headerName.equalsIgnoreCase("Content-Length")) {
+                if (!HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase())) {
                     request.header(headerName, headerValue);
                 }
             } catch (JSONException e) {
@@ -463,25 +510,63 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are buffered and sent every item update interval.
+     * Only the latest state of an item is sent, if it is updated more than once within an interval
+     * or while the connection to the openHAB Cloud is down.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+        if (itemUpdateInterval <= 0 && isConnected()) {
+            emitItemUpdate(itemName, itemState);
+            return;
+        }
+        synchronized (pendingItemUpdates) {
+            if (pendingItemUpdates.containsKey(itemName)) {
+                coalescedItemUpdates.incrementAndGet();
+            } else if (pendingItemUpdates.size() >= MAX_PENDING_ITEM_UPDATES) {
+                // Discard the oldest pending update
+                Iterator<String> iterator = pendingItemUpdates.keySet().iterator();
+                logger.debug("Too many pending item updates, discarding update of item '{}'", iterator.next());
+                iterator.remove();
+                droppedItemUpdates.incrementAndGet();
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
+            pendingItemUpdates.put(itemName, itemState);
+        }
+    }
+
+    /**
+     * Sends all buffered item updates to the openHAB Cloud, if connected
+     */
+    private void flushItemUpdates() {
+        if (!isConnected()) {
+            return;
+        }
+        Map<String, String> itemUpdates;
+        synchronized (pendingItemUpdates) {
+            if (pendingItemUpdates.isEmpty()) {
+                return;
+            }
+            itemUpdates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+        }
+        itemUpdates.forEach(this::emitItemUpdate);
+        logger.debug("Sent {} item updates (total: {} sent, {} coalesced, {} dropped)", itemUpdates.size(),
+                emittedItemUpdates.get(), coalescedItemUpdates.get(), droppedItemUpdates.get());
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            socket.emit("itemupdate", itemUpdateMessage);
+            emittedItemUpdates.incrementAndGet();
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
         }
     }
 
@@ -497,6 +582,17 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        ScheduledFuture<?> job = itemUpdateJob;
+        if (job != null) {
+            job.cancel(false);
+            itemUpdateJob = null;
+        }
+        logger.debug("Item updates: {} sent, {} coalesced, {} dropped", emittedItemUpdates.get(),
+                coalescedItemUpdates.get(), droppedItemUpdates.get());
+        long requests = proxiedRequests.get();
+        logger.debug("Proxied requests: {} finished, {} ms average duration, {} bytes sent", requests,
+                requests > 0 ? TimeUnit.NANOSECONDS.toMillis(proxiedRequestNanos.get() / requests) : 0,
+                proxiedResponseBytes.get());
         socket.disconnect();
     }
 
@@ -518,9 +614,10 @@ public class CloudClient {
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private final long mStartNanos = System.nanoTime();
+        private long mContentBytes;
 
         public ResponseListener(int requestId) {
             mRequestId = requestId;
@@ -542,6 +639,15 @@ public class CloudClient {
         public void onComplete(Result result) {
             // Remove this request from list of running requests
             runningRequests.remove(mRequestId);
+            long durationNanos = System.nanoTime() - mStartNanos;
+            proxiedRequests.incrementAndGet();
+            proxiedRequestNanos.addAndGet(durationNanos);
+            proxiedResponseBytes.addAndGet(mContentBytes);
+            if (logger.isDebugEnabled()) {
+                int status = result != null && result.getResponse() != null ? result.getResponse().getStatus() : 0;
+                logger.debug("Request {} finished with status {} in {} ms, {} bytes", mRequestId, status,
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos), mContentBytes);
+            }
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -586,10 +692,14 @@ public class CloudClient {
 
         @Override
         public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            int size = content.remaining();
+            logger.debug("Jetty received response content of size {}", size);
+            mContentBytes += size;
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
+                // Jetty recycles the buffer after this method returns while Socket.IO sends asynchronously,
+                // so the content has to be copied exactly once here
                 responseJson.put("body", BufferUtil.toArray(content));
                 socket.emit("responseContentBinary", responseJson);
                 logger.debug("Sent content to request {}", mRequestId);
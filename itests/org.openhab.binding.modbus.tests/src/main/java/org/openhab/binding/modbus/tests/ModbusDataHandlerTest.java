@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -28,6 +29,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -793,6 +795,112 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
                 ThingStatus.ONLINE);
     }
 
+    /**
+     * Create a data thing reading an int16 from register 0, processing the polls with a transformation counting its
+     * invocations
+     *
+     * @param request the poll request of the parent poller
+     * @param skipUnchangedPolls the skipUnchangedPolls parameter of the data thing
+     * @param transformations incremented on every invocation of the transformation
+     */
+    @SuppressWarnings({ "null" })
+    private ModbusDataThingHandler createCountingReadHandler(ModbusReadRequestBlueprint request,
+            int skipUnchangedPolls, AtomicInteger transformations) {
+        mockTransformation("COUNT", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                transformations.incrementAndGet();
+                return source;
+            }
+        });
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", "COUNT(1)");
+        dataConfig.put("readValueType", ModbusConstants.ValueType.INT16.getConfigValue());
+        dataConfig.put("skipUnchangedPolls", BigDecimal.valueOf(skipUnchangedPolls));
+
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), bundleContext);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private static ModbusRegisterArray int16Registers(int value) {
+        return new ModbusRegisterArray(new byte[] { (byte) (value >> 8), (byte) value });
+    }
+
+    @Test
+    public void testSkipUnchangedPollsPublishesAfterLimit() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AtomicInteger transformations = new AtomicInteger();
+        ModbusDataThingHandler dataHandler = createCountingReadHandler(request, 2, transformations);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        // every linked channel is transformed once per processed poll
+        int transformationsPerPoll = transformations.get();
+        assertThat(transformationsPerPoll, is(not(equalTo(0))));
+
+        // up to two unchanged polls are skipped
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        assertThat(transformations.get(), is(equalTo(transformationsPerPoll)));
+
+        // the third unchanged poll is published again
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        assertThat(transformations.get(), is(equalTo(2 * transformationsPerPoll)));
+
+        // and the count of skipped polls starts over
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        assertThat(transformations.get(), is(equalTo(2 * transformationsPerPoll)));
+    }
+
+    @Test
+    public void testSkipUnchangedPollsPublishesChangedValueImmediately() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AtomicInteger transformations = new AtomicInteger();
+        ModbusDataThingHandler dataHandler = createCountingReadHandler(request, 5, transformations);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        int transformationsPerPoll = transformations.get();
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        assertThat(transformations.get(), is(equalTo(transformationsPerPoll)));
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(6)));
+        assertThat(transformations.get(), is(equalTo(2 * transformationsPerPoll)));
+        String numberItemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+        waitForAssert(() -> assertThat(getStateUpdates(numberItemName), hasItem(new DecimalType(6))));
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(6)));
+        assertThat(transformations.get(), is(equalTo(2 * transformationsPerPoll)));
+    }
+
+    @Test
+    public void testSkipUnchangedPollsDisabled() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AtomicInteger transformations = new AtomicInteger();
+        ModbusDataThingHandler dataHandler = createCountingReadHandler(request, 0, transformations);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        int transformationsPerPoll = transformations.get();
+        assertThat(transformationsPerPoll, is(not(equalTo(0))));
+
+        // every poll is processed, as before the parameter existed
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, int16Registers(5)));
+        assertThat(transformations.get(), is(equalTo(3 * transformationsPerPoll)));
+    }
+
     @Test
     public void testRefreshOnData() throws InterruptedException {
         ModbusReadFunctionCode functionCode = ModbusReadFunctionCode.READ_COILS;
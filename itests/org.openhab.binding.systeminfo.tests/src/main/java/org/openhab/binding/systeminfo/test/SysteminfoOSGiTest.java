@@ -118,6 +118,7 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         when(mockedSystemInfo.getOsFamily()).thenReturn(new StringType("Mock OS"));
         when(mockedSystemInfo.getOsManufacturer()).thenReturn(new StringType("Mock OS Manufacturer"));
         when(mockedSystemInfo.getOsVersion()).thenReturn(new StringType("Mock Os Version"));
+        when(mockedSystemInfo.createSnapshot()).thenReturn(mockedSystemInfo);
 
         systeminfoHandlerFactory = getService(ThingHandlerFactory.class, SysteminfoHandlerFactory.class);
         SysteminfoInterface oshiSystemInfo = getService(SysteminfoInterface.class);
@@ -1014,6 +1015,59 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedProcessLoad);
     }
 
+    @Test
+    public void assertChannelJvmHeapUsedIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_HEAP_USED;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedJvmHeapUsedValue = new DecimalType(256);
+        when(mockedSystemInfo.getJvmHeapUsed()).thenReturn(mockedJvmHeapUsedValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedJvmHeapUsedValue);
+    }
+
+    @Test
+    public void assertChannelJvmGcTimeRateIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_GC_TIME_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedJvmGcTimeRateValue = new DecimalType(12.5);
+        when(mockedSystemInfo.getJvmGcTimeRate()).thenReturn(mockedJvmGcTimeRateValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedJvmGcTimeRateValue);
+    }
+
+    @Test
+    public void assertChannelJvmAllocationRateIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_ALLOCATION_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedJvmAllocationRateValue = new DecimalType(80.3);
+        when(mockedSystemInfo.getJvmAllocationRate()).thenReturn(mockedJvmAllocationRateValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedJvmAllocationRateValue);
+    }
+
+    @Test
+    public void assertChannelThreadPoolWaitingTasksIsUpdatedWithDefaultPool() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_THREAD_POOL_WAITING_TASKS;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedWaitingTasksValue = new DecimalType(4);
+        when(mockedSystemInfo.getThreadPoolWaitingTasks(SysteminfoBindingConstants.DEFAULT_THREAD_POOL))
+                .thenReturn(mockedWaitingTasksValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedWaitingTasksValue);
+    }
+
     @Test
     public void testThingHandlesChannelPriorityChange() {
         String priorityKey = "priority";